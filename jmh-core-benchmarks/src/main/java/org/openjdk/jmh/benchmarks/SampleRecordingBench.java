@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.util.SampleBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the overhead of recording samples from many threads:
+ * per-thread buffers, as the sample time stubs use them, with halving
+ * (the old way) and with weighted samples (the current way); and the shared
+ * lock-protected buffer as the baseline.
+ */
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class SampleRecordingBench {
+
+    /**
+     * Samples per stride, as the sample time stub has for 1 second iterations.
+     */
+    private static final int TARGET_SAMPLES = 20_000;
+
+    @State(Scope.Thread)
+    public static class ThreadBuffer {
+        final SampleBuffer buffer = new SampleBuffer();
+        long sample;
+        int stride;
+        long weight = 1;
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedBuffer {
+        final SampleBuffer buffer = new SampleBuffer();
+    }
+
+    @Benchmark
+    public void perThreadHalving(ThreadBuffer tb) {
+        tb.buffer.add(nextSample(tb));
+        if (tb.stride++ > TARGET_SAMPLES) {
+            tb.buffer.half();
+            tb.stride = 0;
+        }
+    }
+
+    @Benchmark
+    public void perThreadWeighted(ThreadBuffer tb) {
+        tb.buffer.addWeighted(nextSample(tb), tb.weight);
+        if (tb.stride++ > TARGET_SAMPLES) {
+            tb.stride = 0;
+            tb.weight <<= 1;
+        }
+    }
+
+    @Benchmark
+    public void sharedLocked(ThreadBuffer tb, SharedBuffer sb) {
+        long s = nextSample(tb);
+        synchronized (sb) {
+            sb.buffer.add(s);
+        }
+    }
+
+    @Benchmark
+    public long count(ThreadBuffer tb) {
+        return tb.buffer.getSampleCount();
+    }
+
+    private static long nextSample(ThreadBuffer tb) {
+        // Cheap pseudo-random samples in the nanosecond range
+        long s = tb.sample * 6364136223846793005L + 1442695040888963407L;
+        tb.sample = s;
+        return (s >>> 44) + 20;
+    }
+
+}
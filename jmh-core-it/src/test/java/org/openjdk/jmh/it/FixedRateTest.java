@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.TargetRate;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests if fixed rate mode keeps the schedule, and counts the queueing delay.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FixedRateTest {
+
+    @Benchmark
+    @BenchmarkMode(Mode.FixedRate)
+    @TargetRate(20)
+    @Threads(1)
+    @Fork(1)
+    public void test() {
+        Fixtures.work();
+    }
+
+    private Result run(Options opts) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .parent(opts)
+                .include(Fixtures.getTestMask(this.getClass()))
+                .shouldFailOnError(true)
+                .measurementIterations(1)
+                .measurementTime(TimeValue.seconds(1))
+                .warmupIterations(0)
+                .build();
+        RunResult rr = new Runner(opt).runSingle();
+        return rr.getPrimaryResult();
+    }
+
+    @Test
+    public void onSchedule() throws RunnerException {
+        Result r = run(new OptionsBuilder().build());
+
+        // 20 ops/s for 1 second, every operation takes about 10 ms
+        long n = r.getStatistics().getN();
+        Assert.assertTrue("Operation count should follow the rate: " + n, n >= 15 && n <= 22);
+        Assert.assertTrue("Response time should be close to service time: " + r.getScore(), r.getScore() < 40);
+    }
+
+    @Test
+    public void behindSchedule() throws RunnerException {
+        Result r = run(new OptionsBuilder().targetRate(200).build());
+
+        // 200 ops/s is more than 10 ms operations can sustain: the late operations
+        // should see their queueing delay on top of service time
+        long n = r.getStatistics().getN();
+        Assert.assertTrue("Operation count should be limited by service time: " + n, n <= 110);
+        Assert.assertTrue("Response time should include queueing delay: " + r.getScore(), r.getScore() > 50);
+    }
+
+}
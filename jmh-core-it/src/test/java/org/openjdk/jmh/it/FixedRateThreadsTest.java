@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.TargetRate;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests if fixed rate mode spreads the operations of multiple threads evenly.
+ */
+public class FixedRateThreadsTest {
+
+    private static final Queue<Long> ARRIVALS = new ConcurrentLinkedQueue<>();
+
+    @Benchmark
+    @BenchmarkMode(Mode.FixedRate)
+    @TargetRate(100)
+    @Threads(2)
+    @Fork(0)
+    public void test() {
+        ARRIVALS.add(System.nanoTime());
+    }
+
+    @Test
+    public void interleaved() throws RunnerException {
+        ARRIVALS.clear();
+
+        // No catch-up loops: those would invoke the benchmark off the schedule.
+        Options opt = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .shouldFailOnError(true)
+                .syncIterations(false)
+                .measurementIterations(1)
+                .measurementTime(TimeValue.seconds(1))
+                .warmupIterations(0)
+                .build();
+        new Runner(opt).runSingle();
+
+        List<Long> arrivals = new ArrayList<>(ARRIVALS);
+        Collections.sort(arrivals);
+        Assert.assertTrue("Should have enough operations: " + arrivals.size(), arrivals.size() >= 50);
+
+        // 100 ops/s from 2 threads: operations should come every 10 ms,
+        // not in pairs every 20 ms.
+        long expected = TimeUnit.MILLISECONDS.toNanos(10);
+        int close = 0;
+        for (int c = 1; c < arrivals.size(); c++) {
+            if (arrivals.get(c) - arrivals.get(c - 1) < expected / 2) {
+                close++;
+            }
+        }
+        double fraction = 1.0 * close / (arrivals.size() - 1);
+        Assert.assertTrue("Operations should not come in bursts: " + close + " of " + (arrivals.size() - 1) +
+                " inter-arrival times are below " + TimeUnit.NANOSECONDS.toMillis(expected / 2) + " ms", fraction < 0.2);
+    }
+
+}
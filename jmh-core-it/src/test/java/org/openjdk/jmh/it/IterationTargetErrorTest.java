@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.MeasurementStopReason;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests if harness runs measurement iterations until the target error is reached.
+ */
+@State(Scope.Thread)
+public class IterationTargetErrorTest {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        count.incrementAndGet();
+    }
+
+    @TearDown
+    public void tearDown() {
+        // Trial teardown still runs once, after the last iteration.
+        Assert.assertTrue("At least three iterations expected", count.get() >= 3);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Fork(1)
+    public void test() {
+        Fixtures.work();
+    }
+
+    private RunResult run(double targetError) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .shouldFailOnError(true)
+                .measurementIterations(3)
+                .measurementTime(TimeValue.milliseconds(50))
+                .measurementTargetError(targetError)
+                .measurementMaxIterations(6)
+                .warmupIterations(0)
+                .build();
+        return new Runner(opt).runSingle();
+    }
+
+    @Test
+    public void converged() throws RunnerException {
+        RunResult rr = run(1000);
+        for (BenchmarkResult br : rr.getBenchmarkResults()) {
+            Assert.assertEquals(MeasurementStopReason.CONVERGED, br.getMetadata().getStopReason());
+            Assert.assertEquals(4, br.getIterationResults().size());
+        }
+    }
+
+    @Test
+    public void maxIterations() throws RunnerException {
+        RunResult rr = run(1e-12);
+        for (BenchmarkResult br : rr.getBenchmarkResults()) {
+            Assert.assertEquals(MeasurementStopReason.MAX_ITERATIONS, br.getMetadata().getStopReason());
+            Assert.assertEquals(6, br.getIterationResults().size());
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests if throughput and average time modes report the sampled latency on request.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LatencySamplingTest {
+
+    @Benchmark
+    @Fork(1)
+    public void test() {
+        Fixtures.work();
+    }
+
+    private Map<String, Result> run(Mode mode, boolean sample) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .shouldFailOnError(true)
+                .mode(mode)
+                .sampleLatency(sample)
+                .measurementIterations(2)
+                .measurementTime(TimeValue.milliseconds(500))
+                .warmupIterations(0)
+                .build();
+        RunResult rr = new Runner(opt).runSingle();
+        return rr.getSecondaryResults();
+    }
+
+    @Test
+    public void throughput() throws RunnerException {
+        check(Mode.Throughput);
+    }
+
+    @Test
+    public void averageTime() throws RunnerException {
+        check(Mode.AverageTime);
+    }
+
+    private void check(Mode mode) throws RunnerException {
+        Map<String, Result> srs = run(mode, true);
+        Result lat = srs.get("latency");
+        Assert.assertNotNull("Latency is reported for " + mode, lat);
+        Assert.assertNotNull("Latency percentiles are reported for " + mode, srs.get("latency:p0.99"));
+        Assert.assertEquals("ms/op", lat.getScoreUnit());
+
+        // Every invocation sleeps for about 10 ms
+        Assert.assertTrue("Latency is close to invocation time: " + lat.getScore(), lat.getScore() >= 9 && lat.getScore() < 30);
+
+        Assert.assertNull("Latency is not reported by default for " + mode, run(mode, false).get("latency"));
+    }
+
+}
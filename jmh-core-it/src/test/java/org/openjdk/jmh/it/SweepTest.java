@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.SweepRunner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests if sweep runner steps through the load levels, and stops on the limits.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SweepTest {
+
+    @Benchmark
+    @Fork(1)
+    public void test() {
+        Fixtures.work();
+    }
+
+    private Options opts() {
+        return new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .shouldFailOnError(true)
+                .mode(Mode.Throughput)
+                .measurementIterations(1)
+                .measurementTime(TimeValue.milliseconds(500))
+                .warmupIterations(0)
+                .build();
+    }
+
+    private static List<String> levels(Iterable<RunResult> results, String param) {
+        List<String> res = new ArrayList<>();
+        for (RunResult r : results) {
+            res.add(r.getParams().getParam(param));
+        }
+        return res;
+    }
+
+    @Test
+    public void threads() throws RunnerException {
+        List<RunResult> rs = new ArrayList<>(new SweepRunner(opts()).threads(1, 2).run());
+
+        Assert.assertEquals("[1, 2]", levels(rs, SweepRunner.THREADS_PARAM).toString());
+        Assert.assertEquals(2, rs.get(1).getParams().getThreads());
+        Assert.assertNotNull(rs.get(0).getSecondaryResults().get("latency"));
+
+        // Sleeping threads scale
+        Assert.assertTrue(rs.get(1).getPrimaryResult().getScore() > rs.get(0).getPrimaryResult().getScore() * 1.5);
+    }
+
+    @Test
+    public void resultFile() throws RunnerException, IOException {
+        File result = FileUtils.tempFile("result");
+        File output = FileUtils.tempFile("output");
+        Options opts = new OptionsBuilder()
+                .parent(opts())
+                .result(result.getAbsolutePath())
+                .resultFormat(ResultFormatType.CSV)
+                .output(output.getAbsolutePath())
+                .build();
+
+        new SweepRunner(opts).threads(1, 2).run();
+
+        // Only the sweep writes the result file, with all steps in it
+        List<String> lines = new ArrayList<>(FileUtils.readAllLines(result));
+        Assert.assertTrue(lines.get(0), lines.get(0).contains("\"Param: " + SweepRunner.THREADS_PARAM + "\""));
+        int primaries = 0;
+        for (String line : lines) {
+            if (line.startsWith("\"" + SweepTest.class.getName() + ".test\",")) {
+                primaries++;
+            }
+        }
+        Assert.assertEquals(lines.toString(), 2, primaries);
+
+        String out = FileUtils.readAllLines(output).toString();
+        Assert.assertFalse(out, out.contains("Benchmark result is saved to"));
+        Assert.assertTrue(out, out.contains("Sweep result is saved to"));
+    }
+
+    @Test
+    public void latencyLimit() throws RunnerException {
+        // Every invocation sleeps for about 10 ms, the first step is already over the limit
+        List<RunResult> rs = new ArrayList<>(new SweepRunner(opts())
+                .threads(1, 2, 4)
+                .maxLatency(1, TimeUnit.MILLISECONDS)
+                .run());
+
+        Assert.assertEquals("[1]", levels(rs, SweepRunner.THREADS_PARAM).toString());
+    }
+
+    @Test
+    public void rates() throws RunnerException {
+        // Single thread saturates at about 100 ops/s, the latency grows after that
+        List<RunResult> rs = new ArrayList<>(new SweepRunner(opts())
+                .rates(20, 400, 1000)
+                .maxLatency(50, TimeUnit.MILLISECONDS)
+                .run());
+
+        Assert.assertEquals("[20, 400]", levels(rs, SweepRunner.RATE_PARAM).toString());
+        Assert.assertEquals(Mode.FixedRate, rs.get(0).getParams().getMode());
+        Assert.assertEquals(400, rs.get(1).getParams().getTargetRate(), 0);
+    }
+
+}
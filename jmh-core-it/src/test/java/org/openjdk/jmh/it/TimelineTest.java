@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests if the iteration timeline shows the dips within the iterations.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class TimelineTest {
+
+    private long start;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        start = System.nanoTime();
+    }
+
+    @Benchmark
+    public void test() {
+        Fixtures.work();
+
+        // Slow down in the middle of iteration
+        long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (ms >= 400 && ms < 600) {
+            Fixtures.work();
+            Fixtures.work();
+        }
+    }
+
+    private RunResult run(Mode mode, String resultFile) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .shouldFailOnError(true)
+                .mode(mode)
+                .timelineInterval(TimeValue.milliseconds(100))
+                .result(resultFile)
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        return new Runner(opt).runSingle();
+    }
+
+    @Test
+    public void throughput() throws RunnerException, IOException {
+        File file = File.createTempFile("jmh", "timeline");
+        try {
+            RunResult rr = run(Mode.Throughput, file.getAbsolutePath());
+
+            for (BenchmarkResult br : rr.getBenchmarkResults()) {
+                for (IterationResult ir : br.getIterationResults()) {
+                    double[] timeline = ir.getTimeline();
+                    Assert.assertNotNull(timeline);
+                    Assert.assertEquals(10, timeline.length);
+
+                    double min = Double.MAX_VALUE;
+                    double max = 0;
+                    for (double d : timeline) {
+                        min = Math.min(min, d);
+                        max = Math.max(max, d);
+                    }
+
+                    // Every invocation sleeps for about 10 ms, three times longer in the dip
+                    Assert.assertTrue("Timeline follows the score: " + max, max > 70 && max < 110);
+                    Assert.assertTrue("Timeline shows the dip: " + min, min < max * 0.6);
+                }
+            }
+
+            String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            Assert.assertTrue(json.contains("\"rawTimeline\""));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void averageTime() throws RunnerException, IOException {
+        File file = File.createTempFile("jmh", "timeline");
+        try {
+            RunResult rr = run(Mode.AverageTime, file.getAbsolutePath());
+            for (BenchmarkResult br : rr.getBenchmarkResults()) {
+                for (IterationResult ir : br.getIterationResults()) {
+                    double[] timeline = ir.getTimeline();
+                    Assert.assertNotNull(timeline);
+                    Assert.assertTrue("Timeline follows the score: " + timeline[0], timeline[0] > 0.009 && timeline[0] < 0.015);
+                }
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+}
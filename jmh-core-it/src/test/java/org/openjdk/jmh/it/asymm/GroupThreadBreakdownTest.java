@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.asymm;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests if per-thread breakdown separates the subgroups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 0)
+@Measurement(iterations = 2, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class GroupThreadBreakdownTest {
+
+    @Benchmark
+    @Group("test")
+    @GroupThreads(1)
+    public void test1() {
+        Fixtures.work();
+    }
+
+    @Benchmark
+    @Group("test")
+    @GroupThreads(2)
+    public void test2() {
+        Fixtures.work();
+    }
+
+    @Test
+    public void invokeAPI() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .shouldFailOnError(true)
+                .threadBreakdown(true)
+                .build();
+        RunResult rr = new Runner(opt).runSingle();
+        Map<String, Result> srs = rr.getSecondaryResults();
+
+        int test1 = 0;
+        int test2 = 0;
+        int group = 0;
+        for (String label : srs.keySet()) {
+            if (label.matches("test1:thread\\d+")) test1++;
+            if (label.matches("test2:thread\\d+")) test2++;
+            if (label.matches("thread\\d+")) group++;
+        }
+
+        Assert.assertEquals(1, test1);
+        Assert.assertEquals(2, test2);
+        Assert.assertEquals(3, group);
+
+        Assert.assertNull("Single thread has no spread", srs.get("test1:threads.cov"));
+        Assert.assertNotNull(srs.get("test2:threads.cov"));
+        Assert.assertNull("Subgroups are not mixed in the spread", srs.get("threads.cov"));
+    }
+
+}
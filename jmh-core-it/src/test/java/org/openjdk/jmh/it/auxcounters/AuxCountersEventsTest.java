@@ -77,12 +77,13 @@ public class AuxCountersEventsTest {
                 case Throughput:
                 case AverageTime:
                 case SampleTime:
-                case SingleShotTime: {
+                case SingleShotTime:
+                case FixedRate: {
                     Assert.assertNotNull("@AuxCounter result exists for " + mode, scnd);
                     Assert.assertEquals("#", scnd.getScoreUnit());
 
-                    // Sample time is special, because it is allowed to lose the samples.
-                    if (mode != Mode.SampleTime) {
+                    // Sample time and fixed rate are special, because they count samples, not iterations.
+                    if (mode != Mode.SampleTime && mode != Mode.FixedRate) {
                         Assert.assertEquals(prim.getSampleCount(), scnd.getSampleCount());
                     }
 
@@ -121,6 +121,14 @@ public class BatchSizeSanityTest {
             case SingleShotTime:
                 expectedScore = 1.0 * realTime / (1.0 * realOps / batchSize);
                 break;
+            case FixedRate:
+                // Response time also includes the queueing delay, it should not be lower than service time.
+                expectedScore = 1.0 * realTime / (1.0 * realOps / batchSize);
+                Assert.assertTrue(
+                        String.format("mode = %s, batch size = %d, expected score at least = %e, actual score = %e",
+                                mode, batchSize, expectedScore, actualScore),
+                        actualScore / expectedScore > 1 - TOLERANCE);
+                return;
             default:
                 expectedScore = Double.NaN;
                 actualScore   = Double.NaN;
@@ -121,6 +121,14 @@ public class OpsPerInvSanityTest {
             case SingleShotTime:
                 expectedScore = 1.0 * realTime / (realOps * opsPerInv);
                 break;
+            case FixedRate:
+                // Response time also includes the queueing delay, it should not be lower than service time.
+                expectedScore = 1.0 * realTime / (realOps * opsPerInv);
+                Assert.assertTrue(
+                        String.format("mode = %s, ops per inv = %d, expected score at least = %e, actual score = %e",
+                                mode, opsPerInv, expectedScore, actualScore),
+                        actualScore / expectedScore > 1 - TOLERANCE);
+                return;
             default:
                 expectedScore = Double.NaN;
                 actualScore   = Double.NaN;
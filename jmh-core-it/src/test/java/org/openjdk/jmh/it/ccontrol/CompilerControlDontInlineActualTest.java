@@ -68,6 +68,7 @@ public class CompilerControlDontInlineActualTest {
                     .addProfiler(LogConsumeProfiler.class)
                     .measurementIterations(mode == Mode.SingleShotTime ? 200_000 : 1)
                     .measurementTime(TimeValue.seconds(3))
+                    .targetRate(1e9) // saturate fixed rate mode, so that benchmark gets compiled
                     .warmupIterations(0)
                     .forks(1)
                     .jvmArgsPrepend("-XX:CICompilerCount=2") // need to serialize the output properly
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.fork;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.agent.AgentClient;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class ForkDistributedTest {
+
+    @Param({"1", "2", "3", "4"})
+    public int param;
+
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 2, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+    public void test() {
+        Fixtures.work();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket s = new ServerSocket(0)) {
+            return s.getLocalPort();
+        }
+    }
+
+    @Test
+    public void twoAgents() throws Exception {
+        int port = freePort();
+        File json = FileUtils.tempFile("result");
+
+        // Coordinator and agents share this VM, and so the token.
+        System.setProperty(AgentClient.TOKEN_PROPERTY, "twoAgents-" + port);
+
+        ExecutorService agents = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Collection<RunResult>>> agentResults = new ArrayList<>();
+            for (int a = 0; a < 2; a++) {
+                agentResults.add(agents.submit(() -> {
+                    Options opt = new OptionsBuilder()
+                            .agentCoordinator("localhost:" + port)
+                            .build();
+                    return new Runner(opt).run();
+                }));
+            }
+
+            Options opt = new OptionsBuilder()
+                    .include(Fixtures.getTestMask(this.getClass()))
+                    .shouldFailOnError(true)
+                    .coordinatorPort(port)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(json.getAbsolutePath())
+                    .build();
+            Collection<RunResult> results = new Runner(opt).run();
+
+            Assert.assertEquals(4, results.size());
+            for (RunResult rr : results) {
+                Assert.assertEquals(2, rr.getBenchmarkResults().size());
+                for (BenchmarkResult br : rr.getBenchmarkResults()) {
+                    Assert.assertEquals(2, br.getIterationResults().size());
+                    Assert.assertNotNull(br.getMetadata().getHost());
+                }
+            }
+
+            // Agents exit after coordinator has run out of benchmarks.
+            int agentRun = 0;
+            for (Future<Collection<RunResult>> f : agentResults) {
+                agentRun += f.get(30, TimeUnit.SECONDS).size();
+            }
+            Assert.assertEquals(4, agentRun);
+
+            // Every fork records its host.
+            String text = new String(Files.readAllBytes(json.toPath()), StandardCharsets.UTF_8);
+            int hosts = 0;
+            for (int idx = text.indexOf("\"hosts\""); idx >= 0; idx = text.indexOf("\"hosts\"", idx + 1)) {
+                hosts++;
+            }
+            Assert.assertEquals(4, hosts);
+        } finally {
+            System.clearProperty(AgentClient.TOKEN_PROPERTY);
+            agents.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.fork;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests that pooled forks do not leave link servers behind.
+ */
+@Fork(3)
+public class ForkPooledCleanupTest {
+
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+    public void test() {
+        Fixtures.work();
+    }
+
+    private static List<String> linkThreads() {
+        List<String> names = new ArrayList<>();
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.isAlive() && t.getName().startsWith("jmh-link-")) {
+                names.add(t.getName());
+            }
+        }
+        return names;
+    }
+
+    private static Set<String> ringFiles() {
+        Set<String> names = new HashSet<>();
+        String[] files = new File(System.getProperty("java.io.tmpdir")).list();
+        if (files != null) {
+            for (String f : files) {
+                if (f.startsWith("jmh") && f.endsWith("link")) {
+                    names.add(f);
+                }
+            }
+        }
+        return names;
+    }
+
+    @Test
+    public void invokeAPI() throws RunnerException {
+        Set<String> before = ringFiles();
+
+        Options opt = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .shouldFailOnError(true)
+                .poolForks(true)
+                .sharedMemoryLink(true)
+                .forks(3)
+                .build();
+        RunResult result = new Runner(opt).runSingle();
+        Assert.assertEquals(3, result.getBenchmarkResults().size());
+
+        Assert.assertEquals("Link threads are left behind", new ArrayList<String>(), linkThreads());
+
+        Set<String> leftover = ringFiles();
+        leftover.removeAll(before);
+        Assert.assertEquals("Shared memory files are left behind", new HashSet<String>(), leftover);
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.fork;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests that the shared memory ring file goes to "jmh.link.shmDir".
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForkSharedMemoryDirTest {
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // The host has the ring file created before the forked VM starts
+        String[] files = new File(System.getProperty("jmh.test.shmDir")).list();
+        if (files == null || files.length != 1) {
+            throw new IllegalStateException("Expected a single ring file: " + Arrays.toString(files));
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+    public void test() {
+        Fixtures.work();
+    }
+
+    @Test
+    public void invokeAPI() throws RunnerException, IOException {
+        File shmDir = Files.createTempDirectory("jmh-shm").toFile();
+        System.setProperty("jmh.link.shmDir", shmDir.getAbsolutePath());
+        try {
+            Options opt = new OptionsBuilder()
+                    .include(Fixtures.getTestMask(this.getClass()))
+                    .shouldFailOnError(true)
+                    .sharedMemoryLink(true)
+                    .jvmArgsAppend("-Djmh.test.shmDir=" + shmDir.getAbsolutePath())
+                    .build();
+            RunResult result = new Runner(opt).runSingle();
+            Assert.assertEquals(1, result.getBenchmarkResults().size());
+
+            String[] files = shmDir.list();
+            Assert.assertNotNull(files);
+            Assert.assertEquals("Shared memory files are left behind", Arrays.asList(), Arrays.asList(files));
+        } finally {
+            System.clearProperty("jmh.link.shmDir");
+            shmDir.delete();
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.profilers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.profile.ContentionProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Warmup(iterations = 1, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 2, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(2)
+@State(Scope.Benchmark)
+public class ContentionProfilerTest {
+
+    private final Object monitor = new Object();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Benchmark
+    public void none() {
+        Fixtures.busyWork();
+    }
+
+    @Benchmark
+    public void monitor() {
+        synchronized (monitor) {
+            Fixtures.work();
+        }
+    }
+
+    @Benchmark
+    public void lock() {
+        lock.lock();
+        try {
+            Fixtures.work();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, Result> run(String test) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()) + "." + test + "$")
+                .addProfiler(ContentionProfiler.class)
+                .build();
+
+        RunResult rr = new Runner(opts).runSingle();
+        return rr.getSecondaryResults();
+    }
+
+    private static double get(Map<String, Result> sr, String label) {
+        return ProfilerTestUtils.checkedGet(sr, label).getScore();
+    }
+
+    @Test
+    public void testNone() throws RunnerException {
+        if (!Fixtures.expectStableThreads()) {
+            return;
+        }
+        Map<String, Result> sr = run("none");
+        Assert.assertEquals(0, get(sr, "contention.monitor.count"), 0.01);
+        Assert.assertEquals(0, get(sr, "contention.monitor.time"), 0.01);
+
+        // Harness waits at the iteration boundaries should not be counted
+        if (sr.containsKey("contention.wait.count")) {
+            Assert.assertEquals(0, get(sr, "contention.wait.count"), 0.01);
+            Assert.assertEquals(0, get(sr, "contention.wait.time"), 0.01);
+            Assert.assertEquals(0, get(sr, "contention.park.count"), 0.01);
+            Assert.assertEquals(0, get(sr, "contention.park.time"), 0.01);
+        }
+    }
+
+    @Test
+    public void testMonitor() throws RunnerException {
+        if (!Fixtures.expectStableThreads()) {
+            return;
+        }
+        Map<String, Result> sr = run("monitor");
+        // Two threads contend for the lock held for 10ms, every other enter should block
+        double count = get(sr, "contention.monitor.count");
+        double time = get(sr, "contention.monitor.time");
+        Assert.assertTrue("Monitor enters block: " + count, count > 0.1);
+        Assert.assertTrue("Monitor enters block for a while: " + time, time > TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void testLock() throws RunnerException {
+        if (!Fixtures.expectStableThreads()) {
+            return;
+        }
+        Map<String, Result> sr = run("lock");
+        if (sr.containsKey("contention.wait.count")) {
+            double count = get(sr, "contention.wait.count");
+            Assert.assertTrue("Lock waits are recorded: " + count, count > 0.1);
+            double parks = get(sr, "contention.park.count");
+            double time = get(sr, "contention.park.time");
+            Assert.assertTrue("Lock parks are recorded: " + parks, parks > 0.1);
+            Assert.assertTrue("Lock parks take a while: " + time, time > TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.profilers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.profile.FlameGraphProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 1, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(2)
+public class FlameGraphProfilerTest {
+
+    @Benchmark
+    public void work() {
+        somethingInTheMiddle();
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    public void somethingInTheMiddle() {
+        Fixtures.busyWork();
+    }
+
+    @Test
+    public void test() throws RunnerException, IOException {
+        if (Fixtures.isVirtualExecutor()) {
+            System.out.println("Flame graph profiler cannot sample virtual threads");
+            return;
+        }
+
+        File dir = Files.createTempDirectory("jmh-flame").toFile();
+
+        Options opts = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .addProfiler(FlameGraphProfiler.class, "top=30;dir=" + dir.getAbsolutePath())
+                .build();
+
+        RunResult rr = new Runner(opts).runSingle();
+
+        Map<String, Result> sr = rr.getSecondaryResults();
+        FlameGraphProfiler.FlameGraphResult result = (FlameGraphProfiler.FlameGraphResult) ProfilerTestUtils.checkedGet(sr, "flame");
+
+        String frame = FlameGraphProfilerTest.class.getCanonicalName() + ".somethingInTheMiddle";
+        String out = result.extendedInfo();
+        if (!out.contains(frame)) {
+            throw new IllegalStateException("Profile does not contain the required frame: " + out);
+        }
+
+        Collection<? extends File> files = result.getFiles();
+        Assert.assertEquals(2, files.size());
+        for (File file : files) {
+            Assert.assertTrue("File exists: " + file, file.exists());
+            String content = String.join("\n", FileUtils.readAllLines(file));
+            Assert.assertTrue("Contains the frame: " + file, content.contains(frame));
+        }
+    }
+
+}
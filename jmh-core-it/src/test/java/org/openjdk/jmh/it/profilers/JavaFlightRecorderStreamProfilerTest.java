@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.profilers;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.profile.JavaFlightRecorderStreamProfiler;
+import org.openjdk.jmh.profile.ProfilerException;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Warmup(iterations = 1, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 2, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JavaFlightRecorderStreamProfilerTest {
+
+    private final Object lock = new Object();
+
+    @Benchmark
+    @Threads(2)
+    public void monitor() {
+        synchronized (lock) {
+            Fixtures.work();
+        }
+    }
+
+    @Benchmark
+    public void park() {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private Map<String, Result> run(String test) throws RunnerException {
+        try {
+            new JavaFlightRecorderStreamProfiler("");
+        } catch (ProfilerException e) {
+            Assume.assumeNoException("JFR event streaming is not available", e);
+        }
+
+        Options opts = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()) + "." + test + "$")
+                .addProfiler(JavaFlightRecorderStreamProfiler.class)
+                .build();
+
+        RunResult rr = new Runner(opts).runSingle();
+        Map<String, Result> sr = rr.getSecondaryResults();
+
+        // All categories are always reported
+        for (String cat : new String[]{"gc", "safepoint", "compile", "monitor", "park", "io.file", "io.socket"}) {
+            ProfilerTestUtils.checkedGet(sr, "jfr." + cat);
+            ProfilerTestUtils.checkedGet(sr, "jfr." + cat + ".count");
+        }
+        return sr;
+    }
+
+    @Test
+    public void testMonitor() throws RunnerException {
+        Map<String, Result> sr = run("monitor");
+        double count = ProfilerTestUtils.checkedGet(sr, "jfr.monitor.count").getScore();
+        double time = ProfilerTestUtils.checkedGet(sr, "jfr.monitor").getScore();
+        Assert.assertTrue("Contended monitor enters are recorded: " + count, count > 0);
+        Assert.assertTrue("Contended monitor time is recorded: " + time, time > 0);
+    }
+
+    @Test
+    public void testPark() throws RunnerException {
+        Map<String, Result> sr = run("park");
+        double count = ProfilerTestUtils.checkedGet(sr, "jfr.park.count").getScore();
+        Assert.assertTrue("Parks are recorded: " + count, count > 0);
+    }
+
+    @Test
+    public void testStreamClosedAfterTrial() throws RunnerException, InterruptedException {
+        try {
+            new JavaFlightRecorderStreamProfiler("");
+        } catch (ProfilerException e) {
+            Assume.assumeNoException("JFR event streaming is not available", e);
+        }
+
+        // Embedded run, the measurement may stop early on reaching the target error
+        Options opts = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()) + ".park$")
+                .addProfiler(JavaFlightRecorderStreamProfiler.class)
+                .forks(0)
+                .measurementIterations(1)
+                .measurementTargetError(1.0)
+                .build();
+        new Runner(opts).runSingle();
+
+        // Stream thread should be gone when the trial is over
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (hasStreamThreads() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        Assert.assertFalse("Event stream is closed after the trial", hasStreamThreads());
+    }
+
+    private static boolean hasStreamThreads() {
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getName().startsWith("JFR Event Stream")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.profilers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.profile.OffCpuProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 1, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class OffCpuProfilerTest {
+
+    @Benchmark
+    public void busy() {
+        Fixtures.busyWork();
+    }
+
+    @Benchmark
+    public void sleep() {
+        Fixtures.work();
+    }
+
+    private Map<String, Result> run(String test) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()) + "." + test + "$")
+                .addProfiler(OffCpuProfiler.class)
+                .build();
+
+        RunResult rr = new Runner(opts).runSingle();
+        return rr.getSecondaryResults();
+    }
+
+    private static double get(Map<String, Result> sr, String label) {
+        return ProfilerTestUtils.checkedGet(sr, label).getScore();
+    }
+
+    @Test
+    public void testBusy() throws RunnerException {
+        if (!Fixtures.expectStableThreads()) {
+            return;
+        }
+        Map<String, Result> sr = run("busy");
+        double util = get(sr, "offcpu.util");
+        Assert.assertTrue("Busy benchmark is on CPU: " + util, util > 50);
+        Assert.assertTrue("CPU time fits the wall clock time: " + util, util < 110);
+        Assert.assertTrue("Busy benchmark is mostly running",
+                get(sr, "offcpu.running") > get(sr, "offcpu.waiting"));
+
+        // Harness waits at the iteration boundaries should not be counted
+        double parked = get(sr, "offcpu.parked");
+        Assert.assertTrue("Busy benchmark is not parked: " + parked, parked < 0.05 * get(sr, "offcpu.wall"));
+    }
+
+    @Test
+    public void testSleep() throws RunnerException {
+        if (!Fixtures.expectStableThreads()) {
+            return;
+        }
+        Map<String, Result> sr = run("sleep");
+        double util = get(sr, "offcpu.util");
+        Assert.assertTrue("Sleeping benchmark is off CPU: " + util, util < 50);
+        Assert.assertTrue("Sleeping benchmark is mostly waiting",
+                get(sr, "offcpu.waiting") > get(sr, "offcpu.running"));
+    }
+
+}
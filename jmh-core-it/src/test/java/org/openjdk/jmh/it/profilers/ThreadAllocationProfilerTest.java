@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.profilers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.profile.ThreadAllocationProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 2, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ThreadAllocationProfilerTest {
+
+    @Benchmark
+    public void none() {
+        // no allocations
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Object array() {
+        return new byte[1000];
+    }
+
+    @Benchmark
+    @Group("group")
+    public Object groupArray() {
+        return new byte[1000];
+    }
+
+    @Benchmark
+    @Group("group")
+    public void groupNone() {
+        // no allocations
+    }
+
+    private Map<String, Result> run(String test) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()) + "." + test + "$")
+                .addProfiler(ThreadAllocationProfiler.class)
+                .build();
+
+        RunResult rr = new Runner(opts).runSingle();
+        return rr.getSecondaryResults();
+    }
+
+    private static void assertArray(Map<String, Result> sr, String label) {
+        // byte[1000] takes a bit more than 1000 bytes with the header, depending on the VM layout
+        double norm = ProfilerTestUtils.checkedGet(sr, label).getScore();
+        Assert.assertTrue(label + " is about the array size: " + norm, norm >= 1000 && norm < 1050);
+    }
+
+    private static void assertNone(Map<String, Result> sr, String label) {
+        double norm = ProfilerTestUtils.checkedGet(sr, label).getScore();
+        Assert.assertTrue(label + " is zero: " + norm, norm < 0.01);
+    }
+
+    @Test
+    public void testNone() throws RunnerException {
+        if (!Fixtures.expectStableThreads()) {
+            // This test assumes threads survive until the end of run to get their
+            // allocation data.
+            return;
+        }
+        assertNone(run("none"), "alloc.norm");
+    }
+
+    @Test
+    public void testThreads() throws RunnerException {
+        if (!Fixtures.expectStableThreads()) {
+            return;
+        }
+        Map<String, Result> sr = run("array");
+        assertArray(sr, "alloc.norm");
+        assertArray(sr, "alloc.norm.thread0");
+        assertArray(sr, "alloc.norm.thread1");
+    }
+
+    @Test
+    public void testGroup() throws RunnerException {
+        if (!Fixtures.expectStableThreads()) {
+            return;
+        }
+        Map<String, Result> sr = run("group");
+        assertArray(sr, "alloc.norm.groupArray");
+        assertNone(sr, "alloc.norm.groupNone");
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.result;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests if incrementally written result files are complete.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 0)
+@Measurement(iterations = 2, time = 10, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(2)
+public class ResultFileStreamingTest {
+
+    @Benchmark
+    public void test1() {
+        Fixtures.work();
+    }
+
+    @Benchmark
+    public void test2() {
+        Fixtures.work();
+    }
+
+    private Collection<RunResult> runWith(ResultFormatType type, File file, boolean compact) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .shouldFailOnError(true)
+                .resultFormat(type)
+                .result(file.getAbsolutePath())
+                .compactResults(compact)
+                .build();
+        return new Runner(opts).run();
+    }
+
+    @Test
+    public void testJSON() throws RunnerException, IOException {
+        File file = FileUtils.tempFile("result");
+        try {
+            Collection<RunResult> results = runWith(ResultFormatType.JSON, file, false);
+            Assert.assertEquals(2, results.size());
+            for (RunResult rr : results) {
+                Assert.assertEquals(2, rr.getBenchmarkResults().size());
+            }
+
+            List<String> lines = new ArrayList<>(FileUtils.readAllLines(file));
+            Assert.assertEquals("[", lines.get(0));
+            Assert.assertEquals(2, lines.stream().filter(l -> l.trim().startsWith("\"benchmark\" :")).count());
+            Assert.assertTrue(lines.contains("]"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testCSVCompact() throws RunnerException, IOException {
+        File file = FileUtils.tempFile("result");
+        try {
+            Collection<RunResult> results = runWith(ResultFormatType.CSV, file, true);
+            Assert.assertEquals(2, results.size());
+            for (RunResult rr : results) {
+                Assert.assertTrue(rr.getBenchmarkResults().isEmpty());
+                Assert.assertEquals(4, rr.getPrimaryResult().getSampleCount());
+            }
+
+            // header + two benchmarks
+            Assert.assertEquals(3, FileUtils.readAllLines(file).size());
+        } finally {
+            file.delete();
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.result;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests if the run resumes from the journal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 0)
+@Measurement(iterations = 2, time = 10, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ResumeTest {
+
+    @Benchmark
+    public void test1() {
+        Fixtures.work();
+    }
+
+    @Benchmark
+    public void test2() {
+        Fixtures.work();
+    }
+
+    private Collection<RunResult> runWith(String include, File journal) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(include)
+                .shouldFailOnError(true)
+                .resume(journal.getAbsolutePath())
+                .build();
+        return new Runner(opts).run();
+    }
+
+    @Test
+    public void test() throws RunnerException, IOException {
+        File journal = FileUtils.tempFile("journal");
+        journal.delete();
+        try {
+            // First run is "interrupted" after the first benchmark.
+            Collection<RunResult> first = runWith(Fixtures.getTestMask(this.getClass()) + ".test1", journal);
+            Assert.assertEquals(1, first.size());
+            double score1 = first.iterator().next().getPrimaryResult().getScore();
+
+            // Second run completes the rest, and merges the results.
+            Collection<RunResult> second = runWith(Fixtures.getTestMask(this.getClass()), journal);
+            Assert.assertEquals(2, second.size());
+
+            Map<String, RunResult> byName = new HashMap<>();
+            for (RunResult rr : second) {
+                byName.put(rr.getParams().getBenchmark(), rr);
+            }
+
+            RunResult r1 = byName.get(ResumeTest.class.getCanonicalName() + ".test1");
+            RunResult r2 = byName.get(ResumeTest.class.getCanonicalName() + ".test2");
+            Assert.assertNotNull(r1);
+            Assert.assertNotNull(r2);
+            Assert.assertEquals("First benchmark should not be run again", score1, r1.getPrimaryResult().getScore(), 0.0);
+            Assert.assertEquals(2, r2.getPrimaryResult().getSampleCount());
+        } finally {
+            journal.delete();
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.threads;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests if per-thread breakdown exposes the slow thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Threads(2)
+@Fork(1)
+public class ThreadBreakdownTest {
+
+    @Benchmark
+    public void test(ThreadParams tp) {
+        Fixtures.work();
+        if (tp.getThreadIndex() == 0) {
+            // Starved thread does half the work
+            Fixtures.work();
+        }
+    }
+
+    private Map<String, Result> run(boolean breakdown) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .shouldFailOnError(true)
+                .threadBreakdown(breakdown)
+                .build();
+        RunResult rr = new Runner(opt).runSingle();
+        return rr.getSecondaryResults();
+    }
+
+    @Test
+    public void invokeAPI() throws RunnerException {
+        Map<String, Result> srs = run(true);
+
+        Result t0 = srs.get("thread0");
+        Result t1 = srs.get("thread1");
+        Assert.assertNotNull(t0);
+        Assert.assertNotNull(t1);
+        Assert.assertEquals("ops/s", t0.getScoreUnit());
+
+        double ratio = t1.getScore() / t0.getScore();
+        Assert.assertTrue("Fast thread does about twice the work: " + ratio, ratio > 1.5 && ratio < 2.5);
+
+        Assert.assertEquals(t0.getScore(), srs.get("threads.min").getScore(), 0.001);
+        Assert.assertEquals(t1.getScore(), srs.get("threads.max").getScore(), 0.001);
+        Assert.assertTrue(srs.get("threads.cov").getScore() > 20);
+
+        Assert.assertTrue("No breakdown by default", run(false).isEmpty());
+    }
+
+    @Test
+    public void detailInResultFile() throws RunnerException, IOException {
+        File output = FileUtils.tempFile("output");
+        File result = FileUtils.tempFile("result");
+        Options opt = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .shouldFailOnError(true)
+                .threadBreakdown(true)
+                .output(output.getAbsolutePath())
+                .result(result.getAbsolutePath())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(opt).run();
+
+        // Human-readable output has the spread, but not the per-thread results
+        String out = FileUtils.readAllLines(output).toString();
+        Assert.assertTrue(out, out.contains("threads.cov"));
+        Assert.assertFalse(out, out.contains("thread0"));
+
+        String json = FileUtils.readAllLines(result).toString();
+        Assert.assertTrue(json, json.contains("\"thread0\""));
+        Assert.assertTrue(json, json.contains("\"threads.cov\""));
+    }
+
+}
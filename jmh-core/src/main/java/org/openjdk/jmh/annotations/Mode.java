@@ -79,6 +79,17 @@ public enum Mode {
      */
     SingleShotTime("ss", "Single shot invocation time"),
 
+    /**
+     * <p>Fixed rate: response time for operations issued at a fixed rate.</p>
+     *
+     * <p>Runs by calling {@link Benchmark} methods on a fixed schedule, see {@link TargetRate},
+     * and measures the time for each call from its intended start time rather than from its
+     * actual start. When the benchmark falls behind the schedule, the waiting time for the late
+     * calls is included in the results, which avoids the coordinated omission of the other modes.
+     * This mode is time-based, and it will run until the iteration time expires.</p>
+     */
+    FixedRate("rate", "Fixed rate, response time"),
+
     /**
      * Meta-mode: all the benchmark modes.
      * This is mostly useful for internal JMH testing.
@@ -48,6 +48,9 @@ import java.util.concurrent.TimeUnit;
 public class BenchmarkGenerator {
 
     private static final String JMH_STUB_SUFFIX = "_jmhStub";
+    private static final String LATENCY_STUB_PREFIX = "lat_";
+    private static final String LATENCY_LABEL = "latency";
+    private static final String TIMELINE_STUB_PREFIX = "tl_";
     private static final String JMH_TESTCLASS_SUFFIX = "_jmhTest";
     protected static final String JMH_GENERATED_SUBPACKAGE = "jmh_generated";
 
@@ -168,7 +171,8 @@ public class BenchmarkGenerator {
                             group.getParams(),
                             group.getOutputTimeUnit(),
                             group.getOperationsPerInvocation(),
-                            group.getTimeout()
+                            group.getTimeout(),
+                            group.getTargetRate()
                     );
 
                     if (entriesByQName.keys().contains(info.userClassQName)) {
@@ -310,6 +314,12 @@ public class BenchmarkGenerator {
                 throw new GenerationException("The " + OperationsPerInvocation.class.getSimpleName() +
                         " needs to be greater than 0.", m);
             }
+
+            TargetRate tr = BenchmarkGeneratorUtils.getAnnSuper(m, clazz, TargetRate.class);
+            if (tr != null && !(tr.value() > 0)) {
+                throw new GenerationException("The " + TargetRate.class.getSimpleName() +
+                        " needs to be greater than 0.", m);
+            }
         }
 
         // validate @Group-s
@@ -496,7 +506,7 @@ public class BenchmarkGenerator {
         Class<?>[] imports = new Class<?>[]{
                 InfraControl.class, BenchmarkParams.class, IterationParams.class, ThreadParams.class,
                 Blackhole.class, Control.class, BenchmarkTaskResult.class, RawResults.class, ResultRole.class,
-                SampleBuffer.class, Field.class, FailureAssistException.class,
+                SampleBuffer.class, TimelineCounters.class, Field.class, FailureAssistException.class,
                 Result.class, ThroughputResult.class, AverageTimeResult.class,
                 SampleTimeResult.class, SingleShotResult.class,
                 ScalarResult.class, AggregationPolicy.class
@@ -546,6 +556,9 @@ public class BenchmarkGenerator {
             case SingleShotTime:
                 generateSingleShotTime(writer, benchmarkKind, methodGroup, states);
                 break;
+            case FixedRate:
+                generateFixedRate(writer, benchmarkKind, methodGroup, states);
+                break;
             default:
                 throw new AssertionError("Shouldn't be here");
         }
@@ -584,8 +597,7 @@ public class BenchmarkGenerator {
 
             // measurement loop call
             writer.println(ident(3) + "notifyControl.startMeasurement = true;");
-            writer.println(ident(3) + method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX +
-                    "(" + getStubArgs() + prefix(states.getArgList(method)) + ");");
+            latencySampledCall(writer, benchmarkKind, method, states);
             writer.println(ident(3) + "notifyControl.stopMeasurement = true;");
             writer.println();
 
@@ -640,6 +652,7 @@ public class BenchmarkGenerator {
                 writer.println(ident(3) + "results.add(new ThroughputResult(ResultRole.SECONDARY, \"" + method.getName() + "\", res.measuredOps, res.getTime(), benchmarkParams.getTimeUnit()));");
             }
             addAuxCounters(writer, "ThroughputResult", states, method);
+            addLatencyResults(writer, methodGroup, method);
 
             methodEpilog(writer);
 
@@ -675,9 +688,121 @@ public class BenchmarkGenerator {
             writer.println(ident(2) + "result.measuredOps = operations;");
             writer.println(ident(1) + "}");
             writer.println();
+
+            generateLatencySampledStub(writer, benchmarkKind, methodGroup, method, states);
+            generateTimelineStub(writer, benchmarkKind, methodGroup, method, states);
         }
     }
 
+    /**
+     * Calls the measurement stub. When latency sampling or timeline is requested, calls the stub
+     * that additionally takes sparse timing samples or publishes operation counts; the regular
+     * stub is left intact otherwise.
+     */
+    private void latencySampledCall(PrintWriter writer, Mode benchmarkKind, MethodInfo method, StateObjectHandler states) {
+        writer.println(ident(3) + "SampleBuffer latency = null;");
+        writer.println(ident(3) + "if (control.sampleLatency) {");
+        writer.println(ident(4) + "latency = new SampleBuffer();");
+        writer.println(ident(4) + method.getName() + "_" + LATENCY_STUB_PREFIX + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX +
+                "(" + getStubArgs() + ", latency, control.getDurationMs() * 20, benchmarkParams.getOpsPerInvocation(), " +
+                "iterationParams.getBatchSize(), control.timeline" + prefix(states.getArgList(method)) + ");");
+        writer.println(ident(3) + "} else if (control.timeline != null) {");
+        writer.println(ident(4) + method.getName() + "_" + TIMELINE_STUB_PREFIX + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX +
+                "(" + getStubArgs() + ", control.timeline" + prefix(states.getArgList(method)) + ");");
+        writer.println(ident(3) + "} else {");
+        writer.println(ident(4) + method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX +
+                "(" + getStubArgs() + prefix(states.getArgList(method)) + ");");
+        writer.println(ident(3) + "}");
+    }
+
+    private void addLatencyResults(PrintWriter writer, MethodGroup methodGroup, MethodInfo method) {
+        writer.println(ident(3) + "if (latency != null) {");
+        if (methodGroup.methods().size() == 1) {
+            writer.println(ident(4) + "results.add(new SampleTimeResult(ResultRole.SECONDARY, \"" + LATENCY_LABEL + "\", latency, benchmarkParams.getTimeUnit()));");
+        } else {
+            writer.println(ident(4) + "results.add(new SampleTimeResult(ResultRole.SECONDARY, \"" + LATENCY_LABEL + "\", latency, benchmarkParams.getTimeUnit()));");
+            writer.println(ident(4) + "results.add(new SampleTimeResult(ResultRole.SECONDARY, \"" + method.getName() + "." + LATENCY_LABEL + "\", latency, benchmarkParams.getTimeUnit()));");
+        }
+        writer.println(ident(3) + "}");
+    }
+
+    /**
+     * Generates the measurement stub that samples the invocation latency, the same way
+     * the sample time stub does, while counting all operations for the primary result.
+     */
+    private void generateLatencySampledStub(PrintWriter writer, Mode benchmarkKind, MethodGroup methodGroup, MethodInfo method, StateObjectHandler states) {
+        String methodName = method.getName() + "_" + LATENCY_STUB_PREFIX + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX;
+
+        writer.println(ident(1) + "public static" + (methodGroup.isStrictFP() ? " strictfp" : "") + " void " + methodName + "(" +
+                getStubTypeArgs() + ", SampleBuffer buffer, int targetSamples, long opsPerInv, int batchSize, TimelineCounters timeline" +
+                prefix(states.getTypeArgList(method)) + ") throws Throwable {");
+        writer.println(ident(2) + "long operations = 0;");
+        writer.println(ident(2) + "long realTime = 0;");
+        writer.println(ident(2) + "int rnd = (int)System.nanoTime();");
+        writer.println(ident(2) + "int rndMask = 0;");
+        writer.println(ident(2) + "int currentStride = 0;");
+        writer.println(ident(2) + "TimelineCounters.Counter counter = (timeline != null) ? timeline.counter(threadParams.getThreadIndex()) : null;");
+        writer.println(ident(2) + "result.startTime = System.nanoTime();");
+        writer.println(ident(2) + "do {");
+
+        invocationProlog(writer, 3, method, states, true);
+
+        writer.println(ident(3) + "rnd = (rnd * 1664525 + 1013904223);");
+        writer.println(ident(3) + "if ((rnd & rndMask) == 0) {");
+        writer.println(ident(4) + "long time = System.nanoTime();");
+        writer.println(ident(4) + emitCall(method, states) + ';');
+        // Each sample stands for (rndMask + 1) invocations, see the sample time stub.
+        writer.println(ident(4) + "buffer.addWeighted((System.nanoTime() - time) * batchSize / opsPerInv, rndMask + 1);");
+        writer.println(ident(4) + "if (currentStride++ > targetSamples) {");
+        writer.println(ident(5) + "currentStride = 0;");
+        writer.println(ident(5) + "rndMask = (rndMask << 1) + 1;");
+        writer.println(ident(4) + "}");
+        writer.println(ident(3) + "} else {");
+        writer.println(ident(4) + emitCall(method, states) + ';');
+        writer.println(ident(3) + "}");
+
+        invocationEpilog(writer, 3, method, states, true);
+
+        writer.println(ident(3) + "operations++;");
+        writer.println(ident(3) + "if (counter != null) counter.ops = operations;");
+        writer.println(ident(2) + "} while(!control.isDone);");
+        writer.println(ident(2) + "result.stopTime = System.nanoTime();");
+        writer.println(ident(2) + "result.realTime = realTime;");
+        writer.println(ident(2) + "result.measuredOps = operations;");
+        writer.println(ident(1) + "}");
+        writer.println();
+    }
+
+    /**
+     * Generates the measurement stub that publishes the running operation count
+     * for the iteration timeline after every operation. The count is a plain store
+     * the harness reads racily, see {@link TimelineCounters}.
+     */
+    private void generateTimelineStub(PrintWriter writer, Mode benchmarkKind, MethodGroup methodGroup, MethodInfo method, StateObjectHandler states) {
+        String methodName = method.getName() + "_" + TIMELINE_STUB_PREFIX + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX;
+
+        writer.println(ident(1) + "public static" + (methodGroup.isStrictFP() ? " strictfp" : "") + " void " + methodName + "(" +
+                getStubTypeArgs() + ", TimelineCounters timeline" + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
+        writer.println(ident(2) + "long operations = 0;");
+        writer.println(ident(2) + "long realTime = 0;");
+        writer.println(ident(2) + "TimelineCounters.Counter counter = timeline.counter(threadParams.getThreadIndex());");
+        writer.println(ident(2) + "result.startTime = System.nanoTime();");
+        writer.println(ident(2) + "do {");
+
+        invocationProlog(writer, 3, method, states, true);
+        writer.println(ident(3) + emitCall(method, states) + ';');
+        invocationEpilog(writer, 3, method, states, true);
+
+        writer.println(ident(3) + "operations++;");
+        writer.println(ident(3) + "counter.ops = operations;");
+        writer.println(ident(2) + "} while(!control.isDone);");
+        writer.println(ident(2) + "result.stopTime = System.nanoTime();");
+        writer.println(ident(2) + "result.realTime = realTime;");
+        writer.println(ident(2) + "result.measuredOps = operations;");
+        writer.println(ident(1) + "}");
+        writer.println();
+    }
+
     private void addAuxCounters(PrintWriter writer, String resName, StateObjectHandler states, MethodInfo method) {
         for (String res : states.getAuxResults(method, resName)) {
             writer.println(ident(3) + "results.add(" + res + ");");
@@ -717,7 +842,7 @@ public class BenchmarkGenerator {
 
             // measurement loop call
             writer.println(ident(3) + "notifyControl.startMeasurement = true;");
-            writer.println(ident(3) + method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX + "(" + getStubArgs() + prefix(states.getArgList(method)) + ");");
+            latencySampledCall(writer, benchmarkKind, method, states);
             writer.println(ident(3) + "notifyControl.stopMeasurement = true;");
             writer.println();
 
@@ -771,6 +896,7 @@ public class BenchmarkGenerator {
                 writer.println(ident(3) + "results.add(new AverageTimeResult(ResultRole.SECONDARY, \"" + method.getName() + "\", res.measuredOps, res.getTime(), benchmarkParams.getTimeUnit()));");
             }
             addAuxCounters(writer, "AverageTimeResult", states, method);
+            addLatencyResults(writer, methodGroup, method);
 
             methodEpilog(writer);
 
@@ -805,6 +931,9 @@ public class BenchmarkGenerator {
             writer.println(ident(2) + "result.measuredOps = operations;");
             writer.println(ident(1) + "}");
             writer.println();
+
+            generateLatencySampledStub(writer, benchmarkKind, methodGroup, method, states);
+            generateTimelineStub(writer, benchmarkKind, methodGroup, method, states);
         }
     }
 
@@ -963,9 +1092,12 @@ public class BenchmarkGenerator {
             writer.println(ident(3) + "}");
 
             writer.println(ident(3) + "if (sample) {");
-            writer.println(ident(4) + "buffer.add((System.nanoTime() - time) / opsPerInv);");
+            // Sampling rate halves every time the stride fills up, so each sample stands
+            // for (rndMask + 1) invocations. Weigh the samples accordingly, instead of halving
+            // the older ones: buffer counters are long, and exact weights do not lose
+            // the odd counts and rare samples to rounding.
+            writer.println(ident(4) + "buffer.addWeighted((System.nanoTime() - time) / opsPerInv, rndMask + 1);");
             writer.println(ident(4) + "if (currentStride++ > targetSamples) {");
-            writer.println(ident(5) + "buffer.half();");
             writer.println(ident(5) + "currentStride = 0;");
             writer.println(ident(5) + "rndMask = (rndMask << 1) + 1;");
             writer.println(ident(4) + "}");
@@ -983,6 +1115,147 @@ public class BenchmarkGenerator {
         }
     }
 
+    private void generateFixedRate(PrintWriter writer, Mode benchmarkKind, MethodGroup methodGroup, StateObjectHandler states) {
+        writer.println(ident(1) + "public BenchmarkTaskResult " + methodGroup.getName() + "_" + benchmarkKind +
+                "(InfraControl control, ThreadParams threadParams) throws Throwable {");
+
+        methodProlog(writer);
+
+        boolean isSingleMethod = (methodGroup.methods().size() == 1);
+        int subGroup = -1;
+        for (MethodInfo method : methodGroup.methods()) {
+            subGroup++;
+
+            writer.println(ident(2) + "if (threadParams.getSubgroupIndex() == " + subGroup + ") {");
+            writer.println(ident(3) + "RawResults res = new RawResults();");
+
+            iterationProlog(writer, 3, method, states);
+
+            // synchronize iterations prolog: announce ready
+            writer.println(ident(3) + "control.announceWarmupReady();");
+
+            // synchronize iterations prolog: catchup loop
+            writer.println(ident(3) + "while (control.warmupShouldWait) {");
+
+            invocationProlog(writer, 4, method, states, false);
+            writer.println(ident(4) + emitCall(method, states) + ';');
+            invocationEpilog(writer, 4, method, states, false);
+
+            writer.println(ident(4) + "if (control.shouldYield) Thread.yield();");
+            writer.println(ident(4) + "res.allOps++;");
+            writer.println(ident(3) + "}");
+            writer.println();
+
+            writer.println(ident(3) + "long interval = Math.max(1, Math.round(1e9 * threadParams.getThreadCount() / benchmarkParams.getTargetRate()));");
+            writer.println(ident(3) + "long phase = interval * threadParams.getThreadIndex() / threadParams.getThreadCount();");
+            writer.println(ident(3) + "int batchSize = iterationParams.getBatchSize();");
+            writer.println(ident(3) + "int opsPerInv = benchmarkParams.getOpsPerInvocation();");
+            writer.println(ident(3) + "SampleBuffer buffer = new SampleBuffer();");
+            writer.println();
+
+            // measurement loop call
+            writer.println(ident(3) + "notifyControl.startMeasurement = true;");
+            writer.println(ident(3) + method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX + "(" +
+                    getStubArgs() + ", buffer, interval, phase, opsPerInv, batchSize" + prefix(states.getArgList(method)) + ");");
+            writer.println(ident(3) + "notifyControl.stopMeasurement = true;");
+            writer.println();
+
+            // synchronize iterations epilog: announce ready
+            writer.println(ident(3) + "control.announceWarmdownReady();");
+
+            // synchronize iterations epilog: catchup loop
+            writer.println(ident(3) + "try {");
+            writer.println(ident(4) + "while (control.warmdownShouldWait) {");
+
+            invocationProlog(writer, 5, method, states, false);
+            writer.println(ident(5) + emitCall(method, states) + ';');
+            invocationEpilog(writer, 5, method, states, false);
+
+            writer.println(ident(5) + "if (control.shouldYield) Thread.yield();");
+            writer.println(ident(5) + "res.allOps++;");
+            writer.println(ident(4) + "}");
+            writer.println(ident(3) + "} catch (Throwable e) {");
+            writer.println(ident(4) + "if (!(e instanceof InterruptedException)) throw e;");
+            writer.println(ident(3) + "}");
+            writer.println(ident(3) + "control.preTearDown();");
+
+            iterationEpilog(writer, 3, method, states);
+
+            /*
+               Adjust the operation counts:
+                  1) res.measuredOps counted the batched @Benchmark invocations. Therefore, we need only
+                     to adjust for opsPerInv (pretending each @Benchmark invocation counts as $opsPerInv ops);
+                  2) res.allOps counted the individual @Benchmark invocations; to it needs the adjustment for $batchSize.
+
+               It's prudent to make the multiplication first to get more accuracy.
+             */
+
+            writer.println(ident(3) + "res.allOps += res.measuredOps * batchSize;");
+
+            writer.println(ident(3) + "res.allOps *= opsPerInv;");
+            writer.println(ident(3) + "res.allOps /= batchSize;");
+            writer.println(ident(3) + "res.measuredOps *= opsPerInv;");
+
+            writer.println(ident(3) + "BenchmarkTaskResult results = new BenchmarkTaskResult((long)res.allOps, (long)res.measuredOps);");
+            if (isSingleMethod) {
+                writer.println(ident(3) + "results.add(new SampleTimeResult(ResultRole.PRIMARY, \"" + method.getName() + "\", buffer, benchmarkParams.getTimeUnit()));");
+            } else {
+                writer.println(ident(3) + "results.add(new SampleTimeResult(ResultRole.PRIMARY, \"" + methodGroup.getName() + "\", buffer, benchmarkParams.getTimeUnit()));");
+                writer.println(ident(3) + "results.add(new SampleTimeResult(ResultRole.SECONDARY, \"" + method.getName() + "\", buffer, benchmarkParams.getTimeUnit()));");
+            }
+            addAuxCounters(writer, "SampleTimeResult", states, method);
+
+            methodEpilog(writer);
+
+            writer.println(ident(3) + "return results;");
+            writer.println(ident(2) + "} else");
+        }
+        writer.println(ident(3) + "throw new IllegalStateException();");
+        writer.println(ident(1) + "}");
+
+        writer.println();
+
+        // measurement loop bodies
+        for (MethodInfo method : methodGroup.methods()) {
+            String methodName = method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX;
+            compilerControl.defaultForceInline(method);
+
+            writer.println(ident(1) + "public static" + (methodGroup.isStrictFP() ? " strictfp" : "") + " void " + methodName + "(" +
+                    getStubTypeArgs() + ", SampleBuffer buffer, long interval, long phase, long opsPerInv, int batchSize" + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
+
+            writer.println(ident(2) + "long realTime = 0;");
+            writer.println(ident(2) + "long operations = 0;");
+            // Threads run their schedules at the same rate, shifted from each other
+            // by their share of the interval.
+            writer.println(ident(2) + "long intended = control.getFirstIntendedTime(interval, phase);");
+            writer.println(ident(2) + "do {");
+
+            invocationProlog(writer, 3, method, states, true);
+
+            // Wait for the intended start time. When behind the schedule, do not wait,
+            // and count the time from the intended start: this is the queueing delay
+            // the late operation would have experienced.
+            writer.println(ident(3) + "if (control.awaitNanoTime(intended)) {");
+            writer.println(ident(4) + "for (int b = 0; b < batchSize; b++) {");
+            writer.println(ident(5) + "if (control.volatileSpoiler) return;");
+            writer.println(ident(5) + emitCall(method, states) + ';');
+            writer.println(ident(4) + "}");
+            writer.println(ident(4) + "buffer.add((System.nanoTime() - intended) / opsPerInv);");
+            writer.println(ident(4) + "intended += interval;");
+            writer.println(ident(4) + "operations++;");
+            writer.println(ident(3) + "}");
+
+            invocationEpilog(writer, 3, method, states, true);
+
+            writer.println(ident(2) + "} while(!control.isDone);");
+
+            writer.println(ident(2) + "result.realTime = realTime;");
+            writer.println(ident(2) + "result.measuredOps = operations;");
+            writer.println(ident(1) + "}");
+            writer.println();
+        }
+    }
+
     private void generateSingleShotTime(PrintWriter writer, Mode benchmarkKind, MethodGroup methodGroup, StateObjectHandler states) {
         writer.println(ident(1) + "public BenchmarkTaskResult " + methodGroup.getName() + "_" + benchmarkKind + "(InfraControl control, ThreadParams threadParams) throws Throwable {");
 
@@ -278,6 +278,13 @@ class MethodGroup implements Comparable<MethodGroup> {
         return Optional.none();
     }
 
+    public Optional<Double> getTargetRate() {
+        for (TargetRate ann : getAll(TargetRate.class)) {
+            return Optional.of(ann.value());
+        }
+        return Optional.none();
+    }
+
     private <T extends Annotation> Collection<T> getAll(Class<T> annClass) {
         Collection<T> results = new ArrayList<>();
         for (MethodInvocation mi : methods) {
@@ -25,6 +25,7 @@
 package org.openjdk.jmh.infra;
 
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.runner.Defaults;
 import org.openjdk.jmh.runner.WorkloadParams;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.openjdk.jmh.util.Version;
@@ -65,6 +66,26 @@ public final class BenchmarkParams extends BenchmarkParamsL2 {
                            String jvm, Collection<String> jvmArgs,
                            String jdkVersion, String vmName, String vmVersion, String jmhVersion,
                            TimeValue timeout) {
+        this(benchmark, generatedTarget, synchIterations,
+                threads, threadGroups, threadGroupLabels,
+                forks, warmupForks,
+                warmup, measurement,
+                mode, params,
+                timeUnit, opsPerInvocation,
+                jvm, jvmArgs,
+                jdkVersion, vmName, vmVersion, jmhVersion,
+                timeout, Defaults.TARGET_RATE);
+    }
+
+    public BenchmarkParams(String benchmark, String generatedTarget, boolean synchIterations,
+                           int threads, int[] threadGroups, Collection<String> threadGroupLabels,
+                           int forks, int warmupForks,
+                           IterationParams warmup, IterationParams measurement,
+                           Mode mode, WorkloadParams params,
+                           TimeUnit timeUnit, int opsPerInvocation,
+                           String jvm, Collection<String> jvmArgs,
+                           String jdkVersion, String vmName, String vmVersion, String jmhVersion,
+                           TimeValue timeout, double targetRate) {
         super(benchmark, generatedTarget, synchIterations,
                 threads, threadGroups, threadGroupLabels,
                 forks, warmupForks,
@@ -73,7 +94,7 @@ public final class BenchmarkParams extends BenchmarkParamsL2 {
                 timeUnit, opsPerInvocation,
                 jvm, jvmArgs,
                 jdkVersion, vmName, vmVersion, jmhVersion,
-                timeout);
+                timeout, targetRate);
     }
 }
 
@@ -101,6 +122,7 @@ abstract class BenchmarkParamsL2 extends BenchmarkParamsL1 implements Serializab
     protected final String vmName;
     protected final String vmVersion;
     protected final TimeValue timeout;
+    protected final double targetRate;
 
     public BenchmarkParamsL2(String benchmark, String generatedTarget, boolean synchIterations,
                              int threads, int[] threadGroups, Collection<String> threadGroupLabels,
@@ -110,7 +132,7 @@ abstract class BenchmarkParamsL2 extends BenchmarkParamsL1 implements Serializab
                              TimeUnit timeUnit, int opsPerInvocation,
                              String jvm, Collection<String> jvmArgs,
                              String jdkVersion, String vmName, String vmVersion, String jmhVersion,
-                             TimeValue timeout) {
+                             TimeValue timeout, double targetRate) {
         this.benchmark = benchmark;
         this.generatedTarget = generatedTarget;
         this.synchIterations = synchIterations;
@@ -132,6 +154,7 @@ abstract class BenchmarkParamsL2 extends BenchmarkParamsL1 implements Serializab
         this.vmVersion = vmVersion;
         this.jmhVersion = jmhVersion;
         this.timeout = timeout;
+        this.targetRate = targetRate;
     }
 
     /**
@@ -141,6 +164,13 @@ abstract class BenchmarkParamsL2 extends BenchmarkParamsL1 implements Serializab
         return timeout;
     }
 
+    /**
+     * @return target rate for {@link Mode#FixedRate} mode, ops/s, across all threads
+     */
+    public double getTargetRate() {
+        return targetRate;
+    }
+
     /**
      * @return do we synchronize iterations?
      */
@@ -246,6 +276,28 @@ abstract class BenchmarkParamsL2 extends BenchmarkParamsL1 implements Serializab
         }
     }
 
+    /**
+     * Clones these params with the additional workload parameter.
+     *
+     * @param key parameter key
+     * @param value parameter value
+     * @param order parameter value order, used to sort the runs with different values
+     * @return cloned params
+     */
+    public BenchmarkParams cloneWithParam(String key, String value, int order) {
+        WorkloadParams newParams = (params != null) ? params.copy() : new WorkloadParams();
+        newParams.put(key, value, order);
+        return new BenchmarkParams(benchmark, generatedTarget, synchIterations,
+                threads, threadGroups, threadGroupLabels,
+                forks, warmupForks,
+                warmup, measurement,
+                mode, newParams,
+                timeUnit, opsPerInvocation,
+                jvm, jvmArgs,
+                jdkVersion, vmName, vmVersion, jmhVersion,
+                timeout, targetRate);
+    }
+
     /**
      * @return generated benchmark name
      */
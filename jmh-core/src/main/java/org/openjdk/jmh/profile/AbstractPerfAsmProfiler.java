@@ -66,6 +66,11 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
     private final String saveLogTo;
     private final String saveLogToFile;
 
+    private final boolean saveData;
+    private final String saveDataTo;
+    private final String saveDataToFile;
+    private final String compareWith;
+
     private final boolean intelSyntax;
 
     protected final TempFile hsLog;
@@ -77,6 +82,8 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
 
     private final ShowCounts showCounts;
 
+    protected final int parseThreads;
+
     private enum ShowCounts {
         raw,
         norm,
@@ -183,6 +190,24 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
                 "Override the annotated Hotspot log filename.")
                 .withRequiredArg().ofType(String.class).describedAs("file");
 
+        OptionSpec<Boolean> optSaveData = parser.accepts("saveData",
+                        "Save per-method profile data to file, to compare other runs against it with \"compareWith\".")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool").defaultsTo(false);
+
+        OptionSpec<String> optSaveDataTo = parser.accepts("saveDataTo",
+                        "Override the profile data location. This will use the unique file name per test.")
+                .withRequiredArg().ofType(String.class).describedAs("dir").defaultsTo(".");
+
+        OptionSpec<String> optSaveDataToFile = parser.accepts("saveDataToFile",
+                "Override the profile data filename.")
+                .withRequiredArg().ofType(String.class).describedAs("file");
+
+        OptionSpec<String> optCompareWith = parser.accepts("compareWith",
+                        "Compare the profile with the baseline profile data saved with \"saveData\" before, and print " +
+                        "per-method event and instruction mix differences. Two saved profiles can also be compared " +
+                        "offline with " + PerfAsmDiff.class.getName() + ".")
+                .withRequiredArg().ofType(String.class).describedAs("file");
+
         OptionSpec<Boolean> optIntelSyntax = parser.accepts("intelSyntax",
                         "Should perfasm use intel syntax?")
                 .withRequiredArg().ofType(Boolean.class).describedAs("boolean").defaultsTo(false);
@@ -202,6 +227,10 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
                                 ShowCounts.percent_total + " (percent of total events).")
                 .withRequiredArg().ofType(String.class).describedAs("type").defaultsTo(ShowCounts.percent_total.toString());
 
+        OptionSpec<Integer> optParseThreads = parser.accepts("parseThreads",
+                        "Number of threads to parse the profiling data with.")
+                .withRequiredArg().ofType(Integer.class).describedAs("#").defaultsTo(Runtime.getRuntime().availableProcessors());
+
         addMyOptions(parser);
 
         set = ProfilerUtils.parseInitLine(initLine, parser);
@@ -233,11 +262,17 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
             saveLogTo = set.valueOf(optSaveLogTo);
             saveLogToFile = set.valueOf(optSaveLogToFile);
 
+            saveData = set.valueOf(optSaveData);
+            saveDataTo = set.valueOf(optSaveDataTo);
+            saveDataToFile = set.valueOf(optSaveDataToFile);
+            compareWith = set.valueOf(optCompareWith);
+
             intelSyntax = set.valueOf(optIntelSyntax);
             drawIntraJumps = set.valueOf(optDrawInterJumps);
             drawInterJumps = set.valueOf(optDrawIntraJumps);
 
             showCounts = ShowCounts.valueOf(set.valueOf(optShowCounts));
+            parseThreads = Math.max(1, set.valueOf(optParseThreads));
         } catch (OptionException | IllegalArgumentException e) {
             throw new ProfilerException(e.getMessage());
         }
@@ -648,19 +683,36 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
 
         }
 
+        /**
+         * Collect the profile data, and compare with baseline, if needed:
+         */
+        PerfAsmData data = null;
+        if (saveData || compareWith != null) {
+            data = collectData(evNames, context, regions, assembly, events);
+        }
+
+        if (compareWith != null) {
+            try {
+                PerfAsmData baseline = PerfAsmData.read(new File(compareWith));
+                pw.println("Comparing with baseline profile data from " + compareWith);
+                pw.println();
+                PerfAsmDiff.print(pw, baseline, data, regionShowTop);
+            } catch (IOException e) {
+                pw.println("Unable to read baseline profile data: " + e.getMessage());
+                pw.println();
+            }
+        }
+
         /**
          * Final checks on assembly:
          */
 
         {
-            Set<Long> addrHistory = new HashSet<>();
-            for (Long addr : assembly.addressMap.keySet()) {
-                if (!addrHistory.add(addr)) {
-                    pw.println("WARNING: Duplicate instruction addresses detected. This is probably due to compiler reusing\n " +
-                        "the code arena for the new generated code. We can not differentiate between methods sharing\n" +
-                        "the same addresses, and therefore the profile might be wrong. Increasing generated code\n" +
-                        "storage might help.");
-                }
+            if (assembly.addressIndex.hasDuplicates()) {
+                pw.println("WARNING: Duplicate instruction addresses detected. This is probably due to compiler reusing\n " +
+                    "the code arena for the new generated code. We can not differentiate between methods sharing\n" +
+                    "the same addresses, and therefore the profile might be wrong. Increasing generated code\n" +
+                    "storage might help.");
             }
         }
 
@@ -722,12 +774,65 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
             }
         }
 
+        /**
+         * Print profile data, if needed:
+         */
+        if (saveData) {
+            String target = (saveDataToFile == null) ?
+                saveDataTo + "/" + br.getParams().id() + ".perfasm" :
+                saveDataToFile;
+            try {
+                data.write(new File(target));
+                pw.println("Profile data saved to " + target);
+            } catch (IOException e) {
+                pw.println("Unable to save profile data to " + target);
+            }
+        }
+
         pw.flush();
         pw.close();
 
         return new TextResult(sw.toString(), "asm");
     }
 
+    private PerfAsmData collectData(List<String> evNames, PrintContext context, List<Region> regions,
+                                    Assembly assembly, PerfEvents events) {
+        PerfAsmData data = new PerfAsmData(evNames, context.ops);
+        for (String event : evNames) {
+            data.totals.add(event, events.getTotalEvents(event));
+        }
+
+        for (Region r : regions) {
+            PerfAsmData.Method m = data.method(r.desc());
+            for (String event : evNames) {
+                m.counts.add(event, r.getEventCount(events, event));
+            }
+
+            // Instruction mix: attribute events to the instructions at their addresses
+            for (long addr : r.eventfulAddrs) {
+                int idx = assembly.addressIndex.ceiling(addr);
+                if (idx < 0) {
+                    continue;
+                }
+                ASMLine line = assembly.lines.get(idx);
+                if (line.addr == null || line.addr != addr) {
+                    continue;
+                }
+                String mnemonic = PerfAsmData.mnemonic(line.code);
+                if (mnemonic == null) {
+                    continue;
+                }
+                for (String event : evNames) {
+                    long count = events.get(event).count(addr);
+                    if (count > 0) {
+                        m.mix(event).add(mnemonic, count);
+                    }
+                }
+            }
+        }
+        return data;
+    }
+
     private static void printLine(PrintWriter pw, PerfEvents events, String event, long count, PrintContext context) {
         if (count > 0) {
             switch (context.mode) {
@@ -882,52 +987,142 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
         }
     }
 
+    // Parsing the interpreter/runtime stub:
+    // ----------------------------------------------------------------------
+    // invokehandle  233 invokehandle  [0x00007f631d023100, 0x00007f631d0233c0]  704 bytes
+    // StubRoutines::catch_exception [0x00007feb43fa7b27, 0x00007feb43fa7b46[ (31 bytes)
+
+    // JDK 13 adds another "-------" line after StubRoutines line, so we need to filter out
+    // mismatched lines that follow it. This is why regexp is anchored at the start of the line.
+    // Example:
+    //
+    // StubRoutines::updateBytesCRC32 [0x0000ffff6c819700, 0x0000ffff6c819870] (368 bytes)
+    // --------------------------------------------------------------------------------
+    //  0x0000ffff6c819700:   stp     x29, x30, [sp, #-16]!  <--- do not match this
+    //  0x0000ffff6c819704:   mov     x29, sp
+    //  0x0000ffff6c819708:   mvn     w0, w0
+    private static final Pattern INTERPRETER_STUB_PATTERN = Pattern.compile("^(\\S.*)( +)\\[(.+), (.+)[\\]\\[](.*)");
+
+    // Parsing runtime stubs. These come in different shapes and sizes:
+    //
+    // Decoding ExceptionBlob 0x0000ffff7ff1bb10 [0x0000ffff7ff1bb80, 0x0000ffff7ff1bbd0] (80 bytes)
+    //
+    // Decoding VtableStub itbl[0]@281473229238259 [0x0000ffff7ff1d210, 0x0000ffff7ff1d29c] (140 bytes)
+    //
+    // Decoding RuntimeStub - _complete_monitor_locking_Java 0x0000ffff8bf20f90 [0x0000ffff8bf21000, 0x0000ffff8bf21080] (128 bytes)
+    private static final Pattern RUNTIME_STUB_PATTERN = Pattern.compile("Decoding (.+?) \\[(.+), (.+)\\](.*)");
+
+    // <nmethod compile_id='481' compiler='C1' level='3' entry='0x00007f26f51fb640' size='1392'
+    //   address='0x00007f26f51fb4d0' relocation_offset='296' insts_offset='368' stub_offset='976'
+    //   scopes_data_offset='1152' scopes_pcs_offset='1208' dependencies_offset='1368' nul_chk_table_offset='1376'
+    //   method='java/lang/reflect/Constructor getParameterTypes ()[Ljava/lang/Class;' bytes='11'
+    //   count='258' iicount='258' stamp='8.590'/>
+    private static final Pattern NMETHOD_PATTERN = Pattern.compile("(.*?)<nmethod (.*?)/>(.*?)");
+
+    /**
+     * Number of lines in a single parsing task.
+     */
+    private static final int ASSEMBLY_SLICE_LINES = 64 * 1024;
+
     Assembly readAssembly() {
-        List<ASMLine> lines = new ArrayList<>();
-        SortedMap<Long, Integer> addressMap = new TreeMap<>();
+        // Cut the per-writer assembly into the slices that are parsed in parallel.
+        // Every slice carries the last non-empty line before it, to have the same context as
+        // the sequential parse would have.
+        List<AssemblySlice> slices = new ArrayList<>();
+        for (Collection<String> cs : splitAssembly()) {
+            List<String> writerLines = (cs instanceof List) ? (List<String>) cs : new ArrayList<>(cs);
+            String prevLine = "";
+            for (int from = 0; from < writerLines.size(); from += ASSEMBLY_SLICE_LINES) {
+                int to = Math.min(writerLines.size(), from + ASSEMBLY_SLICE_LINES);
+                slices.add(new AssemblySlice(writerLines.subList(from, to), prevLine));
+                for (int i = to - 1; i >= from; i--) {
+                    if (!writerLines.get(i).trim().isEmpty()) {
+                        prevLine = writerLines.get(i);
+                        break;
+                    }
+                }
+            }
+        }
+
+        List<AssemblySlice> parsed = Utils.mapParallel(slices, parseThreads, s -> {
+            s.parse(drawIntraJumps || drawInterJumps);
+            return s;
+        });
 
+        // Merge the slices in order. This keeps the line order and method version numbers
+        // exactly the same as in sequential parse.
+        List<ASMLine> lines = new ArrayList<>();
         IntervalMap<MethodDesc> stubs       = new IntervalMap<>();
         IntervalMap<MethodDesc> javaMethods = new IntervalMap<>();
-
         Set<Interval> intervals = new HashSet<>();
-
         CountingMap<String> methodVersions = new CountingMap<>();
 
-        // Parsing the interpreter/runtime stub:
-        // ----------------------------------------------------------------------
-        // invokehandle  233 invokehandle  [0x00007f631d023100, 0x00007f631d0233c0]  704 bytes
-        // StubRoutines::catch_exception [0x00007feb43fa7b27, 0x00007feb43fa7b46[ (31 bytes)
-
-        // JDK 13 adds another "-------" line after StubRoutines line, so we need to filter out
-        // mismatched lines that follow it. This is why regexp is anchored at the start of the line.
-        // Example:
-        //
-        // StubRoutines::updateBytesCRC32 [0x0000ffff6c819700, 0x0000ffff6c819870] (368 bytes)
-        // --------------------------------------------------------------------------------
-        //  0x0000ffff6c819700:   stp     x29, x30, [sp, #-16]!  <--- do not match this
-        //  0x0000ffff6c819704:   mov     x29, sp
-        //  0x0000ffff6c819708:   mvn     w0, w0
-        final Pattern interpreterStubPattern = Pattern.compile("^(\\S.*)( +)\\[(.+), (.+)[\\]\\[](.*)");
-
-        // Parsing runtime stubs. These come in different shapes and sizes:
-        //
-        // Decoding ExceptionBlob 0x0000ffff7ff1bb10 [0x0000ffff7ff1bb80, 0x0000ffff7ff1bbd0] (80 bytes)
-        //
-        // Decoding VtableStub itbl[0]@281473229238259 [0x0000ffff7ff1d210, 0x0000ffff7ff1d29c] (140 bytes)
-        //
-        // Decoding RuntimeStub - _complete_monitor_locking_Java 0x0000ffff8bf20f90 [0x0000ffff8bf21000, 0x0000ffff8bf21080] (128 bytes)
-        final Pattern runtimeStubPattern = Pattern.compile("Decoding (.+?) \\[(.+), (.+)\\](.*)");
-
-        // <nmethod compile_id='481' compiler='C1' level='3' entry='0x00007f26f51fb640' size='1392'
-        //   address='0x00007f26f51fb4d0' relocation_offset='296' insts_offset='368' stub_offset='976'
-        //   scopes_data_offset='1152' scopes_pcs_offset='1208' dependencies_offset='1368' nul_chk_table_offset='1376'
-        //   method='java/lang/reflect/Constructor getParameterTypes ()[Ljava/lang/Class;' bytes='11'
-        //   count='258' iicount='258' stamp='8.590'/>
-        final Pattern nmethodPattern = Pattern.compile("(.*?)<nmethod (.*?)/>(.*?)");
+        for (AssemblySlice s : parsed) {
+            lines.addAll(s.lines);
+            intervals.addAll(s.intervals);
+            for (StubEntry e : s.stubs) {
+                stubs.add(e.desc, e.startAddr, e.endAddr);
+            }
+            for (Map<String, String> map : s.nmethods) {
+                // Record the starting address for the method
+                List<Long> entryAddrs = parseAddresses(map.get("entry"), true, true);
+                long addr = entryAddrs.get(0);
+
+                MethodDesc desc = MethodDesc.javaMethod(
+                        map.get("method"),
+                        (map.get("compiler") != null) ? map.get("compiler").toUpperCase() : null,
+                        map.get("level"),
+                        methodVersions.incrementAndGet(map.get("method")),
+                        map.get("compile_id"));
+
+                javaMethods.add(
+                        desc,
+                        addr,
+                        addr + Long.parseLong(map.get("size"))
+                );
+            }
+        }
 
-        for (Collection<String> cs : splitAssembly()) {
-            String prevLine = "";
-            for (String line : cs) {
+        // Important to get the order right: all Java methods take precedence over interpreter/runtime stubs.
+        IntervalMap<MethodDesc> methodMap = new IntervalMap<>();
+        methodMap.merge(stubs);
+        methodMap.merge(javaMethods);
+
+        return new Assembly(lines, AddressIndex.of(lines), methodMap, intervals);
+    }
+
+    private static class StubEntry {
+        final MethodDesc desc;
+        final long startAddr;
+        final long endAddr;
+
+        StubEntry(MethodDesc desc, long startAddr, long endAddr) {
+            this.desc = desc;
+            this.startAddr = startAddr;
+            this.endAddr = endAddr;
+        }
+    }
+
+    /**
+     * Consecutive assembly lines from a single writer, parsed independently.
+     */
+    private static class AssemblySlice {
+        final List<String> source;
+        final String prevSourceLine;
+
+        final List<ASMLine> lines = new ArrayList<>();
+        final List<StubEntry> stubs = new ArrayList<>();
+        final List<Map<String, String>> nmethods = new ArrayList<>();
+        final Set<Interval> intervals = new HashSet<>();
+
+        AssemblySlice(List<String> source, String prevSourceLine) {
+            this.source = source;
+            this.prevSourceLine = prevSourceLine;
+        }
+
+        void parse(boolean recordJumps) {
+            String prevLine = prevSourceLine;
+            for (String line : source) {
                 String trim = line.trim();
                 if (trim.isEmpty()) {
                     // Filter out empty lines for denser output, more efficient matching,
@@ -942,12 +1137,9 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
                 // Handle the most frequent case first.
                 if (addrs.size() > 0) {
                     long startAddr = addrs.get(0);
-                    int idx = lines.size();
-                    addressMap.put(startAddr, idx);
-
                     asmLine = new ASMLine(startAddr, line);
 
-                    if (addrs.size() > 1 && (drawInterJumps || drawIntraJumps)) {
+                    if (addrs.size() > 1 && recordJumps) {
                         for (int c = 1; c < addrs.size(); c++) {
                             long targetAddr = addrs.get(c);
                             intervals.add(new Interval(startAddr, targetAddr));
@@ -956,7 +1148,7 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
                 }
 
                 if (prevLine.contains("--------") || line.contains("StubRoutines::")) {
-                    Matcher matcher = interpreterStubPattern.matcher(line);
+                    Matcher matcher = INTERPRETER_STUB_PATTERN.matcher(line);
 
                     if (matcher.matches()) {
                         String name = matcher.group(1);
@@ -967,16 +1159,16 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
                             long endAddr = stubAddrs.get(1);
 
                             if (line.contains("StubRoutines::")) {
-                                stubs.add(MethodDesc.runtimeStub(name), startAddr, endAddr);
+                                stubs.add(new StubEntry(MethodDesc.runtimeStub(name), startAddr, endAddr));
                             } else {
-                                stubs.add(MethodDesc.interpreter(name), startAddr, endAddr);
+                                stubs.add(new StubEntry(MethodDesc.interpreter(name), startAddr, endAddr));
                             }
                         }
                     }
                 }
 
                 if (line.contains("Decoding")) {
-                    Matcher matcher = runtimeStubPattern.matcher(line);
+                    Matcher matcher = RUNTIME_STUB_PATTERN.matcher(line);
                     if (matcher.matches()) {
                         String name = matcher.group(1);
                         if (name.startsWith("RuntimeStub - ")) {
@@ -986,13 +1178,13 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
                         Long endAddr = parseOneAddress(matcher.group(3));
 
                         if (startAddr != null && endAddr != null) {
-                            stubs.add(MethodDesc.runtimeStub(name), startAddr, endAddr);
+                            stubs.add(new StubEntry(MethodDesc.runtimeStub(name), startAddr, endAddr));
                         }
                     }
                 }
 
                 if (line.contains("<nmethod")) {
-                    Matcher matcher = nmethodPattern.matcher(line);
+                    Matcher matcher = NMETHOD_PATTERN.matcher(line);
                     if (matcher.matches()) {
                         String body = matcher.group(2);
                         body = body.replaceAll("='", "=");
@@ -1010,22 +1202,8 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
                             }
                         }
 
-                        // Record the starting address for the method
-                        List<Long> entryAddrs = parseAddresses(map.get("entry"), true, true);
-                        long addr = entryAddrs.get(0);
-
-                        MethodDesc desc = MethodDesc.javaMethod(
-                                map.get("method"),
-                                (map.get("compiler") != null) ? map.get("compiler").toUpperCase() : null,
-                                map.get("level"),
-                                methodVersions.incrementAndGet(map.get("method")),
-                                map.get("compile_id"));
-
-                        javaMethods.add(
-                                desc,
-                                addr,
-                                addr + Long.parseLong(map.get("size"))
-                        );
+                        // Method versions depend on the global order, resolve them at merge
+                        nmethods.add(map);
                     }
                 }
 
@@ -1034,19 +1212,10 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
                 prevLine = line;
             }
         }
-
-        // Important to get the order right: all Java methods take precedence over interpreter/runtime stubs.
-        IntervalMap<MethodDesc> methodMap = new IntervalMap<>();
-        methodMap.merge(stubs);
-        methodMap.merge(javaMethods);
-
-        return new Assembly(lines, addressMap, methodMap, intervals);
     }
 
     private static final List<Long> EMPTY_LIST_LONGS = Collections.unmodifiableList(new ArrayList<>());
 
-    private static final Pattern ADDR_LINE_SPLIT = Pattern.compile("\\W+");
-
     static Long parseOneAddress(String src) {
         List<Long> addrs = parseAddresses(src, true, true);
         if (addrs.size() == 1) {
@@ -1063,9 +1232,23 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
 
         List<Long> addrs = new ArrayList<>();
 
-        String[] elements = ADDR_LINE_SPLIT.split(line);
-        for (int i = 0; i < elements.length; i++) {
-            String el = elements[i];
+        // Walk the word-character elements. This is equivalent to splitting by "\\W+"
+        // without regexps on the hot path: the line that starts with the non-word
+        // character yields the leading empty element, trailing separators yield nothing.
+        int len = line.length();
+        int pos = 0;
+        for (int i = 0; ; i++) {
+            int end = pos;
+            while (end < len && isWordChar(line.charAt(end))) {
+                end++;
+            }
+            int next = end;
+            while (next < len && !isWordChar(line.charAt(next))) {
+                next++;
+            }
+
+            String el = line.substring(pos, end);
+            pos = next;
 
             String str = null;
             if (el.startsWith("0x")) {
@@ -1086,11 +1269,19 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
                     // It looked like an address, but was not.
                 }
             }
+
+            if (pos >= len) {
+                break;
+            }
         }
 
         return Collections.unmodifiableList(addrs);
     }
 
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
     protected static class PerfEvents {
         final Map<String, Multiset<Long>> events;
         final IntervalMap<MethodDesc> methods;
@@ -1130,22 +1321,145 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
         }
     }
 
+    /**
+     * Maps the instruction addresses to the assembly line indexes.
+     * Keeps the sorted primitive arrays, instead of boxed sorted map.
+     */
+    static class AddressIndex {
+        private final long[] addrs;
+        private final int[] idxs;
+        private final boolean duplicates;
+
+        private AddressIndex(long[] addrs, int[] idxs, boolean duplicates) {
+            this.addrs = addrs;
+            this.idxs = idxs;
+            this.duplicates = duplicates;
+        }
+
+        static AddressIndex of(List<ASMLine> lines) {
+            int count = 0;
+            for (ASMLine line : lines) {
+                if (line.addr != null) {
+                    count++;
+                }
+            }
+
+            long[] addrs = new long[count];
+            int[] idxs = new int[count];
+            int c = 0;
+            for (int i = 0; i < lines.size(); i++) {
+                Long addr = lines.get(i).addr;
+                if (addr != null) {
+                    addrs[c] = addr;
+                    idxs[c] = i;
+                    c++;
+                }
+            }
+
+            // Lines mostly come in address order already, stable sort keeps
+            // the line order for duplicate addresses.
+            sort(addrs, idxs, new long[count], new int[count], 0, count);
+
+            // Deduplicate, the later line wins
+            boolean duplicates = false;
+            int w = 0;
+            for (int r = 0; r < count; r++) {
+                if (w > 0 && addrs[w - 1] == addrs[r]) {
+                    duplicates = true;
+                    idxs[w - 1] = idxs[r];
+                } else {
+                    addrs[w] = addrs[r];
+                    idxs[w] = idxs[r];
+                    w++;
+                }
+            }
+
+            return new AddressIndex(Arrays.copyOf(addrs, w), Arrays.copyOf(idxs, w), duplicates);
+        }
+
+        private static void sort(long[] addrs, int[] idxs, long[] tmpAddrs, int[] tmpIdxs, int from, int to) {
+            if (to - from < 2) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            sort(addrs, idxs, tmpAddrs, tmpIdxs, from, mid);
+            sort(addrs, idxs, tmpAddrs, tmpIdxs, mid, to);
+            if (addrs[mid - 1] <= addrs[mid]) {
+                // Already ordered
+                return;
+            }
+
+            int l = from, r = mid, w = from;
+            while (l < mid && r < to) {
+                if (addrs[l] <= addrs[r]) {
+                    tmpAddrs[w] = addrs[l];
+                    tmpIdxs[w++] = idxs[l++];
+                } else {
+                    tmpAddrs[w] = addrs[r];
+                    tmpIdxs[w++] = idxs[r++];
+                }
+            }
+            while (l < mid) {
+                tmpAddrs[w] = addrs[l];
+                tmpIdxs[w++] = idxs[l++];
+            }
+            while (r < to) {
+                tmpAddrs[w] = addrs[r];
+                tmpIdxs[w++] = idxs[r++];
+            }
+            System.arraycopy(tmpAddrs, from, addrs, from, to - from);
+            System.arraycopy(tmpIdxs, from, idxs, from, to - from);
+        }
+
+        int size() {
+            return addrs.length;
+        }
+
+        boolean hasDuplicates() {
+            return duplicates;
+        }
+
+        /**
+         * @param addr address
+         * @return line index for the lowest address that is greater or equal to given one; -1 if none
+         */
+        int ceiling(long addr) {
+            int pos = Arrays.binarySearch(addrs, addr);
+            if (pos < 0) {
+                pos = -pos - 1;
+            }
+            return (pos < addrs.length) ? idxs[pos] : -1;
+        }
+
+        /**
+         * @param addr address
+         * @return line index for the highest address that is strictly less than given one; -1 if none
+         */
+        int lower(long addr) {
+            int pos = Arrays.binarySearch(addrs, addr);
+            if (pos < 0) {
+                pos = -pos - 1;
+            }
+            return (pos > 0) ? idxs[pos - 1] : -1;
+        }
+    }
+
     static class Assembly {
         final List<ASMLine> lines;
-        final SortedMap<Long, Integer> addressMap;
+        final AddressIndex addressIndex;
         final IntervalMap<MethodDesc> methodMap;
         final Set<Interval> intervals;
 
-        public Assembly(List<ASMLine> lines, SortedMap<Long, Integer> addressMap, IntervalMap<MethodDesc> methodMap, Set<Interval> intervals) {
+        public Assembly(List<ASMLine> lines, AddressIndex addressIndex, IntervalMap<MethodDesc> methodMap, Set<Interval> intervals) {
             this.lines = lines;
-            this.addressMap = addressMap;
+            this.addressIndex = addressIndex;
             this.methodMap = methodMap;
             this.intervals = intervals;
         }
 
         public int size() {
             // We only care about the address lines.
-            return addressMap.size();
+            return addressIndex.size();
         }
 
         private boolean isSameMethod(MethodDesc method, int idx) {
@@ -1176,25 +1490,13 @@ public abstract class AbstractPerfAsmProfiler implements ExternalProfiler {
         }
 
         public List<ASMLine> getLines(long begin, long end, int window) {
-            SortedMap<Long, Integer> tailMap = addressMap.tailMap(begin);
-
-            Long beginAddr;
-            Integer beginIdx;
-            if (!tailMap.isEmpty()) {
-                beginAddr = tailMap.firstKey();
-                beginIdx = addressMap.get(beginAddr);
-            } else {
+            int beginIdx = addressIndex.ceiling(begin);
+            if (beginIdx < 0) {
                 return Collections.emptyList();
             }
 
-            SortedMap<Long, Integer> headMap = addressMap.headMap(end);
-
-            Long endAddr;
-            Integer endIdx;
-            if (!headMap.isEmpty()) {
-                endAddr = headMap.lastKey();
-                endIdx = addressMap.get(endAddr);
-            } else {
+            int endIdx = addressIndex.lower(end);
+            if (endIdx < 0) {
                 return Collections.emptyList();
             }
             MethodDesc method = getMethod(begin);
@@ -0,0 +1,493 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.options.IntegerValueConverter;
+import org.openjdk.jmh.util.FileUtils;
+import org.openjdk.jmh.util.HashMultiset;
+import org.openjdk.jmh.util.Multiset;
+import org.openjdk.jmh.util.Multisets;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Allocation site profiler.
+ *
+ * <p>Runs an in-process JFR recording over each iteration, and aggregates the allocation
+ * events from the benchmark threads by their allocation stacks. On JDK 16+, this uses
+ * throttled {@code jdk.ObjectAllocationSample} events. On older JDKs, this falls back to
+ * {@code jdk.ObjectAllocationInNewTLAB} and {@code jdk.ObjectAllocationOutsideTLAB} events,
+ * which are weighted by the TLAB sizes. In both cases, the allocated bytes are statistical
+ * estimates: use {@link ThreadAllocationProfiler} to get the exact allocation rates.</p>
+ */
+public class AllocationSiteProfiler implements InternalProfiler {
+
+    private static final String EVENT_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String EVENT_IN_TLAB = "jdk.ObjectAllocationInNewTLAB";
+    private static final String EVENT_OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+
+    private final int stackLines;
+    private final int topSites;
+    private final int sampleRate;
+    private final Set<String> excludePackageNames;
+
+    private final boolean hasSampleEvent;
+
+    private final Constructor<?> recordingCtor;
+    private final Method recordingEnable;
+    private final Method recordingStart;
+    private final Method recordingStop;
+    private final Method recordingDump;
+    private final Method recordingClose;
+    private final Method settingsWith;
+    private final Method settingsWithStackTrace;
+    private final Method readAllEvents;
+    private final Method eventGetEventType;
+    private final Method eventTypeGetName;
+    private final Method eventGetThread;
+    private final Method eventGetStackTrace;
+    private final Method eventGetClass;
+    private final Method eventGetLong;
+    private final Method threadGetJavaThreadId;
+    private final Method stackGetFrames;
+    private final Method frameGetMethod;
+    private final Method frameGetLineNumber;
+    private final Method methodGetType;
+    private final Method methodGetName;
+    private final Method classGetName;
+
+    private Object recording;
+
+    public AllocationSiteProfiler(String initLine) throws ProfilerException {
+        OptionParser parser = new OptionParser();
+        parser.formatHelpWith(new ProfilerOptionFormatter(AllocationSiteProfiler.class.getCanonicalName()));
+
+        OptionSpec<Integer> optStackLines = parser.accepts("lines", "Number of stack lines to save in each allocation site. " +
+                "Larger values provide more insight into who is calling the allocating method, at the expense " +
+                "of more allocation site shapes to collect.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int").defaultsTo(3);
+
+        OptionSpec<Integer> optTopSites = parser.accepts("top", "Number of top allocation sites to show in the profiling results.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int").defaultsTo(10);
+
+        OptionSpec<Integer> optRate = parser.accepts("rate", "Maximum number of allocation samples per second. " +
+                "Larger values improve accuracy, at the expense of more profiling overhead. Only used with " +
+                EVENT_SAMPLE + " events, available since JDK 16.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int").defaultsTo(1000);
+
+        OptionSpec<String> optExcludePackageNames = parser.accepts("excludePackageNames", "Exclude stack lines in these packages. " +
+                "This is expected to be a comma-separated list\n" +
+                "of the fully qualified package names to be excluded. Every stack line that starts with the provided\n" +
+                "patterns will be excluded. By default, nothing is excluded, so that JDK allocation sites are visible.")
+                .withRequiredArg().withValuesSeparatedBy(",").ofType(String.class).describedAs("package+");
+
+        OptionSet set = ProfilerUtils.parseInitLine(initLine, parser);
+
+        try {
+            stackLines = set.valueOf(optStackLines);
+            topSites = set.valueOf(optTopSites);
+            sampleRate = set.valueOf(optRate);
+            excludePackageNames = new HashSet<>(set.valuesOf(optExcludePackageNames));
+        } catch (OptionException e) {
+            throw new ProfilerException(e.getMessage());
+        }
+
+        try {
+            Class<?> flightRecorder = Class.forName("jdk.jfr.FlightRecorder");
+            if (!(Boolean) flightRecorder.getMethod("isAvailable").invoke(null)) {
+                throw new ProfilerException("Java Flight Recorder is not available in this VM");
+            }
+
+            Set<String> eventNames = new HashSet<>();
+            Object fr = flightRecorder.getMethod("getFlightRecorder").invoke(null);
+            Class<?> eventType = Class.forName("jdk.jfr.EventType");
+            eventTypeGetName = eventType.getMethod("getName");
+            for (Object et : (List<?>) flightRecorder.getMethod("getEventTypes").invoke(fr)) {
+                eventNames.add((String) eventTypeGetName.invoke(et));
+            }
+
+            hasSampleEvent = eventNames.contains(EVENT_SAMPLE);
+            if (!hasSampleEvent && !(eventNames.contains(EVENT_IN_TLAB) && eventNames.contains(EVENT_OUTSIDE_TLAB))) {
+                throw new ProfilerException("Java Flight Recorder does not support allocation events in this VM");
+            }
+
+            Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+            recordingCtor = recordingClass.getConstructor();
+            recordingEnable = recordingClass.getMethod("enable", String.class);
+            recordingStart = recordingClass.getMethod("start");
+            recordingStop = recordingClass.getMethod("stop");
+            recordingDump = recordingClass.getMethod("dump", Path.class);
+            recordingClose = recordingClass.getMethod("close");
+
+            Class<?> settingsClass = Class.forName("jdk.jfr.EventSettings");
+            settingsWith = settingsClass.getMethod("with", String.class, String.class);
+            settingsWithStackTrace = settingsClass.getMethod("withStackTrace");
+
+            Class<?> recordingFile = Class.forName("jdk.jfr.consumer.RecordingFile");
+            readAllEvents = recordingFile.getMethod("readAllEvents", Path.class);
+
+            Class<?> recordedEvent = Class.forName("jdk.jfr.consumer.RecordedEvent");
+            eventGetEventType = recordedEvent.getMethod("getEventType");
+            eventGetThread = recordedEvent.getMethod("getThread");
+            eventGetStackTrace = recordedEvent.getMethod("getStackTrace");
+            eventGetClass = recordedEvent.getMethod("getClass", String.class);
+            eventGetLong = recordedEvent.getMethod("getLong", String.class);
+
+            threadGetJavaThreadId = Class.forName("jdk.jfr.consumer.RecordedThread").getMethod("getJavaThreadId");
+            stackGetFrames = Class.forName("jdk.jfr.consumer.RecordedStackTrace").getMethod("getFrames");
+
+            Class<?> recordedFrame = Class.forName("jdk.jfr.consumer.RecordedFrame");
+            frameGetMethod = recordedFrame.getMethod("getMethod");
+            frameGetLineNumber = recordedFrame.getMethod("getLineNumber");
+
+            Class<?> recordedMethod = Class.forName("jdk.jfr.consumer.RecordedMethod");
+            methodGetType = recordedMethod.getMethod("getType");
+            methodGetName = recordedMethod.getMethod("getName");
+
+            classGetName = Class.forName("jdk.jfr.consumer.RecordedClass").getMethod("getName");
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new ProfilerException("Java Flight Recorder is not available: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "Allocation site profiling via in-process Java Flight Recorder";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        try {
+            recording = recordingCtor.newInstance();
+            if (hasSampleEvent) {
+                Object s = recordingEnable.invoke(recording, EVENT_SAMPLE);
+                s = settingsWithStackTrace.invoke(s);
+                settingsWith.invoke(s, "throttle", sampleRate + "/s");
+            } else {
+                settingsWithStackTrace.invoke(recordingEnable.invoke(recording, EVENT_IN_TLAB));
+                settingsWithStackTrace.invoke(recordingEnable.invoke(recording, EVENT_OUTSIDE_TLAB));
+            }
+            recordingStart.invoke(recording);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot start the recording", e);
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        IterationResultMetaData md = result.getMetadata();
+
+        // Only count the worker threads, if they are known
+        Set<Long> workers = new HashSet<>();
+        long ops = 0;
+        for (int t = 0; t < md.getThreadCount(); t++) {
+            workers.add(md.getThreadId(t));
+            ops += md.getThreadAllOps(t);
+        }
+        if (workers.isEmpty()) {
+            ops = md.getAllOps();
+        }
+
+        Multiset<AllocationSite> sites = new HashMultiset<>();
+
+        File file = null;
+        try {
+            recordingStop.invoke(recording);
+            file = FileUtils.tempFile(".jfr");
+            recordingDump.invoke(recording, file.toPath());
+
+            for (Object event : (List<?>) readAllEvents.invoke(null, file.toPath())) {
+                if (!workers.isEmpty()) {
+                    Object thread = eventGetThread.invoke(event);
+                    if (thread == null || !workers.contains((Long) threadGetJavaThreadId.invoke(thread))) {
+                        continue;
+                    }
+                }
+
+                long bytes = eventBytes(event);
+                if (bytes <= 0) {
+                    continue;
+                }
+
+                Object cl = eventGetClass.invoke(event, "objectClass");
+                String className = (cl != null) ? typeName((String) classGetName.invoke(cl)) : "<unknown>";
+                sites.add(new AllocationSite(stackLines(eventGetStackTrace.invoke(event)), className), bytes);
+            }
+        } catch (IOException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot process the recording", e);
+        } finally {
+            try {
+                recordingClose.invoke(recording);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                // do nothing
+            }
+            recording = null;
+            if (file != null) {
+                file.delete();
+            }
+        }
+
+        return Collections.singleton(new AllocationSiteResult(sites, ops, topSites));
+    }
+
+    private long eventBytes(Object event) throws IllegalAccessException, InvocationTargetException {
+        String name = (String) eventTypeGetName.invoke(eventGetEventType.invoke(event));
+        switch (name) {
+            case EVENT_SAMPLE:
+                return (Long) eventGetLong.invoke(event, "weight");
+            case EVENT_IN_TLAB:
+                return (Long) eventGetLong.invoke(event, "tlabSize");
+            case EVENT_OUTSIDE_TLAB:
+                return (Long) eventGetLong.invoke(event, "allocationSize");
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Converts the array descriptors, e.g. "[J" or "[Ljava.lang.String;", to the source-like names.
+     */
+    static String typeName(String name) {
+        int dims = 0;
+        while (dims < name.length() && name.charAt(dims) == '[') {
+            dims++;
+        }
+        if (dims == 0) {
+            return name;
+        }
+
+        String component;
+        switch (name.charAt(dims)) {
+            case 'Z': component = "boolean"; break;
+            case 'B': component = "byte";    break;
+            case 'C': component = "char";    break;
+            case 'S': component = "short";   break;
+            case 'I': component = "int";     break;
+            case 'J': component = "long";    break;
+            case 'F': component = "float";   break;
+            case 'D': component = "double";  break;
+            case 'L': component = name.substring(dims + 1, name.length() - 1); break;
+            default:
+                return name;
+        }
+
+        StringBuilder sb = new StringBuilder(component);
+        for (int d = 0; d < dims; d++) {
+            sb.append("[]");
+        }
+        return sb.toString();
+    }
+
+    private List<String> stackLines(Object stackTrace) throws IllegalAccessException, InvocationTargetException {
+        List<String> lines = new ArrayList<>();
+        if (stackTrace != null) {
+            for (Object frame : (List<?>) stackGetFrames.invoke(stackTrace)) {
+                Object method = frameGetMethod.invoke(frame);
+                String className = (String) classGetName.invoke(methodGetType.invoke(method));
+                if (!isExcluded(className)) {
+                    lines.add(className + '.' + methodGetName.invoke(method) + ":" + frameGetLineNumber.invoke(frame));
+                    if (lines.size() >= stackLines) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (lines.isEmpty()) {
+            lines.add("<stack is empty, everything is filtered?>");
+        }
+        return lines;
+    }
+
+    private boolean isExcluded(String className) {
+        for (String p : excludePackageNames) {
+            if (className.startsWith(p)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class AllocationSite implements Serializable {
+        private static final long serialVersionUID = 4384251390839384107L;
+
+        public final List<String> lines;
+        public final String className;
+
+        private AllocationSite(List<String> lines, String className) {
+            this.lines = lines;
+            this.className = className;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            AllocationSite that = (AllocationSite) o;
+
+            return lines.equals(that.lines) && className.equals(that.className);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * lines.hashCode() + className.hashCode();
+        }
+    }
+
+    public static class AllocationSiteResult extends Result<AllocationSiteResult> {
+        private static final long serialVersionUID = -2151536474928412893L;
+
+        private final Multiset<AllocationSite> sites;
+        private final long ops;
+        private final int topSites;
+
+        public AllocationSiteResult(Multiset<AllocationSite> sites, long ops, int topSites) {
+            super(ResultRole.SECONDARY, "allocsite", of(Double.NaN), "---", AggregationPolicy.AVG);
+            this.sites = sites;
+            this.ops = ops;
+            this.topSites = topSites;
+        }
+
+        @Override
+        protected Aggregator<AllocationSiteResult> getThreadAggregator() {
+            return new AllocationSiteResultAggregator();
+        }
+
+        @Override
+        protected Aggregator<AllocationSiteResult> getIterationAggregator() {
+            return new AllocationSiteResultAggregator();
+        }
+
+        @Override
+        public String toString() {
+            return "<delayed till summary>";
+        }
+
+        @Override
+        public String extendedInfo() {
+            long total = sites.size();
+
+            Multiset<List<String>> stacks = new HashMultiset<>();
+            Multiset<String> classes = new HashMultiset<>();
+            Map<List<String>, Multiset<String>> stackClasses = new HashMap<>();
+            for (AllocationSite s : sites.keys()) {
+                long bytes = sites.count(s);
+                stacks.add(s.lines, bytes);
+                classes.add(s.className, bytes);
+                Multiset<String> cs = stackClasses.get(s.lines);
+                if (cs == null) {
+                    cs = new HashMultiset<>();
+                    stackClasses.put(s.lines, cs);
+                }
+                cs.add(s.className, bytes);
+            }
+
+            StringBuilder builder = new StringBuilder();
+            builder.append("Allocation site profiler:\n\n");
+
+            if (total == 0) {
+                builder.append("No allocations were recorded.\n");
+                return builder.toString();
+            }
+
+            builder.append(String.format("Sampled %s bytes over %d ops, estimated %.3f B/op%n%n",
+                    total, ops, norm(total)));
+
+            builder.append(StackProfiler.dottedLine("Allocated classes"));
+            long displayed = 0;
+            List<String> topClasses = Multisets.countHighest(classes, topSites);
+            for (String c : topClasses) {
+                long bytes = classes.count(c);
+                displayed += bytes;
+                builder.append(String.format("%5.1f%% %12.3f B/op  %s%n", bytes * 100.0 / total, norm(bytes), c));
+            }
+            appendOther(builder, classes.keys().size() - topClasses.size(), total - displayed, total);
+            builder.append("\n");
+
+            builder.append(StackProfiler.dottedLine("Allocation sites"));
+            displayed = 0;
+            List<List<String>> topStacks = Multisets.countHighest(stacks, topSites);
+            for (List<String> lines : topStacks) {
+                long bytes = stacks.count(lines);
+                displayed += bytes;
+                builder.append(String.format("%5.1f%% %12.3f B/op  %s%n", bytes * 100.0 / total, norm(bytes), lines.get(0)));
+                for (int i = 1; i < lines.size(); i++) {
+                    builder.append(String.format("%25s %s%n", "", lines.get(i)));
+                }
+
+                Multiset<String> cs = stackClasses.get(lines);
+                for (String c : Multisets.sortedDesc(cs)) {
+                    builder.append(String.format("%25s   %5.1f%% %s%n", "", cs.count(c) * 100.0 / bytes, c));
+                }
+                builder.append("\n");
+            }
+            appendOther(builder, stacks.keys().size() - topStacks.size(), total - displayed, total);
+
+            return builder.toString();
+        }
+
+        private double norm(long bytes) {
+            return (ops != 0) ? 1.0 * bytes / ops : Double.NaN;
+        }
+
+        private void appendOther(StringBuilder builder, int count, long bytes, long total) {
+            if (count > 0) {
+                builder.append(String.format("%5.1f%% %12.3f B/op  <other %d>%n", bytes * 100.0 / total, norm(bytes), count));
+            }
+        }
+    }
+
+    public static class AllocationSiteResultAggregator implements Aggregator<AllocationSiteResult> {
+        @Override
+        public AllocationSiteResult aggregate(Collection<AllocationSiteResult> results) {
+            int topSites = 0;
+            long ops = 0;
+            Multiset<AllocationSite> sum = new HashMultiset<>();
+            for (AllocationSiteResult r : results) {
+                for (AllocationSite s : r.sites.keys()) {
+                    sum.add(s, r.sites.count(s));
+                }
+                ops += r.ops;
+                topSites = r.topSites;
+            }
+            return new AllocationSiteResult(sum, ops, topSites);
+        }
+    }
+
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lock contention in the benchmark threads, normalized per operation.
+ *
+ * <p>Monitor contention (entering contended {@code synchronized} blocks) comes from the thread
+ * contention monitoring in {@link ThreadMXBean}. Waiting ({@code Object.wait}, {@code Thread.sleep},
+ * {@code LockSupport.park}) is recorded with JFR events, when JFR is available. Since
+ * {@code java.util.concurrent} locks block in {@code LockSupport.park}, parks are also
+ * reported separately.</p>
+ *
+ * <p>Benchmark threads also wait in the harness: in the executor queue between the iterations,
+ * at the iteration setup and teardown barriers, and when pacing the operations in fixed rate mode.
+ * Thread contention monitoring cannot tell these apart from the waits in the workload, so waits are
+ * only taken from JFR events that happen during the iteration workload, and whose stack traces have
+ * the innermost non-JDK frame outside of the JMH runner.</p>
+ */
+public class ContentionProfiler implements InternalProfiler {
+
+    private static final String EVENT_PARK = "jdk.ThreadPark";
+    private static final String EVENT_MONITOR_WAIT = "jdk.JavaMonitorWait";
+    private static final String EVENT_SLEEP = "jdk.ThreadSleep";
+
+    private final ThreadMXBean bean;
+    private final boolean recordWaits;
+
+    private Constructor<?> recordingCtor;
+    private Method recordingEnable;
+    private Method recordingStart;
+    private Method recordingStop;
+    private Method recordingDump;
+    private Method recordingClose;
+    private Method settingsWithThreshold;
+    private Method settingsWithStackTrace;
+    private Method readAllEvents;
+    private Method eventGetEventType;
+    private Method eventGetThread;
+    private Method eventGetStartTime;
+    private Method eventGetEndTime;
+    private Method eventGetDuration;
+    private Method eventGetStackTrace;
+    private Method eventTypeGetName;
+    private Method threadGetJavaThreadId;
+    private Method stackTraceGetFrames;
+    private Method frameGetMethod;
+    private Method methodGetType;
+    private Method classGetName;
+
+    private Map<Long, ThreadInfo> before = Collections.emptyMap();
+    private Object recording;
+
+    public ContentionProfiler(String initLine) throws ProfilerException {
+        OptionParser parser = new OptionParser();
+        parser.formatHelpWith(new ProfilerOptionFormatter(ContentionProfiler.class.getCanonicalName()));
+
+        OptionSpec<Boolean> optParks = parser.accepts("parks", "Record the waits and parks with JFR, with stack traces. " +
+                "This is needed to tell the workload waits apart from the harness ones, at the expense of more " +
+                "profiling overhead. Waits are not reported when disabled, or when JFR is not available.")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool").defaultsTo(true);
+
+        OptionSet set = ProfilerUtils.parseInitLine(initLine, parser);
+
+        boolean parks;
+        try {
+            parks = set.valueOf(optParks);
+        } catch (OptionException e) {
+            throw new ProfilerException(e.getMessage());
+        }
+
+        bean = ManagementFactory.getThreadMXBean();
+        if (!bean.isThreadContentionMonitoringSupported()) {
+            throw new ProfilerException("Thread contention monitoring is not supported in this VM");
+        }
+        bean.setThreadContentionMonitoringEnabled(true);
+
+        recordWaits = parks && initWaits();
+    }
+
+    private boolean initWaits() {
+        try {
+            Class<?> flightRecorder = Class.forName("jdk.jfr.FlightRecorder");
+            if (!(Boolean) flightRecorder.getMethod("isAvailable").invoke(null)) {
+                return false;
+            }
+
+            Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+            recordingCtor = recordingClass.getConstructor();
+            recordingEnable = recordingClass.getMethod("enable", String.class);
+            recordingStart = recordingClass.getMethod("start");
+            recordingStop = recordingClass.getMethod("stop");
+            recordingDump = recordingClass.getMethod("dump", Path.class);
+            recordingClose = recordingClass.getMethod("close");
+
+            Class<?> settingsClass = Class.forName("jdk.jfr.EventSettings");
+            settingsWithThreshold = settingsClass.getMethod("withThreshold", Duration.class);
+            settingsWithStackTrace = settingsClass.getMethod("withStackTrace");
+
+            readAllEvents = Class.forName("jdk.jfr.consumer.RecordingFile").getMethod("readAllEvents", Path.class);
+
+            Class<?> recordedEvent = Class.forName("jdk.jfr.consumer.RecordedEvent");
+            eventGetEventType = recordedEvent.getMethod("getEventType");
+            eventGetThread = recordedEvent.getMethod("getThread");
+            eventGetStartTime = recordedEvent.getMethod("getStartTime");
+            eventGetEndTime = recordedEvent.getMethod("getEndTime");
+            eventGetDuration = recordedEvent.getMethod("getDuration");
+            eventGetStackTrace = recordedEvent.getMethod("getStackTrace");
+
+            eventTypeGetName = Class.forName("jdk.jfr.EventType").getMethod("getName");
+            threadGetJavaThreadId = Class.forName("jdk.jfr.consumer.RecordedThread").getMethod("getJavaThreadId");
+            stackTraceGetFrames = Class.forName("jdk.jfr.consumer.RecordedStackTrace").getMethod("getFrames");
+            frameGetMethod = Class.forName("jdk.jfr.consumer.RecordedFrame").getMethod("getMethod");
+            methodGetType = Class.forName("jdk.jfr.consumer.RecordedMethod").getMethod("getType");
+            classGetName = Class.forName("jdk.jfr.consumer.RecordedClass").getMethod("getName");
+            return true;
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "Monitor and park contention in the benchmark threads, per operation";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        before = WorkerThreads.snapshot(bean.getThreadInfo(bean.getAllThreadIds()));
+
+        if (recordWaits) {
+            try {
+                recording = recordingCtor.newInstance();
+                for (String event : new String[]{EVENT_PARK, EVENT_MONITOR_WAIT, EVENT_SLEEP}) {
+                    Object s = recordingEnable.invoke(recording, event);
+                    s = settingsWithThreshold.invoke(s, Duration.ZERO);
+                    settingsWithStackTrace.invoke(s);
+                }
+                recordingStart.invoke(recording);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot start the recording", e);
+            }
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        IterationResultMetaData md = result.getMetadata();
+        int threads = md.getThreadCount();
+
+        Set<Long> workers = new HashSet<>();
+        long[] ids = new long[threads];
+        long ops = 0;
+        for (int t = 0; t < threads; t++) {
+            ids[t] = md.getThreadId(t);
+            workers.add(ids[t]);
+            ops += md.getThreadAllOps(t);
+        }
+
+        long waitCount = 0;
+        long waitNs = 0;
+        long parkCount = 0;
+        long parkNs = 0;
+        if (recordWaits) {
+            // Only count the waits during the workload, if the workload span is known
+            Instant from = (md.getStartTime() != -1) ? Instant.ofEpochMilli(md.getStartTime()) : Instant.MIN;
+            Instant to = (md.getStopTime() != -1) ? Instant.ofEpochMilli(md.getStopTime()) : Instant.MAX;
+
+            File file = null;
+            try {
+                recordingStop.invoke(recording);
+                file = FileUtils.tempFile(".jfr");
+                recordingDump.invoke(recording, file.toPath());
+
+                for (Object event : (List<?>) readAllEvents.invoke(null, file.toPath())) {
+                    Object thread = eventGetThread.invoke(event);
+                    if (thread == null || !workers.contains((Long) threadGetJavaThreadId.invoke(thread))) {
+                        continue;
+                    }
+
+                    Instant start = (Instant) eventGetStartTime.invoke(event);
+                    Instant end = (Instant) eventGetEndTime.invoke(event);
+                    if (start.isBefore(from) || end.isAfter(to) || isHarnessWait(event)) {
+                        continue;
+                    }
+
+                    long ns = ((Duration) eventGetDuration.invoke(event)).toNanos();
+                    waitCount++;
+                    waitNs += ns;
+                    if (EVENT_PARK.equals(eventTypeGetName.invoke(eventGetEventType.invoke(event)))) {
+                        parkCount++;
+                        parkNs += ns;
+                    }
+                }
+            } catch (IOException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot process the recording", e);
+            } finally {
+                try {
+                    recordingClose.invoke(recording);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    // do nothing
+                }
+                recording = null;
+                if (file != null) {
+                    file.delete();
+                }
+            }
+        }
+
+        long blockedCount = 0;
+        long blockedMs = 0;
+        boolean valid = (threads > 0);
+        for (ThreadInfo info : bean.getThreadInfo(ids)) {
+            if (info == null) {
+                // Thread had already terminated
+                valid = false;
+                continue;
+            }
+            ThreadInfo b = before.get(info.getThreadId());
+            blockedCount += info.getBlockedCount() - ((b != null) ? b.getBlockedCount() : 0);
+            blockedMs += info.getBlockedTime() - ((b != null) ? b.getBlockedTime() : 0);
+        }
+
+        List<Result> results = new ArrayList<>();
+        results.add(new ScalarResult("contention.monitor.count", valid ? norm(blockedCount, ops) : Double.NaN, "#/op", AggregationPolicy.AVG));
+        results.add(new ScalarResult("contention.monitor.time", valid ? norm(TimeUnit.MILLISECONDS.toNanos(blockedMs), ops) : Double.NaN, "ns/op", AggregationPolicy.AVG));
+        if (recordWaits) {
+            results.add(new ScalarResult("contention.wait.count", valid ? norm(waitCount, ops) : Double.NaN, "#/op", AggregationPolicy.AVG));
+            results.add(new ScalarResult("contention.wait.time", valid ? norm(waitNs, ops) : Double.NaN, "ns/op", AggregationPolicy.AVG));
+            results.add(new ScalarResult("contention.park.count", valid ? norm(parkCount, ops) : Double.NaN, "#/op", AggregationPolicy.AVG));
+            results.add(new ScalarResult("contention.park.time", valid ? norm(parkNs, ops) : Double.NaN, "ns/op", AggregationPolicy.AVG));
+        }
+        return results;
+    }
+
+    /**
+     * Decides if the wait belongs to the harness rather than to the workload,
+     * see {@link WorkerThreads#isHarnessStack(List, boolean)}.
+     */
+    private boolean isHarnessWait(Object event) throws IllegalAccessException, InvocationTargetException {
+        Object stackTrace = eventGetStackTrace.invoke(event);
+        if (stackTrace == null) {
+            return false;
+        }
+        List<String> classNames = new ArrayList<>();
+        for (Object frame : (List<?>) stackTraceGetFrames.invoke(stackTrace)) {
+            Object method = frameGetMethod.invoke(frame);
+            if (method != null) {
+                classNames.add((String) classGetName.invoke(methodGetType.invoke(method)));
+            }
+        }
+        return WorkerThreads.isHarnessStack(classNames, false);
+    }
+
+    private static double norm(long v, long ops) {
+        return (ops != 0) ? 1.0 * v / ops : Double.NaN;
+    }
+
+}
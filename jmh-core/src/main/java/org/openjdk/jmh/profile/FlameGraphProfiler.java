@@ -0,0 +1,682 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.options.IntegerValueConverter;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pure Java sampling profiler that produces flame graphs.
+ *
+ * <p>Only the benchmark threads are sampled, with {@link ThreadMXBean#getThreadInfo(long[], int)},
+ * during measurement iterations. The thread IDs are learned from the preceding iterations, so at
+ * least one warmup iteration helps to avoid sampling all threads in the first measurement iteration.
+ * Frames are interned into the integer-indexed table, and the samples are accumulated in the call tree.
+ * Since stack traces are taken at safepoints, the profile has the safepoint bias, and is only "good
+ * enough" when native profilers are not available. Virtual threads cannot be sampled.</p>
+ *
+ * <p>The call trees from all forks are merged, and written as collapsed stacks and the self-contained
+ * HTML flame graph into the per-benchmark directory.</p>
+ */
+public class FlameGraphProfiler implements InternalProfiler, ExternalProfiler {
+
+    static final String LABEL = "flame";
+
+    private static final String TRUNCATED = "[truncated]";
+
+    private final ThreadMXBean bean;
+    private final int periodMsec;
+    private final int depth;
+    private final boolean sampleLine;
+    private final boolean allStates;
+    private final int topMethods;
+    private final File outDir;
+
+    private long[] workerIds;
+    private SamplingTask samplingTask;
+
+    // Accumulated over the forks, in the host VM
+    private CallTree trialTree;
+
+    public FlameGraphProfiler(String initLine) throws ProfilerException {
+        OptionParser parser = new OptionParser();
+        parser.formatHelpWith(new ProfilerOptionFormatter(LABEL));
+
+        OptionSpec<Integer> optSamplePeriod = parser.accepts("period", "Sampling period, in milliseconds. " +
+                "Smaller values improve accuracy, at the expense of more profiling overhead.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int").defaultsTo(10);
+
+        OptionSpec<Integer> optDepth = parser.accepts("depth", "Maximum stack depth to sample. " +
+                "Deeper stacks are truncated at the root side.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int").defaultsTo(128);
+
+        OptionSpec<Boolean> optDetailLine = parser.accepts("detailLine", "Record detailed source line info. " +
+                "This adds the line numbers to the recorded frames.")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool").defaultsTo(false);
+
+        OptionSpec<Boolean> optAllStates = parser.accepts("allStates", "Sample the threads in all states, not only " +
+                "runnable ones. This makes the wall clock profile, with thread states as the leaf frames.")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool").defaultsTo(false);
+
+        OptionSpec<Integer> optTop = parser.accepts("top", "Number of hottest methods to show in the profiling results.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int").defaultsTo(10);
+
+        OptionSpec<String> optDir = parser.accepts("dir", "Output directory.")
+                .withRequiredArg().ofType(String.class).describedAs("dir");
+
+        OptionSet set = ProfilerUtils.parseInitLine(initLine, parser);
+
+        try {
+            periodMsec = set.valueOf(optSamplePeriod);
+            depth = set.valueOf(optDepth);
+            sampleLine = set.valueOf(optDetailLine);
+            allStates = set.valueOf(optAllStates);
+            topMethods = set.valueOf(optTop);
+            outDir = set.has(optDir) ? new File(set.valueOf(optDir)) : new File(System.getProperty("user.dir"));
+        } catch (OptionException e) {
+            throw new ProfilerException(e.getMessage());
+        }
+
+        bean = ManagementFactory.getThreadMXBean();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Java sampling profiler for benchmark threads, with flame graph output";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        if (iterationParams.getType() == IterationType.MEASUREMENT) {
+            samplingTask = new SamplingTask(workerIds);
+            samplingTask.start();
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        IterationResultMetaData md = result.getMetadata();
+        long[] ids = new long[md.getThreadCount()];
+        for (int t = 0; t < ids.length; t++) {
+            ids[t] = md.getThreadId(t);
+        }
+        workerIds = (ids.length > 0) ? ids : null;
+
+        if (samplingTask == null) {
+            return Collections.emptyList();
+        }
+
+        samplingTask.stop();
+        CallTree tree = new CallTree();
+        for (long id : ids) {
+            CallTree t = samplingTask.trees.get(id);
+            if (t != null) {
+                tree.merge(t);
+            }
+        }
+        samplingTask = null;
+
+        return Collections.singleton(new FlameGraphResult(tree, Collections.emptyList(), topMethods));
+    }
+
+    @Override
+    public Collection<String> addJVMInvokeOptions(BenchmarkParams params) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Collection<String> addJVMOptions(BenchmarkParams params) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void beforeTrial(BenchmarkParams benchmarkParams) {
+        // do nothing
+    }
+
+    @Override
+    public synchronized Collection<? extends Result> afterTrial(BenchmarkResult br, long pid, File stdOut, File stdErr) {
+        Result r = br.getSecondaryResults().remove(LABEL);
+        if (!(r instanceof FlameGraphResult)) {
+            return Collections.emptyList();
+        }
+        FlameGraphResult forkResult = (FlameGraphResult) r;
+
+        // Write out the profile merged over all forks so far, the last fork leaves the complete one.
+        if (trialTree == null) {
+            trialTree = new CallTree();
+        }
+        trialTree.merge(forkResult.tree);
+
+        File trialOutDir = new File(outDir, br.getParams().id());
+        trialOutDir.mkdirs();
+        File collapsed = new File(trialOutDir, "collapsed.txt");
+        File flame = new File(trialOutDir, "flame.html");
+
+        List<File> files = new ArrayList<>();
+        try {
+            try (Writer w = new OutputStreamWriter(new FileOutputStream(collapsed), StandardCharsets.UTF_8)) {
+                trialTree.writeCollapsed(w);
+            }
+            files.add(collapsed);
+            try (Writer w = new OutputStreamWriter(new FileOutputStream(flame), StandardCharsets.UTF_8)) {
+                trialTree.writeFlameGraph(w, br.getParams().getBenchmark());
+            }
+            files.add(flame);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return Collections.singleton(new FlameGraphResult(forkResult.tree, files, topMethods));
+    }
+
+    @Override
+    public boolean allowPrintOut() {
+        return true;
+    }
+
+    @Override
+    public boolean allowPrintErr() {
+        return true;
+    }
+
+    private class SamplingTask implements Runnable {
+
+        private final Thread thread;
+        private final long[] ids;
+        private final Map<Long, CallTree> trees;
+
+        SamplingTask(long[] ids) {
+            this.ids = ids;
+            this.trees = new HashMap<>();
+            thread = new Thread(this);
+            thread.setName("FlameGraph Sampling Thread");
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long self = Thread.currentThread().getId();
+            while (!Thread.interrupted()) {
+                // Sample all threads until benchmark threads are known, filter them after the iteration
+                ThreadInfo[] infos = bean.getThreadInfo((ids != null) ? ids : bean.getAllThreadIds(), depth);
+                for (ThreadInfo info : infos) {
+                    if (info == null || info.getThreadId() == self) {
+                        continue;
+                    }
+                    Thread.State state = info.getThreadState();
+                    if (state != Thread.State.RUNNABLE && !allStates) {
+                        continue;
+                    }
+                    CallTree tree = trees.get(info.getThreadId());
+                    if (tree == null) {
+                        tree = new CallTree();
+                        trees.put(info.getThreadId(), tree);
+                    }
+                    tree.addSample(info.getStackTrace(), depth, sampleLine,
+                            (state != Thread.State.RUNNABLE) ? "[" + state + "]" : null);
+                }
+
+                try {
+                    TimeUnit.MILLISECONDS.sleep(periodMsec);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        public void start() {
+            thread.start();
+        }
+
+        public void stop() {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Call tree with interned frames. Node 0 is the root, every other node is identified
+     * by its parent node and frame. Parents always have lower IDs than their children.
+     */
+    static class CallTree implements Serializable {
+        private static final long serialVersionUID = 5297433170014376521L;
+
+        private final List<String> frames = new ArrayList<>();
+        private int[] parents = new int[16];
+        private int[] nodeFrames = new int[16];
+        private long[] selfSamples = new long[16];
+        private int nodes = 1;
+
+        // Lookup tables, rebuilt on demand
+        private transient Map<String, Integer> frameIds;
+        private transient Map<StackTraceElement, Integer> elementIds;
+        private transient long[] childKeys;
+        private transient int[] childNodes;
+        private transient int children;
+
+        int frame(String name) {
+            if (frameIds == null) {
+                frameIds = new HashMap<>();
+                for (int f = 0; f < frames.size(); f++) {
+                    frameIds.put(frames.get(f), f);
+                }
+            }
+            Integer id = frameIds.get(name);
+            if (id == null) {
+                id = frames.size();
+                frames.add(name);
+                frameIds.put(name, id);
+            }
+            return id;
+        }
+
+        private int frame(StackTraceElement e, boolean sampleLine) {
+            if (elementIds == null) {
+                elementIds = new HashMap<>();
+            }
+            Integer id = elementIds.get(e);
+            if (id == null) {
+                id = frame(e.getClassName() + '.' + e.getMethodName() + (sampleLine ? ":" + e.getLineNumber() : ""));
+                elementIds.put(e, id);
+            }
+            return id;
+        }
+
+        int child(int node, int frame) {
+            if (childKeys == null) {
+                rebuildChildren(Math.max(16, Integer.highestOneBit(nodes) * 4));
+                for (int n = 1; n < nodes; n++) {
+                    putChild(key(parents[n], nodeFrames[n]), n);
+                }
+            }
+
+            long key = key(node, frame);
+            int mask = childKeys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (childNodes[slot] != 0) {
+                if (childKeys[slot] == key) {
+                    return childNodes[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int n = nodes++;
+            if (n == parents.length) {
+                parents = Arrays.copyOf(parents, n * 2);
+                nodeFrames = Arrays.copyOf(nodeFrames, n * 2);
+                selfSamples = Arrays.copyOf(selfSamples, n * 2);
+            }
+            parents[n] = node;
+            nodeFrames[n] = frame;
+            putChild(key, n);
+            return n;
+        }
+
+        private void rebuildChildren(int capacity) {
+            long[] oldKeys = childKeys;
+            int[] oldNodes = childNodes;
+            childKeys = new long[capacity];
+            childNodes = new int[capacity];
+            children = 0;
+            if (oldKeys != null) {
+                for (int s = 0; s < oldKeys.length; s++) {
+                    if (oldNodes[s] != 0) {
+                        putChild(oldKeys[s], oldNodes[s]);
+                    }
+                }
+            }
+        }
+
+        private void putChild(long key, int node) {
+            if ((children + 1) * 2 > childKeys.length) {
+                rebuildChildren(childKeys.length * 2);
+            }
+            int mask = childKeys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (childNodes[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            childKeys[slot] = key;
+            childNodes[slot] = node;
+            children++;
+        }
+
+        private static long key(int node, int frame) {
+            return ((long) node << 32) | (frame & 0xFFFFFFFFL);
+        }
+
+        private static long mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 32);
+        }
+
+        /**
+         * Adds the stack sample.
+         *
+         * @param stack stack trace, top frame first
+         * @param depth max depth the stack was sampled with
+         * @param sampleLine whether to record line numbers
+         * @param leaf additional leaf frame name, or null
+         */
+        void addSample(StackTraceElement[] stack, int depth, boolean sampleLine, String leaf) {
+            int node = 0;
+            if (stack.length >= depth) {
+                node = child(node, frame(TRUNCATED));
+            }
+            for (int i = stack.length - 1; i >= 0; i--) {
+                node = child(node, frame(stack[i], sampleLine));
+            }
+            if (leaf != null) {
+                node = child(node, frame(leaf));
+            }
+            selfSamples[node]++;
+        }
+
+        void merge(CallTree other) {
+            int[] map = new int[other.nodes];
+            int[] frameMap = new int[other.frames.size()];
+            for (int f = 0; f < frameMap.length; f++) {
+                frameMap[f] = frame(other.frames.get(f));
+            }
+            for (int n = 1; n < other.nodes; n++) {
+                map[n] = child(map[other.parents[n]], frameMap[other.nodeFrames[n]]);
+                selfSamples[map[n]] += other.selfSamples[n];
+            }
+            selfSamples[0] += other.selfSamples[0];
+        }
+
+        long samples() {
+            long sum = 0;
+            for (int n = 0; n < nodes; n++) {
+                sum += selfSamples[n];
+            }
+            return sum;
+        }
+
+        private long[] totals() {
+            long[] totals = Arrays.copyOf(selfSamples, nodes);
+            for (int n = nodes - 1; n > 0; n--) {
+                totals[parents[n]] += totals[n];
+            }
+            return totals;
+        }
+
+        private List<String> path(int node) {
+            List<String> path = new ArrayList<>();
+            for (int n = node; n != 0; n = parents[n]) {
+                path.add(frames.get(nodeFrames[n]));
+            }
+            Collections.reverse(path);
+            return path;
+        }
+
+        /**
+         * Computes the per-method sample counts.
+         *
+         * @param self true to count only samples with method on top, false to count all samples with method on stack
+         * @return method sample counts, indexed by frame id
+         */
+        long[] methodSamples(boolean self) {
+            long[] counts = new long[frames.size()];
+            Set<Integer> seen = new HashSet<>();
+            for (int n = 1; n < nodes; n++) {
+                long s = selfSamples[n];
+                if (s == 0) {
+                    continue;
+                }
+                if (self) {
+                    counts[nodeFrames[n]] += s;
+                } else {
+                    // Recursive methods are only counted once per sample
+                    seen.clear();
+                    for (int p = n; p != 0; p = parents[p]) {
+                        if (seen.add(nodeFrames[p])) {
+                            counts[nodeFrames[p]] += s;
+                        }
+                    }
+                }
+            }
+            return counts;
+        }
+
+        String frameName(int frame) {
+            return frames.get(frame);
+        }
+
+        /**
+         * Writes the collapsed stacks: one line per unique stack, frames are root first
+         * and separated by semicolons, followed by the sample count.
+         */
+        void writeCollapsed(Writer w) throws IOException {
+            List<String> lines = new ArrayList<>();
+            for (int n = 1; n < nodes; n++) {
+                if (selfSamples[n] > 0) {
+                    lines.add(String.join(";", path(n)) + " " + selfSamples[n]);
+                }
+            }
+            Collections.sort(lines);
+            for (String line : lines) {
+                w.write(line);
+                w.write("\n");
+            }
+        }
+
+        /**
+         * Writes the self-contained HTML flame graph.
+         */
+        void writeFlameGraph(Writer w, String title) throws IOException {
+            long[] totals = totals();
+
+            // Children lists, to walk the tree in pre-order
+            int[] firstChild = new int[nodes];
+            int[] nextSibling = new int[nodes];
+            Arrays.fill(firstChild, -1);
+            Arrays.fill(nextSibling, -1);
+            for (int n = nodes - 1; n > 0; n--) {
+                nextSibling[n] = firstChild[parents[n]];
+                firstChild[parents[n]] = n;
+            }
+
+            StringBuilder sbFrames = new StringBuilder("[");
+            sbFrames.append(jsString("all"));
+            for (String f : frames) {
+                sbFrames.append(",").append(jsString(f));
+            }
+            sbFrames.append("]");
+
+            // Every node is (frame index, depth, total samples); frame index 0 is the root.
+            StringBuilder sbNodes = new StringBuilder("[");
+            Deque<int[]> stack = new ArrayDeque<>();
+            stack.push(new int[]{0, 0});
+            boolean first = true;
+            while (!stack.isEmpty()) {
+                int[] e = stack.pop();
+                int n = e[0];
+                if (totals[n] == 0) {
+                    continue;
+                }
+                if (!first) {
+                    sbNodes.append(",");
+                }
+                first = false;
+                sbNodes.append((n == 0) ? 0 : nodeFrames[n] + 1).append(",").append(e[1]).append(",").append(totals[n]);
+
+                // Push children in reverse, so that they are visited in sorted order
+                List<Integer> kids = new ArrayList<>();
+                for (int c = firstChild[n]; c != -1; c = nextSibling[c]) {
+                    kids.add(c);
+                }
+                kids.sort(Comparator.comparing(c -> frames.get(nodeFrames[c])));
+                for (int k = kids.size() - 1; k >= 0; k--) {
+                    stack.push(new int[]{kids.get(k), e[1] + 1});
+                }
+            }
+            sbNodes.append("]");
+
+            StringBuilder template = new StringBuilder();
+            try (InputStream is = FlameGraphProfiler.class.getResourceAsStream("/flamegraph.template.html")) {
+                if (is == null) {
+                    throw new IOException("Flame graph template is not found");
+                }
+                for (String line : FileUtils.readAllLines(is)) {
+                    template.append(line).append("\n");
+                }
+            }
+
+            w.write(template.toString()
+                    .replace("${title}", htmlString(title))
+                    .replace("${frames}", sbFrames.toString())
+                    .replace("${nodes}", sbNodes.toString()));
+        }
+
+        private static String htmlString(String s) {
+            return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+        }
+
+        private static String jsString(String s) {
+            StringBuilder sb = new StringBuilder("\"");
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else if (c < 0x20 || c == '<' || c == '>' || c == '&') {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.append("\"").toString();
+        }
+    }
+
+    public static class FlameGraphResult extends Result<FlameGraphResult> {
+        private static final long serialVersionUID = -3386718434786120873L;
+
+        private final CallTree tree;
+        private final List<File> files;
+        private final int topMethods;
+
+        FlameGraphResult(CallTree tree, List<File> files, int topMethods) {
+            super(ResultRole.SECONDARY, LABEL, of(Double.NaN), "---", AggregationPolicy.AVG);
+            this.tree = tree;
+            this.files = files;
+            this.topMethods = topMethods;
+        }
+
+        @Override
+        protected Aggregator<FlameGraphResult> getThreadAggregator() {
+            return new FlameGraphResultAggregator();
+        }
+
+        @Override
+        protected Aggregator<FlameGraphResult> getIterationAggregator() {
+            return new FlameGraphResultAggregator();
+        }
+
+        public Collection<? extends File> getFiles() {
+            return files;
+        }
+
+        @Override
+        public String toString() {
+            return "<delayed till summary>";
+        }
+
+        @Override
+        public String extendedInfo() {
+            long samples = tree.samples();
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("Flame graph profiler: ").append(samples).append(" samples").append(System.lineSeparator());
+            sb.append(System.lineSeparator());
+            if (samples > 0) {
+                appendTop(sb, "Hottest methods (self)", tree.methodSamples(true), samples);
+                appendTop(sb, "Hottest methods (total)", tree.methodSamples(false), samples);
+            }
+            if (!files.isEmpty()) {
+                sb.append("Flame graph files:").append(System.lineSeparator());
+                for (File f : files) {
+                    sb.append("  ").append(f).append(System.lineSeparator());
+                }
+            }
+            return sb.toString();
+        }
+
+        private void appendTop(StringBuilder sb, String header, long[] counts, long samples) {
+            Integer[] order = new Integer[counts.length];
+            for (int f = 0; f < order.length; f++) {
+                order[f] = f;
+            }
+            Arrays.sort(order, (o1, o2) -> Long.compare(counts[o2], counts[o1]));
+
+            sb.append(StackProfiler.dottedLine(header));
+            for (int i = 0; i < Math.min(topMethods, order.length); i++) {
+                long c = counts[order[i]];
+                if (c == 0) {
+                    break;
+                }
+                sb.append(String.format("%5.1f%%  %s%n", c * 100.0 / samples, tree.frameName(order[i])));
+            }
+            sb.append(System.lineSeparator());
+        }
+    }
+
+    public static class FlameGraphResultAggregator implements Aggregator<FlameGraphResult> {
+        @Override
+        public FlameGraphResult aggregate(Collection<FlameGraphResult> results) {
+            CallTree tree = new CallTree();
+            Set<File> files = new LinkedHashSet<>();
+            int topMethods = 0;
+            for (FlameGraphResult r : results) {
+                tree.merge(r.tree);
+                files.addAll(r.files);
+                topMethods = r.topMethods;
+            }
+            return new FlameGraphResult(tree, new ArrayList<>(files), topMethods);
+        }
+    }
+
+}
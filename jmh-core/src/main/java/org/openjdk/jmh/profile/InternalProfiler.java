@@ -57,4 +57,15 @@ public interface InternalProfiler extends Profiler {
      */
     Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result);
 
+    /**
+     * Run this code after the benchmark trial finished, normally or abnormally. The number
+     * of iterations in the trial is not known in advance, e.g. when the measurement stops
+     * early on reaching the target error. Profilers release their trial resources here.
+     *
+     * @param benchmarkParams benchmark parameters used for current launch
+     */
+    default void trialFinished(BenchmarkParams benchmarkParams) {
+        // do nothing
+    }
+
 }
@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.options.IntegerValueConverter;
+import org.openjdk.jmh.util.SampleBuffer;
+import org.openjdk.jmh.util.Statistics;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-process Java Flight Recorder profiler.
+ *
+ * <p>Unlike {@link JavaFlightRecorderProfiler}, which dumps the recording to a file for offline
+ * analysis, this profiler consumes the JFR event stream (JDK 14+) right in the forked VM, and
+ * turns the events into per-iteration secondary results: GC pauses, safepoint operations,
+ * compilations, and, for the benchmark threads only, contended monitor enters, thread parks,
+ * and file and socket I/O. Every result reports the total time, with the event counts and
+ * duration percentiles as derivative results.</p>
+ *
+ * <p>JFR delivers the events to the stream in periodic flushes, so every iteration waits for the
+ * stream to catch up with the iteration end. This wait happens outside of the measurement.</p>
+ */
+public class JavaFlightRecorderStreamProfiler implements InternalProfiler {
+
+    private static final String EVENT_TICK = "jdk.CPULoad";
+
+    private static final Category[] CATEGORIES = {
+            new Category("gc",        false, null,        "jdk.GCPhasePause"),
+            new Category("safepoint", false, "safepoint", "jdk.ExecuteVMOperation"),
+            new Category("compile",   false, null,        "jdk.Compilation"),
+            new Category("monitor",   true,  null,        "jdk.JavaMonitorEnter"),
+            new Category("park",      true,  null,        "jdk.ThreadPark"),
+            new Category("io.file",   true,  null,        "jdk.FileRead", "jdk.FileWrite"),
+            new Category("io.socket", true,  null,        "jdk.SocketRead", "jdk.SocketWrite"),
+    };
+
+    private final Duration threshold;
+    private final long timeoutMs;
+
+    private final Constructor<?> streamCtor;
+    private final Method streamEnable;
+    private final Method streamOnEvent;
+    private final Method streamOnFlush;
+    private final Method streamStartAsync;
+    private final Method streamClose;
+    private final Method settingsWithThreshold;
+    private final Method settingsWithPeriod;
+    private final Method eventGetThread;
+    private final Method eventGetEndTime;
+    private final Method eventGetDuration;
+    private final Method eventGetBoolean;
+    private final Method threadGetJavaThreadId;
+
+    private final Queue<Sample> samples = new ConcurrentLinkedQueue<>();
+    private final List<Sample> pending = new ArrayList<>();
+    private final Object flushLock = new Object();
+    private long watermark;
+    private long flushedWatermark;
+
+    private Object stream;
+    private long iterationStart;
+
+    public JavaFlightRecorderStreamProfiler(String initLine) throws ProfilerException {
+        OptionParser parser = new OptionParser();
+        parser.formatHelpWith(new ProfilerOptionFormatter(JavaFlightRecorderStreamProfiler.class.getCanonicalName()));
+
+        OptionSpec<Integer> optThreshold = parser.accepts("threshold", "Minimal duration of monitor, park and I/O " +
+                "events to record, in us. Smaller values catch shorter events, at the expense of more profiling overhead.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.NON_NEGATIVE).describedAs("int").defaultsTo(10);
+
+        OptionSpec<Integer> optTimeout = parser.accepts("timeout", "Time to wait for the event stream to catch up " +
+                "with the end of iteration, in ms. If the stream does not catch up in time, the results may miss " +
+                "some of the last events.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int").defaultsTo(5000);
+
+        OptionSet set = ProfilerUtils.parseInitLine(initLine, parser);
+
+        try {
+            threshold = Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(set.valueOf(optThreshold)));
+            timeoutMs = set.valueOf(optTimeout);
+        } catch (OptionException e) {
+            throw new ProfilerException(e.getMessage());
+        }
+
+        try {
+            Class<?> flightRecorder = Class.forName("jdk.jfr.FlightRecorder");
+            if (!(Boolean) flightRecorder.getMethod("isAvailable").invoke(null)) {
+                throw new ProfilerException("Java Flight Recorder is not available in this VM");
+            }
+
+            Class<?> streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+            streamCtor = streamClass.getConstructor();
+            streamEnable = streamClass.getMethod("enable", String.class);
+            streamOnEvent = streamClass.getMethod("onEvent", String.class, Consumer.class);
+            streamOnFlush = streamClass.getMethod("onFlush", Runnable.class);
+            streamStartAsync = streamClass.getMethod("startAsync");
+            streamClose = streamClass.getMethod("close");
+
+            Class<?> settingsClass = Class.forName("jdk.jfr.EventSettings");
+            settingsWithThreshold = settingsClass.getMethod("withThreshold", Duration.class);
+            settingsWithPeriod = settingsClass.getMethod("withPeriod", Duration.class);
+
+            Class<?> recordedEvent = Class.forName("jdk.jfr.consumer.RecordedEvent");
+            eventGetThread = recordedEvent.getMethod("getThread");
+            eventGetEndTime = recordedEvent.getMethod("getEndTime");
+            eventGetDuration = recordedEvent.getMethod("getDuration");
+            eventGetBoolean = recordedEvent.getMethod("getBoolean", String.class);
+
+            threadGetJavaThreadId = Class.forName("jdk.jfr.consumer.RecordedThread").getMethod("getJavaThreadId");
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new ProfilerException("Java Flight Recorder event streaming is not available: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "Java Flight Recorder event metrics, via in-process event streaming";
+    }
+
+    private static long toNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private void startStream() throws ReflectiveOperationException {
+        stream = streamCtor.newInstance();
+
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            Category cat = CATEGORIES[c];
+            final int idx = c;
+            for (String event : cat.events) {
+                settingsWithThreshold.invoke(streamEnable.invoke(stream, event), cat.perThread ? threshold : Duration.ZERO);
+                Consumer<Object> consumer = e -> accept(idx, e);
+                streamOnEvent.invoke(stream, event, consumer);
+            }
+        }
+
+        // Periodic event guarantees the stream makes progress even when nothing else happens.
+        settingsWithPeriod.invoke(streamEnable.invoke(stream, EVENT_TICK), Duration.ofMillis(100));
+        Consumer<Object> tick = e -> accept(-1, e);
+        streamOnEvent.invoke(stream, EVENT_TICK, tick);
+
+        Runnable flush = () -> {
+            synchronized (flushLock) {
+                flushedWatermark = watermark;
+                flushLock.notifyAll();
+            }
+        };
+        streamOnFlush.invoke(stream, flush);
+
+        streamStartAsync.invoke(stream);
+    }
+
+    private void stopStream() {
+        try {
+            streamClose.invoke(stream);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            // do nothing
+        }
+        stream = null;
+        samples.clear();
+        pending.clear();
+    }
+
+    /**
+     * Called from the stream thread. The recorded events may be reused by the stream,
+     * so everything is extracted right away.
+     */
+    private void accept(int category, Object event) {
+        try {
+            long end = toNanos((Instant) eventGetEndTime.invoke(event));
+            if (category >= 0) {
+                Category cat = CATEGORIES[category];
+                if (cat.flag == null || (Boolean) eventGetBoolean.invoke(event, cat.flag)) {
+                    long tid = -1;
+                    if (cat.perThread) {
+                        Object thread = eventGetThread.invoke(event);
+                        if (thread != null) {
+                            tid = (Long) threadGetJavaThreadId.invoke(thread);
+                        }
+                    }
+                    long duration = ((Duration) eventGetDuration.invoke(event)).toNanos();
+                    samples.add(new Sample(category, tid, end, duration));
+                }
+            }
+            synchronized (flushLock) {
+                watermark = Math.max(watermark, end);
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            // do nothing, skip the event
+        }
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        if (stream == null) {
+            try {
+                startStream();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot start the event stream", e);
+            }
+        }
+        iterationStart = toNanos(Instant.now());
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        long iterationEnd = toNanos(Instant.now());
+
+        // Wait for the stream to deliver the events up to the iteration end
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        synchronized (flushLock) {
+            while (flushedWatermark < iterationEnd) {
+                long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (left <= 0) {
+                    break;
+                }
+                try {
+                    flushLock.wait(left);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        Sample s;
+        while ((s = samples.poll()) != null) {
+            pending.add(s);
+        }
+
+        // Only count the worker threads for the thread-local events, if they are known
+        IterationResultMetaData md = result.getMetadata();
+        Set<Long> workers = new HashSet<>();
+        for (int t = 0; t < md.getThreadCount(); t++) {
+            workers.add(md.getThreadId(t));
+        }
+
+        SampleBuffer[] buffers = new SampleBuffer[CATEGORIES.length];
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            buffers[c] = new SampleBuffer();
+        }
+
+        // Events past the iteration end are kept for the next iteration, everything else is consumed.
+        // Only the events that are completely within the iteration are counted, this filters out
+        // the idle benchmark threads waiting for the iteration to start.
+        List<Sample> next = new ArrayList<>();
+        for (Sample sample : pending) {
+            if (sample.end > iterationEnd) {
+                next.add(sample);
+            } else if (sample.end - sample.duration >= iterationStart) {
+                if (!CATEGORIES[sample.category].perThread || workers.isEmpty() || workers.contains(sample.threadId)) {
+                    buffers[sample.category].add(sample.duration);
+                }
+            }
+        }
+        pending.clear();
+        pending.addAll(next);
+
+        List<Result> results = new ArrayList<>();
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            results.add(new DurationsResult("jfr." + CATEGORIES[c].name, buffers[c]));
+        }
+
+        return results;
+    }
+
+    @Override
+    public void trialFinished(BenchmarkParams benchmarkParams) {
+        // Release the stream thread
+        if (stream != null) {
+            stopStream();
+        }
+    }
+
+    private static class Category {
+        private final String name;
+        private final boolean perThread;
+        private final String flag;
+        private final String[] events;
+
+        /**
+         * @param name category name
+         * @param perThread if the events should be attributed to the benchmark threads
+         * @param flag boolean event field the event should have set, or null
+         * @param events event names
+         */
+        Category(String name, boolean perThread, String flag, String... events) {
+            this.name = name;
+            this.perThread = perThread;
+            this.flag = flag;
+            this.events = events;
+        }
+    }
+
+    private static class Sample {
+        private final int category;
+        private final long threadId;
+        private final long end;
+        private final long duration;
+
+        Sample(int category, long threadId, long end, long duration) {
+            this.category = category;
+            this.threadId = threadId;
+            this.end = end;
+            this.duration = duration;
+        }
+    }
+
+    static class DurationsResult extends Result<DurationsResult> {
+        private static final long serialVersionUID = -4781437212367582913L;
+
+        private final SampleBuffer buffer;
+
+        public DurationsResult(String label, SampleBuffer buffer) {
+            super(ResultRole.SECONDARY, label, total(buffer), "ms", AggregationPolicy.SUM);
+            this.buffer = buffer;
+        }
+
+        private static Statistics total(SampleBuffer buffer) {
+            // No events mean no time spent, rather than unknown time
+            return (buffer.count() == 0) ? of(0) : buffer.getStatistics(1D / 1_000_000);
+        }
+
+        @Override
+        protected Aggregator<DurationsResult> getThreadAggregator() {
+            return new JoiningAggregator();
+        }
+
+        @Override
+        protected Aggregator<DurationsResult> getIterationAggregator() {
+            return new JoiningAggregator();
+        }
+
+        @Override
+        protected Collection<? extends Result> getDerivativeResults() {
+            Statistics s = buffer.getStatistics(1D / 1_000_000);
+            return Arrays.asList(
+                new ScalarDerivativeResult(label + ".count", buffer.getSampleCount(), "#",  AggregationPolicy.SUM),
+                new ScalarDerivativeResult(label + ".p0.50", s.getPercentile(50),    "ms", AggregationPolicy.AVG),
+                new ScalarDerivativeResult(label + ".p0.99", s.getPercentile(99),    "ms", AggregationPolicy.AVG),
+                new ScalarDerivativeResult(label + ".p1.00", s.getMax(),             "ms", AggregationPolicy.MAX)
+            );
+        }
+
+        /**
+         * Always add up all the samples into final result.
+         * This will allow aggregate result to achieve better accuracy.
+         */
+        private static class JoiningAggregator implements Aggregator<DurationsResult> {
+            @Override
+            public DurationsResult aggregate(Collection<DurationsResult> results) {
+                SampleBuffer buffer = new SampleBuffer();
+                String label = null;
+                for (DurationsResult r : results) {
+                    buffer.addAll(r.buffer);
+                    label = r.label;
+                }
+                return new DurationsResult(label, buffer);
+            }
+        }
+    }
+
+}
@@ -122,11 +122,7 @@ public class LinuxPerfAsmProfiler extends AbstractPerfAsmProfiler {
         //
 
         // Remove excess spaces
-        int lastLength = -1;
-        while (line.length() != lastLength) {
-            lastLength = line.length();
-            line = line.replace("  ", " ");
-        }
+        line = collapseSpaces(line);
 
         // Chomp the time
         int timeIdx = line.indexOf(": ");
@@ -187,6 +183,22 @@ public class LinuxPerfAsmProfiler extends AbstractPerfAsmProfiler {
         return new PerfLine(time, evName, addr, symbol, lib);
     }
 
+    private static String collapseSpaces(String line) {
+        if (!line.contains("  ")) {
+            return line;
+        }
+        StringBuilder sb = new StringBuilder(line.length());
+        char prev = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c != ' ' || prev != ' ') {
+                sb.append(c);
+            }
+            prev = c;
+        }
+        return sb.toString();
+    }
+
     static class PerfLine {
         final double time;
         final String event;
@@ -225,56 +237,72 @@ public class LinuxPerfAsmProfiler extends AbstractPerfAsmProfiler {
 
     @Override
     protected PerfEvents readEvents(double skipMs, double lenMs) {
-        double readFrom = skipMs / 1000D;
-        double readTo = (skipMs + lenMs) / 1000D;
+        final double readFrom = skipMs / 1000D;
+        final double readTo = (skipMs + lenMs) / 1000D;
 
-        List<String> evNames = stripEventNames(requestedEventNames);
+        final List<String> evNames = stripEventNames(requestedEventNames);
 
-        try (FileReader fr = new FileReader(perfParsedData.file());
-             BufferedReader reader = new BufferedReader(fr)) {
-            Deduplicator<MethodDesc> dedup = new Deduplicator<>();
+        try {
+            // The time window is relative to the first sample, figure it out before going parallel
+            Double startTime = null;
+            try (FileReader fr = new FileReader(perfParsedData.file());
+                 BufferedReader reader = new BufferedReader(fr)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    PerfLine perfline = parsePerfLine(line);
+                    if (perfline != null) {
+                        startTime = perfline.time();
+                        break;
+                    }
+                }
+            }
 
-            Multimap<MethodDesc, Long> methods = new HashMultimap<>();
             Map<String, Multiset<Long>> events = new LinkedHashMap<>();
             for (String evName : evNames) {
-                events.put(evName, new TreeMultiset<>());
+                events.put(evName, new LongHashMultiset());
             }
 
-            Double startTime = null;
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                PerfLine perfline = parsePerfLine(line);
-                if (perfline == null) {
-                    continue;
-                }
+            if (startTime == null) {
+                return new PerfEvents(evNames, events, new IntervalMap<>());
+            }
 
-                if (startTime == null) {
-                    startTime = perfline.time();
-                } else {
-                    if (perfline.time() - startTime < readFrom) {
+            final double start = startTime;
+            List<EventsChunk> chunks = MappedLineReader.process(perfParsedData.file(), parseThreads, lines -> {
+                EventsChunk chunk = new EventsChunk(evNames);
+                while (lines.hasNext()) {
+                    PerfLine perfline = parsePerfLine(lines.next());
+                    if (perfline == null) {
                         continue;
                     }
-                    if (perfline.time() - startTime > readTo) {
+                    double time = perfline.time() - start;
+                    if (time < readFrom || time > readTo) {
                         continue;
                     }
+                    chunk.add(perfline);
                 }
-
-                Multiset<Long> evs = events.get(perfline.eventName());
-                if (evs == null) {
-                    // we are not prepared to handle this event, skip
-                    continue;
+                return chunk;
+            });
+
+            // Merge the chunks, only keeping the address ranges for methods
+            Map<MethodDesc, long[]> methods = new HashMap<>();
+            for (EventsChunk chunk : chunks) {
+                for (Map.Entry<String, LongHashMultiset> e : chunk.events.entrySet()) {
+                    ((LongHashMultiset) events.get(e.getKey())).addAll(e.getValue());
+                }
+                for (Map.Entry<MethodDesc, long[]> e : chunk.methods.entrySet()) {
+                    long[] range = methods.get(e.getKey());
+                    if (range == null) {
+                        methods.put(e.getKey(), e.getValue());
+                    } else {
+                        range[0] = Math.min(range[0], e.getValue()[0]);
+                        range[1] = Math.max(range[1], e.getValue()[1]);
+                    }
                 }
-
-                evs.add(perfline.addr());
-                MethodDesc desc = dedup.dedup(MethodDesc.nativeMethod(perfline.symbol(), perfline.lib()));
-                methods.put(desc, perfline.addr());
             }
 
             IntervalMap<MethodDesc> methodMap = new IntervalMap<>();
-            for (MethodDesc md : methods.keys()) {
-                Collection<Long> addrs = methods.get(md);
-                methodMap.add(md, Utils.min(addrs), Utils.max(addrs));
+            for (Map.Entry<MethodDesc, long[]> e : methods.entrySet()) {
+                methodMap.add(e.getKey(), e.getValue()[0], e.getValue()[1]);
             }
 
             return new PerfEvents(evNames, events, methodMap);
@@ -283,6 +311,43 @@ public class LinuxPerfAsmProfiler extends AbstractPerfAsmProfiler {
         }
     }
 
+    /**
+     * Events parsed from a single chunk of perf output.
+     */
+    private static class EventsChunk {
+        final Map<String, LongHashMultiset> events;
+        final Map<MethodDesc, long[]> methods;
+        final Deduplicator<MethodDesc> dedup;
+
+        EventsChunk(List<String> evNames) {
+            events = new HashMap<>();
+            for (String evName : evNames) {
+                events.put(evName, new LongHashMultiset());
+            }
+            methods = new HashMap<>();
+            dedup = new Deduplicator<>();
+        }
+
+        void add(PerfLine perfline) {
+            LongHashMultiset evs = events.get(perfline.eventName());
+            if (evs == null) {
+                // we are not prepared to handle this event, skip
+                return;
+            }
+
+            long addr = perfline.addr();
+            evs.add(addr);
+
+            MethodDesc desc = dedup.dedup(MethodDesc.nativeMethod(perfline.symbol(), perfline.lib()));
+            long[] range = methods.get(desc);
+            if (range == null) {
+                methods.put(desc, new long[]{addr, addr});
+            } else {
+                range[0] = Math.min(range[0], addr);
+                range[1] = Math.max(range[1], addr);
+            }
+        }
+    }
 
     @Override
     protected String perfBinaryExtension() {
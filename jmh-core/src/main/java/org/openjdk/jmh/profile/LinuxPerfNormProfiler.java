@@ -30,12 +30,15 @@ import joptsimple.OptionSet;
 import joptsimple.OptionSpec;
 import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.options.IntegerValueConverter;
 import org.openjdk.jmh.util.*;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Serializable;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.*;
@@ -62,6 +65,8 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
     private final boolean useDefaultStats;
     private final int incrementInterval;
     private final boolean doFilter;
+    private final boolean perIteration;
+    private final int groupSize;
 
     private final Collection<String> supportedEvents = new ArrayList<>();
 
@@ -94,6 +99,19 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
                         "Use \"perf stat -d -d -d\" instead of explicit counter list.")
                 .withRequiredArg().ofType(Boolean.class).describedAs("bool").defaultsTo(false);
 
+        OptionSpec<Boolean> optPerIteration = parser.accepts("perIteration",
+                        "Align perf intervals with the measurement iteration boundaries, and scale multiplexed counters " +
+                        "by their running and enabled times. Lower \"interval\" values improve the alignment. " +
+                        "This also reports the per-iteration breakdown.")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool").defaultsTo(false);
+
+        OptionSpec<Integer> optGroupSize = parser.accepts("groupSize",
+                        "Schedule the events in perf groups of given size, in the order of the event list; 0 to disable. " +
+                        "Events in the same group are always counted at the same time, which makes their ratios " +
+                        "(e.g. IPC, miss rates) accurate even when counters are multiplexed. Groups larger than the " +
+                        "number of hardware counters would never be scheduled.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.NON_NEGATIVE).describedAs("int").defaultsTo(0);
+
         OptionSet set = ProfilerUtils.parseInitLine(initLine, parser);
 
         Collection<String> userEvents;
@@ -105,6 +123,8 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
             doFilter = set.valueOf(optFilter);
             useDefaultStats = set.valueOf(optDefaultStat);
             userEvents = set.valuesOf(optEvents);
+            perIteration = set.valueOf(optPerIteration);
+            groupSize = set.valueOf(optGroupSize);
         } catch (OptionException e) {
             throw new ProfilerException(e.getMessage());
         }
@@ -153,12 +173,32 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
         if (useDefaultStats) {
             cmd.addAll(Arrays.asList(PerfSupport.PERF_EXEC, "stat", "--log-fd", "2", "--field-separator", ",", "--detailed", "--detailed", "--detailed"));
         } else {
-            cmd.addAll(Arrays.asList(PerfSupport.PERF_EXEC, "stat", "--log-fd", "2", "--field-separator", ",", "--event", Utils.join(supportedEvents, ",")));
+            cmd.addAll(Arrays.asList(PerfSupport.PERF_EXEC, "stat", "--log-fd", "2", "--field-separator", ",", "--event", eventList()));
         }
         cmd.addAll(Arrays.asList("-I", String.valueOf(incrementInterval)));
         return cmd;
     }
 
+    private String eventList() {
+        if (groupSize == 0) {
+            return Utils.join(supportedEvents, ",");
+        }
+
+        List<String> groups = new ArrayList<>();
+        List<String> group = new ArrayList<>();
+        for (String ev : supportedEvents) {
+            group.add(ev);
+            if (group.size() == groupSize) {
+                groups.add("{" + Utils.join(group, ",") + "}");
+                group.clear();
+            }
+        }
+        if (!group.isEmpty()) {
+            groups.add("{" + Utils.join(group, ",") + "}");
+        }
+        return Utils.join(groups, ",");
+    }
+
     @Override
     public Collection<String> addJVMOptions(BenchmarkParams params) {
         return Collections.emptyList();
@@ -171,6 +211,9 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
 
     @Override
     public Collection<? extends Result> afterTrial(BenchmarkResult br, long pid, File stdOut, File stdErr) {
+        if (perIteration) {
+            return processIterations(br, stdErr);
+        }
         return process(br, stdOut, stdErr);
     }
 
@@ -347,6 +390,99 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
         }
     }
 
+    private Collection<? extends Result> processIterations(BenchmarkResult br, File stdErr) {
+        BenchmarkResultMetaData md = br.getMetadata();
+        if (md == null) {
+            return emptyResults();
+        }
+
+        PerfStatIntervals data;
+        try (FileReader fr = new FileReader(stdErr)) {
+            data = PerfStatIntervals.parse(fr);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        List<IterationResultMetaData> iterations = new ArrayList<>();
+        for (IterationResult ir : br.getIterationResults()) {
+            IterationResultMetaData imd = ir.getMetadata();
+            if (ir.getParams().getType() == IterationType.MEASUREMENT &&
+                    imd != null && imd.getStartTime() != -1 && imd.getStopTime() > imd.getStartTime()) {
+                iterations.add(imd);
+            }
+        }
+
+        if (iterations.isEmpty() || data.events().isEmpty()) {
+            return emptyResults();
+        }
+
+        // perf starts counting along with the forked VM, which starts after the recorded fork start time.
+        // This is off by the perf startup time, which is much less than the usual interval.
+        long perfStart = md.getStartTime();
+
+        List<String> events = new ArrayList<>(data.events());
+        double[][] perOp = new double[events.size()][iterations.size()];
+        double[] coverage = new double[iterations.size()];
+        double[] eventCounts = new double[events.size()];
+        long[] eventOps = new long[events.size()];
+
+        for (int i = 0; i < iterations.size(); i++) {
+            IterationResultMetaData imd = iterations.get(i);
+            double from = (imd.getStartTime() - perfStart) / 1000D;
+            double to = (imd.getStopTime() - perfStart) / 1000D;
+            long ops = imd.getAllOps();
+
+            coverage[i] = 1D;
+            for (int e = 0; e < events.size(); e++) {
+                PerfStatIntervals.Estimate est = data.estimate(events.get(e), from, to);
+                if (est == null || ops == 0) {
+                    perOp[e][i] = Double.NaN;
+                    continue;
+                }
+                perOp[e][i] = est.value / ops;
+                coverage[i] = Math.min(coverage[i], est.coverage);
+                eventCounts[e] += est.value;
+                eventOps[e] += ops;
+            }
+        }
+
+        Collection<Result> results = new ArrayList<>();
+        Map<String, Double> finalPerOp = new HashMap<>();
+        for (int e = 0; e < events.size(); e++) {
+            if (eventOps[e] > 0) {
+                double v = eventCounts[e] / eventOps[e];
+                finalPerOp.put(events.get(e), v);
+                results.add(new PerfResult(events.get(e), "#/op", v));
+            }
+        }
+
+        if (finalPerOp.isEmpty()) {
+            return emptyResults();
+        }
+
+        Double cycles = firstOf(finalPerOp, "cycles", "cycles:u");
+        Double instructions = firstOf(finalPerOp, "instructions", "instructions:u");
+        if (cycles != null && instructions != null && cycles != 0 && instructions != 0) {
+            results.add(new PerfResult("CPI", "clks/insn", cycles / instructions));
+            results.add(new PerfResult("IPC", "insns/clk", instructions / cycles));
+        }
+
+        results.add(new PerfIterationsResult(Collections.singletonList(
+                new PerfIterationsResult.Fork(events, perOp, coverage))));
+
+        return results;
+    }
+
+    private static Double firstOf(Map<String, Double> values, String... keys) {
+        for (String key : keys) {
+            Double v = values.get(key);
+            if (v != null) {
+                return v;
+            }
+        }
+        return null;
+    }
+
     private static Set<PerfResult> emptyResults() {
         return Collections.singleton(new PerfResult("N/A", "", Double.NaN));
     }
@@ -365,5 +501,117 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
         }
     }
 
+    /**
+     * Per-iteration breakdown of normalized counters, printed in extended info.
+     */
+    static class PerfIterationsResult extends Result<PerfIterationsResult> {
+        private static final long serialVersionUID = 2794725960377442217L;
+
+        static class Fork implements Serializable {
+            private static final long serialVersionUID = -2893361578418466305L;
+
+            final List<String> events;
+            final double[][] perOp;
+            final double[] coverage;
+
+            Fork(List<String> events, double[][] perOp, double[] coverage) {
+                this.events = events;
+                this.perOp = perOp;
+                this.coverage = coverage;
+            }
+        }
+
+        private final List<Fork> forks;
+
+        PerfIterationsResult(List<Fork> forks) {
+            super(ResultRole.SECONDARY, "perfnorm-iterations", of(Double.NaN), "---", AggregationPolicy.AVG);
+            this.forks = forks;
+        }
+
+        @Override
+        protected Aggregator<PerfIterationsResult> getThreadAggregator() {
+            return new PerfIterationsAggregator();
+        }
+
+        @Override
+        protected Aggregator<PerfIterationsResult> getIterationAggregator() {
+            return new PerfIterationsAggregator();
+        }
+
+        @Override
+        public String toString() {
+            return "<delayed till summary>";
+        }
+
+        @Override
+        public String extendedInfo() {
+            StringBuilder sb = new StringBuilder();
+            for (int f = 0; f < forks.size(); f++) {
+                Fork fork = forks.get(f);
+                int iters = fork.coverage.length;
+
+                int width = 20;
+                for (String ev : fork.events) {
+                    width = Math.max(width, ev.length() + 2);
+                }
+
+                sb.append(String.format("Per-iteration perf counters, per operation, fork #%d:%n", f + 1));
+                sb.append(String.format("%-" + width + "s", "Iteration"));
+                for (int i = 0; i < iters; i++) {
+                    sb.append(String.format("%14s", "#" + (i + 1)));
+                }
+                sb.append(System.lineSeparator());
+
+                int cyclesIdx = indexOf(fork.events, "cycles", "cycles:u");
+                int insnsIdx = indexOf(fork.events, "instructions", "instructions:u");
+
+                for (int e = 0; e < fork.events.size(); e++) {
+                    sb.append(String.format("%-" + width + "s", fork.events.get(e)));
+                    for (int i = 0; i < iters; i++) {
+                        sb.append(String.format("%14.3f", fork.perOp[e][i]));
+                    }
+                    sb.append(System.lineSeparator());
+                }
+
+                if (cyclesIdx != -1 && insnsIdx != -1) {
+                    sb.append(String.format("%-" + width + "s", "IPC"));
+                    for (int i = 0; i < iters; i++) {
+                        sb.append(String.format("%14.3f", fork.perOp[insnsIdx][i] / fork.perOp[cyclesIdx][i]));
+                    }
+                    sb.append(System.lineSeparator());
+                }
+
+                sb.append(String.format("%-" + width + "s", "min coverage"));
+                for (int i = 0; i < iters; i++) {
+                    sb.append(String.format("%13.1f%%", fork.coverage[i] * 100));
+                }
+                sb.append(System.lineSeparator());
+                sb.append(System.lineSeparator());
+            }
+            return sb.toString();
+        }
+
+        private static int indexOf(List<String> events, String... keys) {
+            for (String key : keys) {
+                int idx = events.indexOf(key);
+                if (idx != -1) {
+                    return idx;
+                }
+            }
+            return -1;
+        }
+    }
+
+    static class PerfIterationsAggregator implements Aggregator<PerfIterationsResult> {
+        @Override
+        public PerfIterationsResult aggregate(Collection<PerfIterationsResult> results) {
+            List<PerfIterationsResult.Fork> forks = new ArrayList<>();
+            for (PerfIterationsResult r : results) {
+                forks.addAll(r.forks);
+            }
+            return new PerfIterationsResult(forks);
+        }
+    }
+
 
 }
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.options.IntegerValueConverter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breaks down the wall clock time of the benchmark threads.
+ *
+ * <p>The CPU time the benchmark threads spend in the iteration workload is recorded by the harness,
+ * and compared with the wall clock time of the same workload to get the CPU utilization of benchmark
+ * threads. The thread states are sampled
+ * periodically, and the wall clock time is split between running, blocked (on monitor enter),
+ * waiting (in {@code Object.wait}, {@code Thread.sleep}, etc.) and parked (in
+ * {@code LockSupport.park}) according to the sample counts. All times are per operation.</p>
+ *
+ * <p>Threads doing blocking I/O are usually reported as running, but they are not on CPU:
+ * the difference between running and CPU time is the off-CPU time that is not explained by
+ * waiting on other threads.</p>
+ *
+ * <p>Only the iteration workload span, as recorded in the iteration metadata, is accounted,
+ * both for the CPU and the wall clock time.
+ * Within it, benchmark threads still wait in the harness: at the iteration setup and teardown
+ * barriers, and when pacing the operations in fixed rate mode. Samples with the innermost non-JDK
+ * frame in the JMH runner are considered harness samples: they are not classified, and their share
+ * of the wall clock time is excluded.</p>
+ */
+public class OffCpuProfiler implements InternalProfiler {
+
+    private static final int RUNNING = 0;
+    private static final int BLOCKED = 1;
+    private static final int WAITING = 2;
+    private static final int PARKED = 3;
+
+    private static final int HARNESS = 4;
+
+    private static final String[] STATE_NAMES = { "running", "blocked", "waiting", "parked" };
+
+    // Enough to find the innermost non-JDK frame in the harness waits
+    private static final int STACK_DEPTH = 16;
+
+    private final ThreadMXBean bean;
+    private final int periodMsec;
+
+    private long wallBefore;
+    private long wallBeforeMs;
+    private SamplingTask samplingTask;
+
+    public OffCpuProfiler(String initLine) throws ProfilerException {
+        OptionParser parser = new OptionParser();
+        parser.formatHelpWith(new ProfilerOptionFormatter(OffCpuProfiler.class.getCanonicalName()));
+
+        OptionSpec<Integer> optSamplePeriod = parser.accepts("period", "Thread state sampling period, in milliseconds. " +
+                "Smaller values improve accuracy, at the expense of more profiling overhead.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int").defaultsTo(10);
+
+        OptionSet set = ProfilerUtils.parseInitLine(initLine, parser);
+
+        try {
+            periodMsec = set.valueOf(optSamplePeriod);
+        } catch (OptionException e) {
+            throw new ProfilerException(e.getMessage());
+        }
+
+        bean = ManagementFactory.getThreadMXBean();
+        if (!bean.isThreadCpuTimeSupported()) {
+            throw new ProfilerException("Thread CPU time is not supported in this VM");
+        }
+        if (!bean.isThreadCpuTimeEnabled()) {
+            bean.setThreadCpuTimeEnabled(true);
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "Wall clock time breakdown for the benchmark threads: CPU time and thread states";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        samplingTask = new SamplingTask();
+        wallBefore = System.nanoTime();
+        wallBeforeMs = System.currentTimeMillis();
+        samplingTask.start();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        samplingTask.stop();
+
+        IterationResultMetaData md = result.getMetadata();
+        int threads = md.getThreadCount();
+
+        // Prefer the workload span, fall back to the profiler callbacks when it is not recorded
+        long wall;
+        long fromMs;
+        long toMs;
+        if (md.getStartTime() != -1 && md.getStopTime() != -1) {
+            fromMs = md.getStartTime();
+            toMs = md.getStopTime();
+            wall = TimeUnit.MILLISECONDS.toNanos(toMs - fromMs);
+        } else {
+            fromMs = wallBeforeMs;
+            toMs = Long.MAX_VALUE;
+            wall = System.nanoTime() - wallBefore;
+        }
+
+        long ops = 0;
+        long cpu = 0;
+        long[] states = new long[STATE_NAMES.length + 1];
+        boolean valid = (threads > 0);
+        for (int t = 0; t < threads; t++) {
+            long id = md.getThreadId(t);
+            ops += md.getThreadAllOps(t);
+
+            long threadCpu = md.getThreadCpuTime(t);
+            if (threadCpu < 0) {
+                // CPU time was not recorded for this thread
+                valid = false;
+                continue;
+            }
+            cpu += threadCpu;
+
+            List<long[]> s = samplingTask.samples.get(id);
+            if (s != null) {
+                for (long[] sample : s) {
+                    if (fromMs <= sample[0] && sample[0] <= toMs) {
+                        states[(int) sample[1]]++;
+                    }
+                }
+            }
+        }
+
+        long workloadSamples = 0;
+        for (int c = 0; c < STATE_NAMES.length; c++) {
+            workloadSamples += states[c];
+        }
+        long totalSamples = workloadSamples + states[HARNESS];
+
+        // Total wall clock time available to all benchmark threads, without the harness waits
+        long threadWall = wall * threads;
+        if (totalSamples > 0) {
+            threadWall = threadWall * workloadSamples / totalSamples;
+        }
+
+        List<Result> results = new ArrayList<>();
+        results.add(new ScalarResult("offcpu.util", valid ? 100.0 * cpu / threadWall : Double.NaN, "%", AggregationPolicy.AVG));
+        results.add(new ScalarResult("offcpu.wall", valid ? norm(threadWall, ops) : Double.NaN, "ns/op", AggregationPolicy.AVG));
+        results.add(new ScalarResult("offcpu.cpu", valid ? norm(cpu, ops) : Double.NaN, "ns/op", AggregationPolicy.AVG));
+        for (int c = 0; c < STATE_NAMES.length; c++) {
+            double v = (valid && workloadSamples > 0) ? norm(threadWall, ops) * states[c] / workloadSamples : Double.NaN;
+            results.add(new ScalarResult("offcpu." + STATE_NAMES[c], v, "ns/op", AggregationPolicy.AVG));
+        }
+        return results;
+    }
+
+    private static double norm(long v, long ops) {
+        return (ops != 0) ? 1.0 * v / ops : Double.NaN;
+    }
+
+    private static int classify(ThreadInfo info) {
+        StackTraceElement[] stack = info.getStackTrace();
+        switch (info.getThreadState()) {
+            case RUNNABLE:
+                return RUNNING;
+            case BLOCKED:
+                return isHarness(stack) ? HARNESS : BLOCKED;
+            case WAITING:
+            case TIMED_WAITING:
+                if (isHarness(stack)) {
+                    return HARNESS;
+                }
+                if (stack.length > 0 && stack[0].getMethodName().equals("park") &&
+                        stack[0].getClassName().endsWith(".Unsafe")) {
+                    return PARKED;
+                }
+                return WAITING;
+            default:
+                return -1;
+        }
+    }
+
+    private static boolean isHarness(StackTraceElement[] stack) {
+        List<String> classNames = new ArrayList<>(stack.length);
+        for (StackTraceElement e : stack) {
+            classNames.add(e.getClassName());
+        }
+        return WorkerThreads.isHarnessStack(classNames, stack.length >= STACK_DEPTH);
+    }
+
+    private class SamplingTask implements Runnable {
+
+        private final Thread thread;
+
+        // Per thread: (wall clock time in milliseconds, state) pairs
+        private final Map<Long, List<long[]>> samples;
+
+        SamplingTask() {
+            samples = new HashMap<>();
+            thread = new Thread(this);
+            thread.setName("OffCpu Sampling Thread");
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long self = Thread.currentThread().getId();
+            while (!Thread.interrupted()) {
+                long time = System.currentTimeMillis();
+                for (ThreadInfo info : bean.getThreadInfo(bean.getAllThreadIds(), STACK_DEPTH)) {
+                    if (info == null || info.getThreadId() == self) {
+                        continue;
+                    }
+                    int c = classify(info);
+                    if (c < 0) {
+                        continue;
+                    }
+                    List<long[]> s = samples.get(info.getThreadId());
+                    if (s == null) {
+                        s = new ArrayList<>();
+                        samples.put(info.getThreadId(), s);
+                    }
+                    s.add(new long[]{time, c});
+                }
+
+                try {
+                    TimeUnit.MILLISECONDS.sleep(periodMsec);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        public void start() {
+            thread.start();
+        }
+
+        public void stop() {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
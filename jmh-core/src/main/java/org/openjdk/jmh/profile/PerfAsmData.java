@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import org.openjdk.jmh.util.HashMultiset;
+import org.openjdk.jmh.util.Multiset;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Per-method perfasm profile that is saved for comparing it with other runs.
+ * Methods are identified by the names that survive between JVM runs: Java methods
+ * drop the compilation version and compile id, and accumulate all their compiled versions.
+ */
+class PerfAsmData {
+
+    private static final String HEADER = "# JMH perfasm data";
+    private static final int VERSION = 1;
+
+    private static final Pattern JAVA_METHOD_SUFFIX = Pattern.compile(", version \\d+, compile id .*$");
+    private static final Pattern RAW_CODE = Pattern.compile("[0-9a-f]+|\\|");
+    private static final Pattern MNEMONIC = Pattern.compile("[a-z][a-z0-9.]*");
+    private static final Set<String> PREFIXES = new HashSet<>(Arrays.asList(
+            "lock", "rep", "repe", "repz", "repne", "repnz", "data16", "addr32", "rex", "rex.w", "notrack", "bnd"));
+
+    final List<String> events;
+    final long ops;
+    final Multiset<String> totals;
+    final Map<String, Method> methods;
+
+    PerfAsmData(List<String> events, long ops) {
+        this.events = events;
+        this.ops = ops;
+        this.totals = new HashMultiset<>();
+        this.methods = new LinkedHashMap<>();
+    }
+
+    static class Method {
+        final String name;
+        final SortedSet<String> sources;
+        final Multiset<String> counts;
+        final Map<String, Multiset<String>> mix;
+
+        Method(String name) {
+            this.name = name;
+            this.sources = new TreeSet<>();
+            this.counts = new HashMultiset<>();
+            this.mix = new HashMap<>();
+        }
+
+        Multiset<String> mix(String event) {
+            return mix.computeIfAbsent(event, k -> new HashMultiset<>());
+        }
+    }
+
+    Method method(AbstractPerfAsmProfiler.MethodDesc desc) {
+        String name = desc.name();
+        String stripped = JAVA_METHOD_SUFFIX.matcher(name).replaceFirst("");
+        if (stripped.equals(name)) {
+            // Not a Java method: native symbols, stubs, etc. need their source to be unambiguous.
+            stripped = desc.source() + ": " + name;
+        }
+        Method m = method(stripped);
+        m.sources.add(desc.source());
+        return m;
+    }
+
+    Method method(String name) {
+        return methods.computeIfAbsent(name, Method::new);
+    }
+
+    /**
+     * Extracts the instruction mnemonic from the disassembly line, e.g. "mov" from
+     * "0x00007f26f51fb640:   mov    %eax,-0x14000(%rsp)". Returns null when there is no
+     * instruction on the line, or it was printed as raw hex dump without disassembler.
+     *
+     * @param code assembly line
+     * @return mnemonic, or null
+     */
+    static String mnemonic(String code) {
+        String s = code.trim();
+        int colon = s.indexOf(':');
+        if (!s.startsWith("0x") || colon < 0) {
+            return null;
+        }
+
+        String rest = s.substring(colon + 1).trim();
+        if (rest.isEmpty() || rest.startsWith(";")) {
+            return null;
+        }
+
+        String[] tokens = rest.split("\\s+");
+        boolean raw = true;
+        for (String t : tokens) {
+            if (!RAW_CODE.matcher(t).matches()) {
+                raw = false;
+                break;
+            }
+        }
+        if (raw) {
+            return null;
+        }
+
+        String m = tokens[0];
+        if (!MNEMONIC.matcher(m).matches()) {
+            return null;
+        }
+        if (PREFIXES.contains(m) && tokens.length > 1 && MNEMONIC.matcher(tokens[1]).matches()) {
+            return m + " " + tokens[1];
+        }
+        return m;
+    }
+
+    void write(File file) throws IOException {
+        try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            pw.println(HEADER);
+            pw.println("version\t" + VERSION);
+            pw.println("ops\t" + ops);
+            pw.println("events\t" + String.join("\t", events));
+            for (String event : events) {
+                pw.println("total\t" + event + "\t" + totals.count(event));
+            }
+            for (Method m : methods.values()) {
+                pw.println("method\t" + m.name + "\t" + String.join("\t", m.sources));
+                for (String event : events) {
+                    long count = m.counts.count(event);
+                    if (count > 0) {
+                        pw.println("count\t" + event + "\t" + count);
+                    }
+                }
+                for (String event : events) {
+                    Multiset<String> mix = m.mix.get(event);
+                    if (mix != null) {
+                        for (String mnemonic : mix.keys()) {
+                            pw.println("mix\t" + event + "\t" + mnemonic + "\t" + mix.count(mnemonic));
+                        }
+                    }
+                }
+            }
+            if (pw.checkError()) {
+                throw new IOException("Unable to write " + file);
+            }
+        }
+    }
+
+    static PerfAsmData read(File file) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line = br.readLine();
+            if (!HEADER.equals(line)) {
+                throw new IOException(file + " is not the perfasm data file");
+            }
+
+            int version = -1;
+            long ops = 0;
+            List<String> events = Collections.emptyList();
+            PerfAsmData data = null;
+            Method method = null;
+
+            int lineNo = 1;
+            while ((line = br.readLine()) != null) {
+                lineNo++;
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fs = line.split("\t");
+                try {
+                    switch (fs[0]) {
+                        case "version":
+                            version = Integer.parseInt(fs[1]);
+                            if (version != VERSION) {
+                                throw new IOException(file + " has unsupported version " + version);
+                            }
+                            break;
+                        case "ops":
+                            ops = Long.parseLong(fs[1]);
+                            break;
+                        case "events":
+                            events = Arrays.asList(Arrays.copyOfRange(fs, 1, fs.length));
+                            data = new PerfAsmData(events, ops);
+                            break;
+                        case "total":
+                            data.totals.add(fs[1], Long.parseLong(fs[2]));
+                            break;
+                        case "method":
+                            method = data.method(fs[1]);
+                            method.sources.addAll(Arrays.asList(fs).subList(2, fs.length));
+                            break;
+                        case "count":
+                            method.counts.add(fs[1], Long.parseLong(fs[2]));
+                            break;
+                        case "mix":
+                            method.mix(fs[1]).add(fs[2], Long.parseLong(fs[3]));
+                            break;
+                        default:
+                            // Unknown record, skip
+                    }
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException | NullPointerException e) {
+                    throw new IOException(file + ":" + lineNo + ": malformed line: " + line);
+                }
+            }
+
+            if (data == null) {
+                throw new IOException(file + " has no events");
+            }
+            return data;
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import org.openjdk.jmh.util.HashMultiset;
+import org.openjdk.jmh.util.Multiset;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * Compares two perfasm profiles saved with "saveData": reports per-method event
+ * differences, and instruction mix differences for the most changed methods.
+ */
+class PerfAsmDiff {
+
+    private static final int MIX_METHODS = 5;
+    private static final int MIX_INSTRUCTIONS = 10;
+
+    /**
+     * @param argv Command line arguments: baseline data file, current data file, and optional number of methods to show.
+     * @throws IOException if data files cannot be read
+     */
+    public static void main(String[] argv) throws IOException {
+        if (argv.length < 2 || argv.length > 3) {
+            System.err.println("Usage: " + PerfAsmDiff.class.getName() + " <baseline data> <current data> [top methods]");
+            System.exit(1);
+        }
+
+        PerfAsmData base = PerfAsmData.read(new File(argv[0]));
+        PerfAsmData cur = PerfAsmData.read(new File(argv[1]));
+        int top = (argv.length > 2) ? Integer.parseInt(argv[2]) : 20;
+
+        PrintWriter pw = new PrintWriter(System.out);
+        pw.println("Baseline: " + argv[0]);
+        pw.println("Current:  " + argv[1]);
+        pw.println();
+        print(pw, base, cur, top);
+        pw.flush();
+    }
+
+    static void print(PrintWriter pw, PerfAsmData base, PerfAsmData cur, int top) {
+        List<String> events = new ArrayList<>(cur.events);
+        events.retainAll(base.events);
+        if (events.isEmpty()) {
+            pw.println("ERROR: No common events to compare, baseline has " + base.events + ", current has " + cur.events);
+            return;
+        }
+        String mainEvent = events.get(0);
+
+        Set<String> names = new LinkedHashSet<>();
+        names.addAll(cur.methods.keySet());
+        names.addAll(base.methods.keySet());
+
+        List<String> sorted = new ArrayList<>(names);
+        sorted.sort((o1, o2) -> Double.compare(
+                Math.abs(delta(base, cur, o2, mainEvent)),
+                Math.abs(delta(base, cur, o1, mainEvent))));
+
+        long unit = unit(base, cur, events);
+
+        printDottedLine(pw, "Hottest Methods Difference");
+        pw.println(" Sampled events per " + (unit == 1 ? "op" : unit + " ops") + ", baseline vs. current, sorted by \"" +
+                mainEvent + "\" difference.");
+        pw.println();
+
+        for (String event : events) {
+            pw.printf("%-45s", " " + event);
+        }
+        pw.println();
+        for (String event : events) {
+            pw.printf("%10s  %10s  %19s  ", "baseline", "current", "difference");
+        }
+        pw.println();
+
+        Multiset<String> otherBase = new HashMultiset<>();
+        Multiset<String> otherCur = new HashMultiset<>();
+        int shown = 0;
+        for (String name : sorted) {
+            if (shown++ < top) {
+                for (String event : events) {
+                    printCounts(pw, base, cur, count(base, name, event), count(cur, name, event), unit);
+                }
+                pw.printf("%s  %s%n", sources(base, cur, name), name);
+            } else {
+                for (String event : events) {
+                    otherBase.add(event, count(base, name, event));
+                    otherCur.add(event, count(cur, name, event));
+                }
+            }
+        }
+
+        if (sorted.size() > top) {
+            for (String event : events) {
+                printCounts(pw, base, cur, otherBase.count(event), otherCur.count(event), unit);
+            }
+            pw.println("<...other " + (sorted.size() - top) + " methods...>");
+        }
+        printDottedLine(pw, null);
+        for (String event : events) {
+            printCounts(pw, base, cur, base.totals.count(event), cur.totals.count(event), unit);
+        }
+        pw.println("<totals>");
+        pw.println();
+
+        boolean mixPrinted = false;
+        for (String name : sorted.subList(0, Math.min(MIX_METHODS, sorted.size()))) {
+            Multiset<String> baseMix = mix(base, name, mainEvent);
+            Multiset<String> curMix = mix(cur, name, mainEvent);
+            if (baseMix.isEmpty() && curMix.isEmpty()) {
+                continue;
+            }
+
+            Set<String> mnemonics = new HashSet<>();
+            mnemonics.addAll(baseMix.keys());
+            mnemonics.addAll(curMix.keys());
+
+            List<String> sortedMnemonics = new ArrayList<>(mnemonics);
+            sortedMnemonics.sort((o1, o2) -> Double.compare(
+                    Math.abs(1D * curMix.count(o2) / cur.ops - 1D * baseMix.count(o2) / base.ops),
+                    Math.abs(1D * curMix.count(o1) / cur.ops - 1D * baseMix.count(o1) / base.ops)));
+
+            printDottedLine(pw, "Instruction Mix Difference: " + name);
+            pw.printf("%10s  %10s  %19s  \"%s\" events by instruction%n", "baseline", "current", "difference", mainEvent);
+            for (String mnemonic : sortedMnemonics.subList(0, Math.min(MIX_INSTRUCTIONS, sortedMnemonics.size()))) {
+                printCounts(pw, base, cur, baseMix.count(mnemonic), curMix.count(mnemonic), unit);
+                pw.println(mnemonic);
+            }
+            pw.println();
+            mixPrinted = true;
+        }
+
+        if (!mixPrinted) {
+            pw.println("No instruction mix data, make sure the disassembler (hsdis) is available in both runs.");
+            pw.println();
+        }
+    }
+
+    private static long count(PerfAsmData data, String name, String event) {
+        PerfAsmData.Method m = data.methods.get(name);
+        return (m != null) ? m.counts.count(event) : 0;
+    }
+
+    private static Multiset<String> mix(PerfAsmData data, String name, String event) {
+        PerfAsmData.Method m = data.methods.get(name);
+        Multiset<String> mix = (m != null) ? m.mix.get(event) : null;
+        return (mix != null) ? mix : new HashMultiset<>();
+    }
+
+    private static String sources(PerfAsmData base, PerfAsmData cur, String name) {
+        SortedSet<String> sources = new TreeSet<>();
+        for (PerfAsmData data : Arrays.asList(base, cur)) {
+            PerfAsmData.Method m = data.methods.get(name);
+            if (m != null) {
+                sources.addAll(m.sources);
+            }
+        }
+        return String.join("; ", sources);
+    }
+
+    private static double delta(PerfAsmData base, PerfAsmData cur, String name, String event) {
+        return 1D * count(cur, name, event) / cur.ops - 1D * count(base, name, event) / base.ops;
+    }
+
+    /**
+     * Selects the number of ops to normalize the counts to, so that the largest count
+     * shows up with at least a few integer digits.
+     */
+    private static long unit(PerfAsmData base, PerfAsmData cur, List<String> events) {
+        double max = 0;
+        for (String event : events) {
+            max = Math.max(max, 1D * base.totals.count(event) / base.ops);
+            max = Math.max(max, 1D * cur.totals.count(event) / cur.ops);
+        }
+        long unit = 1;
+        while (max > 0 && max * unit < 100 && unit < 1_000_000_000_000L) {
+            unit *= 10;
+        }
+        return unit;
+    }
+
+    private static void printCounts(PrintWriter pw, PerfAsmData base, PerfAsmData cur, long baseCount, long curCount, long unit) {
+        double b = 1D * baseCount * unit / base.ops;
+        double c = 1D * curCount * unit / cur.ops;
+        String pct;
+        if (baseCount == 0) {
+            pct = (curCount == 0) ? "" : "(new)";
+        } else {
+            pct = String.format("(%+.1f%%)", (c - b) * 100 / b);
+        }
+        pw.printf("%10.2f  %10.2f  %+9.2f %9s  ", b, c, c - b, pct);
+    }
+
+    private static void printDottedLine(PrintWriter pw, String header) {
+        final int HEADER_WIDTH = 100;
+
+        pw.print("....");
+        if (header != null) {
+            header = "[" + header + "]";
+            pw.print(header);
+        } else {
+            header = "";
+        }
+
+        for (int c = 0; c < HEADER_WIDTH - 4 - header.length(); c++) {
+            pw.print(".");
+        }
+        pw.println();
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Incremental "perf stat -x, -I" counter data, with per-interval running and enabled times.
+ *
+ * <p>Every interval record is converted back to the raw count, using the percentage of time the counter
+ * was actually running. Counts over an arbitrary time window are then estimated by summing up the raw counts
+ * and the times of the overlapping intervals, and scaling the total once, which is more accurate than
+ * summing up the counts that perf had already scaled for every interval.</p>
+ */
+class PerfStatIntervals {
+
+    private static final double NANOS_PER_SEC = 1_000_000_000D;
+
+    static class Interval {
+        // perf time since start, in seconds
+        final double from;
+        final double to;
+
+        // raw count, and the time the counter was running and enabled, in nanoseconds
+        final double raw;
+        final double running;
+        final double enabled;
+
+        Interval(double from, double to, double raw, double running, double enabled) {
+            this.from = from;
+            this.to = to;
+            this.raw = raw;
+            this.running = running;
+            this.enabled = enabled;
+        }
+    }
+
+    static class Estimate {
+        final double value;
+        final double coverage;
+
+        Estimate(double value, double coverage) {
+            this.value = value;
+            this.coverage = coverage;
+        }
+    }
+
+    private final Map<String, List<Interval>> events = new LinkedHashMap<>();
+
+    static PerfStatIntervals parse(Reader r) throws IOException {
+        PerfStatIntervals data = new PerfStatIntervals();
+        BufferedReader reader = new BufferedReader(r);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            data.parseLine(line);
+        }
+        return data;
+    }
+
+    /**
+     * Parses a single CSV line. Recognized formats:
+     * <ul>
+     *     <li>time,count,event (perf 3.13)</li>
+     *     <li>time,count,unit,event (newer perf)</li>
+     *     <li>time,count,unit,event,running time,running percent,... (newer perf)</li>
+     * </ul>
+     *
+     * @param line line to parse
+     * @return true, if line was recognized as the counter record
+     */
+    boolean parseLine(String line) {
+        if (line.startsWith("#")) {
+            return false;
+        }
+
+        String[] split = line.split(",", -1);
+
+        String time;
+        String count;
+        String event;
+        String running = null;
+        String percent = null;
+
+        if (split.length == 3) {
+            time = split[0];
+            count = split[1];
+            event = split[2];
+        } else if (split.length >= 4) {
+            time = split[0];
+            count = split[1];
+            event = split[3];
+            if (split.length >= 6) {
+                running = split[4];
+                percent = split[5];
+            }
+        } else {
+            return false;
+        }
+
+        event = event.trim();
+        count = count.trim();
+        if (event.isEmpty() || count.startsWith("<not supported>")) {
+            return false;
+        }
+
+        double to;
+        try {
+            to = Double.parseDouble(time.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        List<Interval> list = events.get(event);
+        if (list == null) {
+            list = new ArrayList<>();
+            events.put(event, list);
+        }
+
+        double from = list.isEmpty() ? 0D : list.get(list.size() - 1).to;
+        double length = (to - from) * NANOS_PER_SEC;
+        if (length <= 0) {
+            return false;
+        }
+
+        if (count.startsWith("<not counted>")) {
+            // Enabled, but never scheduled on hardware in this interval
+            list.add(new Interval(from, to, 0, 0, length));
+            return true;
+        }
+
+        double value;
+        double run = length;
+        double pct = 100D;
+        try {
+            value = Double.parseDouble(count);
+            if (running != null && percent != null && !running.trim().isEmpty() && !percent.trim().isEmpty()) {
+                run = Double.parseDouble(running.trim());
+                pct = Double.parseDouble(percent.trim());
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        if (pct <= 0 || run <= 0) {
+            list.add(new Interval(from, to, 0, 0, length));
+        } else {
+            // perf reports the count scaled by enabled/running time; recover the raw count
+            list.add(new Interval(from, to, value * pct / 100D, run, run * 100D / pct));
+        }
+        return true;
+    }
+
+    Collection<String> events() {
+        return events.keySet();
+    }
+
+    List<Interval> intervals(String event) {
+        List<Interval> list = events.get(event);
+        return (list != null) ? list : Collections.emptyList();
+    }
+
+    /**
+     * Estimates the event count in the given time window. Intervals that partially
+     * overlap with the window contribute proportionally to the overlap.
+     *
+     * @param event event name
+     * @param from window start, seconds since perf start
+     * @param to window end, seconds since perf start
+     * @return estimate; null, if counter was never running in the window
+     */
+    Estimate estimate(String event, double from, double to) {
+        double raw = 0;
+        double running = 0;
+        double enabled = 0;
+        for (Interval i : intervals(event)) {
+            double overlap = Math.min(to, i.to) - Math.max(from, i.from);
+            if (overlap <= 0) {
+                continue;
+            }
+            double w = overlap / (i.to - i.from);
+            raw += i.raw * w;
+            running += i.running * w;
+            enabled += i.enabled * w;
+        }
+        if (running <= 0) {
+            return null;
+        }
+        return new Estimate(raw * enabled / running, running / enabled);
+    }
+
+}
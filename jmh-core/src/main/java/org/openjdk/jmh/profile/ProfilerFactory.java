@@ -164,16 +164,22 @@ public class ProfilerFactory {
 
     static {
         BUILT_IN = new TreeMap<>();
+        BUILT_IN.put("alloc",    ThreadAllocationProfiler.class);
+        BUILT_IN.put("allocsite", AllocationSiteProfiler.class);
         BUILT_IN.put("async",    AsyncProfiler.class);
         BUILT_IN.put("cl",       ClassloaderProfiler.class);
         BUILT_IN.put("comp",     CompilerProfiler.class);
+        BUILT_IN.put("contention", ContentionProfiler.class);
+        BUILT_IN.put("flame",    FlameGraphProfiler.class);
         BUILT_IN.put("gc",       GCProfiler.class);
         BUILT_IN.put("jfr",      JavaFlightRecorderProfiler.class);
+        BUILT_IN.put("jfrstream", JavaFlightRecorderStreamProfiler.class);
         BUILT_IN.put("stack",    StackProfiler.class);
         BUILT_IN.put("perf",     LinuxPerfProfiler.class);
         BUILT_IN.put("perfnorm", LinuxPerfNormProfiler.class);
         BUILT_IN.put("perfasm",  LinuxPerfAsmProfiler.class);
         BUILT_IN.put("mempool",  MemPoolProfiler.class);
+        BUILT_IN.put("offcpu",   OffCpuProfiler.class);
         BUILT_IN.put("xperfasm", WinPerfAsmProfiler.class);
         BUILT_IN.put("dtraceasm", DTraceAsmProfiler.class);
         BUILT_IN.put("xctraceasm", XCTraceAsmProfiler.class);
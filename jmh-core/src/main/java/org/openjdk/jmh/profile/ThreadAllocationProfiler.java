@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Measures the allocations done by the benchmark worker threads only.
+ *
+ * <p>Unlike {@link GCProfiler}, which takes the VM-wide allocation counters, this profiler
+ * reads the per-thread allocated bytes of the threads that actually ran the workload,
+ * so the harness, profiler and other auxiliary threads do not contribute. The result is
+ * exact up to the infrastructure allocations in the worker threads themselves, which
+ * are amortized over all operations in the iteration.</p>
+ */
+public class ThreadAllocationProfiler implements InternalProfiler {
+
+    private final ThreadMXBean bean;
+    private final Method getThreadAllocatedBytes;
+
+    private Map<Long, Long> before = Collections.emptyMap();
+
+    public ThreadAllocationProfiler() throws ProfilerException {
+        try {
+            Class<?> internalIntf = Class.forName("com.sun.management.ThreadMXBean");
+            ThreadMXBean b = ManagementFactory.getThreadMXBean();
+            if (!internalIntf.isAssignableFrom(b.getClass())) {
+                throw new ProfilerException("Per-thread allocation counters are not available in this VM");
+            }
+
+            if (!(Boolean) internalIntf.getMethod("isThreadAllocatedMemorySupported").invoke(b)) {
+                throw new ProfilerException("Per-thread allocation counters are not supported in this VM");
+            }
+            if (!(Boolean) internalIntf.getMethod("isThreadAllocatedMemoryEnabled").invoke(b)) {
+                internalIntf.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(b, true);
+            }
+
+            bean = b;
+            getThreadAllocatedBytes = internalIntf.getMethod("getThreadAllocatedBytes", long[].class);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new ProfilerException("Per-thread allocation counters are not available: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "Exact allocation profiling of the benchmark threads via per-thread counters";
+    }
+
+    private long[] allocatedBytes(long[] threadIds) {
+        try {
+            return (long[]) getThreadAllocatedBytes.invoke(bean, (Object) threadIds);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        long[] ids = bean.getAllThreadIds();
+        before = WorkerThreads.snapshot(ids, allocatedBytes(ids));
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        IterationResultMetaData md = result.getMetadata();
+        int threads = md.getThreadCount();
+
+        List<Result> results = new ArrayList<>();
+        if (threads == 0) {
+            // Worker data is not available, make sure it is distinguishable in report
+            results.add(new ScalarResult("alloc.norm", Double.NaN, "B/op", AggregationPolicy.AVG));
+            return results;
+        }
+
+        long[] ids = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            ids[t] = md.getThreadId(t);
+        }
+        long[] after = allocatedBytes(ids);
+
+        // Subgroup labels are only available for @Group benchmarks
+        List<String> labels = new ArrayList<>(benchmarkParams.getThreadGroupLabels());
+        int subgroups = labels.size();
+        for (int t = 0; t < threads; t++) {
+            subgroups = Math.max(subgroups, md.getThreadSubgroup(t) + 1);
+        }
+        long[] subgroupBytes = new long[subgroups];
+        long[] subgroupOps = new long[subgroups];
+
+        boolean valid = true;
+        long totalBytes = 0;
+        long totalOps = 0;
+        double[] threadNorms = new double[threads];
+        for (int t = 0; t < threads; t++) {
+            long ops = md.getThreadAllOps(t);
+            if (after[t] < 0) {
+                // Counters are not available for this thread, e.g. when it had already terminated
+                valid = false;
+                threadNorms[t] = Double.NaN;
+                continue;
+            }
+
+            Long b = before.get(ids[t]);
+            long bytes = after[t] - ((b != null) ? b : 0);
+
+            totalBytes += bytes;
+            totalOps += ops;
+            subgroupBytes[md.getThreadSubgroup(t)] += bytes;
+            subgroupOps[md.getThreadSubgroup(t)] += ops;
+            threadNorms[t] = norm(bytes, ops);
+        }
+
+        results.add(new ScalarResult("alloc.norm", valid ? norm(totalBytes, totalOps) : Double.NaN, "B/op", AggregationPolicy.AVG));
+
+        if (labels.size() > 1) {
+            for (int s = 0; s < labels.size(); s++) {
+                results.add(new ScalarResult("alloc.norm." + labels.get(s),
+                        valid ? norm(subgroupBytes[s], subgroupOps[s]) : Double.NaN, "B/op", AggregationPolicy.AVG));
+            }
+        }
+
+        if (threads > 1) {
+            for (int t = 0; t < threads; t++) {
+                results.add(new ScalarResult("alloc.norm.thread" + t, threadNorms[t], "B/op", AggregationPolicy.AVG));
+            }
+        }
+
+        return results;
+    }
+
+    private static double norm(long bytes, long ops) {
+        return (ops != 0) ? 1.0 * bytes / ops : Double.NaN;
+    }
+
+}
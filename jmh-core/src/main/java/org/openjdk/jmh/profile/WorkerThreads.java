@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import java.lang.management.ThreadInfo;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers for the profilers accounting the benchmark worker threads.
+ *
+ * <p>Worker threads are only known from {@link org.openjdk.jmh.results.IterationResultMetaData}
+ * when the iteration completes. Profilers snapshot the per-thread counters of all threads before
+ * the iteration, and look the workers up in the snapshot afterwards. Threads that are started
+ * during the iteration are not in the snapshot, and count from zero.</p>
+ */
+final class WorkerThreads {
+
+    private WorkerThreads() {
+        // prevent instantiation
+    }
+
+    /**
+     * @param ids thread ids
+     * @param values per-thread counter values, matching the ids; negative, if not available
+     * @return available counter values by thread id
+     */
+    static Map<Long, Long> snapshot(long[] ids, long[] values) {
+        Map<Long, Long> r = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (values[i] >= 0) {
+                r.put(ids[i], values[i]);
+            }
+        }
+        return r;
+    }
+
+    /**
+     * @param infos thread infos, may contain nulls for the threads that are no longer alive
+     * @return thread infos by thread id
+     */
+    static Map<Long, ThreadInfo> snapshot(ThreadInfo[] infos) {
+        Map<Long, ThreadInfo> r = new HashMap<>();
+        for (ThreadInfo info : infos) {
+            if (info != null) {
+                r.put(info.getThreadId(), info);
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Decides if the thread waits in the harness: at the iteration setup and teardown barriers,
+     * when pacing the operations in fixed rate mode, or idling in the executor. That is, the
+     * innermost non-JDK frame is in the JMH runner, or there are no non-JDK frames at all.
+     *
+     * @param classNames class names of the stack frames, innermost first
+     * @param truncated whether the stack is truncated: stacks with JDK frames only are then undecided
+     * @return true, if the thread waits in the harness
+     */
+    static boolean isHarnessStack(List<String> classNames, boolean truncated) {
+        for (String className : classNames) {
+            if (isJdkClass(className)) {
+                continue;
+            }
+            return className.startsWith("org.openjdk.jmh.runner.");
+        }
+        return !truncated;
+    }
+
+    private static boolean isJdkClass(String className) {
+        return className.startsWith("java.") ||
+                className.startsWith("javax.") ||
+                className.startsWith("jdk.") ||
+                className.startsWith("sun.") ||
+                className.startsWith("com.sun.");
+    }
+
+}
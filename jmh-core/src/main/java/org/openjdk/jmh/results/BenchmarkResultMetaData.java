@@ -36,14 +36,22 @@ public class BenchmarkResultMetaData implements Serializable {
     private final long stopTime;
     private final long warmupOps;
     private final long measurementOps;
+    private final MeasurementStopReason stopReason;
+    private String host;
 
     public BenchmarkResultMetaData(long warmupTime, long measurementTime, long stopTime, long warmupOps, long measurementOps) {
+        this(warmupTime, measurementTime, stopTime, warmupOps, measurementOps, MeasurementStopReason.ITERATION_COUNT);
+    }
+
+    public BenchmarkResultMetaData(long warmupTime, long measurementTime, long stopTime, long warmupOps, long measurementOps,
+                                   MeasurementStopReason stopReason) {
         this.startTime = Long.MIN_VALUE;
         this.warmupTime = warmupTime;
         this.measurementTime = measurementTime;
         this.stopTime = stopTime;
         this.warmupOps = warmupOps;
         this.measurementOps = measurementOps;
+        this.stopReason = stopReason;
     }
 
     public long getStartTime() {
@@ -73,7 +81,20 @@ public class BenchmarkResultMetaData implements Serializable {
         return warmupOps;
     }
 
+    public MeasurementStopReason getStopReason() {
+        // Results recorded by older versions do not have the stop reason.
+        return (stopReason != null) ? stopReason : MeasurementStopReason.ITERATION_COUNT;
+    }
+
     public void adjustStart(long startTime) {
         this.startTime = startTime;
     }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void adjustHost(String host) {
+        this.host = host;
+    }
 }
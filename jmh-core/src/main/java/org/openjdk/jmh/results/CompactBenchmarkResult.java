@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.results;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Benchmark result that retains only the aggregated results, computed once
+ * from the original benchmark result.
+ */
+class CompactBenchmarkResult extends BenchmarkResult {
+
+    private static final long serialVersionUID = -2437412578623571231L;
+
+    private final Result primaryResult;
+    private final Map<String, Result> secondaryResults;
+
+    CompactBenchmarkResult(BenchmarkResult src) {
+        super(src.getParams(), Collections.emptyList(), src.getMetadata());
+        this.primaryResult = src.getPrimaryResult();
+        this.secondaryResults = src.getSecondaryResults();
+    }
+
+    @Override
+    public Result getPrimaryResult() {
+        return primaryResult;
+    }
+
+    @Override
+    public Map<String, Result> getSecondaryResults() {
+        return secondaryResults;
+    }
+
+}
@@ -46,6 +46,7 @@ public class IterationResult implements Serializable {
     private final IterationResultMetaData metadata;
     private Collection<Result> primaryResults;
     private Multimap<String, Result> secondaryResults;
+    private double[] timeline;
 
     public IterationResult(BenchmarkParams benchmarkParams, IterationParams params, IterationResultMetaData md) {
         this.benchmarkParams = benchmarkParams;
@@ -87,6 +88,18 @@ public class IterationResult implements Serializable {
         }
     }
 
+    public void setTimeline(double[] timeline) {
+        this.timeline = timeline;
+    }
+
+    /**
+     * @return primary scores within the consecutive sub-intervals of the iteration;
+     *         null, if timeline was not recorded
+     */
+    public double[] getTimeline() {
+        return timeline;
+    }
+
     public Collection<Result> getRawPrimaryResults() {
         return primaryResults;
     }
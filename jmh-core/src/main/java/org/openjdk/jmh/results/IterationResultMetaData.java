@@ -33,9 +33,51 @@ public class IterationResultMetaData implements Serializable {
     private final long allOps;
     private final long measuredOps;
 
+    /*
+     * Worker thread data, indexed by thread index; null, when not recorded.
+     */
+    private final long[] threadIds;
+    private final long[] threadAllOps;
+    private final int[] threadSubgroups;
+
+    /*
+     * CPU time of the worker threads spent in the iteration workload, in nanoseconds, indexed by
+     * thread index; null, when not recorded.
+     */
+    private final long[] threadCpuTimes;
+
+    /*
+     * Wall clock time span of the iteration workload, in milliseconds; -1, when not recorded.
+     */
+    private final long startTime;
+    private final long stopTime;
+
     public IterationResultMetaData(long allOps, long measuredOps) {
+        this(allOps, measuredOps, null, null, null);
+    }
+
+    public IterationResultMetaData(long allOps, long measuredOps,
+                                   long[] threadIds, long[] threadAllOps, int[] threadSubgroups) {
+        this(allOps, measuredOps, threadIds, threadAllOps, threadSubgroups, -1, -1);
+    }
+
+    public IterationResultMetaData(long allOps, long measuredOps,
+                                   long[] threadIds, long[] threadAllOps, int[] threadSubgroups,
+                                   long startTime, long stopTime) {
+        this(allOps, measuredOps, threadIds, threadAllOps, threadSubgroups, null, startTime, stopTime);
+    }
+
+    public IterationResultMetaData(long allOps, long measuredOps,
+                                   long[] threadIds, long[] threadAllOps, int[] threadSubgroups, long[] threadCpuTimes,
+                                   long startTime, long stopTime) {
         this.allOps = allOps;
         this.measuredOps = measuredOps;
+        this.threadIds = threadIds;
+        this.threadAllOps = threadAllOps;
+        this.threadSubgroups = threadSubgroups;
+        this.threadCpuTimes = threadCpuTimes;
+        this.startTime = startTime;
+        this.stopTime = stopTime;
     }
 
     public long getMeasuredOps() {
@@ -45,4 +87,57 @@ public class IterationResultMetaData implements Serializable {
     public long getAllOps() {
         return allOps;
     }
+
+    /**
+     * @return number of worker threads with recorded data; 0, if worker data is not available
+     */
+    public int getThreadCount() {
+        return (threadIds != null) ? threadIds.length : 0;
+    }
+
+    /**
+     * @param thread thread index, see {@link org.openjdk.jmh.infra.ThreadParams#getThreadIndex()}
+     * @return id of the worker thread that ran the workload
+     */
+    public long getThreadId(int thread) {
+        return threadIds[thread];
+    }
+
+    /**
+     * @param thread thread index, see {@link org.openjdk.jmh.infra.ThreadParams#getThreadIndex()}
+     * @return all operations done by the worker thread
+     */
+    public long getThreadAllOps(int thread) {
+        return threadAllOps[thread];
+    }
+
+    /**
+     * @param thread thread index, see {@link org.openjdk.jmh.infra.ThreadParams#getThreadIndex()}
+     * @return subgroup index of the worker thread, see {@link org.openjdk.jmh.infra.ThreadParams#getSubgroupIndex()}
+     */
+    public int getThreadSubgroup(int thread) {
+        return threadSubgroups[thread];
+    }
+
+    /**
+     * @param thread thread index, see {@link org.openjdk.jmh.infra.ThreadParams#getThreadIndex()}
+     * @return CPU time the worker thread spent in the iteration workload, in nanoseconds; -1, if not recorded
+     */
+    public long getThreadCpuTime(int thread) {
+        return (threadCpuTimes != null) ? threadCpuTimes[thread] : -1;
+    }
+
+    /**
+     * @return wall clock time when the worker threads were started, in milliseconds; -1, if not recorded
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return wall clock time when all worker threads have finished, in milliseconds; -1, if not recorded
+     */
+    public long getStopTime() {
+        return stopTime;
+    }
 }
@@ -193,6 +193,16 @@ public abstract class Result<T extends Result<T>> implements Serializable {
         return Collections.emptyList();
     }
 
+    /**
+     * Detailed results, e.g. the per-thread breakdown, are only written out in the
+     * machine-readable result formats, and are omitted from the human-readable reports.
+     *
+     * @return true, if the result is the detail
+     */
+    public boolean isDetail() {
+        return false;
+    }
+
     /**
      * Result as represented by a String.
      *
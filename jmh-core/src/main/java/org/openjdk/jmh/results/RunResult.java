@@ -29,6 +29,7 @@ import org.openjdk.jmh.infra.BenchmarkParams;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Map;
 
@@ -42,10 +43,16 @@ public class RunResult implements Serializable {
 
     private final Collection<BenchmarkResult> benchmarkResults;
     private final BenchmarkParams params;
+    private final BenchmarkResult aggregated;
 
     public RunResult(BenchmarkParams params, Collection<BenchmarkResult> data) {
+        this(params, data, null);
+    }
+
+    private RunResult(BenchmarkParams params, Collection<BenchmarkResult> data, BenchmarkResult aggregated) {
         this.benchmarkResults = data;
         this.params = params;
+        this.aggregated = aggregated;
     }
 
     public Collection<BenchmarkResult> getBenchmarkResults() {
@@ -67,6 +74,10 @@ public class RunResult implements Serializable {
      * @return merged benchmark result
      */
     public BenchmarkResult getAggregatedResult() {
+        if (aggregated != null) {
+            return aggregated;
+        }
+
         if (benchmarkResults.isEmpty()) {
             return null;
         }
@@ -90,6 +101,22 @@ public class RunResult implements Serializable {
         return params;
     }
 
+    /**
+     * Return the compacted result, which only carries the aggregated primary and secondary
+     * results. Per-fork and per-iteration data is dropped, and {@link #getBenchmarkResults()}
+     * is empty for the compacted result. This allows to release the memory once the detailed
+     * results are persisted elsewhere.
+     *
+     * @return compacted result
+     */
+    public RunResult compact() {
+        BenchmarkResult agg = getAggregatedResult();
+        if (agg == null) {
+            return this;
+        }
+        return new RunResult(params, Collections.emptyList(), new CompactBenchmarkResult(agg));
+    }
+
     public static final Comparator<RunResult> DEFAULT_SORT_COMPARATOR = Comparator.comparing(o -> o.params);
 
 }
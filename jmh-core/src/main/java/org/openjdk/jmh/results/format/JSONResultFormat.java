@@ -24,8 +24,10 @@
  */
 package org.openjdk.jmh.results.format;
 
+import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.BenchmarkResultMetaData;
 import org.openjdk.jmh.results.IterationResult;
 import org.openjdk.jmh.results.Result;
 import org.openjdk.jmh.results.RunResult;
@@ -37,14 +39,16 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
-class JSONResultFormat implements ResultFormat {
+class JSONResultFormat implements StreamingResultFormat {
 
     private static final boolean PRINT_RAW_DATA =
             Boolean.parseBoolean(System.getProperty("jmh.json.rawData", "true"));
 
     private final PrintStream out;
+    private boolean first;
 
     public JSONResultFormat(PrintStream out) {
         this.out = out;
@@ -52,108 +56,158 @@ class JSONResultFormat implements ResultFormat {
 
     @Override
     public void writeOut(Collection<RunResult> results) {
+        startRun(Collections.emptyList());
+        for (RunResult runResult : results) {
+            writeResult(runResult);
+        }
+        endRun();
+    }
+
+    @Override
+    public void startRun(Collection<BenchmarkParams> params) {
+        first = true;
+        out.print("[");
+        out.flush();
+    }
+
+    @Override
+    public void writeResult(RunResult runResult) {
+        // Each record is tidied separately, and then shifted to its place in the document.
+        // Separator goes before the record, so that every record can be the last one.
+        out.print(first ? "\n" : ",\n");
+        first = false;
+
+        String[] lines = tidy(toJson(runResult)).split("\n");
+        for (int c = 0; c < lines.length; c++) {
+            if (c > 0) {
+                out.print("\n");
+            }
+            out.print("    ");
+            out.print(lines[c]);
+        }
+        out.flush();
+    }
+
+    @Override
+    public void endRun() {
+        out.println("\n]\n\n");
+        out.flush();
+    }
+
+    private String toJson(RunResult runResult) {
         StringWriter sw = new StringWriter();
         PrintWriter pw = new PrintWriter(sw);
 
-        boolean first = true;
+        BenchmarkParams params = runResult.getParams();
+
+        pw.println("{");
+        pw.println("\"jmhVersion\" : \"" + params.getJmhVersion() + "\",");
+        pw.println("\"benchmark\" : \"" + params.getBenchmark() + "\",");
+        pw.println("\"mode\" : \"" + params.getMode().shortLabel() + "\",");
+        pw.println("\"threads\" : " + params.getThreads() + ",");
+        pw.println("\"forks\" : " + params.getForks() + ",");
+        pw.println("\"jvm\" : " + toJsonString(params.getJvm()) + ",");
+        // if empty, write an empty array.
+        pw.println("\"jvmArgs\" : [");
+        printStringArray(pw, params.getJvmArgs());
+        pw.println("],");
+        pw.println("\"jdkVersion\" : " + toJsonString(params.getJdkVersion()) + ",");
+        pw.println("\"vmName\" : " + toJsonString(params.getVmName()) + ",");
+        pw.println("\"vmVersion\" : " + toJsonString(params.getVmVersion()) + ",");
+        pw.println("\"warmupIterations\" : " + params.getWarmup().getCount() + ",");
+        pw.println("\"warmupTime\" : \"" + params.getWarmup().getTime() + "\",");
+        pw.println("\"warmupBatchSize\" : " + params.getWarmup().getBatchSize() + ",");
+        pw.println("\"measurementIterations\" : " + params.getMeasurement().getCount() + ",");
+        pw.println("\"measurementTime\" : \"" + params.getMeasurement().getTime() + "\",");
+        pw.println("\"measurementBatchSize\" : " + params.getMeasurement().getBatchSize() + ",");
+        if (params.getMode() == Mode.FixedRate) {
+            pw.println("\"targetRate\" : " + emit(params.getTargetRate()) + ",");
+        }
 
-        pw.println("[");
-        for (RunResult runResult : results) {
-            BenchmarkParams params = runResult.getParams();
+        if (!params.getParamsKeys().isEmpty()) {
+            pw.println("\"params\" : {");
+            pw.println(emitParams(params));
+            pw.println("},");
+        }
 
-            if (first) {
-                first = false;
-                pw.println();
-            } else {
-                pw.println(",");
-            }
+        // Distributed runs record the host that ran each fork, in the same order as raw data.
+        Collection<String> hosts = new ArrayList<>();
+        boolean hasHosts = false;
+        for (BenchmarkResult benchmarkResult : runResult.getBenchmarkResults()) {
+            BenchmarkResultMetaData md = benchmarkResult.getMetadata();
+            String host = (md != null) ? md.getHost() : null;
+            hasHosts |= (host != null);
+            hosts.add((host != null) ? toJsonString(host) : "null");
+        }
+        if (hasHosts) {
+            pw.println("\"hosts\" : " + printMultiple(hosts, "[", "]") + ",");
+        }
 
-            pw.println("{");
-            pw.println("\"jmhVersion\" : \"" + params.getJmhVersion() + "\",");
-            pw.println("\"benchmark\" : \"" + params.getBenchmark() + "\",");
-            pw.println("\"mode\" : \"" + params.getMode().shortLabel() + "\",");
-            pw.println("\"threads\" : " + params.getThreads() + ",");
-            pw.println("\"forks\" : " + params.getForks() + ",");
-            pw.println("\"jvm\" : " + toJsonString(params.getJvm()) + ",");
-            // if empty, write an empty array.
-            pw.println("\"jvmArgs\" : [");
-            printStringArray(pw, params.getJvmArgs());
-            pw.println("],");
-            pw.println("\"jdkVersion\" : " + toJsonString(params.getJdkVersion()) + ",");
-            pw.println("\"vmName\" : " + toJsonString(params.getVmName()) + ",");
-            pw.println("\"vmVersion\" : " + toJsonString(params.getVmVersion()) + ",");
-            pw.println("\"warmupIterations\" : " + params.getWarmup().getCount() + ",");
-            pw.println("\"warmupTime\" : \"" + params.getWarmup().getTime() + "\",");
-            pw.println("\"warmupBatchSize\" : " + params.getWarmup().getBatchSize() + ",");
-            pw.println("\"measurementIterations\" : " + params.getMeasurement().getCount() + ",");
-            pw.println("\"measurementTime\" : \"" + params.getMeasurement().getTime() + "\",");
-            pw.println("\"measurementBatchSize\" : " + params.getMeasurement().getBatchSize() + ",");
-
-            if (!params.getParamsKeys().isEmpty()) {
-                pw.println("\"params\" : {");
-                pw.println(emitParams(params));
-                pw.println("},");
-            }
+        Result primaryResult = runResult.getPrimaryResult();
+        pw.println("\"primaryMetric\" : {");
+        pw.println("\"score\" : " + emit(primaryResult.getScore()) + ",");
+        pw.println("\"scoreError\" : " + emit(primaryResult.getScoreError()) + ",");
+        pw.println("\"scoreConfidence\" : " + emit(primaryResult.getScoreConfidence()) + ",");
+        pw.println(emitPercentiles(primaryResult.getStatistics()));
+        pw.println("\"scoreUnit\" : \"" + primaryResult.getScoreUnit() + "\",");
+
+        switch (params.getMode()) {
+            case SampleTime:
+            case FixedRate:
+                pw.println("\"rawDataHistogram\" :");
+                pw.println(getRawData(runResult, true));
+                break;
+            default:
+                pw.println("\"rawData\" :");
+                pw.println(getRawData(runResult, false));
+        }
 
-            Result primaryResult = runResult.getPrimaryResult();
-            pw.println("\"primaryMetric\" : {");
-            pw.println("\"score\" : " + emit(primaryResult.getScore()) + ",");
-            pw.println("\"scoreError\" : " + emit(primaryResult.getScoreError()) + ",");
-            pw.println("\"scoreConfidence\" : " + emit(primaryResult.getScoreConfidence()) + ",");
-            pw.println(emitPercentiles(primaryResult.getStatistics()));
-            pw.println("\"scoreUnit\" : \"" + primaryResult.getScoreUnit() + "\",");
-
-            switch (params.getMode()) {
-                case SampleTime:
-                    pw.println("\"rawDataHistogram\" :");
-                    pw.println(getRawData(runResult, true));
-                    break;
-                default:
-                    pw.println("\"rawData\" :");
-                    pw.println(getRawData(runResult, false));
-            }
+        if (PRINT_RAW_DATA && hasTimeline(runResult)) {
+            pw.println(",");
+            pw.println("\"rawTimeline\" :");
+            pw.println(getRawTimeline(runResult));
+        }
 
-            pw.println("},"); // primaryMetric end
-
-            Collection<String> secondaries = new ArrayList<>();
-            for (Map.Entry<String, Result> e : runResult.getSecondaryResults().entrySet()) {
-                String secondaryName = e.getKey();
-                Result result = e.getValue();
-
-                StringBuilder sb = new StringBuilder();
-                sb.append("\"").append(secondaryName).append("\" : {");
-                sb.append("\"score\" : ").append(emit(result.getScore())).append(",");
-                sb.append("\"scoreError\" : ").append(emit(result.getScoreError())).append(",");
-                sb.append("\"scoreConfidence\" : ").append(emit(result.getScoreConfidence())).append(",");
-                sb.append(emitPercentiles(result.getStatistics()));
-                sb.append("\"scoreUnit\" : \"").append(result.getScoreUnit()).append("\",");
-                sb.append("\"rawData\" : ");
-
-                Collection<String> l2 = new ArrayList<>();
-                for (BenchmarkResult benchmarkResult : runResult.getBenchmarkResults()) {
-                    Collection<String> scores = new ArrayList<>();
-                    for (IterationResult r : benchmarkResult.getIterationResults()) {
-                        Result rr = r.getSecondaryResults().get(secondaryName);
-                        if (rr != null) {
-                            scores.add(emit(rr.getScore()));
-                        }
+        pw.println("},"); // primaryMetric end
+
+        Collection<String> secondaries = new ArrayList<>();
+        for (Map.Entry<String, Result> e : runResult.getSecondaryResults().entrySet()) {
+            String secondaryName = e.getKey();
+            Result result = e.getValue();
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("\"").append(secondaryName).append("\" : {");
+            sb.append("\"score\" : ").append(emit(result.getScore())).append(",");
+            sb.append("\"scoreError\" : ").append(emit(result.getScoreError())).append(",");
+            sb.append("\"scoreConfidence\" : ").append(emit(result.getScoreConfidence())).append(",");
+            sb.append(emitPercentiles(result.getStatistics()));
+            sb.append("\"scoreUnit\" : \"").append(result.getScoreUnit()).append("\",");
+            sb.append("\"rawData\" : ");
+
+            Collection<String> l2 = new ArrayList<>();
+            for (BenchmarkResult benchmarkResult : runResult.getBenchmarkResults()) {
+                Collection<String> scores = new ArrayList<>();
+                for (IterationResult r : benchmarkResult.getIterationResults()) {
+                    Result rr = r.getSecondaryResults().get(secondaryName);
+                    if (rr != null) {
+                        scores.add(emit(rr.getScore()));
                     }
-                    l2.add(printMultiple(scores, "[", "]"));
                 }
-
-                sb.append(printMultiple(l2, "[", "]"));
-                sb.append("}");
-                secondaries.add(sb.toString());
+                l2.add(printMultiple(scores, "[", "]"));
             }
-            pw.println("\"secondaryMetrics\" : {");
-            pw.println(printMultiple(secondaries, "", ""));
-            pw.println("}");
 
-            pw.print("}"); // benchmark end
+            sb.append(printMultiple(l2, "[", "]"));
+            sb.append("}");
+            secondaries.add(sb.toString());
         }
-        pw.println("]");
+        pw.println("\"secondaryMetrics\" : {");
+        pw.println(printMultiple(secondaries, "", ""));
+        pw.println("}");
+
+        pw.print("}"); // benchmark end
 
-        out.println(tidy(sw.toString()));
+        pw.flush();
+        return sw.toString();
     }
 
     private String getRawData(RunResult runResult, boolean histogram) {
@@ -182,6 +236,35 @@ class JSONResultFormat implements ResultFormat {
         return sb.toString();
     }
 
+    private boolean hasTimeline(RunResult runResult) {
+        for (BenchmarkResult benchmarkResult : runResult.getBenchmarkResults()) {
+            for (IterationResult r : benchmarkResult.getIterationResults()) {
+                if (r.getTimeline() != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String getRawTimeline(RunResult runResult) {
+        Collection<String> runs = new ArrayList<>();
+        for (BenchmarkResult benchmarkResult : runResult.getBenchmarkResults()) {
+            Collection<String> iterations = new ArrayList<>();
+            for (IterationResult r : benchmarkResult.getIterationResults()) {
+                Collection<String> buckets = new ArrayList<>();
+                if (r.getTimeline() != null) {
+                    for (double d : r.getTimeline()) {
+                        buckets.add(emit(d));
+                    }
+                }
+                iterations.add(printMultiple(buckets, "[", "]"));
+            }
+            runs.add(printMultiple(iterations, "[", "]"));
+        }
+        return printMultiple(runs, "[", "]");
+    }
+
     private String emitParams(BenchmarkParams params) {
         StringBuilder sb = new StringBuilder();
         boolean isFirst = true;
@@ -59,6 +59,7 @@ class LaTeXResultFormat implements ResultFormat {
             units.add(rr.getPrimaryResult().getScoreUnit());
             Map<String, Result> secondaries = rr.getSecondaryResults();
             for (String label : secondaries.keySet()) {
+                if (secondaries.get(label).isDetail()) continue;
                 benchNames.add(benchmark + ":" + label);
                 units.add(secondaries.get(label).getScoreUnit());
             }
@@ -81,6 +82,7 @@ class LaTeXResultFormat implements ResultFormat {
             Map<String, Result> secondaries = rr.getSecondaryResults();
             for (String label : secondaries.keySet()) {
                 Result subRes = secondaries.get(label);
+                if (subRes.isDetail()) continue;
                 printLine(benchmark + ":" + label, bp, params, prefixes, singleUnit, subRes);
             }
         }
@@ -24,6 +24,7 @@
  */
 package org.openjdk.jmh.results.format;
 
+import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.results.RunResult;
 
 import java.io.IOException;
@@ -54,6 +55,25 @@ public class ResultFormatFactory {
         };
     }
 
+    /**
+     * Get the instance of StreamingResultFormat of given type which writes the results
+     * to file as they become available.
+     *
+     * @param type result format type
+     * @param file target file
+     * @return result format; null if results of given type cannot be written incrementally
+     */
+    public static StreamingResultFormat getStreamingInstance(final ResultFormatType type, final String file) {
+        switch (type) {
+            case CSV:
+            case SCSV:
+            case JSON:
+                return new FileStreamingResultFormat(type, file);
+            default:
+                return null;
+        }
+    }
+
     /**
      * Get the instance of ResultFormat of given type which write the result to out.
      * It is a user responsibility to initialize and finish the out as appropriate.
@@ -85,4 +105,44 @@ public class ResultFormatFactory {
         }
     }
 
+    private static class FileStreamingResultFormat implements StreamingResultFormat {
+        private final ResultFormatType type;
+        private final String file;
+        private PrintStream pw;
+        private StreamingResultFormat rf;
+
+        FileStreamingResultFormat(ResultFormatType type, String file) {
+            this.type = type;
+            this.file = file;
+        }
+
+        @Override
+        public void writeOut(Collection<RunResult> results) {
+            getInstance(type, file).writeOut(results);
+        }
+
+        @Override
+        public void startRun(Collection<BenchmarkParams> params) {
+            try {
+                pw = new PrintStream(file, "UTF-8");
+                rf = (StreamingResultFormat) getInstance(type, pw);
+                rf.startRun(params);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void writeResult(RunResult result) {
+            rf.writeResult(result);
+        }
+
+        @Override
+        public void endRun() {
+            rf.endRun();
+            pw.flush();
+            pw.close();
+        }
+    }
+
 }
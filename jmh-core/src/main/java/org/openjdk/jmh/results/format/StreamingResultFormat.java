@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.results.format;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+
+import java.util.Collection;
+
+/**
+ * Result format that can write the results one by one, as they become available.
+ * Output is the complete document only after {@link #endRun()} is called, and it
+ * is the same as {@link #writeOut(Collection)} would produce for the same results
+ * written in the same order.
+ */
+public interface StreamingResultFormat extends ResultFormat {
+
+    /**
+     * Starts the document.
+     *
+     * @param params parameters of all benchmarks planned to run; formats that need
+     *               to know the document shape in advance (e.g. columns) use these
+     */
+    void startRun(Collection<BenchmarkParams> params);
+
+    /**
+     * Appends the result to the document, and flushes it out. Results go to the
+     * document in the order they are written: {@link org.openjdk.jmh.runner.Runner}
+     * writes them as the benchmarks complete, which may differ from the sorted order
+     * {@link #writeOut(Collection)} uses.
+     *
+     * @param result result to write
+     */
+    void writeResult(RunResult result);
+
+    /**
+     * Finishes the document.
+     */
+    void endRun();
+
+}
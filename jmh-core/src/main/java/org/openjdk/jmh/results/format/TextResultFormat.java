@@ -52,8 +52,9 @@ class TextResultFormat implements ResultFormat {
         Collection<String> benchNames = new ArrayList<>();
         for (RunResult runResult : runResults) {
             benchNames.add(runResult.getParams().getBenchmark());
-            for (String label : runResult.getSecondaryResults().keySet()) {
-                benchNames.add(runResult.getParams().getBenchmark() + ":" + label);
+            for (Result subRes : runResult.getSecondaryResults().values()) {
+                if (subRes.isDetail()) continue;
+                benchNames.add(runResult.getParams().getBenchmark() + ":" + subRes.getLabel());
             }
         }
 
@@ -97,6 +98,7 @@ class TextResultFormat implements ResultFormat {
             unitLen     = Math.max(unitLen,     primRes.getScoreUnit().length());
 
             for (Result subRes : res.getSecondaryResults().values()) {
+                if (subRes.isDetail()) continue;
                 samplesLen  = Math.max(samplesLen,  String.format("%d",   subRes.getSampleCount()).length());
                 scoreLen    = Math.max(scoreLen,    ScoreFormatter.format(subRes.getScore()).length());
                 scoreErrLen = Math.max(scoreErrLen, ScoreFormatter.format(subRes.getScoreError()).length());
@@ -157,6 +159,7 @@ class TextResultFormat implements ResultFormat {
             for (Map.Entry<String, Result> e : res.getSecondaryResults().entrySet()) {
                 String label = e.getKey();
                 Result subRes = e.getValue();
+                if (subRes.isDetail()) continue;
 
                 out.printf("%-" + nameLen + "s",
                         benchPrefixes.get(res.getParams().getBenchmark() + ":" + label));
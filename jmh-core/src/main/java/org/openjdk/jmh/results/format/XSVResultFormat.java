@@ -29,6 +29,7 @@ import org.openjdk.jmh.results.Result;
 import org.openjdk.jmh.results.RunResult;
 
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -36,11 +37,14 @@ import java.util.TreeSet;
 /*
  * CSV formatter follows the provisions of http://tools.ietf.org/html/rfc4180
  */
-class XSVResultFormat implements ResultFormat {
+class XSVResultFormat implements StreamingResultFormat {
 
     private final PrintStream out;
     private final String delimiter;
 
+    // Columns are fixed when the document starts, parameters not known by then are not printed.
+    private SortedSet<String> paramKeys;
+
     public XSVResultFormat(PrintStream out, String delimiter) {
         this.out = out;
         this.delimiter = delimiter;
@@ -48,24 +52,46 @@ class XSVResultFormat implements ResultFormat {
 
     @Override
     public void writeOut(Collection<RunResult> results) {
-        SortedSet<String> params = new TreeSet<>();
+        Collection<BenchmarkParams> params = new ArrayList<>();
         for (RunResult res : results) {
-            params.addAll(res.getParams().getParamsKeys());
+            params.add(res.getParams());
         }
 
-        printHeader(params);
-
+        startRun(params);
         for (RunResult rr : results) {
-            BenchmarkParams benchParams = rr.getParams();
-            Result res = rr.getPrimaryResult();
+            writeResult(rr);
+        }
+        endRun();
+    }
 
-            printLine(benchParams.getBenchmark(), benchParams, params, res);
+    @Override
+    public void startRun(Collection<BenchmarkParams> params) {
+        paramKeys = new TreeSet<>();
+        for (BenchmarkParams ps : params) {
+            paramKeys.addAll(ps.getParamsKeys());
+        }
 
-            for (String label : rr.getSecondaryResults().keySet()) {
-                Result subRes = rr.getSecondaryResults().get(label);
-                printLine(benchParams.getBenchmark() + ":" + subRes.getLabel(), benchParams, params, subRes);
-            }
+        printHeader(paramKeys);
+        out.flush();
+    }
+
+    @Override
+    public void writeResult(RunResult rr) {
+        BenchmarkParams benchParams = rr.getParams();
+        Result res = rr.getPrimaryResult();
+
+        printLine(benchParams.getBenchmark(), benchParams, paramKeys, res);
+
+        for (String label : rr.getSecondaryResults().keySet()) {
+            Result subRes = rr.getSecondaryResults().get(label);
+            printLine(benchParams.getBenchmark() + ":" + subRes.getLabel(), benchParams, paramKeys, subRes);
         }
+        out.flush();
+    }
+
+    @Override
+    public void endRun() {
+        out.flush();
     }
 
     private void printHeader(SortedSet<String> params) {
@@ -30,12 +30,16 @@ import org.openjdk.jmh.infra.IterationParams;
 import org.openjdk.jmh.results.BenchmarkResult;
 import org.openjdk.jmh.results.BenchmarkResultMetaData;
 import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.MeasurementStopReason;
 import org.openjdk.jmh.runner.format.OutputFormat;
 import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.util.ListStatistics;
 import org.openjdk.jmh.util.Multimap;
+import org.openjdk.jmh.util.Optional;
 import org.openjdk.jmh.util.TreeMultimap;
 import org.openjdk.jmh.util.Utils;
 
+import java.lang.management.CompilationMXBean;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
@@ -48,6 +52,16 @@ import java.util.concurrent.TimeUnit;
  */
 abstract class BaseRunner {
 
+    /**
+     * Confidence level to check the measurement error against the target error at.
+     */
+    private static final double TARGET_ERROR_CONFIDENCE = 0.999;
+
+    /**
+     * Number of last warmup iterations to check the score trend over.
+     */
+    static final int STEADY_STATE_WINDOW = 5;
+
     private long projectedTotalTime;
     private long projectedRunningTime;
     private long actualRunningTime;
@@ -173,7 +187,7 @@ abstract class BaseRunner {
         }
     }
 
-    private long estimateTimeSingleFork(BenchmarkParams params) {
+    protected long estimateTimeSingleFork(BenchmarkParams params) {
         IterationParams wp = params.getWarmup();
         IterationParams mp = params.getMeasurement();
 
@@ -248,59 +262,241 @@ abstract class BaseRunner {
         long allWarmup = 0;
         long allMeasurement = 0;
 
+        IterationParams mp = benchParams.getMeasurement();
+        Optional<Double> targetError = options.getMeasurementTargetError();
+
         // warmup
         IterationParams wp = benchParams.getWarmup();
-        for (int i = 1; i <= wp.getCount(); i++) {
+        Optional<Double> steadySlope = options.getWarmupSteadySlope();
+        boolean noMeasurement = (mp.getCount() == 0) && !targetError.hasValue();
+
+        int maxWarmupCount = wp.getCount();
+        CompilationMXBean compilation = null;
+        if (steadySlope.hasValue()) {
+            maxWarmupCount = Math.max(wp.getCount(),
+                    options.getWarmupMaxIterations().orElse(Defaults.WARMUP_MAX_ITERATIONS));
+            if (options.shouldWarmupWaitCompilation().orElse(Defaults.WARMUP_WAIT_COMPILATION)) {
+                CompilationMXBean bean = ManagementFactory.getCompilationMXBean();
+                if (bean != null && bean.isCompilationTimeMonitoringSupported()) {
+                    compilation = bean;
+                }
+            }
+            out.println(String.format("# Warmup: until %.2f%% score slope over %d iterations%s, %d to %d iterations",
+                    steadySlope.get() * 100, STEADY_STATE_WINDOW,
+                    (compilation != null) ? " and no JIT compilation" : "",
+                    wp.getCount(), maxWarmupCount));
+        }
+
+        List<Double> warmupScores = new ArrayList<>();
+        boolean compiling = false;
+        boolean steady = false;
+        for (int i = 1; i <= maxWarmupCount; i++) {
             // will run system gc if we should
             if (runSystemGC()) {
                 out.verbosePrintln("System.gc() executed");
             }
 
+            // Same as with measurement, the decision to stop is made on the iterations before this one.
+            boolean isFinalWarmup;
+            if (steadySlope.hasValue()) {
+                steady = (i >= wp.getCount()) && !compiling &&
+                        relativeSlope(warmupScores, STEADY_STATE_WINDOW) < steadySlope.get();
+                isFinalWarmup = steady || (i == maxWarmupCount);
+            } else {
+                isFinalWarmup = (i == wp.getCount());
+            }
+
             out.iteration(benchParams, wp, i);
             boolean isFirstIteration = (i == 1);
-            boolean isLastIteration = (benchParams.getMeasurement().getCount() == 0);
+            boolean isLastIteration = noMeasurement && (isFinalWarmup || !steadySlope.hasValue());
+
+            long compileBefore = (compilation != null) ? compilation.getTotalCompilationTime() : 0;
+            long iterationStart = System.nanoTime();
+
             IterationResult ir = handler.runIteration(benchParams, wp, isFirstIteration, isLastIteration);
             out.iterationResult(benchParams, wp, i, ir);
 
+            if (compilation != null) {
+                long compileMs = compilation.getTotalCompilationTime() - compileBefore;
+                long iterationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - iterationStart);
+                compiling = (compileMs * 100 > iterationMs);
+            }
+
             allWarmup += ir.getMetadata().getAllOps();
+            warmupScores.add(ir.getPrimaryResult().getScore());
+
+            if (isFinalWarmup) {
+                break;
+            }
+        }
+
+        if (steadySlope.hasValue()) {
+            if (steady) {
+                out.println("# Warmup reached the steady state after " + warmupScores.size() + " iterations");
+            } else {
+                out.println("# WARNING: Warmup had not reached the steady state after " + warmupScores.size() +
+                        " iterations, reached the maximum iteration count");
+            }
         }
 
         long measurementTime = System.currentTimeMillis();
 
         // measurement
-        IterationParams mp = benchParams.getMeasurement();
-        for (int i = 1; i <= mp.getCount(); i++) {
+        int maxCount = mp.getCount();
+        long maxTime = Long.MAX_VALUE;
+        if (targetError.hasValue()) {
+            maxCount = Math.max(mp.getCount(),
+                    options.getMeasurementMaxIterations().orElse(Defaults.MEASUREMENT_MAX_ITERATIONS));
+            String maxTimeMsg = "";
+            if (options.getMeasurementMaxTime().hasValue()) {
+                maxTime = options.getMeasurementMaxTime().get().convertTo(TimeUnit.NANOSECONDS);
+                maxTimeMsg = ", at most " + options.getMeasurementMaxTime().get();
+            }
+            out.println(String.format("# Measurement: until %.2f%% error at %.1f%% confidence, %d to %d iterations%s",
+                    targetError.get() * 100, TARGET_ERROR_CONFIDENCE * 100, mp.getCount(), maxCount, maxTimeMsg));
+        }
+
+        ListStatistics scores = new ListStatistics();
+        MeasurementStopReason stopReason = MeasurementStopReason.ITERATION_COUNT;
+        long measurementStart = System.nanoTime();
+
+        for (int i = 1; i <= maxCount; i++) {
             // will run system gc if we should
             if (runSystemGC()) {
                 out.verbosePrintln("System.gc() executed");
             }
 
+            // The iteration has to know up front if it is the last one, so the decision to stop
+            // is made on the results of the iterations before it.
+            boolean isLastIteration;
+            if (targetError.hasValue()) {
+                MeasurementStopReason reason = shouldStopBefore(i, mp.getCount(), maxCount, maxTime,
+                        System.nanoTime() - measurementStart, scores, targetError.get());
+                isLastIteration = (reason != null);
+                if (isLastIteration) {
+                    stopReason = reason;
+                }
+            } else {
+                isLastIteration = (i == mp.getCount());
+            }
+
             // run benchmark iteration
             out.iteration(benchParams, mp, i);
 
-            boolean isFirstIteration = (benchParams.getWarmup().getCount() == 0) && (i == 1);
-            boolean isLastIteration = (i == mp.getCount());
+            boolean isFirstIteration = warmupScores.isEmpty() && (i == 1);
             IterationResult ir = handler.runIteration(benchParams, mp, isFirstIteration, isLastIteration);
             out.iterationResult(benchParams, mp, i, ir);
 
             allMeasurement += ir.getMetadata().getAllOps();
+            scores.addValue(ir.getPrimaryResult().getScore());
 
             if (acceptor != null) {
                 acceptor.accept(ir);
             }
+
+            if (isLastIteration) {
+                break;
+            }
+        }
+
+        if (targetError.hasValue()) {
+            double error = relativeError(scores);
+            switch (stopReason) {
+                case CONVERGED:
+                    out.println(String.format("# Measurement converged: %.2f%% error after %d iterations",
+                            error * 100, scores.getN()));
+                    break;
+                case MAX_ITERATIONS:
+                    out.println(String.format("# WARNING: Measurement had not converged: %.2f%% error after %d iterations, " +
+                            "reached the maximum iteration count", error * 100, scores.getN()));
+                    break;
+                case MAX_TIME:
+                    out.println(String.format("# WARNING: Measurement had not converged: %.2f%% error after %d iterations, " +
+                            "reached the maximum measurement time", error * 100, scores.getN()));
+                    break;
+            }
         }
 
         long stopTime = System.currentTimeMillis();
 
         BenchmarkResultMetaData md = new BenchmarkResultMetaData(
                 warmupTime, measurementTime, stopTime,
-                allWarmup, allMeasurement);
+                allWarmup, allMeasurement, stopReason);
 
         if (acceptor != null) {
             acceptor.acceptMeta(md);
         }
     }
 
+    /**
+     * Decides if the measurement iteration should be the last one, when running
+     * until the target error is reached.
+     *
+     * @param iteration iteration number, starting from 1
+     * @param minCount minimum number of iterations to run
+     * @param maxCount maximum number of iterations to run
+     * @param maxTime maximum measurement time, in nanoseconds
+     * @param elapsed time spent in the measurement so far, in nanoseconds
+     * @param scores scores of the iterations before this one
+     * @param targetError target relative error
+     * @return the reason to stop after this iteration; null to continue
+     */
+    static MeasurementStopReason shouldStopBefore(int iteration, int minCount, int maxCount, long maxTime, long elapsed,
+                                                  ListStatistics scores, double targetError) {
+        if (iteration < minCount) {
+            return null;
+        }
+        if (relativeError(scores) < targetError) {
+            return MeasurementStopReason.CONVERGED;
+        }
+        if (iteration >= maxCount) {
+            return MeasurementStopReason.MAX_ITERATIONS;
+        }
+        if (iteration > 1) {
+            // Stop if the iteration after this one would not fit into the time limit.
+            long perIteration = elapsed / (iteration - 1);
+            if (elapsed + 2 * perIteration > maxTime) {
+                return MeasurementStopReason.MAX_TIME;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Computes the least squares slope of the last scores, relative to their mean.
+     *
+     * @param scores iteration scores, in iteration order
+     * @param window number of last scores to compute the slope over
+     * @return absolute relative slope per iteration; NaN if there are not enough scores
+     */
+    static double relativeSlope(List<Double> scores, int window) {
+        if (scores.size() < window || window < 2) {
+            return Double.NaN;
+        }
+
+        List<Double> last = scores.subList(scores.size() - window, scores.size());
+
+        double meanX = (window - 1) / 2.0;
+        double meanY = 0;
+        for (double y : last) {
+            meanY += y;
+        }
+        meanY /= window;
+
+        double sxy = 0;
+        double sxx = 0;
+        for (int x = 0; x < window; x++) {
+            sxy += (x - meanX) * (last.get(x) - meanY);
+            sxx += (x - meanX) * (x - meanX);
+        }
+
+        return Math.abs(sxy / sxx / meanY);
+    }
+
+    private static double relativeError(ListStatistics scores) {
+        return scores.getMeanErrorAt(TARGET_ERROR_CONFIDENCE) / Math.abs(scores.getMean());
+    }
+
     /**
      * Execute System.gc() if we the System.gc option is set.
      *
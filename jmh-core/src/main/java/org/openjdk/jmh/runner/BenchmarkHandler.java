@@ -24,6 +24,7 @@
  */
 package org.openjdk.jmh.runner;
 
+import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.infra.Control;
 import org.openjdk.jmh.infra.IterationParams;
@@ -35,8 +36,11 @@ import org.openjdk.jmh.runner.format.OutputFormat;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.openjdk.jmh.util.ClassUtils;
+import org.openjdk.jmh.util.ListStatistics;
 import org.openjdk.jmh.util.Utils;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
@@ -62,11 +66,17 @@ class BenchmarkHandler {
     private final OutputFormat out;
     private final List<InternalProfiler> profilers;
     private final List<InternalProfiler> profilersRev;
+    private final BenchmarkParams executionParams;
 
     private final Class<?> clazz;
     private final Method method;
 
+    private final boolean sampleLatency;
+    private final boolean threadBreakdown;
+    private final TimeValue timelineInterval;
+
     public BenchmarkHandler(OutputFormat out, Options options, BenchmarkParams executionParams) {
+        this.executionParams = executionParams;
         String target = executionParams.generatedBenchmark();
         int lastDot = target.lastIndexOf('.');
         clazz = ClassUtils.loadClass(target.substring(0, lastDot));
@@ -74,6 +84,9 @@ class BenchmarkHandler {
         method = BenchmarkHandler.findBenchmarkMethod(clazz, target.substring(lastDot + 1));
 
         profilers = ProfilerFactory.getSupportedInternal(options.getProfilers());
+        sampleLatency = options.shouldSampleLatency().orElse(Defaults.SAMPLE_LATENCY);
+        threadBreakdown = options.shouldBreakdownThreads().orElse(Defaults.THREAD_BREAKDOWN);
+        timelineInterval = options.getTimelineInterval().orElse(null);
         profilersRev = new ArrayList<>(profilers);
         Collections.reverse(profilersRev);
 
@@ -277,6 +290,16 @@ class BenchmarkHandler {
         // No transient data is shared between benchmarks, purge it.
         workerData.clear();
 
+        // Let profilers release their trial resources. Their failures should not
+        // shadow the benchmark failure, if any.
+        for (InternalProfiler prof : profilersRev) {
+            try {
+                prof.trialFinished(executionParams);
+            } catch (Throwable ex) {
+                out.println("Profiler " + prof.getClass().getName() + " failed to finish the trial: " + ex);
+            }
+        }
+
         if (executor == null) {
             return;
         }
@@ -316,10 +339,24 @@ class BenchmarkHandler {
         // result object to accumulate the results in
         List<Result> iterationResults = new ArrayList<>();
 
+        // timeline is recorded for measurement iterations in modes that count operations
+        TimelineCounters timeline = null;
+        List<long[]> timelineBuckets = new ArrayList<>();
+        if (timelineInterval != null && params.getType() == IterationType.MEASUREMENT) {
+            switch (benchmarkParams.getMode()) {
+                case Throughput:
+                case AverageTime:
+                    timeline = new TimelineCounters(numThreads);
+                    break;
+            }
+        }
+
         InfraControl control = new InfraControl(benchmarkParams, params,
                 preSetupBarrier, preTearDownBarrier,
                 isFirstIteration, isLastIteration,
                 EXECUTOR_TYPE.shouldYield(),
+                sampleLatency,
+                timeline,
                 new Control());
 
         // preparing the worker runnables
@@ -335,6 +372,7 @@ class BenchmarkHandler {
         startProfilers(benchmarkParams, params);
 
         // submit tasks to threadpool
+        long startTime = System.currentTimeMillis();
         List<Future<BenchmarkTaskResult>> completed = new ArrayList<>();
         CompletionService<BenchmarkTaskResult> srv = new ExecutorCompletionService<>(executor);
         for (BenchmarkTask runner : runners) {
@@ -351,7 +389,12 @@ class BenchmarkHandler {
                 break;
             default:
                 try {
-                    Future<BenchmarkTaskResult> failing = srv.poll(runtime.convertTo(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+                    Future<BenchmarkTaskResult> failing;
+                    if (timeline != null) {
+                        failing = pollTimeline(srv, runtime.convertTo(TimeUnit.NANOSECONDS), timeline, timelineBuckets);
+                    } else {
+                        failing = srv.poll(runtime.convertTo(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+                    }
                     if (failing != null) {
                         // Oops, some task has exited prematurely, without isDone check.
                         // Must be an exception. Record the failing result, and lift the
@@ -393,6 +436,8 @@ class BenchmarkHandler {
             }
         }
 
+        long stopTime = System.currentTimeMillis();
+
         if (interrupts > 0) {
             out.print("(benchmark timed out, interrupted " + interrupts + " times) ");
         }
@@ -429,8 +474,15 @@ class BenchmarkHandler {
             }
         }
 
-        IterationResult result = new IterationResult(benchmarkParams, params, new IterationResultMetaData(allOps, measuredOps));
+        if (threadBreakdown && errors.isEmpty()) {
+            iterationResults.addAll(threadBreakdown(runners, benchmarkParams.getThreadGroupLabels().size() > 1));
+        }
+
+        IterationResult result = new IterationResult(benchmarkParams, params, iterationMetaData(runners, allOps, measuredOps, startTime, stopTime));
         result.addResults(iterationResults);
+        if (timeline != null) {
+            result.setTimeline(timelineScores(benchmarkParams, params, timelineBuckets));
+        }
 
         // profilers stop when after all threads are confirmed to be
         // finished to capture the edge behaviors; or, on a failure path
@@ -444,6 +496,134 @@ class BenchmarkHandler {
     }
 
 
+    /**
+     * Records the worker thread data along with the operation counts, when all tasks have completed normally.
+     */
+    private static IterationResultMetaData iterationMetaData(BenchmarkTask[] tasks, long allOps, long measuredOps,
+                                                             long startTime, long stopTime) {
+        long[] threadIds = new long[tasks.length];
+        long[] threadAllOps = new long[tasks.length];
+        int[] threadSubgroups = new int[tasks.length];
+        long[] threadCpuTimes = new long[tasks.length];
+        for (BenchmarkTask task : tasks) {
+            if (task.result == null) {
+                return new IterationResultMetaData(allOps, measuredOps, null, null, null, startTime, stopTime);
+            }
+            int idx = task.threadParams.getThreadIndex();
+            threadIds[idx] = task.threadId;
+            threadAllOps[idx] = task.result.getAllOps();
+            threadSubgroups[idx] = task.threadParams.getSubgroupIndex();
+            threadCpuTimes[idx] = task.cpuTime;
+        }
+        return new IterationResultMetaData(allOps, measuredOps, threadIds, threadAllOps, threadSubgroups, threadCpuTimes,
+                startTime, stopTime);
+    }
+
+    /**
+     * Waits for the iteration time to expire, snapshotting the timeline counters at every
+     * sub-interval. Each bucket records the operations done and the time spent in the sub-interval.
+     *
+     * @return the prematurely completed task, or null, if the iteration time had expired
+     */
+    private Future<BenchmarkTaskResult> pollTimeline(CompletionService<BenchmarkTaskResult> srv, long durationNs,
+                                                     TimelineCounters timeline, List<long[]> buckets) throws InterruptedException {
+        long intervalNs = timelineInterval.convertTo(TimeUnit.NANOSECONDS);
+
+        long lastTime = System.nanoTime();
+        long lastOps = timeline.sum();
+        long deadline = lastTime + durationNs;
+        long nextTick = lastTime + intervalNs;
+
+        while (true) {
+            long now = System.nanoTime();
+            if (now - deadline >= 0) {
+                return null;
+            }
+
+            Future<BenchmarkTaskResult> failing = srv.poll(Math.min(nextTick, deadline) - now, TimeUnit.NANOSECONDS);
+            if (failing != null) {
+                return failing;
+            }
+
+            long time = System.nanoTime();
+            long ops = timeline.sum();
+            buckets.add(new long[]{ops - lastOps, time - lastTime});
+            lastOps = ops;
+            lastTime = time;
+            nextTick += intervalNs;
+        }
+    }
+
+    /**
+     * Converts the timeline buckets to the primary scores, accounting for batch size and
+     * operations per invocation the same way the generated code does.
+     */
+    private static double[] timelineScores(BenchmarkParams benchmarkParams, IterationParams params, List<long[]> buckets) {
+        double unitNs = benchmarkParams.getTimeUnit().toNanos(1);
+        double[] scores = new double[buckets.size()];
+        for (int i = 0; i < scores.length; i++) {
+            double ops = (double) buckets.get(i)[0] * benchmarkParams.getOpsPerInvocation() / params.getBatchSize();
+            double ns = buckets.get(i)[1];
+            if (benchmarkParams.getMode() == Mode.Throughput) {
+                scores[i] = ops * unitNs / ns;
+            } else {
+                scores[i] = (ops > 0) ? (ns * benchmarkParams.getThreads() / unitNs) / ops : Double.NaN;
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Breaks down the results by worker threads. Every thread result is reported
+     * separately, tagged with the thread index, along with the minimum, maximum and
+     * coefficient of variation across the threads that produced the result.
+     * Thread results are the detail, see {@link ThreadResult}.
+     *
+     * @param tasks completed tasks
+     * @param group whether the benchmark has several subgroups: their primary results
+     *              are not comparable, and only their own results get the spread
+     * @return breakdown results
+     */
+    private static List<Result> threadBreakdown(BenchmarkTask[] tasks, boolean group) {
+        List<Result> breakdown = new ArrayList<>();
+
+        Map<String, ListStatistics> spreads = new TreeMap<>();
+        Map<String, String> units = new HashMap<>();
+
+        BenchmarkTask[] sorted = tasks.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(t -> t.threadParams.getThreadIndex()));
+
+        for (BenchmarkTask task : sorted) {
+            for (Result r : task.result.getResults()) {
+                // Primary result label is the benchmark name, drop it to avoid repetition.
+                String prefix = (r.getRole() == ResultRole.PRIMARY) ? "" : r.getLabel() + ":";
+
+                breakdown.add(new ThreadResult(prefix + "thread" + task.threadParams.getThreadIndex(),
+                        r.getScore(), r.getScoreUnit(), AggregationPolicy.AVG));
+
+                if (group && r.getRole() == ResultRole.PRIMARY) {
+                    continue;
+                }
+                spreads.computeIfAbsent(prefix, k -> new ListStatistics()).addValue(r.getScore());
+                units.put(prefix, r.getScoreUnit());
+            }
+        }
+
+        for (Map.Entry<String, ListStatistics> e : spreads.entrySet()) {
+            String prefix = e.getKey();
+            ListStatistics s = e.getValue();
+            if (s.getN() < 2) {
+                continue;
+            }
+            String unit = units.get(prefix);
+            breakdown.add(new ScalarResult(prefix + "threads.min", s.getMin(), unit, AggregationPolicy.AVG));
+            breakdown.add(new ScalarResult(prefix + "threads.max", s.getMax(), unit, AggregationPolicy.AVG));
+            breakdown.add(new ScalarResult(prefix + "threads.cov", 100 * s.getStandardDeviation() / s.getMean(), "%", AggregationPolicy.AVG));
+        }
+
+        return breakdown;
+    }
+
     private WorkerData getWorkerData(Thread worker) throws Exception {
         // See if there is a good worker data for us already, use it.
         WorkerData wd = workerData.remove(worker);
@@ -504,6 +684,10 @@ class BenchmarkHandler {
     class BenchmarkTask implements Callable<BenchmarkTaskResult> {
         private volatile Thread runner;
         private final InfraControl control;
+        private volatile ThreadParams threadParams;
+        private volatile long threadId;
+        private volatile BenchmarkTaskResult result;
+        private volatile long cpuTime = -1;
 
         BenchmarkTask(InfraControl control) {
             this.control = control;
@@ -524,7 +708,15 @@ class BenchmarkHandler {
                 // poll the current data, or instantiate in this thread, if needed
                 WorkerData wd = control.firstIteration ? newWorkerData(runner) : getWorkerData(runner);
 
-                return (BenchmarkTaskResult) method.invoke(wd.instance, control, wd.params);
+                threadParams = wd.params;
+                threadId = runner.getId();
+                long cpuStart = ThreadCpuTime.current();
+                result = (BenchmarkTaskResult) method.invoke(wd.instance, control, wd.params);
+                long cpuStop = ThreadCpuTime.current();
+                if (cpuStart != -1 && cpuStop != -1) {
+                    cpuTime = cpuStop - cpuStart;
+                }
+                return result;
             } catch (Throwable e) {
                 // about to fail the iteration;
 
@@ -563,6 +755,24 @@ class BenchmarkHandler {
 
     }
 
+    /**
+     * Reads the CPU time of the current thread. The management bean is initialized lazily,
+     * only when the first worker thread needs it.
+     */
+    private static class ThreadCpuTime {
+        private static final ThreadMXBean BEAN = ManagementFactory.getThreadMXBean();
+
+        /**
+         * @return CPU time of the current thread, in nanoseconds; -1, if not available
+         */
+        static long current() {
+            if (BEAN.isCurrentThreadCpuTimeSupported() && BEAN.isThreadCpuTimeEnabled()) {
+                return BEAN.getCurrentThreadCpuTime();
+            }
+            return -1;
+        }
+    }
+
     /**
      * Handles thread-local data for each worker that should not change
      * between the iterations.
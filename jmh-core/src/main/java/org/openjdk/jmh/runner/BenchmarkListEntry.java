@@ -61,6 +61,7 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
     private final Optional<TimeUnit> tu;
     private final Optional<Integer> opsPerInvocation;
     private final Optional<TimeValue> timeout;
+    private final Optional<Double> targetRate;
 
     private WorkloadParams workloadParams;
 
@@ -71,7 +72,7 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
                               Optional<Integer> forks, Optional<Integer> warmupForks,
                               Optional<String> jvm, Optional<Collection<String>> jvmArgs, Optional<Collection<String>> jvmArgsPrepend, Optional<Collection<String>> jvmArgsAppend,
                               Optional<Map<String, String[]>> params, Optional<TimeUnit> tu, Optional<Integer> opsPerInv,
-                              Optional<TimeValue> timeout) {
+                              Optional<TimeValue> timeout, Optional<Double> targetRate) {
         this.userClassQName = userClassQName;
         this.generatedClassQName = generatedClassQName;
         this.method = method;
@@ -96,6 +97,7 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
         this.tu = tu;
         this.opsPerInvocation = opsPerInv;
         this.timeout = timeout;
+        this.targetRate = targetRate;
     }
 
     public BenchmarkListEntry(String line) {
@@ -130,6 +132,7 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
         this.tu                     = reader.nextOptionalTimeUnit();
         this.opsPerInvocation       = reader.nextOptionalInt();
         this.timeout                = reader.nextOptionalTimeValue();
+        this.targetRate             = reader.nextOptionalDouble();
     }
 
     public String toLine() {
@@ -158,6 +161,7 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
         writer.putOptionalTimeUnit(tu);
         writer.putOptionalInt(opsPerInvocation);
         writer.putOptionalTimeValue(timeout);
+        writer.putOptionalDouble(targetRate);
 
         return writer.toString();
     }
@@ -170,7 +174,7 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
                 forks, warmupForks,
                 jvm, jvmArgs, jvmArgsPrepend, jvmArgsAppend,
                 params, tu, opsPerInvocation,
-                timeout);
+                timeout, targetRate);
     }
 
     public BenchmarkListEntry cloneWith(WorkloadParams p) {
@@ -181,7 +185,7 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
                 forks, warmupForks,
                 jvm, jvmArgs, jvmArgsPrepend, jvmArgsAppend,
                 params, tu, opsPerInvocation,
-                timeout);
+                timeout, targetRate);
         br.workloadParams = p;
         return br;
     }
@@ -330,4 +334,8 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
         return timeout;
     }
 
+    public Optional<Double> getTargetRate() {
+        return targetRate;
+    }
+
 }
@@ -57,6 +57,16 @@ public class Defaults {
      */
     public static final TimeValue WARMUP_TIME = TimeValue.seconds(10);
 
+    /**
+     * Maximum number of warmup iterations, when warming up until the steady state.
+     */
+    public static final int WARMUP_MAX_ITERATIONS = 50;
+
+    /**
+     * Should steady state warmup wait for JIT compilation to calm down?
+     */
+    public static final boolean WARMUP_WAIT_COMPILATION = true;
+
     /**
      * Number of measurement iterations.
      */
@@ -77,6 +87,11 @@ public class Defaults {
      */
     public static final TimeValue MEASUREMENT_TIME = TimeValue.seconds(10);
 
+    /**
+     * Maximum number of measurement iterations, when running until the target error is reached.
+     */
+    public static final int MEASUREMENT_MAX_ITERATIONS = 50;
+
     /**
      * Number of measurement threads.
      */
@@ -92,6 +107,21 @@ public class Defaults {
      */
     public static final int WARMUP_FORKS = 0;
 
+    /**
+     * Number of forks to run concurrently.
+     */
+    public static final int FORK_PARALLELISM = 1;
+
+    /**
+     * Should JMH spawn the next forked VM ahead of time?
+     */
+    public static final boolean POOL_FORKS = false;
+
+    /**
+     * Should JMH pass the forked VM output and results through shared memory?
+     */
+    public static final boolean SHARED_MEMORY_LINK = false;
+
     /**
      * Should JMH fail on benchmark error?
      */
@@ -117,6 +147,11 @@ public class Defaults {
      */
     public static final String RESULT_FILE_PREFIX = "jmh-result";
 
+    /**
+     * Should JMH drop the detailed results from memory once they are written to the result file?
+     */
+    public static final boolean COMPACT_RESULTS = false;
+
     /**
      * Default {@link org.openjdk.jmh.runner.options.WarmupMode}.
      */
@@ -142,6 +177,21 @@ public class Defaults {
      */
     public static final Integer OPS_PER_INVOCATION = 1;
 
+    /**
+     * Default target rate for fixed rate mode, ops/s.
+     */
+    public static final double TARGET_RATE = 1000;
+
+    /**
+     * Should sample the invocation latency in throughput and average time modes?
+     */
+    public static final boolean SAMPLE_LATENCY = false;
+
+    /**
+     * Should report the per-thread result breakdown?
+     */
+    public static final boolean THREAD_BREAKDOWN = false;
+
     /**
      * Default timeout.
      */
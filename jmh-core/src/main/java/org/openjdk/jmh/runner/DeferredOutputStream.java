@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Holds the output back until it is released, and then passes it through.
+ * Used for the spare pooled forked VM, which should not print anything while
+ * the current fork is still running.
+ */
+class DeferredOutputStream extends OutputStream {
+    private final OutputStream target;
+    private ByteArrayOutputStream buffer;
+
+    public DeferredOutputStream(OutputStream target) {
+        this.target = target;
+        this.buffer = new ByteArrayOutputStream();
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        if (buffer != null) {
+            buffer.write(b);
+        } else {
+            target.write(b);
+        }
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        if (buffer != null) {
+            buffer.write(b, off, len);
+        } else {
+            target.write(b, off, len);
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (buffer == null) {
+            target.flush();
+        }
+    }
+
+    /**
+     * Writes out everything held so far, and passes the further output through.
+     *
+     * @throws IOException if target fails to accept the output
+     */
+    public synchronized void release() throws IOException {
+        if (buffer != null) {
+            buffer.writeTo(target);
+            buffer = null;
+            target.flush();
+        }
+    }
+}
@@ -31,22 +31,36 @@ import org.openjdk.jmh.infra.IterationParams;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * The InfraControl logic class.
  * This is the rendezvous class for benchmark handler and JMH.
  */
 public final class InfraControl extends InfraControlL2 {
+
+    /**
+     * How long to spin before the deadline in {@link #awaitNanoTime(long)}, in nanoseconds.
+     */
+    private static final long SPIN_NS = TimeUnit.MICROSECONDS.toNanos(100);
+
     byte b3_00, b3_01, b3_02, b3_03, b3_04, b3_05, b3_06, b3_07, b3_08, b3_09, b3_0a, b3_0b, b3_0c, b3_0d, b3_0e, b3_0f;
     long b3_10, b3_11, b3_12, b3_13, b3_14, b3_15, b3_16, b3_17, b3_18, b3_19, b3_1a, b3_1b, b3_1c, b3_1d, b3_1e, b3_1f;
     long b3_20, b3_21, b3_22, b3_23, b3_24, b3_25, b3_26, b3_27, b3_28, b3_29, b3_2a, b3_2b, b3_2c, b3_2d, b3_2e, b3_2f;
 
+    /**
+     * Common origin of the fixed rate schedules, in {@link System#nanoTime()} terms.
+     */
+    private long scheduleOrigin;
+    private boolean scheduleStarted;
+
     public InfraControl(BenchmarkParams benchmarkParams, IterationParams iterationParams,
                         CountDownLatch preSetup, CountDownLatch preTearDown,
                         boolean firstIteration, boolean lastIteration,
-                        boolean shouldYield,
+                        boolean shouldYield, boolean sampleLatency,
+                        TimelineCounters timeline,
                         Control notifyControl) {
-        super(benchmarkParams, iterationParams, preSetup, preTearDown, firstIteration, lastIteration, shouldYield, notifyControl);
+        super(benchmarkParams, iterationParams, preSetup, preTearDown, firstIteration, lastIteration, shouldYield, sampleLatency, timeline, notifyControl);
     }
 
     /**
@@ -112,6 +126,54 @@ public final class InfraControl extends InfraControlL2 {
         notifyControl.stopMeasurement = true;
     }
 
+    /**
+     * Computes the intended start of the first operation in the fixed rate mode.
+     * All threads share the schedule origin, and shift from it by their phase,
+     * so that their operations interleave evenly instead of arriving in bursts.
+     * The thread that comes late skips the slots it had missed entirely.
+     *
+     * @param interval interval between the operations of this thread, in nanoseconds
+     * @param phase shift of this thread's schedule from the common origin, in nanoseconds
+     * @return intended start time, in {@link System#nanoTime()} terms
+     */
+    public long getFirstIntendedTime(long interval, long phase) {
+        long origin;
+        synchronized (this) {
+            if (!scheduleStarted) {
+                scheduleOrigin = System.nanoTime();
+                scheduleStarted = true;
+            }
+            origin = scheduleOrigin;
+        }
+
+        long first = origin + phase;
+        long late = System.nanoTime() - first;
+        if (late > 0) {
+            first += (late / interval) * interval;
+        }
+        return first;
+    }
+
+    /**
+     * Waits until {@link System#nanoTime()} reaches the deadline. Parks through the long waits,
+     * and spins through the last 100 us to keep the wakeup latency low.
+     *
+     * @param deadline deadline, in {@link System#nanoTime()} terms
+     * @return true, if deadline is reached; false, if the iteration was done before that
+     */
+    public boolean awaitNanoTime(long deadline) {
+        long left;
+        while ((left = deadline - System.nanoTime()) > 0) {
+            if (isDone) {
+                return false;
+            }
+            if (left > SPIN_NS) {
+                LockSupport.parkNanos(left - SPIN_NS);
+            }
+        }
+        return true;
+    }
+
 }
 
 abstract class InfraControlL2 extends InfraControlL1 {
@@ -134,6 +196,12 @@ abstract class InfraControlL2 extends InfraControlL1 {
     public final boolean firstIteration;
     public final boolean lastIteration;
     public final boolean shouldYield;
+    public final boolean sampleLatency;
+
+    /**
+     * Counters for the iteration timeline; null, if timeline is not recorded.
+     */
+    public final TimelineCounters timeline;
 
     public final AtomicInteger warmupVisited, warmdownVisited;
     public volatile boolean warmupShouldWait, warmdownShouldWait;
@@ -149,7 +217,8 @@ abstract class InfraControlL2 extends InfraControlL1 {
     public InfraControlL2(BenchmarkParams benchmarkParams, IterationParams iterationParams,
                           CountDownLatch preSetup, CountDownLatch preTearDown,
                           boolean firstIteration, boolean lastIteration,
-                          boolean shouldYield,
+                          boolean shouldYield, boolean sampleLatency,
+                          TimelineCounters timeline,
                           Control notifyControl) {
         warmupVisited = new AtomicInteger();
         warmdownVisited = new AtomicInteger();
@@ -170,6 +239,8 @@ abstract class InfraControlL2 extends InfraControlL1 {
         this.firstIteration = firstIteration;
         this.lastIteration = lastIteration;
         this.shouldYield = shouldYield;
+        this.sampleLatency = sampleLatency;
+        this.timeline = timeline;
 
         this.benchmarkParams = benchmarkParams;
         this.iterationParams = iterationParams;
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Journal of completed benchmarks, used to resume the interrupted run.
+ *
+ * <p>The journal starts with the magic, followed by the records. Every record is
+ * the serialized {@link RunResult}, prefixed with its length. Records are appended
+ * and synced to disk one at a time, so the host VM dying at any point loses at most
+ * the record being written. Such incomplete trailing record is dropped when the journal
+ * is read back.</p>
+ */
+final class ResumeJournal {
+
+    private static final int MAGIC = 0x4A4D484A; // "JMHJ"
+
+    private final File file;
+
+    ResumeJournal(String file) {
+        this.file = new File(file);
+    }
+
+    public String getFile() {
+        return file.getPath();
+    }
+
+    /**
+     * Reads all complete records from the journal, and cuts off the incomplete
+     * trailing record, if any. Missing journal file has no records.
+     *
+     * @return run results in the journal
+     * @throws IOException if journal cannot be read, or the file is not the journal
+     */
+    public List<RunResult> read() throws IOException {
+        List<RunResult> results = new ArrayList<>();
+        if (!file.exists() || file.length() == 0) {
+            return results;
+        }
+
+        long valid;
+        try (DataInputStream dis = new DataInputStream(new FileInputStream(file))) {
+            if (file.length() < 4 || dis.readInt() != MAGIC) {
+                throw new IOException(file + " is not the JMH resume journal");
+            }
+            valid = 4;
+
+            while (true) {
+                try {
+                    int len = dis.readInt();
+                    if (len <= 0) {
+                        break;
+                    }
+                    byte[] buf = new byte[len];
+                    dis.readFully(buf);
+                    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buf))) {
+                        results.add((RunResult) ois.readObject());
+                    }
+                    valid += 4 + len;
+                } catch (EOFException e) {
+                    break;
+                } catch (ClassNotFoundException | ClassCastException e) {
+                    throw new IOException("Cannot read the record in " + file, e);
+                }
+            }
+        }
+
+        if (valid < file.length()) {
+            // Incomplete record at the end; cut it off, so that new records follow the complete ones.
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(valid);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Appends the record to the journal, and syncs it to disk.
+     *
+     * @param result run result to record
+     * @throws IOException if journal cannot be written
+     */
+    public void append(RunResult result) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(result);
+        }
+
+        boolean fresh = !file.exists() || file.length() == 0;
+        try (FileOutputStream fos = new FileOutputStream(file, true)) {
+            DataOutputStream dos = new DataOutputStream(fos);
+            if (fresh) {
+                dos.writeInt(MAGIC);
+            }
+            dos.writeInt(bos.size());
+            bos.writeTo(dos);
+            dos.flush();
+            fos.getFD().sync();
+        }
+    }
+
+}
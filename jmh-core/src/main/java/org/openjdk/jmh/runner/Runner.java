@@ -33,6 +33,11 @@ import org.openjdk.jmh.profile.ProfilerException;
 import org.openjdk.jmh.profile.ProfilerFactory;
 import org.openjdk.jmh.results.*;
 import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.StreamingResultFormat;
+import org.openjdk.jmh.runner.agent.AgentClient;
+import org.openjdk.jmh.runner.agent.AgentCoordinator;
+import org.openjdk.jmh.runner.agent.AgentPlanFrame;
+import org.openjdk.jmh.runner.agent.AgentResult;
 import org.openjdk.jmh.runner.format.OutputFormat;
 import org.openjdk.jmh.runner.format.OutputFormatFactory;
 import org.openjdk.jmh.runner.link.BinaryLinkServer;
@@ -47,7 +52,8 @@ import java.nio.channels.OverlappingFileLockException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.*;
 import java.util.zip.*;
 
@@ -65,8 +71,11 @@ public class Runner extends BaseRunner {
     private static final int TAIL_LINES_ON_ERROR = Integer.getInteger("jmh.tailLines", 20);
     private static final String JMH_LOCK_FILE = System.getProperty("java.io.tmpdir") + "/jmh.lock";
     private static final Boolean JMH_LOCK_IGNORE = Boolean.getBoolean("jmh.ignoreLock");
+    private static final boolean FORK_PIN_CPUS = Boolean.parseBoolean(System.getProperty("jmh.forks.pinCPUs", "true"));
+    private static final long AGENT_WAIT_GRACE_MS = Long.getLong("jmh.agent.waitTimeout", 600_000);
 
     private final BenchmarkList list;
+    private final boolean writeResult;
     private int cpuCount;
 
     /**
@@ -76,8 +85,20 @@ public class Runner extends BaseRunner {
      * @param format OutputFormat to use
      */
     public Runner(Options options, OutputFormat format) {
+        this(options, format, true);
+    }
+
+    /**
+     * Create runner with the custom OutputFormat, which leaves the result file to the caller.
+     *
+     * @param options options to use
+     * @param format OutputFormat to use
+     * @param writeResult whether to write the result file requested by options
+     */
+    Runner(Options options, OutputFormat format, boolean writeResult) {
         super(options, format);
         this.list = BenchmarkList.defaultList();
+        this.writeResult = writeResult;
     }
 
     /**
@@ -180,6 +201,12 @@ public class Runner extends BaseRunner {
      * @throws org.openjdk.jmh.runner.RunnerException if something goes wrong
      */
     public Collection<RunResult> run() throws RunnerException {
+        if (options.getAgentCoordinator().hasValue()) {
+            // Agents do not take the JMH lock: the lock is held by the coordinator,
+            // which may share the host with agents.
+            return runAgent();
+        }
+
         if (JMH_LOCK_IGNORE) {
             out.println("# WARNING: JMH lock is ignored by user request, make sure no other JMH instances are running");
             return internalRun();
@@ -237,7 +264,7 @@ public class Runner extends BaseRunner {
         // If user requested the result file in one way or the other, touch the result file,
         // and prepare to write it out after the run.
         String resultFile = null;
-        if (options.getResult().hasValue() || options.getResultFormat().hasValue()) {
+        if (writeResult && (options.getResult().hasValue() || options.getResultFormat().hasValue())) {
             resultFile = options.getResult().orElse(
                         Defaults.RESULT_FILE_PREFIX + "." +
                                 options.getResultFormat().orElse(Defaults.RESULT_FORMAT).toString().toLowerCase()
@@ -306,14 +333,37 @@ public class Runner extends BaseRunner {
             benchmarks.addAll(newBenchmarks);
         }
 
-        Collection<RunResult> results = runBenchmarks(benchmarks);
-
-        // If user requested the result file, write it out.
+        // If result format allows, write the results out as soon as they are available.
+        StreamingResultFormat resultSink = null;
         if (resultFile != null) {
-            ResultFormatFactory.getInstance(
+            resultSink = ResultFormatFactory.getStreamingInstance(
                         options.getResultFormat().orElse(Defaults.RESULT_FORMAT),
                         resultFile
-            ).writeOut(results);
+            );
+        }
+
+        // If user requested to resume, pick up the benchmarks completed before.
+        ResumeJournal journal = null;
+        List<RunResult> completed = Collections.emptyList();
+        if (options.getResume().hasValue()) {
+            journal = new ResumeJournal(options.getResume().get());
+            try {
+                completed = journal.read();
+            } catch (IOException e) {
+                throw new RunnerException("Can not read the resume journal: " + journal.getFile(), e);
+            }
+        }
+
+        Collection<RunResult> results = runBenchmarks(benchmarks, resultSink, journal, completed);
+
+        // If user requested the result file, write it out.
+        if (resultFile != null) {
+            if (resultSink == null) {
+                ResultFormatFactory.getInstance(
+                            options.getResultFormat().orElse(Defaults.RESULT_FORMAT),
+                            resultFile
+                ).writeOut(results);
+            }
 
             out.println("");
             out.println("Benchmark result is saved to " + resultFile);
@@ -325,7 +375,9 @@ public class Runner extends BaseRunner {
         return results;
     }
 
-    private List<ActionPlan> getActionPlans(Set<BenchmarkListEntry> benchmarks) {
+    private List<ActionPlan> getActionPlans(Set<BenchmarkListEntry> benchmarks,
+                                            Map<BenchmarkParams, RunResult> completed,
+                                            Collection<RunResult> resumed) {
         ActionPlan base = new ActionPlan(ActionType.FORKED);
 
         LinkedHashSet<BenchmarkListEntry> warmupBenches = new LinkedHashSet<>();
@@ -351,6 +403,13 @@ public class Runner extends BaseRunner {
         for (BenchmarkListEntry br : benchmarks) {
             BenchmarkParams params = newBenchmarkParams(br, ActionMode.UNDEF);
 
+            RunResult done = completed.get(params);
+            if (done != null) {
+                // Completed in the run we are resuming, no need to run it again.
+                resumed.add(done);
+                continue;
+            }
+
             if (params.getForks() <= 0) {
                 if (options.getWarmupMode().orElse(Defaults.WARMUP_MODE).isIndi()) {
                     embeddedPlan.add(newAction(br, ActionMode.WARMUP_MEASUREMENT));
@@ -490,6 +549,9 @@ public class Runner extends BaseRunner {
         TimeValue timeout = options.getTimeout().orElse(
                 benchmark.getTimeout().orElse(Defaults.TIMEOUT));
 
+        double targetRate = options.getTargetRate().orElse(
+                benchmark.getTargetRate().orElse(Defaults.TARGET_RATE));
+
         String jdkVersion = targetProperties.getProperty("java.version");
         String vmVersion = targetProperties.getProperty("java.vm.version");
         String vmName = targetProperties.getProperty("java.vm.name");
@@ -499,7 +561,7 @@ public class Runner extends BaseRunner {
                 warmup, measurement, benchmark.getMode(), benchmark.getWorkloadParams(), timeUnit, opsPerInvocation,
                 jvm, jvmArgs,
                 jdkVersion, vmName, vmVersion, Version.getPlainVersion(),
-                timeout);
+                timeout, targetRate);
     }
 
     private List<WorkloadParams> explodeAllParams(BenchmarkListEntry br) throws RunnerException {
@@ -539,14 +601,76 @@ public class Runner extends BaseRunner {
         return ps;
     }
 
-    private Collection<RunResult> runBenchmarks(SortedSet<BenchmarkListEntry> benchmarks) throws RunnerException {
+    private Collection<RunResult> runBenchmarks(SortedSet<BenchmarkListEntry> benchmarks,
+                                                StreamingResultFormat resultSink,
+                                                ResumeJournal journal,
+                                                List<RunResult> completed) throws RunnerException {
         out.startRun();
 
-        Multimap<BenchmarkParams, BenchmarkResult> results = new TreeMultimap<>();
-        List<ActionPlan> plan = getActionPlans(benchmarks);
+        Map<BenchmarkParams, RunResult> completedByParams = new HashMap<>();
+        for (RunResult rr : completed) {
+            completedByParams.put(rr.getParams(), rr);
+        }
+
+        SortedSet<RunResult> runResults = new TreeSet<>(RunResult.DEFAULT_SORT_COMPARATOR);
+        List<RunResult> resumed = new ArrayList<>();
+        List<ActionPlan> plan = getActionPlans(benchmarks, completedByParams, resumed);
+
+        if (!resumed.isEmpty()) {
+            out.println("# Resuming the run from " + journal.getFile() + ": " + resumed.size() +
+                    " benchmark(s) already completed, skipping them.");
+            out.println("");
+        }
 
         etaBeforeBenchmarks(plan);
 
+        // If user requested the distributed run, hand out all forked benchmarks to agents
+        // right away, and pick up their results in the plan order.
+        AgentCoordinator coordinator = null;
+        Map<ActionPlan, Future<AgentResult>> distributed = new HashMap<>();
+        if (options.getCoordinatorPort().hasValue()) {
+            try {
+                coordinator = new AgentCoordinator(options, options.getCoordinatorPort().get());
+            } catch (IOException e) {
+                throw new RunnerException("Can not accept the agents on port " + options.getCoordinatorPort().get(), e);
+            }
+            for (ActionPlan r : plan) {
+                if (r.getType() == ActionType.FORKED) {
+                    distributed.put(r, coordinator.submit(r));
+                }
+            }
+            out.println("# Waiting for agents on " + coordinator.getAddress().getHostAddress() + ":" + coordinator.getPort());
+            if (coordinator.isTokenGenerated()) {
+                out.println("# Agents should run with -D" + AgentClient.TOKEN_PROPERTY + "=" + coordinator.getToken());
+            }
+            out.println("");
+        }
+
+        boolean compact = false;
+        if (resultSink != null) {
+            List<BenchmarkParams> planned = new ArrayList<>();
+            for (RunResult rr : resumed) {
+                planned.add(rr.getParams());
+            }
+            for (ActionPlan r : plan) {
+                for (Action a : r.getMeasurementActions()) {
+                    planned.add(a.getParams());
+                }
+            }
+            resultSink.startRun(planned);
+            compact = options.shouldCompactResults().orElse(Defaults.COMPACT_RESULTS);
+        }
+
+        for (RunResult rr : resumed) {
+            if (resultSink != null) {
+                resultSink.writeResult(rr);
+                if (compact) {
+                    rr = rr.compact();
+                }
+            }
+            runResults.add(rr);
+        }
+
         try {
             for (ActionPlan r : plan) {
                 Multimap<BenchmarkParams, BenchmarkResult> res;
@@ -555,33 +679,182 @@ public class Runner extends BaseRunner {
                         res = runBenchmarksEmbedded(r);
                         break;
                     case FORKED:
-                        res = runSeparate(r);
+                        Future<AgentResult> agentResult = distributed.get(r);
+                        res = (agentResult != null) ? awaitAgent(r, agentResult) : runSeparate(r);
                         break;
                     default:
                         throw new IllegalStateException("Unknown action plan type: " + r.getType());
                 }
 
+                // Benchmarks in this plan are complete, their results would not change anymore.
                 for (BenchmarkParams br : res.keys()) {
-                    results.putAll(br, res.get(br));
+                    RunResult rr = new RunResult(br, res.get(br));
+                    if (journal != null) {
+                        try {
+                            journal.append(rr);
+                        } catch (IOException e) {
+                            out.println("# WARNING: Can not record the result in resume journal " + journal.getFile() +
+                                    ": " + e.getMessage());
+                        }
+                    }
+                    if (resultSink != null) {
+                        resultSink.writeResult(rr);
+                        if (compact) {
+                            rr = rr.compact();
+                        }
+                    }
+                    runResults.add(rr);
                 }
             }
 
             etaAfterBenchmarks();
 
-            SortedSet<RunResult> runResults = mergeRunResults(results);
             out.endRun(runResults);
             return runResults;
         } catch (BenchmarkException be) {
             throw new RunnerException("Benchmark caught the exception", be);
+        } finally {
+            // Finish the document even when run fails, keeping the results we have.
+            if (resultSink != null) {
+                resultSink.endRun();
+            }
+            if (coordinator != null) {
+                coordinator.terminate();
+            }
         }
     }
 
-    private SortedSet<RunResult> mergeRunResults(Multimap<BenchmarkParams, BenchmarkResult> results) {
-        SortedSet<RunResult> result = new TreeSet<>(RunResult.DEFAULT_SORT_COMPARATOR);
-        for (BenchmarkParams key : results.keys()) {
-            result.add(new RunResult(key, results.get(key)));
+    /**
+     * Waits for the agent to complete the benchmark, and replays its output.
+     */
+    private Multimap<BenchmarkParams, BenchmarkResult> awaitAgent(ActionPlan actionPlan, Future<AgentResult> future) {
+        BenchmarkParams params = actionPlan.getMeasurementActions().get(0).getParams();
+
+        etaBeforeBenchmark();
+
+        // Agent might never come, or might get stuck: wait for as long as the benchmark
+        // could legitimately run, with every iteration hitting its timeout, plus some
+        // time for agents to show up and start the forks.
+        long timeout = TimeUnit.MILLISECONDS.toNanos(AGENT_WAIT_GRACE_MS);
+        for (Action act : actionPlan.getActions()) {
+            BenchmarkParams ap = act.getParams();
+            long iterations = ap.getWarmup().getCount() + ap.getMeasurement().getCount();
+            long singleFork = estimateTimeSingleFork(ap) + iterations * ap.getTimeout().convertTo(TimeUnit.NANOSECONDS);
+            timeout += (Math.max(1, ap.getForks()) + ap.getWarmupForks()) * singleFork;
         }
-        return result;
+
+        AgentResult res;
+        try {
+            res = future.get(timeout, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            throw new BenchmarkException(e);
+        } catch (ExecutionException e) {
+            throw new BenchmarkException(e.getCause());
+        } catch (TimeoutException e) {
+            // Do not hand the benchmark out to agents that come later.
+            future.cancel(false);
+            throw new BenchmarkException(new TimeoutException("Agents had not completed the benchmark in " +
+                    TimeUnit.NANOSECONDS.toSeconds(timeout) + " s"));
+        }
+
+        out.println("# Agent: " + res.getHost() + " (pid " + res.getPid() + ")");
+        try {
+            out.write(res.getOutput());
+        } catch (IOException e) {
+            throw new BenchmarkException(e);
+        }
+
+        for (int i = 0; i < params.getWarmupForks() + params.getForks(); i++) {
+            etaAfterBenchmark(params);
+        }
+
+        if (res.getFailure() != null) {
+            throw res.getFailure();
+        }
+
+        for (BenchmarkResult br : res.getResults().values()) {
+            BenchmarkResultMetaData md = br.getMetadata();
+            if (md != null) {
+                md.adjustHost(res.getHost());
+            }
+        }
+        return res.getResults();
+    }
+
+    /**
+     * Runs as the agent of the distributed run: takes the benchmarks from the coordinator
+     * one by one, runs them here, and sends the results back.
+     */
+    private Collection<RunResult> runAgent() throws RunnerException {
+        String address = options.getAgentCoordinator().get();
+
+        int colon = address.lastIndexOf(':');
+        String host;
+        int port;
+        try {
+            host = address.substring(0, colon);
+            port = Integer.parseInt(address.substring(colon + 1));
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new RunnerException("Coordinator address should be in host:port form, but was: " + address);
+        }
+
+        AgentClient client;
+        try {
+            client = new AgentClient(host, port);
+        } catch (IOException e) {
+            throw new RunnerException("Can not connect to the coordinator at " + address, e);
+        }
+
+        SortedSet<RunResult> runResults = new TreeSet<>(RunResult.DEFAULT_SORT_COMPARATOR);
+        try {
+            out.println("# Connected to the coordinator at " + address + ", waiting for benchmarks");
+
+            AgentPlanFrame frame;
+            while ((frame = client.nextPlan()) != null) {
+                ActionPlan actionPlan = frame.getPlan();
+                Options planOptions = frame.getOptions();
+                BenchmarkParams params = actionPlan.getMeasurementActions().get(0).getParams();
+
+                out.println("# Running " + params.id());
+
+                // Run with coordinator options, and record the output to send it back.
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                PrintStream ps = new PrintStream(buffer, true);
+                OutputFormat planOut = OutputFormatFactory.createFormatInstance(ps,
+                        planOptions.verbosity().orElse(Defaults.VERBOSITY));
+
+                Runner runner = new Runner(planOptions, planOut);
+                runner.etaBeforeBenchmarks(Collections.singletonList(actionPlan));
+
+                Multimap<BenchmarkParams, BenchmarkResult> res = new HashMultimap<>();
+                BenchmarkException failure = null;
+                try {
+                    res = runner.runSeparate(actionPlan);
+                } catch (BenchmarkException e) {
+                    failure = e;
+                }
+                planOut.flush();
+
+                client.sendResult(new AgentResult(client.getHost(), client.getPid(), res, buffer.toByteArray(), failure));
+
+                for (BenchmarkParams br : res.keys()) {
+                    runResults.add(new RunResult(br, res.get(br)));
+                }
+            }
+
+            if (client.getFinishReason() != null) {
+                throw new RunnerException("Coordinator had turned the agent away: " + client.getFinishReason());
+            }
+            out.println("# Coordinator has no more benchmarks to run");
+        } catch (IOException e) {
+            throw new RunnerException("Lost the connection to the coordinator at " + address, e);
+        } finally {
+            client.close();
+            out.flush();
+            out.close();
+        }
+
+        return runResults;
     }
 
     private Multimap<BenchmarkParams, BenchmarkResult> runSeparate(ActionPlan actionPlan) {
@@ -591,12 +864,7 @@ public class Runner extends BaseRunner {
             throw new IllegalStateException("Expect only single benchmark in the action plan, but was " + actionPlan.getMeasurementActions().size());
         }
 
-        BinaryLinkServer server = null;
         try {
-            server = new BinaryLinkServer(options, out);
-
-            server.setPlan(actionPlan);
-
             BenchmarkParams params = actionPlan.getMeasurementActions().get(0).getParams();
 
             List<ExternalProfiler> profilers = ProfilerFactory.getSupportedExternal(options.getProfilers());
@@ -608,9 +876,6 @@ public class Runner extends BaseRunner {
                 printErr &= prof.allowPrintErr();
             }
 
-            List<ExternalProfiler> profilersRev = new ArrayList<>(profilers);
-            Collections.reverse(profilersRev);
-
             boolean forcePrint = options.verbosity().orElse(Defaults.VERBOSITY).equalsOrHigherThan(VerboseMode.EXTRA);
             printOut = forcePrint || printOut;
             printErr = forcePrint || printErr;
@@ -618,105 +883,460 @@ public class Runner extends BaseRunner {
             out.startBenchmark(params);
             out.println("");
 
-            int forkCount = params.getForks();
-            int warmupForkCount = params.getWarmupForks();
-            int totalForks = warmupForkCount + forkCount;
+            int totalForks = params.getWarmupForks() + params.getForks();
+            int parallelism = Math.min(totalForks, options.getForkParallelism().orElse(Defaults.FORK_PARALLELISM));
 
-            for (int i = 0; i < totalForks; i++) {
-                boolean warmupFork = (i < warmupForkCount);
-                List<String> forkedString  = getForkedMainCommand(params, profilers, server.getHost(), server.getPort());
+            if (parallelism > 1 && !profilers.isEmpty()) {
+                // External profilers assume they own the only running fork.
+                out.println("# WARNING: External profilers are enabled, running forks one after another.");
+                out.println("");
+                parallelism = 1;
+            }
 
-                etaBeforeBenchmark();
+            boolean poolForks = options.shouldPoolForks().orElse(Defaults.POOL_FORKS) && (totalForks > 1);
+            if (poolForks && !profilers.isEmpty()) {
+                // External profilers need to prepare before each fork starts.
+                out.println("# WARNING: External profilers are enabled, forks would not be spawned ahead of time.");
+                out.println("");
+                poolForks = false;
+            }
 
-                if (warmupFork) {
-                    out.verbosePrintln("Warmup forking using command: " + forkedString);
-                    out.println("# Warmup Fork: " + (i + 1) + " of " + warmupForkCount);
-                } else {
-                    out.verbosePrintln("Forking using command: " + forkedString);
-                    out.println("# Fork: " + (i + 1 - warmupForkCount) + " of " + forkCount);
-                }
+            if (parallelism > 1) {
+                runForksConcurrently(actionPlan, params, parallelism, printOut, printErr, results);
+            } else if (poolForks) {
+                runForksPooled(actionPlan, params, printOut, printErr, results);
+            } else {
+                runForksSequentially(actionPlan, params, profilers, printOut, printErr, results);
+            }
+
+            out.endBenchmark(new RunResult(params, results.get(params)).getAggregatedResult());
+
+        } catch (IOException e) {
+            results.clear();
+            throw new BenchmarkException(e);
+        } catch (BenchmarkException e) {
+            results.clear();
+            if (options.shouldFailOnError().orElse(Defaults.FAIL_ON_ERROR)) {
+                out.println("Benchmark had encountered error, and fail on error was requested");
+                throw e;
+            }
+        } finally {
+            FileUtils.purgeTemps();
+        }
+
+        return results;
+    }
+
+    private void runForksSequentially(ActionPlan actionPlan, BenchmarkParams params, List<ExternalProfiler> profilers,
+                                      boolean printOut, boolean printErr,
+                                      Multimap<BenchmarkParams, BenchmarkResult> results) throws IOException {
+        BinaryLinkServer server = null;
+        try {
+            server = new BinaryLinkServer(options, out);
+
+            for (int i = 0; i < params.getWarmupForks() + params.getForks(); i++) {
+                etaBeforeBenchmark();
 
                 TempFile stdErr = FileUtils.weakTempFile("stderr");
                 TempFile stdOut = FileUtils.weakTempFile("stdout");
 
-                if (!profilers.isEmpty()) {
-                    out.print("# Preparing profilers: ");
-                    for (ExternalProfiler profiler : profilers) {
-                        out.print(profiler.getClass().getSimpleName() + " ");
-                        profiler.beforeTrial(params);
-                    }
-                    out.println("");
+                List<String> forkedString = getForkedMainCommand(params, profilers, server.getHost(), server.getPort());
 
-                    List<String> consumed = new ArrayList<>();
-                    if (!printOut) consumed.add("stdout");
-                    if (!printErr) consumed.add("stderr");
-                    if (!consumed.isEmpty()) {
-                        out.println("# Profilers consume " + Utils.join(consumed, " and ") + " from target VM, use -v " + VerboseMode.EXTRA + " to copy to console");
-                    }
+                BenchmarkResult br = runFork(actionPlan, server, null, forkedString, out, params, i, profilers,
+                        stdOut, stdErr, printOut, printErr);
+                if (br != null && i >= params.getWarmupForks()) {
+                    results.put(params, br);
                 }
 
-                long startTime = System.currentTimeMillis();
+                etaAfterBenchmark(params);
+                out.println("");
+            }
+        } finally {
+            if (server != null) {
+                server.terminate();
+            }
+        }
+    }
+
+    /**
+     * Runs forks one after another, but spawns the next forked VM while the current fork is still
+     * running. The spare VM starts up, loads the classes, and completes the handshake, and then parks
+     * waiting for the action plan. The plan is handed out only when the current fork is finished,
+     * so no two forks ever run the benchmark at the same time.
+     */
+    private void runForksPooled(ActionPlan actionPlan, BenchmarkParams params, boolean printOut, boolean printErr,
+                                Multimap<BenchmarkParams, BenchmarkResult> results) throws IOException {
+        List<ExternalProfiler> noProfilers = Collections.emptyList();
 
-                List<IterationResult> result = doFork(server, forkedString, stdOut.file(), stdErr.file(), printOut, printErr);
-                if (!result.isEmpty()) {
-                    long pid = server.getClientPid();
+        ForkedVM next = null;
+        try {
+            for (int i = 0; i < params.getWarmupForks() + params.getForks(); i++) {
+                etaBeforeBenchmark();
 
-                    BenchmarkResultMetaData md = server.getMetadata();
-                    if (md != null) {
-                        md.adjustStart(startTime);
-                    }
+                ForkedVM current = (next != null) ? next : spawnForkedVM(params, printOut, printErr);
+                next = null;
+
+                // The spare VM output was held back while the previous fork was running
+                current.promote();
 
-                    BenchmarkResult br = new BenchmarkResult(params, result, md);
+                // Spawn the spare VM before releasing the current one: its startup would then
+                // overlap with the current fork warmup, rather than with its measurement.
+                if (i + 1 < params.getWarmupForks() + params.getForks()) {
+                    next = spawnForkedVM(params, printOut, printErr);
+                }
+
+                BenchmarkResult br;
+                try {
+                    br = runFork(actionPlan, current.server, current, current.command, out, params, i,
+                            noProfilers, current.stdOut, current.stdErr, printOut, printErr);
+                } finally {
+                    // Every pooled fork has its own link server
+                    current.server.terminate();
+                }
+                if (br != null && i >= params.getWarmupForks()) {
+                    results.put(params, br);
+                }
+
+                etaAfterBenchmark(params);
+                out.println("");
+            }
+        } finally {
+            if (next != null) {
+                next.discard();
+            }
+        }
+    }
+
+    private ForkedVM spawnForkedVM(BenchmarkParams params, boolean printOut, boolean printErr) throws IOException {
+        TempFile stdErr = FileUtils.weakTempFile("stderr");
+        TempFile stdOut = FileUtils.weakTempFile("stdout");
+
+        BinaryLinkServer server = new BinaryLinkServer(options, out);
+        try {
+            List<String> forkedString = getForkedMainCommand(params, Collections.<ExternalProfiler>emptyList(),
+                    server.getHost(), server.getPort());
+            out.verbosePrintln("Spawning the spare forked VM ahead of time");
+            return startForkedVM(server, out, new DeferredOutputStream(new OutputFormatAdapter(out)),
+                    forkedString, stdOut, stdErr, printOut, printErr);
+        } catch (BenchmarkException e) {
+            server.terminate();
+            throw e;
+        }
+    }
 
-                    if (!profilersRev.isEmpty()) {
-                        out.print("# Processing profiler results: ");
-                        for (ExternalProfiler profiler : profilersRev) {
-                            out.print(profiler.getClass().getSimpleName() + " ");
-                            for (Result profR : profiler.afterTrial(br, pid, stdOut.file(), stdErr.file())) {
-                                br.addBenchmarkResult(profR);
-                            }
+    /**
+     * Runs up to {@code parallelism} forks at once. Each running fork gets its own link server,
+     * its own output buffer, and its own CPU set, if pinning is available. Fork outputs are replayed,
+     * and fork results are accepted strictly in fork order, so that the report is the same
+     * as if forks were running one after another.
+     */
+    private void runForksConcurrently(final ActionPlan actionPlan, final BenchmarkParams params, int parallelism,
+                                      final boolean printOut, final boolean printErr,
+                                      Multimap<BenchmarkParams, BenchmarkResult> results) throws IOException {
+        final BlockingQueue<String> cpuSets = new ArrayBlockingQueue<>(parallelism);
+        cpuSets.addAll(getForkCPUSets(parallelism));
+
+        final VerboseMode verbosity = options.verbosity().orElse(Defaults.VERBOSITY);
+
+        int totalForks = params.getWarmupForks() + params.getForks();
+
+        List<ByteArrayOutputStream> buffers = new ArrayList<>();
+        List<Future<BenchmarkResult>> futures = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+            private final AtomicInteger idx = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "jmh-fork-runner-" + idx.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+        try {
+            for (int i = 0; i < totalForks; i++) {
+                final int forkIdx = i;
+
+                // Temp files are created here, since TempFileManager is not thread-safe.
+                final TempFile stdErr = FileUtils.weakTempFile("stderr");
+                final TempFile stdOut = FileUtils.weakTempFile("stdout");
+
+                final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                buffers.add(buffer);
+
+                futures.add(executor.submit(() -> {
+                    PrintStream ps = new PrintStream(buffer, true);
+                    OutputFormat forkOut = OutputFormatFactory.createFormatInstance(ps, verbosity);
+
+                    String cpuSet = cpuSets.take();
+                    BinaryLinkServer server = null;
+                    try {
+                        server = new BinaryLinkServer(options, forkOut, ps, ps);
+
+                        List<String> forkedString = new ArrayList<>();
+                        if (!cpuSet.isEmpty()) {
+                            forkedString.add("taskset");
+                            forkedString.add("-c");
+                            forkedString.add(cpuSet);
                         }
-                        out.println("");
+                        forkedString.addAll(getForkedMainCommand(params, Collections.<ExternalProfiler>emptyList(),
+                                server.getHost(), server.getPort()));
+
+                        return runFork(actionPlan, server, null, forkedString, forkOut, params, forkIdx,
+                                Collections.<ExternalProfiler>emptyList(), stdOut, stdErr, printOut, printErr);
+                    } finally {
+                        if (server != null) {
+                            server.terminate();
+                        }
+                        forkOut.flush();
+                        cpuSets.put(cpuSet);
                     }
+                }));
+            }
 
-                    if (!warmupFork) {
-                        results.put(params, br);
+            for (int i = 0; i < totalForks; i++) {
+                etaBeforeBenchmark();
+
+                BenchmarkResult br;
+                try {
+                    br = futures.get(i).get();
+                } catch (InterruptedException e) {
+                    throw new BenchmarkException(e);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof BenchmarkException) {
+                        throw (BenchmarkException) cause;
                     }
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    throw new BenchmarkException(cause);
+                } finally {
+                    out.write(buffers.get(i).toByteArray());
+                    buffers.set(i, null);
+                }
+
+                if (br != null && i >= params.getWarmupForks()) {
+                    results.put(params, br);
                 }
 
                 etaAfterBenchmark(params);
                 out.println("");
+            }
+        } finally {
+            // Do not start the forks that are not yet running, but let the running ones
+            // complete before moving on to the next benchmark.
+            for (Future<BenchmarkResult> f : futures) {
+                f.cancel(false);
+            }
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Splits the CPUs available to host VM into the disjoint sets, one per concurrently running fork.
+     * Leftover CPUs are not given to any fork, and are left for host VM.
+     *
+     * @param parallelism number of concurrently running forks
+     * @return list of CPU sets in taskset(1) format; empty strings if pinning is not available
+     */
+    private List<String> getForkCPUSets(int parallelism) {
+        List<String> result = new ArrayList<>();
+
+        if (FORK_PIN_CPUS) {
+            List<Integer> cpus = Utils.getAllowedCPUs();
+            if (cpus.size() >= parallelism && Utils.tryWith("taskset", "-V").isEmpty()) {
+                int perFork = cpus.size() / parallelism;
+                for (int f = 0; f < parallelism; f++) {
+                    List<String> set = new ArrayList<>();
+                    for (int c : cpus.subList(f * perFork, (f + 1) * perFork)) {
+                        set.add(String.valueOf(c));
+                    }
+                    result.add(Utils.join(set, ","));
+                }
+                out.println("# Running " + parallelism + " forks concurrently, CPU sets: " + result);
+            } else {
+                out.println("# Running " + parallelism + " forks concurrently. " +
+                        "WARNING: Cannot pin forks to disjoint CPU sets, forks would compete for CPUs.");
+            }
+        } else {
+            out.println("# Running " + parallelism + " forks concurrently, CPU pinning is disabled.");
+        }
+        out.println("");
+
+        while (result.size() < parallelism) {
+            result.add("");
+        }
+        return result;
+    }
 
-                // we know these are not needed anymore, proactively delete
-                stdOut.delete();
-                stdErr.delete();
+    /**
+     * Runs a single fork to completion.
+     *
+     * @param spawned already started forked VM that waits for the plan; null to start the VM here
+     * @return benchmark result; null if fork had produced no results
+     */
+    private BenchmarkResult runFork(ActionPlan actionPlan, BinaryLinkServer server, ForkedVM spawned,
+                                    List<String> forkedString, OutputFormat forkOut, BenchmarkParams params, int forkIdx,
+                                    List<ExternalProfiler> profilers,
+                                    TempFile stdOut, TempFile stdErr, boolean printOut, boolean printErr) {
+        int warmupForkCount = params.getWarmupForks();
+        boolean warmupFork = (forkIdx < warmupForkCount);
+
+        if (warmupFork) {
+            forkOut.verbosePrintln("Warmup forking using command: " + forkedString);
+            forkOut.println("# Warmup Fork: " + (forkIdx + 1) + " of " + warmupForkCount);
+        } else {
+            forkOut.verbosePrintln("Forking using command: " + forkedString);
+            forkOut.println("# Fork: " + (forkIdx + 1 - warmupForkCount) + " of " + params.getForks());
+        }
+
+        if (!profilers.isEmpty()) {
+            forkOut.print("# Preparing profilers: ");
+            for (ExternalProfiler profiler : profilers) {
+                forkOut.print(profiler.getClass().getSimpleName() + " ");
+                profiler.beforeTrial(params);
             }
+            forkOut.println("");
 
-            out.endBenchmark(new RunResult(params, results.get(params)).getAggregatedResult());
+            List<String> consumed = new ArrayList<>();
+            if (!printOut) consumed.add("stdout");
+            if (!printErr) consumed.add("stderr");
+            if (!consumed.isEmpty()) {
+                forkOut.println("# Profilers consume " + Utils.join(consumed, " and ") + " from target VM, use -v " + VerboseMode.EXTRA + " to copy to console");
+            }
+        }
 
-        } catch (IOException e) {
-            results.clear();
-            throw new BenchmarkException(e);
-        } catch (BenchmarkException e) {
-            results.clear();
-            if (options.shouldFailOnError().orElse(Defaults.FAIL_ON_ERROR)) {
-                out.println("Benchmark had encountered error, and fail on error was requested");
-                throw e;
+        long startTime = System.currentTimeMillis();
+
+        // Forked VM would not proceed past the handshake until the plan is available.
+        server.setPlan(actionPlan);
+
+        ForkedVM vm = (spawned != null) ?
+                spawned :
+                startForkedVM(server, forkOut, forkedString, stdOut, stdErr, printOut, printErr);
+
+        BenchmarkResult br = null;
+
+        List<IterationResult> result = awaitForkedVM(vm, forkOut);
+        if (!result.isEmpty()) {
+            long pid = server.getClientPid();
+
+            BenchmarkResultMetaData md = server.getMetadata();
+            if (md != null) {
+                md.adjustStart(startTime);
             }
-        } finally {
-            if (server != null) {
-                server.terminate();
+
+            br = new BenchmarkResult(params, result, md);
+
+            if (!profilers.isEmpty()) {
+                List<ExternalProfiler> profilersRev = new ArrayList<>(profilers);
+                Collections.reverse(profilersRev);
+
+                forkOut.print("# Processing profiler results: ");
+                for (ExternalProfiler profiler : profilersRev) {
+                    forkOut.print(profiler.getClass().getSimpleName() + " ");
+                    for (Result profR : profiler.afterTrial(br, pid, stdOut.file(), stdErr.file())) {
+                        br.addBenchmarkResult(profR);
+                    }
+                }
+                forkOut.println("");
             }
-            FileUtils.purgeTemps();
         }
 
-        return results;
+        // we know these are not needed anymore, proactively delete
+        stdOut.delete();
+        stdErr.delete();
+
+        return br;
     }
 
-    private List<IterationResult> doFork(BinaryLinkServer reader, List<String> commandString,
-                                                              File stdOut, File stdErr, boolean printOut, boolean printErr) {
-        try (FileOutputStream fosErr = new FileOutputStream(stdErr);
-             FileOutputStream fosOut = new FileOutputStream(stdOut)) {
+    /**
+     * Forked VM process, along with the plumbing that drains its streams.
+     */
+    private static class ForkedVM {
+        final BinaryLinkServer server;
+        final List<String> command;
+        final TempFile stdOut;
+        final TempFile stdErr;
+        final FileOutputStream fosOut;
+        final FileOutputStream fosErr;
+        final Process process;
+        final InputStreamDrainer outDrainer;
+        final InputStreamDrainer errDrainer;
+        final OutputStream console;
+
+        ForkedVM(BinaryLinkServer server, List<String> command, TempFile stdOut, TempFile stdErr,
+                 FileOutputStream fosOut, FileOutputStream fosErr,
+                 Process process, InputStreamDrainer outDrainer, InputStreamDrainer errDrainer,
+                 OutputStream console) {
+            this.server = server;
+            this.command = command;
+            this.stdOut = stdOut;
+            this.stdErr = stdErr;
+            this.fosOut = fosOut;
+            this.fosErr = fosErr;
+            this.process = process;
+            this.outDrainer = outDrainer;
+            this.errDrainer = errDrainer;
+            this.console = console;
+        }
+
+        /**
+         * Lets the forked VM print its output, if that output was held back.
+         */
+        void promote() throws IOException {
+            if (console instanceof DeferredOutputStream) {
+                ((DeferredOutputStream) console).release();
+            }
+        }
+
+        void closeStreams() {
+            FileUtils.safelyClose(fosOut);
+            FileUtils.safelyClose(fosErr);
+        }
+
+        /**
+         * Kills the forked VM that was never released to run the benchmark.
+         * Its held back output is dropped along with it.
+         */
+        void discard() {
+            process.destroy();
+            try {
+                process.waitFor();
+                errDrainer.join();
+                outDrainer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            server.terminate();
+            closeStreams();
+            stdOut.delete();
+            stdErr.delete();
+        }
+    }
+
+    private ForkedVM startForkedVM(BinaryLinkServer server, OutputFormat forkOut, List<String> commandString,
+                                   TempFile stdOut, TempFile stdErr, boolean printOut, boolean printErr) {
+        return startForkedVM(server, forkOut, new OutputFormatAdapter(forkOut), commandString,
+                stdOut, stdErr, printOut, printErr);
+    }
+
+    private ForkedVM startForkedVM(BinaryLinkServer server, OutputFormat forkOut, OutputStream console,
+                                   List<String> commandString, TempFile stdOut, TempFile stdErr,
+                                   boolean printOut, boolean printErr) {
+        FileOutputStream fosErr = null;
+        FileOutputStream fosOut = null;
+        try {
+            fosErr = new FileOutputStream(stdErr.file());
+            fosOut = new FileOutputStream(stdOut.file());
+
             ProcessBuilder pb = new ProcessBuilder(commandString);
             Process p = pb.start();
 
@@ -725,45 +1345,57 @@ public class Runner extends BaseRunner {
             InputStreamDrainer outDrainer = new InputStreamDrainer(p.getInputStream(), fosOut);
 
             if (printErr) {
-                errDrainer.addOutputStream(new OutputFormatAdapter(out));
+                errDrainer.addOutputStream(console);
             }
 
             if (printOut) {
-                outDrainer.addOutputStream(new OutputFormatAdapter(out));
+                outDrainer.addOutputStream(console);
             }
 
             errDrainer.start();
             outDrainer.start();
 
-            int ecode = p.waitFor();
+            return new ForkedVM(server, commandString, stdOut, stdErr, fosOut, fosErr, p, outDrainer, errDrainer, console);
+        } catch (IOException ex) {
+            FileUtils.safelyClose(fosErr);
+            FileUtils.safelyClose(fosOut);
+            forkOut.println("<failed to invoke the VM, caught IOException: " + ex.getMessage() + ">");
+            forkOut.println("");
+            throw new BenchmarkException(ex);
+        }
+    }
+
+    private List<IterationResult> awaitForkedVM(ForkedVM vm, OutputFormat forkOut) {
+        try {
+            int ecode = vm.process.waitFor();
 
-            errDrainer.join();
-            outDrainer.join();
+            vm.errDrainer.join();
+            vm.outDrainer.join();
 
             // need to wait for all pending messages to be processed
             // before starting the next benchmark
-            reader.waitFinish();
+            vm.server.waitFinish();
 
             if (ecode != 0) {
-                out.println("<forked VM failed with exit code " + ecode + ">");
-                out.println("<stdout last='" + TAIL_LINES_ON_ERROR + " lines'>");
-                for (String l : FileUtils.tail(stdOut, TAIL_LINES_ON_ERROR)) {
-                    out.println(l);
+                forkOut.println("<forked VM failed with exit code " + ecode + ">");
+                forkOut.println("<stdout last='" + TAIL_LINES_ON_ERROR + " lines'>");
+                for (String l : FileUtils.tail(vm.stdOut.file(), TAIL_LINES_ON_ERROR)) {
+                    forkOut.println(l);
                 }
-                out.println("</stdout>");
-                out.println("<stderr last='" + TAIL_LINES_ON_ERROR + " lines'>");
-                for (String l : FileUtils.tail(stdErr, TAIL_LINES_ON_ERROR)) {
-                    out.println(l);
+                forkOut.println("</stdout>");
+                forkOut.println("<stderr last='" + TAIL_LINES_ON_ERROR + " lines'>");
+                for (String l : FileUtils.tail(vm.stdErr.file(), TAIL_LINES_ON_ERROR)) {
+                    forkOut.println(l);
                 }
-                out.println("</stderr>");
+                forkOut.println("</stderr>");
 
-                out.println("");
+                forkOut.println("");
             }
 
-            BenchmarkException exception = reader.getException();
+            BenchmarkException exception = vm.server.getException();
             if (exception == null) {
                 if (ecode == 0) {
-                    return reader.getResults();
+                    return vm.server.getResults();
                 } else {
                     throw new BenchmarkException(new IllegalStateException("Forked VM failed with exit code " + ecode));
                 }
@@ -772,13 +1404,15 @@ public class Runner extends BaseRunner {
             }
 
         } catch (IOException ex) {
-            out.println("<failed to invoke the VM, caught IOException: " + ex.getMessage() + ">");
-            out.println("");
+            forkOut.println("<failed to invoke the VM, caught IOException: " + ex.getMessage() + ">");
+            forkOut.println("");
             throw new BenchmarkException(ex);
         } catch (InterruptedException ex) {
-            out.println("<host VM has been interrupted waiting for forked VM: " + ex.getMessage() + ">");
-            out.println("");
+            forkOut.println("<host VM has been interrupted waiting for forked VM: " + ex.getMessage() + ">");
+            forkOut.println("");
             throw new BenchmarkException(ex);
+        } finally {
+            vm.closeStreams();
         }
     }
 
@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.SampleTimeResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.StreamingResultFormat;
+import org.openjdk.jmh.runner.format.OutputFormat;
+import org.openjdk.jmh.runner.format.OutputFormatFactory;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.FileUtils;
+import org.openjdk.jmh.util.UnCloseablePrintStream;
+import org.openjdk.jmh.util.Utils;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sweep runner steps the offered load through the series of levels, and runs
+ * the benchmarks with {@link Runner} at each level.
+ *
+ * <p>The load is either the number of benchmark threads ({@link #threads(int...)}),
+ * or the target rate for {@link Mode#FixedRate} ({@link #rates(double...)}).
+ * Every step records the throughput and the latency percentiles. The latency
+ * is taken from the primary result in sampling modes, and from the sampled
+ * invocation latency otherwise, which this runner enables by default.</p>
+ *
+ * <p>The sweep stops early when the 99th latency percentile exceeds the limit
+ * ({@link #maxLatency(double, TimeUnit)}), or when the throughput plateaus
+ * ({@link #minGain(double)}). The results of all steps are returned as the single
+ * series, with the load level recorded as the synthetic benchmark parameter.</p>
+ */
+public class SweepRunner {
+
+    /**
+     * Synthetic parameter name for thread count sweeps.
+     */
+    public static final String THREADS_PARAM = "threads";
+
+    /**
+     * Synthetic parameter name for target rate sweeps.
+     */
+    public static final String RATE_PARAM = "rate";
+
+    private static final String LATENCY_LABEL = "latency";
+
+    private final Options options;
+    private final OutputFormat out;
+    private final PrintStream stream;
+
+    private String param;
+    private double[] levels;
+    private double maxLatency = Double.NaN;
+    private TimeUnit maxLatencyUnit;
+    private double minGain = Double.NaN;
+
+    /**
+     * Create sweep runner with the given options.
+     * This method sets up the {@link OutputFormat} as mandated by options.
+     *
+     * @param options options to use.
+     */
+    public SweepRunner(Options options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Options not allowed to be null.");
+        }
+        this.options = options;
+
+        // Individual runs close their output when done, protect it until the whole sweep completes.
+        try {
+            if (options.getOutput().hasValue()) {
+                this.stream = new PrintStream(options.getOutput().get());
+            } else {
+                this.stream = null;
+            }
+            PrintStream ps = new UnCloseablePrintStream((stream != null) ? stream : System.out, Utils.guessConsoleEncoding());
+            this.out = OutputFormatFactory.createFormatInstance(ps, options.verbosity().orElse(Defaults.VERBOSITY));
+        } catch (FileNotFoundException | UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Sweep through the thread counts.
+     *
+     * @param counts thread counts, in the order of increasing load
+     * @return this runner
+     */
+    public SweepRunner threads(int... counts) {
+        double[] ls = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] <= 0) {
+                throw new IllegalArgumentException("Threads (" + counts[i] + ") should be positive");
+            }
+            ls[i] = counts[i];
+        }
+        return levels(THREADS_PARAM, ls);
+    }
+
+    /**
+     * Sweep through the target rates. The benchmarks are run in {@link Mode#FixedRate}.
+     *
+     * @param rates target rates, in ops/s, in the order of increasing load
+     * @return this runner
+     */
+    public SweepRunner rates(double... rates) {
+        for (double r : rates) {
+            if (!(r > 0)) {
+                throw new IllegalArgumentException("Target rate (" + r + ") should be positive");
+            }
+        }
+        return levels(RATE_PARAM, rates.clone());
+    }
+
+    private SweepRunner levels(String param, double[] levels) {
+        if (levels.length == 0) {
+            throw new IllegalArgumentException("Sweep should have at least one load level");
+        }
+        this.param = param;
+        this.levels = levels;
+        return this;
+    }
+
+    /**
+     * Stop the sweep after the step where the 99th latency percentile exceeds the limit.
+     *
+     * @param limit latency limit
+     * @param unit latency limit unit
+     * @return this runner
+     */
+    public SweepRunner maxLatency(double limit, TimeUnit unit) {
+        if (!(limit > 0)) {
+            throw new IllegalArgumentException("Latency limit (" + limit + ") should be positive");
+        }
+        this.maxLatency = limit;
+        this.maxLatencyUnit = unit;
+        return this;
+    }
+
+    /**
+     * Stop the sweep after the step where the throughput plateaus, that is, improves
+     * by less than the given fraction over the previous step.
+     *
+     * @param gain minimal relative throughput gain, e.g. 0.05 for 5%
+     * @return this runner
+     */
+    public SweepRunner minGain(double gain) {
+        if (!(gain >= 0)) {
+            throw new IllegalArgumentException("Throughput gain (" + gain + ") should be non-negative");
+        }
+        this.minGain = gain;
+        return this;
+    }
+
+    /**
+     * Run the sweep.
+     *
+     * @return results of all steps, with the load level as the synthetic parameter
+     * @throws RunnerException if something goes wrong
+     */
+    public Collection<RunResult> run() throws RunnerException {
+        if (levels == null) {
+            throw new IllegalStateException("Sweep load levels are not set");
+        }
+
+        // Steps do not write the result file: the sweep writes all steps into it,
+        // streaming the results as soon as the step completes, if the format allows.
+        String resultFile = null;
+        StreamingResultFormat resultSink = null;
+        if (options.getResult().hasValue() || options.getResultFormat().hasValue()) {
+            resultFile = options.getResult().orElse(
+                    Defaults.RESULT_FILE_PREFIX + "." +
+                            options.getResultFormat().orElse(Defaults.RESULT_FORMAT).toString().toLowerCase()
+            );
+            try {
+                FileUtils.touch(resultFile);
+            } catch (IOException e) {
+                throw new RunnerException("Can not touch the result file: " + resultFile);
+            }
+            resultSink = ResultFormatFactory.getStreamingInstance(
+                    options.getResultFormat().orElse(Defaults.RESULT_FORMAT),
+                    resultFile
+            );
+        }
+
+        List<RunResult> series = new ArrayList<>();
+        double[] lastThroughput = null;
+        String stopReason = null;
+
+        try {
+            for (int step = 0; step < levels.length && stopReason == null; step++) {
+                String level = formatLevel(levels[step]);
+
+                out.println("# Sweep step " + (step + 1) + " of " + levels.length + ": " + param + " = " + level);
+                out.println("");
+
+                List<RunResult> results = new ArrayList<>(new Runner(stepOptions(levels[step]), out, false).run());
+
+                List<RunResult> stepSeries = new ArrayList<>();
+                for (RunResult rr : results) {
+                    stepSeries.add(new RunResult(rr.getParams().cloneWithParam(param, level, step), rr.getBenchmarkResults()));
+                }
+                series.addAll(stepSeries);
+
+                if (resultSink != null) {
+                    // All steps run the same benchmarks, the first step gives the document shape
+                    if (step == 0) {
+                        List<BenchmarkParams> params = new ArrayList<>();
+                        for (RunResult rr : stepSeries) {
+                            params.add(rr.getParams());
+                        }
+                        resultSink.startRun(params);
+                    }
+                    for (RunResult rr : stepSeries) {
+                        resultSink.writeResult(rr);
+                    }
+                }
+
+                double[] throughput = new double[results.size()];
+                boolean improved = false;
+                for (int c = 0; c < results.size(); c++) {
+                    RunResult rr = results.get(c);
+
+                    throughput[c] = throughput(rr);
+                    double p99 = latency(rr, 99);
+                    out.println(String.format("# Sweep %s: %s = %s, throughput = %.3f ops/s, p0.99 = %.3f %s/op",
+                            rr.getParams().getBenchmark(), param, level, throughput[c],
+                            p99, TimeValue.tuToString(rr.getParams().getTimeUnit())));
+
+                    if (!Double.isNaN(maxLatency) && latencyExceeds(rr, p99)) {
+                        stopReason = "p0.99 latency exceeds " + maxLatency + " " + TimeValue.tuToString(maxLatencyUnit);
+                    }
+
+                    if (lastThroughput == null || c >= lastThroughput.length ||
+                            throughput[c] >= lastThroughput[c] * (1 + minGain)) {
+                        improved = true;
+                    }
+                }
+                out.println("");
+
+                if (stopReason == null && !Double.isNaN(minGain) && !improved) {
+                    stopReason = "throughput gain is less than " + (minGain * 100) + "%";
+                }
+                lastThroughput = throughput;
+            }
+
+            out.println("# Sweep " + ((stopReason != null) ? "stopped: " + stopReason : "completed"));
+            out.println("");
+            out.endRun(series);
+
+            if (resultFile != null) {
+                if (resultSink != null) {
+                    if (series.isEmpty()) {
+                        resultSink.startRun(new ArrayList<>());
+                    }
+                    resultSink.endRun();
+                } else {
+                    ResultFormatFactory.getInstance(
+                            options.getResultFormat().orElse(Defaults.RESULT_FORMAT),
+                            resultFile
+                    ).writeOut(series);
+                }
+
+                out.println("");
+                out.println("Sweep result is saved to " + resultFile);
+            }
+        } finally {
+            out.flush();
+            if (stream != null) {
+                stream.close();
+            }
+        }
+
+        return series;
+    }
+
+    private Options stepOptions(double level) {
+        ChainedOptionsBuilder b = new OptionsBuilder().parent(options);
+        if (param.equals(THREADS_PARAM)) {
+            b.threads((int) level);
+            if (!options.shouldSampleLatency().hasValue()) {
+                b.sampleLatency(true);
+            }
+        } else {
+            b.mode(Mode.FixedRate);
+            b.targetRate(level);
+        }
+        return b.build();
+    }
+
+    private static String formatLevel(double level) {
+        if (level == Math.rint(level) && !Double.isInfinite(level)) {
+            return String.valueOf((long) level);
+        } else {
+            return String.valueOf(level);
+        }
+    }
+
+    /**
+     * Computes the throughput of the run in ops/s.
+     */
+    private static double throughput(RunResult rr) {
+        BenchmarkParams params = rr.getParams();
+        double unitSec = params.getTimeUnit().toNanos(1) / 1e9;
+        Result primary = rr.getPrimaryResult();
+
+        switch (params.getMode()) {
+            case Throughput:
+                return primary.getScore() / unitSec;
+            case FixedRate: {
+                // Every operation is recorded, and the iterations have the fixed duration.
+                long iterations = 0;
+                for (BenchmarkResult br : rr.getBenchmarkResults()) {
+                    iterations += br.getIterationResults().size();
+                }
+                double sec = iterations * params.getMeasurement().getTime().convertTo(TimeUnit.NANOSECONDS) / 1e9;
+                return primary.getSampleCount() / sec;
+            }
+            default:
+                return params.getThreads() / (primary.getScore() * unitSec);
+        }
+    }
+
+    /**
+     * Computes the latency percentile of the run in benchmark time units, or NaN if latency is not available.
+     */
+    private static double latency(RunResult rr, double percentile) {
+        Result primary = rr.getPrimaryResult();
+        if (primary instanceof SampleTimeResult) {
+            return primary.getStatistics().getPercentile(percentile);
+        }
+        Result lat = rr.getSecondaryResults().get(LATENCY_LABEL);
+        if (lat != null) {
+            return lat.getStatistics().getPercentile(percentile);
+        }
+        return Double.NaN;
+    }
+
+    private boolean latencyExceeds(RunResult rr, double latency) {
+        double limit = maxLatency * maxLatencyUnit.toNanos(1) / rr.getParams().getTimeUnit().toNanos(1);
+        return latency > limit;
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+/**
+ * Operation counters for the iteration timeline. Measurement loops publish
+ * their running operation counts here, and the harness periodically sums
+ * them up to compute the score within each sub-interval.
+ *
+ * <p>Counts are published with plain stores after every operation, and the
+ * harness reads them racily. The count the harness observes may lag behind by
+ * the operations whose stores are not yet visible, so the timeline is coarse
+ * to within a few operations at the sub-interval boundaries. On VMs without
+ * atomic plain long accesses, the racy read may also observe a torn count.</p>
+ */
+public final class TimelineCounters {
+
+    private final Counter[] counters;
+
+    public TimelineCounters(int threads) {
+        this.counters = new Counter[threads];
+        for (int t = 0; t < threads; t++) {
+            counters[t] = new Counter();
+        }
+    }
+
+    /**
+     * @param thread thread index
+     * @return the counter to publish the operation count of the thread
+     */
+    public Counter counter(int thread) {
+        return counters[thread];
+    }
+
+    /**
+     * @return operations done by all threads so far
+     */
+    public long sum() {
+        long sum = 0;
+        for (Counter c : counters) {
+            sum += c.ops;
+        }
+        return sum;
+    }
+
+    /**
+     * Operation counter of a single thread. The owning thread stores the
+     * operations done so far into {@link #ops} after every operation.
+     */
+    public static final class Counter extends CounterL3 {
+        Counter() {
+            // only the harness creates counters
+        }
+    }
+
+}
+
+/*
+ * Counters are padded to avoid false sharing between the threads.
+ * Padding is spread over the class hierarchy to keep the fields in order.
+ */
+
+abstract class CounterL1 {
+    long p01, p02, p03, p04, p05, p06, p07, p08, p09, p10, p11, p12, p13, p14, p15, p16;
+}
+
+abstract class CounterL2 extends CounterL1 {
+    /**
+     * Operations done by the thread so far.
+     */
+    public long ops;
+}
+
+abstract class CounterL3 extends CounterL2 {
+    long q01, q02, q03, q04, q05, q06, q07, q08, q09, q10, q11, q12, q13, q14, q15, q16;
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner.agent;
+
+import org.openjdk.jmh.util.Utils;
+import org.openjdk.jmh.util.Version;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connects the agent to the coordinator, receives the benchmarks to run,
+ * and sends their results back.
+ */
+public final class AgentClient {
+
+    /**
+     * System property holding the token agents present to the coordinator.
+     */
+    public static final String TOKEN_PROPERTY = "jmh.agent.token";
+
+    private static final long CONNECT_TIMEOUT_MS = Long.getLong("jmh.agent.connectTimeout", 60_000);
+    private static final long CONNECT_RETRY_MS = 500;
+
+    private final Socket socket;
+    private final ObjectOutputStream oos;
+    private final ObjectInputStream ois;
+    private final String host;
+    private final long pid;
+    private String finishReason;
+
+    /**
+     * Connects to the coordinator, presenting the token from the "jmh.agent.token"
+     * system property. Coordinator may be not yet listening, in which case the
+     * connection is retried for some time.
+     *
+     * @param coordinatorHost coordinator host
+     * @param coordinatorPort coordinator port
+     * @throws IOException if the coordinator is not reachable
+     */
+    public AgentClient(String coordinatorHost, int coordinatorPort) throws IOException {
+        this(coordinatorHost, coordinatorPort, System.getProperty(TOKEN_PROPERTY, ""));
+    }
+
+    /**
+     * Connects to the coordinator. Coordinator may be not yet listening,
+     * in which case the connection is retried for some time.
+     *
+     * @param coordinatorHost coordinator host
+     * @param coordinatorPort coordinator port
+     * @param token token to present to the coordinator
+     * @throws IOException if the coordinator is not reachable
+     */
+    public AgentClient(String coordinatorHost, int coordinatorPort, String token) throws IOException {
+        this.socket = connect(coordinatorHost, coordinatorPort);
+        this.host = getLocalHostName();
+        this.pid = Utils.getPid();
+
+        DataOutputStream dos = new DataOutputStream(socket.getOutputStream());
+        dos.writeUTF(token);
+        dos.flush();
+
+        this.oos = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        oos.writeObject(new AgentHelloFrame(host, pid, Version.getPlainVersion()));
+        oos.flush();
+        this.ois = new AgentObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+    }
+
+    private static Socket connect(String host, int port) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECT_TIMEOUT_MS);
+        while (true) {
+            try {
+                return new Socket(host, port);
+            } catch (ConnectException e) {
+                if (System.nanoTime() - deadline > 0) {
+                    throw e;
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(CONNECT_RETRY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static String getLocalHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+
+    /**
+     * @return host this agent runs on
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return process id of this agent
+     */
+    public long getPid() {
+        return pid;
+    }
+
+    /**
+     * Waits for the next benchmark to run.
+     *
+     * @return next benchmark; null if the coordinator has no more benchmarks
+     * @throws IOException if the connection to the coordinator is lost
+     */
+    public AgentPlanFrame nextPlan() throws IOException {
+        Object obj;
+        try {
+            obj = ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+
+        if (obj instanceof AgentPlanFrame) {
+            return (AgentPlanFrame) obj;
+        }
+        if (obj instanceof AgentFinishFrame) {
+            finishReason = ((AgentFinishFrame) obj).getReason();
+            return null;
+        }
+        throw new IOException("Unknown frame: " + obj);
+    }
+
+    /**
+     * @return the reason coordinator had turned this agent away; null if coordinator had completed normally
+     */
+    public String getFinishReason() {
+        return finishReason;
+    }
+
+    /**
+     * Sends the benchmark result back to the coordinator.
+     *
+     * @param result benchmark result
+     * @throws IOException if the connection to the coordinator is lost
+     */
+    public void sendResult(AgentResult result) throws IOException {
+        oos.writeObject(result);
+        oos.flush();
+        oos.reset();
+    }
+
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+}
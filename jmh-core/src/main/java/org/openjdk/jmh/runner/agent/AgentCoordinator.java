@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner.agent;
+
+import org.openjdk.jmh.runner.ActionPlan;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.util.Version;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts the connections from agents, and hands out the submitted benchmarks
+ * to them. Every agent runs one benchmark at a time; benchmarks go to whichever
+ * agent is idle. If the agent disconnects in the middle of the benchmark,
+ * that benchmark is handed out to another agent.
+ * <p>
+ * Coordinator listens on the loopback address, unless the "jmh.agent.bindAddress"
+ * system property names another address. Agents have to present the shared token
+ * before anything else is read from them: the token is taken from the "jmh.agent.token"
+ * system property, or generated at random if that property is not set.
+ */
+public final class AgentCoordinator {
+
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final long FINISH_TIMEOUT_MS = 5000;
+    private static final int HANDSHAKE_TIMEOUT_MS = Integer.getInteger("jmh.agent.handshakeTimeout", 10_000);
+
+    private final Options opts;
+    private final String token;
+    private final boolean tokenGenerated;
+    private final ServerSocket server;
+    private final Acceptor acceptor;
+    private final BlockingDeque<Task> tasks;
+    private final List<Handler> handlers;
+    private volatile boolean finished;
+
+    public AgentCoordinator(Options opts, int port) throws IOException {
+        this.opts = opts;
+        this.tasks = new LinkedBlockingDeque<>();
+        this.handlers = new CopyOnWriteArrayList<>();
+
+        String t = System.getProperty(AgentClient.TOKEN_PROPERTY);
+        if (t == null || t.isEmpty()) {
+            this.token = generateToken();
+            this.tokenGenerated = true;
+        } else {
+            this.token = t;
+            this.tokenGenerated = false;
+        }
+
+        String bindAddress = System.getProperty("jmh.agent.bindAddress");
+        InetAddress bind = (bindAddress == null) ? InetAddress.getLoopbackAddress() : InetAddress.getByName(bindAddress);
+        this.server = new ServerSocket(port, 0, bind);
+        this.acceptor = new Acceptor();
+        acceptor.start();
+    }
+
+    /**
+     * @return port agents should connect to
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * @return address agents should connect to
+     */
+    public InetAddress getAddress() {
+        return server.getInetAddress();
+    }
+
+    /**
+     * @return token agents should present
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * @return true, if token was generated, and agents have to be told about it
+     */
+    public boolean isTokenGenerated() {
+        return tokenGenerated;
+    }
+
+    private static String generateToken() {
+        byte[] bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b & 0xFF));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Queues the benchmark to be run by the first idle agent.
+     *
+     * @param plan action plan for a single benchmark
+     * @return future result of the benchmark
+     */
+    public Future<AgentResult> submit(ActionPlan plan) {
+        Task t = new Task(plan);
+        tasks.add(t);
+        return t.result;
+    }
+
+    /**
+     * Lets idle agents know there would be no more benchmarks, and disconnects
+     * the agents that are still busy. Benchmarks that were not yet handed out
+     * are cancelled.
+     */
+    public void terminate() {
+        finished = true;
+
+        try {
+            server.close();
+        } catch (IOException e) {
+            // ignore
+        }
+
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (Handler h : handlers) {
+            try {
+                h.join(FINISH_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            h.close();
+        }
+
+        Task t;
+        while ((t = tasks.poll()) != null) {
+            t.result.cancel(false);
+        }
+    }
+
+    private static class Task {
+        private final ActionPlan plan;
+        private final CompletableFuture<AgentResult> result;
+
+        Task(ActionPlan plan) {
+            this.plan = plan;
+            this.result = new CompletableFuture<>();
+        }
+    }
+
+    private final class Acceptor extends Thread {
+
+        public Acceptor() {
+            setName("jmh-agent-acceptor");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.interrupted()) {
+                    Socket socket = server.accept();
+                    Handler h = new Handler(socket);
+                    handlers.add(h);
+                    h.start();
+                }
+            } catch (SocketException e) {
+                // server socket is closed, this is expected
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private final class Handler extends Thread {
+
+        private final Socket socket;
+
+        public Handler(Socket socket) {
+            this.socket = socket;
+            setName("jmh-agent-handler-" + socket.getRemoteSocketAddress());
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            Task current = null;
+            try {
+                // Whoever connects has to present the token before we deserialize anything.
+                // Do not let the silent peers hold the handler forever.
+                socket.setSoTimeout(HANDSHAKE_TIMEOUT_MS);
+                String peerToken = new DataInputStream(socket.getInputStream()).readUTF();
+                boolean authorized = MessageDigest.isEqual(
+                        token.getBytes(StandardCharsets.UTF_8),
+                        peerToken.getBytes(StandardCharsets.UTF_8));
+
+                ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                oos.flush();
+
+                if (!authorized) {
+                    oos.writeObject(new AgentFinishFrame("Agent token does not match the coordinator token"));
+                    oos.flush();
+                    socket.shutdownOutput();
+
+                    // Skip whatever agent had sent without reading it, until agent hangs up.
+                    // Closing with the unread data would reset the connection before
+                    // agent gets the reason.
+                    InputStream is = socket.getInputStream();
+                    byte[] skip = new byte[1024];
+                    while (is.read(skip) >= 0) {
+                        // do nothing
+                    }
+                    return;
+                }
+
+                ObjectInputStream ois = new AgentObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+
+                AgentHelloFrame hello = (AgentHelloFrame) ois.readObject();
+                if (!Version.getPlainVersion().equals(hello.getVersion())) {
+                    // Mismatched versions would not agree on the protocol, turn the agent away.
+                    oos.writeObject(new AgentFinishFrame("Agent JMH version " + hello.getVersion() +
+                            " does not match the coordinator JMH version " + Version.getPlainVersion()));
+                    oos.flush();
+                    return;
+                }
+
+                // Benchmarks can run for as long as they need.
+                socket.setSoTimeout(0);
+
+                while (!finished) {
+                    current = tasks.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    if (current == null) {
+                        continue;
+                    }
+                    if (current.result.isCancelled()) {
+                        // Coordinator gave up waiting for this one.
+                        current = null;
+                        continue;
+                    }
+
+                    oos.writeObject(new AgentPlanFrame(opts, current.plan));
+                    oos.flush();
+                    oos.reset();
+
+                    AgentResult res = (AgentResult) ois.readObject();
+                    current.result.complete(res);
+                    current = null;
+                }
+
+                oos.writeObject(new AgentFinishFrame(null));
+                oos.flush();
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                // Agent is gone, or talks nonsense; let another agent run the benchmark.
+                if (current != null) {
+                    if (finished) {
+                        current.result.cancel(false);
+                    } else {
+                        tasks.addFirst(current);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                handlers.remove(this);
+                close();
+            }
+        }
+
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2005, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,10 +22,20 @@
  * or visit www.oracle.com if you need additional information or have any
  * questions.
  */
-package org.openjdk.jmh.runner.link;
+package org.openjdk.jmh.runner.agent;
 
 import java.io.Serializable;
 
-class FinishingFrame implements Serializable {
-    private static final long serialVersionUID = 2309975914801631608L;
+class AgentFinishFrame implements Serializable {
+    private static final long serialVersionUID = -6416294770618262150L;
+
+    private final String reason;
+
+    public AgentFinishFrame(String reason) {
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
 }
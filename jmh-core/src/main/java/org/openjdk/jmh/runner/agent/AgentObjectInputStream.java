@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner.agent;
+
+import org.openjdk.jmh.results.Result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Object stream that only resolves the classes agent frames are made of:
+ * JMH classes, core Java classes, and the benchmark exceptions and results
+ * the forks can report. Everything else is refused before it is instantiated.
+ * More class name prefixes can be allowed with the comma-separated
+ * "jmh.agent.allowClasses" system property.
+ */
+class AgentObjectInputStream extends ObjectInputStream {
+
+    private static final List<String> ALLOWED_PREFIXES;
+
+    static {
+        List<String> prefixes = new ArrayList<>(Arrays.asList(
+                "org.openjdk.jmh.",
+                "java.lang.",
+                "java.util."
+        ));
+        String extra = System.getProperty("jmh.agent.allowClasses");
+        if (extra != null) {
+            for (String p : extra.split(",")) {
+                if (!p.trim().isEmpty()) {
+                    prefixes.add(p.trim());
+                }
+            }
+        }
+        ALLOWED_PREFIXES = Collections.unmodifiableList(prefixes);
+    }
+
+    public AgentObjectInputStream(InputStream in) throws IOException {
+        super(in);
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+        String name = desc.getName();
+        if (isAllowed(name)) {
+            return super.resolveClass(desc);
+        }
+
+        // Forks report user exceptions and profiler results as is. Resolving
+        // the class does not initialize it, so it is safe to check the type first.
+        Class<?> klass = super.resolveClass(desc);
+        Class<?> component = klass;
+        while (component.isArray()) {
+            component = component.getComponentType();
+        }
+        if (Throwable.class.isAssignableFrom(component) || Result.class.isAssignableFrom(component)) {
+            return klass;
+        }
+        throw new InvalidClassException(name, "Class is not allowed in agent frames");
+    }
+
+    @Override
+    protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+        throw new InvalidClassException("Proxy classes are not allowed in agent frames");
+    }
+
+    static boolean isAllowed(String name) {
+        // Arrays are allowed when their elements are.
+        int dims = 0;
+        while (dims < name.length() && name.charAt(dims) == '[') {
+            dims++;
+        }
+        if (dims > 0) {
+            String element = name.substring(dims);
+            if (element.length() == 1) {
+                // primitive array
+                return true;
+            }
+            if (element.startsWith("L") && element.endsWith(";")) {
+                return isAllowed(element.substring(1, element.length() - 1));
+            }
+            return false;
+        }
+
+        for (String prefix : ALLOWED_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
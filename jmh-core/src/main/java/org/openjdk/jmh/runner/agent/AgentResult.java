@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner.agent;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.runner.BenchmarkException;
+import org.openjdk.jmh.util.Multimap;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of a single benchmark run by the agent.
+ */
+public class AgentResult implements Serializable {
+    private static final long serialVersionUID = 4650238213779046122L;
+
+    private final String host;
+    private final long pid;
+    private final Multimap<BenchmarkParams, BenchmarkResult> results;
+    private final byte[] output;
+    private final BenchmarkException failure;
+
+    public AgentResult(String host, long pid, Multimap<BenchmarkParams, BenchmarkResult> results,
+                       byte[] output, BenchmarkException failure) {
+        this.host = host;
+        this.pid = pid;
+        this.results = results;
+        this.output = output;
+        this.failure = failure;
+    }
+
+    /**
+     * @return host the agent runs on
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return agent process id
+     */
+    public long getPid() {
+        return pid;
+    }
+
+    /**
+     * @return fork results, by benchmark
+     */
+    public Multimap<BenchmarkParams, BenchmarkResult> getResults() {
+        return results;
+    }
+
+    /**
+     * @return human-readable output the agent had produced while running the benchmark
+     */
+    public byte[] getOutput() {
+        return output;
+    }
+
+    /**
+     * @return benchmark failure; null if benchmark had completed
+     */
+    public BenchmarkException getFailure() {
+        return failure;
+    }
+}
@@ -127,7 +127,8 @@ class TextReportFormat extends AbstractOutputFormat {
                 (params.getMode() == Mode.SingleShotTime) ? "" : ", ***WARNING: Synchronize iterations are disabled!***");
 
 
-        out.println("# Benchmark mode: " + params.getMode().longLabel());
+        out.println("# Benchmark mode: " + params.getMode().longLabel() +
+                ((params.getMode() == Mode.FixedRate) ? ", at " + params.getTargetRate() + " ops/s" : ""));
         out.println("# Benchmark: " + params.getBenchmark());
         if (!params.getParamsKeys().isEmpty()) {
             String s = "";
@@ -189,10 +190,12 @@ class TextReportFormat extends AbstractOutputFormat {
 
                 int maxKeyLen = 0;
                 for (Map.Entry<String, Result> res : secondary.entrySet()) {
+                    if (res.getValue().isDetail()) continue;
                     maxKeyLen = Math.max(maxKeyLen, res.getKey().length());
                 }
 
                 for (Map.Entry<String, Result> res : secondary.entrySet()) {
+                    if (res.getValue().isDetail()) continue;
                     sb.append(String.format("%" + prefixLen + "s", ""));
                     sb.append(String.format("  %-" + (maxKeyLen + 1) + "s %s", res.getKey() + ":", res.getValue()));
                     sb.append("\n");
@@ -217,6 +220,7 @@ class TextReportFormat extends AbstractOutputFormat {
                 }
             }
             for (Result r : result.getSecondaryResults().values()) {
+                if (r.isDetail()) continue;
                 String s = r.extendedInfo();
                 if (!s.trim().isEmpty()) {
                     out.println("Secondary result \"" + result.getParams().getBenchmark() + ":" + r.getLabel() + "\":");
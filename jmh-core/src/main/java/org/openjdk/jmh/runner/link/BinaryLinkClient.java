@@ -35,32 +35,39 @@ import org.openjdk.jmh.util.Utils;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.Serializable;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.net.Socket;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public final class BinaryLinkClient {
 
     private static final int RESET_EACH = Integer.getInteger("jmh.link.resetEach", 100);
     private static final int BUFFER_SIZE = Integer.getInteger("jmh.link.bufferSize", 64*1024);
+    private static final int FLUSH_INTERVAL_MS = Integer.getInteger("jmh.link.flushInterval", 100);
+    private static final int OUTPUT_SOFT_LIMIT = Integer.getInteger("jmh.link.outputSoftLimit", 64*1024);
+    private static final int OUTPUT_HARD_LIMIT = Integer.getInteger("jmh.link.outputHardLimit", 16*1024*1024);
 
     private final Object lock;
 
     private final Socket clientSocket;
     private final ObjectOutputStream oos;
     private final ObjectInputStream ois;
+    private ObjectOutputStream shmOos;
+    private final OutputBuffer bufferErr;
+    private final OutputBuffer bufferOut;
     private final ForwardingPrintStream streamErr;
     private final ForwardingPrintStream streamOut;
+    private final OutputFlusher flusher;
     private final OutputFormat outputFormat;
     private volatile boolean failed;
     private int resetToGo;
@@ -73,12 +80,15 @@ public final class BinaryLinkClient {
 
         // Initialize the OOS first, and flush, letting the other party read the stream header.
         this.oos = new ObjectOutputStream(new BufferedOutputStream(clientSocket.getOutputStream(), BUFFER_SIZE));
+        LinkProtocol.writeHeader(oos);
         this.oos.flush();
 
         this.ois = new ObjectInputStream(new BufferedInputStream(clientSocket.getInputStream(), BUFFER_SIZE));
 
-        this.streamErr = new ForwardingPrintStream(OutputFrame.Type.ERR);
-        this.streamOut = new ForwardingPrintStream(OutputFrame.Type.OUT);
+        this.bufferErr = new OutputBuffer(OutputFrame.Type.ERR);
+        this.bufferOut = new OutputBuffer(OutputFrame.Type.OUT);
+        this.streamErr = new ForwardingPrintStream(bufferErr);
+        this.streamOut = new ForwardingPrintStream(bufferOut);
         this.outputFormat = (OutputFormat) Proxy.newProxyInstance(
                 Thread.currentThread().getContextClassLoader(),
                 new Class[]{OutputFormat.class},
@@ -89,6 +99,9 @@ public final class BinaryLinkClient {
         );
 
         this.delayedFrames = new ArrayList<>();
+
+        this.flusher = new OutputFlusher();
+        this.flusher.start();
     }
 
     private void pushFrame(Serializable frame) throws IOException {
@@ -107,7 +120,7 @@ public final class BinaryLinkClient {
         synchronized (lock) {
             if (inFrame) {
                 // Something had produced this frame while we were writing another one.
-                // Most probably, stdout/stderr message was produced when serializing data.
+                // Most probably, OutputFormat call was made when serializing data.
                 // Delay this frame until the write is over, and let the original writer to
                 // pick it up later.
                 delayedFrames.add(frame);
@@ -117,13 +130,19 @@ public final class BinaryLinkClient {
             try {
                 inFrame = true;
 
+                // Pending output goes first, so that it is ordered properly against this frame.
+                writeOutput();
+
+                ObjectOutputStream os = streamFor(frame);
+
                 if (resetToGo-- < 0) {
-                    oos.reset();
+                    os.reset();
                     resetToGo = RESET_EACH;
                 }
 
-                oos.writeObject(frame);
-                oos.flush();
+                os.writeByte(LinkProtocol.TAG_OBJECT);
+                os.writeObject(frame);
+                os.flush();
 
                 // Do all delayed frames now. On the off-chance their writes produce more frames,
                 // drain them recursively.
@@ -131,9 +150,11 @@ public final class BinaryLinkClient {
                     List<Serializable> frames = new ArrayList<>(delayedFrames);
                     delayedFrames.clear();
                     for (Serializable f : frames) {
-                        oos.writeObject(f);
+                        ObjectOutputStream fos = streamFor(f);
+                        fos.writeByte(LinkProtocol.TAG_OBJECT);
+                        fos.writeObject(f);
+                        fos.flush();
                     }
-                    oos.flush();
                 }
             } catch (IOException e) {
                 failed = true;
@@ -144,8 +165,86 @@ public final class BinaryLinkClient {
         }
     }
 
+    /**
+     * Pushes out the buffered output, if any.
+     */
+    private void flushOutput() throws IOException {
+        if (failed) {
+            throw new IOException("Link had failed already");
+        }
+
+        synchronized (lock) {
+            if (inFrame) {
+                // Current frame writer owns the stream, let the next flush pick the output up.
+                return;
+            }
+
+            try {
+                inFrame = true;
+                if (writeOutput()) {
+                    dataStream().flush();
+                }
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            } finally {
+                inFrame = false;
+            }
+        }
+    }
+
+    /**
+     * Writes all the buffered output into the link, without flushing. Caller should hold the lock.
+     *
+     * @return true, if anything was written
+     */
+    private boolean writeOutput() throws IOException {
+        ObjectOutputStream os = dataStream();
+        boolean wrote = bufferOut.writeTo(os);
+        wrote |= bufferErr.writeTo(os);
+        return wrote;
+    }
+
+    /**
+     * @return stream to push one-way traffic (output, results, etc.) into
+     */
+    private ObjectOutputStream dataStream() {
+        return (shmOos != null) ? shmOos : oos;
+    }
+
+    /**
+     * Request/reply frames always go through the socket, since their replies arrive
+     * through the socket as well. Everything else goes with the data stream.
+     */
+    private ObjectOutputStream streamFor(Serializable frame) {
+        if (frame instanceof HandshakeInitFrame || frame instanceof InfraFrame) {
+            return oos;
+        }
+        return dataStream();
+    }
+
+    /**
+     * Switches the data stream to the shared memory ring. On failure, data stream
+     * stays on the socket.
+     */
+    private void openRing(String file) {
+        try {
+            ShmRing ring = ShmRing.open(new File(file));
+            ObjectOutputStream os = new ObjectOutputStream(new BufferedOutputStream(ring.outputStream(), BUFFER_SIZE));
+            LinkProtocol.writeHeader(os);
+            os.flush();
+            shmOos = os;
+        } catch (IOException e) {
+            // fall back to socket
+        }
+    }
+
     private Object readFrame() throws IOException, ClassNotFoundException {
         try {
+            int tag = ois.readUnsignedByte();
+            if (tag != LinkProtocol.TAG_OBJECT) {
+                throw new IOException("Unexpected frame tag: " + tag);
+            }
             return ois.readObject();
         } catch (ClassNotFoundException | IOException ex) {
             failed = true;
@@ -154,6 +253,8 @@ public final class BinaryLinkClient {
     }
 
     public void close() throws IOException {
+        flusher.shutdown();
+
         // BinaryLinkClient (BLC) should not acquire the BLC lock while dealing with
         // ForwardingPrintStream (FPS): if there is a pending operation in FPS,
         // and it writes something out, it will acquire the BLC lock after acquiring
@@ -162,7 +263,16 @@ public final class BinaryLinkClient {
         FileUtils.safelyClose(streamOut);
 
         synchronized (lock) {
-            oos.writeObject(new FinishingFrame());
+            if (!failed) {
+                writeOutput();
+            }
+            if (shmOos != null) {
+                // Data stream should be finished before the socket, so that host VM
+                // would not treat the forked VM as gone before it reads all the data.
+                shmOos.writeByte(LinkProtocol.TAG_FINISH);
+                FileUtils.safelyClose(shmOos);
+            }
+            oos.writeByte(LinkProtocol.TAG_FINISH);
             FileUtils.safelyClose(ois);
             FileUtils.safelyClose(oos);
             clientSocket.close();
@@ -171,11 +281,22 @@ public final class BinaryLinkClient {
 
     public Options handshake() throws IOException, ClassNotFoundException {
         synchronized (lock) {
+            int version = LinkProtocol.readHeader(ois);
+            if (version != LinkProtocol.VERSION) {
+                failed = true;
+                throw new IllegalStateException("Binary link protocol mismatch: host VM speaks version " + version +
+                        ", forked VM speaks version " + LinkProtocol.VERSION);
+            }
+
             pushFrame(new HandshakeInitFrame(Utils.getPid()));
 
             Object reply = readFrame();
             if (reply instanceof HandshakeResponseFrame) {
-                return (((HandshakeResponseFrame) reply).getOpts());
+                HandshakeResponseFrame hrf = (HandshakeResponseFrame) reply;
+                if (hrf.getShmFile() != null) {
+                    openRing(hrf.getShmFile());
+                }
+                return hrf.getOpts();
             } else {
                 throw new IllegalStateException("Got the erroneous reply: " + reply);
             }
@@ -219,22 +340,126 @@ public final class BinaryLinkClient {
         return outputFormat;
     }
 
+    /**
+     * Accumulates the forked VM output in memory. Threads that print something only append
+     * to the buffer, and do not block on link I/O. The buffer is pushed out by flusher thread,
+     * or before any other frame. Only the buffer overflowing the hard limit makes the printing
+     * thread to push the output itself.
+     */
+    private final class OutputBuffer {
+        private final OutputFrame.Type type;
+        private byte[] buf;
+        private int len;
+
+        OutputBuffer(OutputFrame.Type type) {
+            this.type = type;
+            this.buf = new byte[1024];
+        }
+
+        void append(byte[] b, int off, int l) throws IOException {
+            int newLen;
+            synchronized (this) {
+                if (len + l > buf.length) {
+                    buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + l));
+                }
+                System.arraycopy(b, off, buf, len, l);
+                len += l;
+                newLen = len;
+            }
+
+            if (newLen > OUTPUT_HARD_LIMIT) {
+                flushOutput();
+            } else if (newLen > OUTPUT_SOFT_LIMIT) {
+                flusher.wakeup();
+            }
+        }
+
+        boolean writeTo(ObjectOutputStream os) throws IOException {
+            byte[] data;
+            int l;
+            synchronized (this) {
+                if (len == 0) {
+                    return false;
+                }
+                data = buf;
+                l = len;
+                buf = new byte[Math.min(data.length, OUTPUT_SOFT_LIMIT)];
+                len = 0;
+            }
+            LinkProtocol.writeOutput(os, type, data, 0, l);
+            return true;
+        }
+    }
+
+    /**
+     * Periodically pushes the buffered output into the link.
+     */
+    private final class OutputFlusher extends Thread {
+        private boolean shutdown;
+        private boolean pending;
+
+        OutputFlusher() {
+            setName("jmh-link-flusher");
+            setDaemon(true);
+        }
+
+        synchronized void wakeup() {
+            pending = true;
+            notifyAll();
+        }
+
+        void shutdown() {
+            synchronized (this) {
+                shutdown = true;
+                notifyAll();
+            }
+            try {
+                join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    synchronized (this) {
+                        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MS);
+                        long left;
+                        while (!shutdown && !pending &&
+                                (left = deadline - System.nanoTime()) > 0) {
+                            TimeUnit.NANOSECONDS.timedWait(this, left);
+                        }
+                        if (shutdown) {
+                            return;
+                        }
+                        pending = false;
+                    }
+                    flushOutput();
+                }
+            } catch (InterruptedException | IOException e) {
+                // link had probably failed, nothing else to do
+            }
+        }
+    }
+
     class ForwardingPrintStream extends PrintStream {
-        public ForwardingPrintStream(final OutputFrame.Type type) {
+        public ForwardingPrintStream(final OutputBuffer buffer) {
             super(new OutputStream() {
                 @Override
                 public void write(int b) throws IOException {
-                    pushFrame(new OutputFrame(type, new byte[]{(byte) (b & 0xFF)}));
+                    buffer.append(new byte[]{(byte) (b & 0xFF)}, 0, 1);
                 }
 
                 @Override
                 public void write(byte[] b) throws IOException {
-                    pushFrame(new OutputFrame(type, Arrays.copyOf(b, b.length)));
+                    buffer.append(b, 0, b.length);
                 }
 
                 @Override
                 public void write(byte[] b, int off, int len) throws IOException {
-                    pushFrame(new OutputFrame(type, Arrays.copyOfRange(b, off, len + off)));
+                    buffer.append(b, off, len);
                 }
             });
         }
@@ -32,16 +32,19 @@ import org.openjdk.jmh.runner.Defaults;
 import org.openjdk.jmh.runner.format.OutputFormat;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.VerboseMode;
+import org.openjdk.jmh.util.FileUtils;
 import org.openjdk.jmh.util.Utils;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.InetAddress;
@@ -55,6 +58,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -65,9 +69,12 @@ import java.util.concurrent.atomic.AtomicReference;
 public final class BinaryLinkServer {
 
     private static final int BUFFER_SIZE = Integer.getInteger("jmh.link.bufferSize", 64*1024);
+    private static final int SHM_SIZE = Integer.getInteger("jmh.link.shmSize", 1024*1024);
 
     private final Options opts;
     private final OutputFormat out;
+    private final PrintStream stdOut;
+    private final PrintStream stdErr;
     private final Map<String, Method> methods;
     private final Set<String> forbidden;
     private final Acceptor acceptor;
@@ -76,11 +83,31 @@ public final class BinaryLinkServer {
     private final AtomicReference<BenchmarkResultMetaData> metadata;
     private final AtomicReference<BenchmarkException> exception;
     private final AtomicReference<ActionPlan> plan;
+    private final CountDownLatch planReady;
+    private final File shmFile;
+    private final ShmRing shmRing;
+    private final AtomicReference<RingReader> ringReader;
     private volatile long clientPid;
 
     public BinaryLinkServer(Options opts, OutputFormat out) throws IOException {
+        this(opts, out, null, null);
+    }
+
+    /**
+     * Creates the link server that forwards the forked VM stdout/stderr into
+     * the given streams, instead of the host VM System.out/System.err.
+     *
+     * @param opts options
+     * @param out output format to forward the output format calls to
+     * @param stdOut stream to forward the forked VM stdout to; null for System.out
+     * @param stdErr stream to forward the forked VM stderr to; null for System.err
+     * @throws IOException if link cannot be established
+     */
+    public BinaryLinkServer(Options opts, OutputFormat out, PrintStream stdOut, PrintStream stdErr) throws IOException {
         this.opts = opts;
         this.out = out;
+        this.stdOut = stdOut;
+        this.stdErr = stdErr;
         this.methods = new HashMap<>();
         this.forbidden = new HashSet<>();
 
@@ -106,6 +133,32 @@ public final class BinaryLinkServer {
         results = new AtomicReference<>(new ArrayList<>());
         exception = new AtomicReference<>();
         plan = new AtomicReference<>();
+        planReady = new CountDownLatch(1);
+        ringReader = new AtomicReference<>();
+
+        File file = null;
+        ShmRing ring = null;
+        if (opts.shouldUseSharedMemoryLink().orElse(Defaults.SHARED_MEMORY_LINK)) {
+            try {
+                // Allows to put the ring on tmpfs, e.g. /dev/shm
+                String shmDir = System.getProperty("jmh.link.shmDir");
+                if (shmDir != null) {
+                    file = File.createTempFile("jmh", "link", new File(shmDir));
+                    file.deleteOnExit();
+                } else {
+                    file = FileUtils.tempFile("link");
+                }
+                ring = ShmRing.create(file, SHM_SIZE);
+            } catch (IOException e) {
+                out.println("<shared memory link is not available, falling back to socket: " + e.getMessage() + ">");
+                if (file != null) {
+                    file.delete();
+                    file = null;
+                }
+            }
+        }
+        shmFile = file;
+        shmRing = ring;
     }
 
     public void terminate() {
@@ -119,11 +172,19 @@ public final class BinaryLinkServer {
         try {
             acceptor.join();
             if (h != null) {
+                // handler might be still waiting for the plan
+                h.interrupt();
                 h.join();
             }
+            joinRingReader();
         } catch (InterruptedException e) {
             // ignore
         }
+
+        if (shmRing != null) {
+            shmRing.closeReader();
+            shmFile.delete();
+        }
     }
 
     public void waitFinish() {
@@ -131,12 +192,22 @@ public final class BinaryLinkServer {
         if (h != null) {
             try {
                 h.join();
+                joinRingReader();
             } catch (InterruptedException e) {
                 // ignore
             }
         }
     }
 
+    private void joinRingReader() throws InterruptedException {
+        // Ring reader drains the ring until the forked VM is gone, which
+        // is guaranteed after the handler is done.
+        RingReader r = ringReader.getAndSet(null);
+        if (r != null) {
+            r.join();
+        }
+    }
+
     public BenchmarkException getException() {
         return exception.getAndSet(null);
     }
@@ -154,8 +225,15 @@ public final class BinaryLinkServer {
         return metadata.getAndSet(null);
     }
 
+    /**
+     * Sets the plan for the forked VM. Forked VM that requests the plan before it is
+     * set would wait until the plan is available.
+     *
+     * @param actionPlan plan to execute
+     */
     public void setPlan(ActionPlan actionPlan) {
         this.plan.set(actionPlan);
+        planReady.countDown();
     }
 
     private InetAddress getListenAddress() {
@@ -210,6 +288,7 @@ public final class BinaryLinkServer {
         private final InetAddress listenAddress;
 
         public Acceptor() throws IOException {
+            setName("jmh-link-acceptor");
             listenAddress = getListenAddress();
             server = new ServerSocket(getListenPort(), 50, listenAddress);
         }
@@ -263,63 +342,97 @@ public final class BinaryLinkServer {
     private final class Handler extends Thread {
         private final InputStream is;
         private final Socket socket;
-        private ObjectInputStream ois;
         private final OutputStream os;
-        private ObjectOutputStream oos;
+        private final ObjectOutputStream oos;
+        private volatile boolean done;
 
         public Handler(Socket socket) throws IOException {
+            setName("jmh-link-handler");
             this.socket = socket;
             this.is = socket.getInputStream();
             this.os = socket.getOutputStream();
 
             // eager OOS initialization, let the other party read the stream header
             oos = new ObjectOutputStream(new BufferedOutputStream(os, BUFFER_SIZE));
+            LinkProtocol.writeHeader(oos);
             oos.flush();
         }
 
         @Override
         public void run() {
+            try {
+                readFrames(is);
+            } finally {
+                done = true;
+                close();
+            }
+        }
+
+        /**
+         * Reads and handles the frames from the given stream, until finishing frame,
+         * or the end of the stream.
+         *
+         * @param is stream to read from
+         */
+        void readFrames(InputStream is) {
             try {
                 // late OIS initialization, otherwise we'll block reading the header
-                ois = new ObjectInputStream(new BufferedInputStream(is, BUFFER_SIZE));
+                ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(is, BUFFER_SIZE));
 
-                Object obj;
-                while ((obj = ois.readObject()) != null) {
-                    if (obj instanceof OutputFormatFrame) {
-                        handleOutputFormat((OutputFormatFrame) obj);
-                    }
-                    if (obj instanceof InfraFrame) {
-                        handleInfra((InfraFrame) obj);
-                    }
-                    if (obj instanceof HandshakeInitFrame) {
-                        handleHandshake((HandshakeInitFrame) obj);
-                    }
-                    if (obj instanceof ResultsFrame) {
-                        handleResults((ResultsFrame) obj);
-                    }
-                    if (obj instanceof ExceptionFrame) {
-                        handleException((ExceptionFrame) obj);
-                    }
-                    if (obj instanceof OutputFrame) {
-                        handleOutput((OutputFrame) obj);
-                    }
-                    if (obj instanceof ResultMetadataFrame) {
-                        handleResultMetadata((ResultMetadataFrame) obj);
-                    }
-                    if (obj instanceof FinishingFrame) {
-                        // close the streams
-                        break;
+                int version = LinkProtocol.readHeader(ois);
+                if (version != LinkProtocol.VERSION) {
+                    out.println("<binary link protocol mismatch: host VM speaks version " + LinkProtocol.VERSION +
+                            ", forked VM speaks version " + version + ", are both running the same JMH version?>");
+                    return;
+                }
+
+                loop:
+                while (true) {
+                    int tag = ois.readUnsignedByte();
+                    switch (tag) {
+                        case LinkProtocol.TAG_OUTPUT:
+                            handleOutput(LinkProtocol.readOutput(ois));
+                            break;
+                        case LinkProtocol.TAG_OBJECT:
+                            handleObject(ois.readObject());
+                            break;
+                        case LinkProtocol.TAG_FINISH:
+                            // close the streams
+                            break loop;
+                        default:
+                            throw new IllegalStateException("Unknown frame tag: " + tag);
                     }
                 }
             } catch (EOFException e) {
                 // ignore
+            } catch (InterruptedException e) {
+                // link is terminated before the plan was handed out, ignore
             } catch (Exception e) {
                 out.println("<binary link had failed, forked VM corrupted the stream? Use " + VerboseMode.EXTRA + " verbose to print exception>");
                 if (opts.verbosity().orElse(Defaults.VERBOSITY).equalsOrHigherThan(VerboseMode.EXTRA)) {
                     out.println(Utils.throwableToString(e));
                 }
-            } finally {
-                close();
+            }
+        }
+
+        private void handleObject(Object obj) throws Exception {
+            if (obj instanceof OutputFormatFrame) {
+                handleOutputFormat((OutputFormatFrame) obj);
+            }
+            if (obj instanceof InfraFrame) {
+                handleInfra((InfraFrame) obj);
+            }
+            if (obj instanceof HandshakeInitFrame) {
+                handleHandshake((HandshakeInitFrame) obj);
+            }
+            if (obj instanceof ResultsFrame) {
+                handleResults((ResultsFrame) obj);
+            }
+            if (obj instanceof ExceptionFrame) {
+                handleException((ExceptionFrame) obj);
+            }
+            if (obj instanceof ResultMetadataFrame) {
+                handleResultMetadata((ResultMetadataFrame) obj);
             }
         }
 
@@ -331,10 +444,10 @@ public final class BinaryLinkServer {
             try {
                 switch (obj.getType()) {
                     case OUT:
-                        System.out.write(obj.getData());
+                        ((stdOut != null) ? stdOut : System.out).write(obj.getData());
                         break;
                     case ERR:
-                        System.err.write(obj.getData());
+                        ((stdErr != null) ? stdErr : System.err).write(obj.getData());
                         break;
                 }
             } catch (IOException e) {
@@ -350,15 +463,32 @@ public final class BinaryLinkServer {
             results.get().add(obj.getRes());
         }
 
-        private void handleHandshake(HandshakeInitFrame obj) throws IOException {
+        private void handleHandshake(HandshakeInitFrame obj) throws IOException, InterruptedException {
             clientPid = obj.getPid();
-            oos.writeObject(new HandshakeResponseFrame(opts));
+
+            String shmPath = null;
+            if (shmRing != null) {
+                // Previous forked VM might still have the reader draining the ring,
+                // wait for it to finish before reusing the ring.
+                joinRingReader();
+                shmRing.reset();
+
+                RingReader r = new RingReader(this);
+                ringReader.set(r);
+                r.start();
+                shmPath = shmFile.getAbsolutePath();
+            }
+
+            oos.writeByte(LinkProtocol.TAG_OBJECT);
+            oos.writeObject(new HandshakeResponseFrame(opts, shmPath));
             oos.flush();
         }
 
-        private void handleInfra(InfraFrame req) throws IOException {
+        private void handleInfra(InfraFrame req) throws IOException, InterruptedException {
             switch (req.getType()) {
                 case ACTION_PLAN_REQUEST:
+                    planReady.await();
+                    oos.writeByte(LinkProtocol.TAG_OBJECT);
                     oos.writeObject(new ActionPlanFrame(plan.get()));
                     oos.flush();
                     break;
@@ -393,4 +523,27 @@ public final class BinaryLinkServer {
 
     }
 
+    /**
+     * Reads the frames the forked VM pushes through the shared memory ring.
+     * Frames are handled by the same handler that serves the socket link.
+     */
+    private final class RingReader extends Thread {
+        private final Handler handler;
+
+        RingReader(Handler handler) {
+            this.handler = handler;
+            setName("jmh-link-ring-reader");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                handler.readFrames(shmRing.inputStream(() -> handler.done));
+            } finally {
+                shmRing.closeReader();
+            }
+        }
+    }
+
 }
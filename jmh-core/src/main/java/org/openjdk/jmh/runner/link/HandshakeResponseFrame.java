@@ -32,12 +32,18 @@ class HandshakeResponseFrame implements Serializable {
     private static final long serialVersionUID = 2082214387637725282L;
 
     private final Options opts;
+    private final String shmFile;
 
-    public HandshakeResponseFrame(Options opts) {
+    public HandshakeResponseFrame(Options opts, String shmFile) {
         this.opts = opts;
+        this.shmFile = shmFile;
     }
 
     public Options getOpts() {
         return opts;
     }
+
+    public String getShmFile() {
+        return shmFile;
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner.link;
+
+import org.openjdk.jmh.util.Utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary link wire protocol.
+ *
+ * <p>Both parties start with the stream header: magic and protocol version. After that,
+ * the stream is the sequence of tagged frames. Output frames are encoded by hand as
+ * (stream type, varint length, bytes), and bypass Java serialization completely. All
+ * other frames carry serialized objects, which share the handle table on the same stream.
+ * Finishing frame has no payload.</p>
+ */
+final class LinkProtocol {
+
+    private static final int MAGIC = 0x4A4D484C; // "JMHL"
+
+    /**
+     * Protocol version. Bump this on any incompatible change in frame encoding.
+     */
+    static final int VERSION = 1;
+
+    static final int TAG_OBJECT = 1;
+    static final int TAG_OUTPUT = 2;
+    static final int TAG_FINISH = 3;
+
+    private LinkProtocol() {
+        // prevent instantiation
+    }
+
+    static void writeHeader(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        Utils.writeVarLong(out, VERSION);
+    }
+
+    /**
+     * Reads the stream header.
+     *
+     * @param in input to read from
+     * @return protocol version of the other party; -1 if magic does not match
+     * @throws IOException if input fails
+     */
+    static int readHeader(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            return -1;
+        }
+        return (int) Utils.readVarLong(in);
+    }
+
+    static void writeOutput(DataOutput out, OutputFrame.Type type, byte[] buf, int off, int len) throws IOException {
+        out.writeByte(TAG_OUTPUT);
+        out.writeByte(type.ordinal());
+        Utils.writeVarLong(out, len);
+        out.write(buf, off, len);
+    }
+
+    /**
+     * Reads the output frame, assuming the tag is already read.
+     *
+     * @param in input to read from
+     * @return output frame
+     * @throws IOException if input fails, or frame is malformed
+     */
+    static OutputFrame readOutput(DataInput in) throws IOException {
+        int type = in.readUnsignedByte();
+        OutputFrame.Type[] types = OutputFrame.Type.values();
+        if (type >= types.length) {
+            throw new IOException("Unknown output type: " + type);
+        }
+        int len = (int) Utils.readVarLong(in);
+        byte[] data = new byte[len];
+        in.readFully(data);
+        return new OutputFrame(types[type], data);
+    }
+
+}
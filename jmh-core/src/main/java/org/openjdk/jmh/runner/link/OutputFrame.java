@@ -24,10 +24,10 @@
  */
 package org.openjdk.jmh.runner.link;
 
-import java.io.Serializable;
-
-class OutputFrame implements Serializable {
-    private static final long serialVersionUID = 8570795333046092668L;
+/**
+ * Decoded output frame. These frames are encoded on the wire by {@link LinkProtocol}.
+ */
+class OutputFrame {
 
     private final Type type;
     private final byte[] data;
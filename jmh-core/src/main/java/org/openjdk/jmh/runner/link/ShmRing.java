@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner.link;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Single-producer single-consumer byte ring over the memory-mapped file.
+ *
+ * <p>Host VM creates the file and reads from it, forked VM maps the same file and writes
+ * into it. Producer and consumer only publish their positions in the file header, so
+ * neither side ever enters the kernel while the ring is not full or empty. Waiting sides
+ * poll with exponential backoff.</p>
+ *
+ * <p>Java 8 has no ordered accessors for the byte buffers, and the other party is not even
+ * in the same VM, so volatile fields would not help. Positions are published with the
+ * release store (store fence, then plain store), so that the data stores cannot be observed
+ * after the new position; and positions are read with the acquire load (plain load, then
+ * load fence), so that the data accesses cannot happen before the position is read.
+ * Positions are 8-byte aligned, so that plain accesses to them are not torn.
+ * Fences are looked up reflectively: {@code VarHandle} fences on JDK 9+, {@code Unsafe}
+ * fences on JDK 8, so the code does not link against the internal APIs. If the fences
+ * are not available, the ring cannot be used.</p>
+ */
+final class ShmRing {
+
+    private static final int MAGIC = 0x4A4D4852; // "JMHR"
+
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_CAPACITY = 4;
+
+    // Positions and flags live on separate cache lines to avoid false sharing.
+    private static final int OFF_WRITE_POS = 64;
+    private static final int OFF_WRITE_CLOSED = 72;
+    private static final int OFF_READ_POS = 128;
+    private static final int OFF_READ_CLOSED = 136;
+    private static final int HEADER_SIZE = 192;
+
+    private static final long MIN_BACKOFF_NS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_BACKOFF_NS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final MappedByteBuffer buf;
+    private final ByteBuffer data;
+    private final int capacity;
+
+    // Fences as ()void method handles; null, if not available
+    private static final MethodHandle LOAD_FENCE = findFence("acquireFence", "loadFence");
+    private static final MethodHandle STORE_FENCE = findFence("releaseFence", "storeFence");
+
+    private static MethodHandle findFence(String varHandleName, String unsafeName) {
+        MethodType type = MethodType.methodType(void.class);
+        try {
+            return MethodHandles.publicLookup().findStatic(Class.forName("java.lang.invoke.VarHandle"), varHandleName, type);
+        } catch (Throwable e) {
+            // fall through to Unsafe
+        }
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field f = unsafeClass.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            return MethodHandles.publicLookup().findVirtual(unsafeClass, unsafeName, type).bindTo(f.get(null));
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private ShmRing(MappedByteBuffer buf) throws IOException {
+        if (LOAD_FENCE == null || STORE_FENCE == null) {
+            throw new IOException("Memory fences are not available");
+        }
+        this.buf = buf;
+        buf.order(ByteOrder.nativeOrder());
+        if (buf.getInt(OFF_MAGIC) != MAGIC) {
+            throw new IOException("Not a shared memory link file");
+        }
+        this.capacity = buf.getInt(OFF_CAPACITY);
+        if (capacity <= 0 || HEADER_SIZE + capacity > buf.capacity()) {
+            throw new IOException("Corrupted shared memory link file, capacity = " + capacity);
+        }
+        ((Buffer) buf).position(HEADER_SIZE);
+        this.data = buf.slice();
+        ((Buffer) buf).position(0);
+    }
+
+    /**
+     * Creates the ring in the given file, and maps it.
+     *
+     * @param file file to use
+     * @param capacity ring capacity, in bytes
+     * @return ring
+     * @throws IOException if file cannot be created or mapped
+     */
+    static ShmRing create(File file, int capacity) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel ch = raf.getChannel()) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity);
+            buf.order(ByteOrder.nativeOrder());
+            buf.putInt(OFF_CAPACITY, capacity);
+            buf.putInt(OFF_MAGIC, MAGIC);
+            return new ShmRing(buf);
+        }
+    }
+
+    /**
+     * Maps the ring that was already created by another party.
+     *
+     * @param file file to use
+     * @return ring
+     * @throws IOException if file cannot be mapped, or it is not the ring
+     */
+    static ShmRing open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel ch = raf.getChannel()) {
+            return new ShmRing(ch.map(FileChannel.MapMode.READ_WRITE, 0, ch.size()));
+        }
+    }
+
+    private long acquire(int off) {
+        long v = buf.getLong(off);
+        fence(LOAD_FENCE); // subsequent loads and stores stay below this
+        return v;
+    }
+
+    private void release(int off, long v) {
+        fence(STORE_FENCE); // preceding loads and stores stay above this
+        buf.putLong(off, v);
+    }
+
+    private static void fence(MethodHandle fence) {
+        try {
+            fence.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long backoff(long ns) {
+        LockSupport.parkNanos(ns);
+        return Math.min(ns * 2, MAX_BACKOFF_NS);
+    }
+
+    /**
+     * Resets the ring to the initial empty state, discarding anything left over
+     * from the previous session. Should be called before either party opens
+     * its stream.
+     */
+    void reset() {
+        release(OFF_WRITE_POS, 0);
+        release(OFF_READ_POS, 0);
+        release(OFF_WRITE_CLOSED, 0);
+        release(OFF_READ_CLOSED, 0);
+    }
+
+    /**
+     * Tells the producer the consumer is gone, and no more data would be read.
+     */
+    void closeReader() {
+        release(OFF_READ_CLOSED, 1);
+    }
+
+    /**
+     * @return output stream writing into the ring; only one producer is allowed
+     */
+    OutputStream outputStream() {
+        return new RingOutputStream();
+    }
+
+    /**
+     * @param producerGone reports if producer is gone without closing the ring properly
+     * @return input stream reading from the ring; only one consumer is allowed
+     */
+    InputStream inputStream(BooleanSupplier producerGone) {
+        return new RingInputStream(producerGone);
+    }
+
+    private final class RingOutputStream extends OutputStream {
+        private final ByteBuffer dst = data.duplicate();
+        private long writePos = acquire(OFF_WRITE_POS);
+        private boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Ring is closed");
+            }
+            long ns = MIN_BACKOFF_NS;
+            while (len > 0) {
+                long free = capacity - (writePos - acquire(OFF_READ_POS));
+                if (free == 0) {
+                    if (acquire(OFF_READ_CLOSED) != 0) {
+                        throw new IOException("Ring reader is gone");
+                    }
+                    ns = backoff(ns);
+                    continue;
+                }
+                ns = MIN_BACKOFF_NS;
+
+                int idx = (int) (writePos % capacity);
+                int n = (int) Math.min(Math.min(free, len), capacity - idx);
+                ((Buffer) dst).position(idx);
+                dst.put(b, off, n);
+                off += n;
+                len -= n;
+                writePos += n;
+                release(OFF_WRITE_POS, writePos);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(OFF_WRITE_CLOSED, 1);
+            }
+        }
+    }
+
+    private final class RingInputStream extends InputStream {
+        private final ByteBuffer src = data.duplicate();
+        private final BooleanSupplier producerGone;
+        private long readPos = acquire(OFF_READ_POS);
+
+        RingInputStream(BooleanSupplier producerGone) {
+            this.producerGone = producerGone;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return (read(b, 0, 1) == 1) ? (b[0] & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            long ns = MIN_BACKOFF_NS;
+            while (true) {
+                long avail = acquire(OFF_WRITE_POS) - readPos;
+                if (avail > 0) {
+                    int idx = (int) (readPos % capacity);
+                    int n = (int) Math.min(Math.min(avail, len), capacity - idx);
+                    ((Buffer) src).position(idx);
+                    src.get(b, off, n);
+                    readPos += n;
+                    release(OFF_READ_POS, readPos);
+                    return n;
+                }
+
+                // Nothing to read. Check if producer is gone, and re-check the ring
+                // once more: producer might have written something before leaving.
+                if (acquire(OFF_WRITE_CLOSED) != 0 || producerGone.getAsBoolean()) {
+                    if (acquire(OFF_WRITE_POS) == readPos) {
+                        return -1;
+                    }
+                    continue;
+                }
+                ns = backoff(ns);
+            }
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, acquire(OFF_WRITE_POS) - readPos);
+        }
+    }
+
+}
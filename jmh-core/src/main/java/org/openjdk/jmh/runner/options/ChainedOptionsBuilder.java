@@ -89,6 +89,29 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder result(String filename);
 
+    /**
+     * Should drop the per-fork and per-iteration results from memory once
+     * they are written to the result file? Run results would then carry only
+     * the aggregated results. Only the result formats that are written
+     * incrementally support this.
+     *
+     * @param value whether to compact results
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#COMPACT_RESULTS
+     */
+    ChainedOptionsBuilder compactResults(boolean value);
+
+    /**
+     * Journal file to resume the run from. Every completed benchmark is recorded
+     * in the journal. When the run is restarted with the same journal, benchmarks
+     * already recorded there are skipped, and their results are merged with the
+     * results of this run.
+     *
+     * @param filename journal file name
+     * @return builder
+     */
+    ChainedOptionsBuilder resume(String filename);
+
     /**
      * Should do GC between measurementIterations?
      * @param value flag
@@ -188,6 +211,38 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder warmupBatchSize(int value);
 
+    /**
+     * Run warmup iterations until the scores stop trending: the slope of the scores
+     * over the last few warmup iterations, relative to the scores themselves, falls
+     * below a given threshold. Warmup iteration count then sets the minimum number
+     * of iterations to run.
+     *
+     * @param value relative score slope per iteration, e.g. 0.01 for 1%
+     * @return builder
+     */
+    ChainedOptionsBuilder warmupSteadySlope(double value);
+
+    /**
+     * Maximum number of warmup iterations to run, when warming up until the steady state.
+     *
+     * @param value maximum number of iterations
+     * @return builder
+     * @see #warmupSteadySlope(double)
+     * @see org.openjdk.jmh.runner.Defaults#WARMUP_MAX_ITERATIONS
+     */
+    ChainedOptionsBuilder warmupMaxIterations(int value);
+
+    /**
+     * Should steady state warmup continue while JIT compilers are busy? When set,
+     * warmup does not end after the iteration that spent noticeable time compiling.
+     *
+     * @param value whether to wait for compilation
+     * @return builder
+     * @see #warmupSteadySlope(double)
+     * @see org.openjdk.jmh.runner.Defaults#WARMUP_WAIT_COMPILATION
+     */
+    ChainedOptionsBuilder warmupWaitCompilation(boolean value);
+
     /**
      * How long each warmup iteration should take?
      * @param value time
@@ -231,6 +286,37 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder measurementBatchSize(int value);
 
+    /**
+     * Run measurement iterations until the score error at 99.9% confidence, relative
+     * to the score itself, falls below a given target. Measurement iteration count
+     * then sets the minimum number of iterations to run.
+     *
+     * @param value target relative error, e.g. 0.01 for 1%
+     * @return builder
+     */
+    ChainedOptionsBuilder measurementTargetError(double value);
+
+    /**
+     * Maximum number of measurement iterations to run, when running until
+     * the target error is reached.
+     *
+     * @param value maximum number of iterations
+     * @return builder
+     * @see #measurementTargetError(double)
+     * @see org.openjdk.jmh.runner.Defaults#MEASUREMENT_MAX_ITERATIONS
+     */
+    ChainedOptionsBuilder measurementMaxIterations(int value);
+
+    /**
+     * Maximum time to spend in measurement iterations, when running until
+     * the target error is reached.
+     *
+     * @param value maximum measurement time
+     * @return builder
+     * @see #measurementTargetError(double)
+     */
+    ChainedOptionsBuilder measurementMaxTime(TimeValue value);
+
     /**
      * How long each measurement iteration should take?
      * @param value time
@@ -269,6 +355,46 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder operationsPerInvocation(int value);
 
+    /**
+     * Target arrival rate for {@link org.openjdk.jmh.annotations.Mode#FixedRate} mode,
+     * in operations per second, across all benchmark threads.
+     * @param value target rate, ops/s
+     * @return builder
+     * @see org.openjdk.jmh.annotations.TargetRate
+     * @see org.openjdk.jmh.runner.Defaults#TARGET_RATE
+     */
+    ChainedOptionsBuilder targetRate(double value);
+
+    /**
+     * Sample the invocation latency in {@link org.openjdk.jmh.annotations.Mode#Throughput} and
+     * {@link org.openjdk.jmh.annotations.Mode#AverageTime} modes, and report its distribution
+     * as the secondary result.
+     * @param value flag
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#SAMPLE_LATENCY
+     */
+    ChainedOptionsBuilder sampleLatency(boolean value);
+
+    /**
+     * Report the results of each benchmark thread, and their spread across
+     * the threads, as the secondary results. Per-thread results are only written
+     * out in the machine-readable result formats, e.g. JSON.
+     * @param value flag
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#THREAD_BREAKDOWN
+     */
+    ChainedOptionsBuilder threadBreakdown(boolean value);
+
+    /**
+     * Record the score timeline within each measurement iteration, with the given
+     * sub-interval. The timeline is recorded in
+     * {@link org.openjdk.jmh.annotations.Mode#Throughput} and
+     * {@link org.openjdk.jmh.annotations.Mode#AverageTime} modes only.
+     * @param value sub-interval duration
+     * @return builder
+     */
+    ChainedOptionsBuilder timelineInterval(TimeValue value);
+
     /**
      * Number of forks to use in the run
      * @param value number of forks
@@ -287,6 +413,64 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder warmupForks(int value);
 
+    /**
+     * Number of forks to run concurrently.
+     * Concurrent forks are pinned to the disjoint CPU sets, when possible.
+     *
+     * @param value number of concurrent forks
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#FORK_PARALLELISM
+     */
+    ChainedOptionsBuilder forkParallelism(int value);
+
+    /**
+     * Should spawn the next forked VM while the current fork is running?
+     * Spare VM starts up and connects back, but only gets the benchmark to run
+     * after the current fork is finished.
+     *
+     * @param value whether to pool forks
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#POOL_FORKS
+     */
+    ChainedOptionsBuilder poolForks(boolean value);
+
+    /**
+     * Should pass the forked VM output and results through the memory-mapped
+     * ring buffer, instead of the loopback socket? Socket is still used for the
+     * handshake, and as the fallback if shared memory is not available.
+     * The ring file is created in the temporary directory, unless "jmh.link.shmDir"
+     * system property points to another directory, e.g. tmpfs at /dev/shm.
+     *
+     * @param value whether to use shared memory link
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#SHARED_MEMORY_LINK
+     */
+    ChainedOptionsBuilder sharedMemoryLink(boolean value);
+
+    /**
+     * Run as the coordinator of the distributed run: accept the agents on a given
+     * port, and hand out the forked benchmarks to them. Each benchmark runs all its
+     * forks on a single agent, and agents send the results back to the coordinator.
+     * Coordinator listens on the loopback address, unless "jmh.agent.bindAddress"
+     * system property says otherwise, and only talks to the agents that present
+     * the "jmh.agent.token" system property value.
+     *
+     * @param port port to accept the agents on; 0 to pick any free port
+     * @return builder
+     */
+    ChainedOptionsBuilder coordinatorPort(int port);
+
+    /**
+     * Run as the agent of the distributed run: connect to the coordinator,
+     * run the benchmarks it hands out, and send the results back. Agent runs
+     * with the options coordinator had provided, and exits when coordinator
+     * has no more benchmarks to run.
+     *
+     * @param address coordinator address, in host:port form
+     * @return builder
+     */
+    ChainedOptionsBuilder agentCoordinator(String address);
+
     /**
      * Forked JVM to use.
      *
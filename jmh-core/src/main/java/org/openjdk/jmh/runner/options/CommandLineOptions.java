@@ -48,9 +48,15 @@ public class CommandLineOptions implements Options {
     private final Optional<TimeValue> timeout;
     private final Optional<TimeValue> runTime;
     private final Optional<Integer> batchSize;
+    private final Optional<Double> targetError;
+    private final Optional<Integer> maxIterations;
+    private final Optional<TimeValue> maxRunTime;
     private final Optional<Integer> warmupIterations;
     private final Optional<TimeValue> warmupTime;
     private final Optional<Integer> warmupBatchSize;
+    private final Optional<Double> warmupSteadySlope;
+    private final Optional<Integer> warmupMaxIterations;
+    private final Optional<Boolean> warmupWaitCompilation;
     private final List<Mode> benchMode = new ArrayList<>();
     private final Optional<Integer> threads;
     private final List<Integer> threadGroups = new ArrayList<>();
@@ -61,11 +67,22 @@ public class CommandLineOptions implements Options {
     private final List<ProfilerConfig> profilers = new ArrayList<>();
     private final Optional<TimeUnit> timeUnit;
     private final Optional<Integer> opsPerInvocation;
+    private final Optional<Double> targetRate;
+    private final Optional<Boolean> sampleLatency;
+    private final Optional<Boolean> threadBreakdown;
+    private final Optional<TimeValue> timelineInterval;
     private final List<String> regexps = new ArrayList<>();
     private final Optional<Integer> fork;
     private final Optional<Integer> warmupFork;
+    private final Optional<Integer> forkParallelism;
+    private final Optional<Boolean> poolForks;
+    private final Optional<Boolean> sharedMemoryLink;
+    private final Optional<Integer> coordinatorPort;
+    private final Optional<String> agentCoordinator;
     private final Optional<String> output;
     private final Optional<String> result;
+    private final Optional<Boolean> compactResults;
+    private final Optional<String> resume;
     private final Optional<ResultFormatType> resultFormat;
     private final Optional<String> jvm;
     private final Optional<Collection<String>> jvmArgs;
@@ -103,6 +120,23 @@ public class CommandLineOptions implements Options {
                 "(default: " + Defaults.MEASUREMENT_BATCHSIZE + ")")
                 .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
 
+        OptionSpec<Double> optMeasureTargetError = parser.accepts("ierr", "Target relative error of the " +
+                "measurement. When set, JMH runs measurement iterations until the score error at 99.9% confidence, " +
+                "relative to the score itself, falls below this target, e.g. 0.01 for 1%. Measurement iteration " +
+                "count then sets the minimum number of iterations to run. " +
+                "(default: none, run the fixed number of iterations)")
+                .withRequiredArg().ofType(Double.class).describedAs("double");
+
+        OptionSpec<Integer> optMeasureMaxCount = parser.accepts("imax", "Maximum number of measurement " +
+                "iterations to run, when running until the target error is reached. " +
+                "(default: " + Defaults.MEASUREMENT_MAX_ITERATIONS + ")")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
+
+        OptionSpec<TimeValue> optMeasureMaxTime = parser.accepts("imaxtime", "Maximum time to spend in " +
+                "measurement iterations, when running until the target error is reached. " +
+                "(default: none)")
+                .withRequiredArg().ofType(TimeValue.class).describedAs("time");
+
         OptionSpec<TimeValue> optMeasureTime = parser.accepts("r", "Minimum time to spend at each measurement " +
                 "iteration. Benchmarks may generally run longer than iteration duration. " +
                 "(default: " + Defaults.MEASUREMENT_TIME + ")")
@@ -119,6 +153,24 @@ public class CommandLineOptions implements Options {
                 "(default: " + Defaults.WARMUP_BATCHSIZE + ")")
                 .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
 
+        OptionSpec<Double> optWarmupSteadySlope = parser.accepts("wslope", "Warmup until the steady state. When set, " +
+                "JMH runs warmup iterations until the scores stop trending: the slope of the scores over the last few " +
+                "warmup iterations, relative to the scores themselves, falls below this threshold, e.g. 0.01 for 1% " +
+                "per iteration. Warmup iteration count then sets the minimum number of iterations to run. " +
+                "(default: none, run the fixed number of iterations)")
+                .withRequiredArg().ofType(Double.class).describedAs("double");
+
+        OptionSpec<Integer> optWarmupMaxCount = parser.accepts("wmax", "Maximum number of warmup iterations to run, " +
+                "when warming up until the steady state. " +
+                "(default: " + Defaults.WARMUP_MAX_ITERATIONS + ")")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
+
+        OptionSpec<Boolean> optWarmupWaitCompilation = parser.accepts("wjit", "Should steady state warmup continue " +
+                "while JIT compilers are busy? When set, warmup does not end after the iteration that spent noticeable " +
+                "time compiling, even if the scores are not trending anymore. " +
+                "(default: " + Defaults.WARMUP_WAIT_COMPILATION + ")")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool");
+
         OptionSpec<TimeValue> optWarmupTime = parser.accepts("w", "Minimum time to spend at each warmup iteration. " +
                 "Benchmarks may generally run longer than iteration duration. " +
                 "(default: " + Defaults.WARMUP_TIME + ")")
@@ -177,6 +229,42 @@ public class CommandLineOptions implements Options {
                 "(default: " + Defaults.WARMUP_FORKS + ")")
                 .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.NON_NEGATIVE).describedAs("int");
 
+        OptionSpec<Integer> optForkParallelism = parser.accepts("fp", "How many forks of a single benchmark to run " +
+                "concurrently. Concurrent forks are pinned to the disjoint sets of available CPUs when the OS allows it, " +
+                "and their results are merged in fork order. Warning: concurrent forks compete for shared resources like " +
+                "caches and memory bandwidth, use with care. " +
+                "(default: " + Defaults.FORK_PARALLELISM + ")")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
+
+        OptionSpec<Boolean> optPoolForks = parser.accepts("fpool", "Should JMH spawn the next forked VM while the " +
+                "current fork is still running? Spare VM starts up and completes the handshake, but receives the " +
+                "benchmark to run only after the current fork completes. This saves the VM startup time for short " +
+                "forks, at the expense of some background activity during the current fork. " +
+                "(default: " + Defaults.POOL_FORKS + ")")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool");
+
+        OptionSpec<Boolean> optSharedMemoryLink = parser.accepts("shm", "Should JMH pass the forked VM output and " +
+                "results through the memory-mapped ring buffer, instead of the loopback socket? This avoids the " +
+                "network stack work while the benchmark is running. The socket is still used for the handshake, " +
+                "and as the fallback when shared memory is not available. The ring file is created in the " +
+                "temporary directory, unless \"jmh.link.shmDir\" system property points elsewhere, e.g. to " +
+                "/dev/shm. " +
+                "(default: " + Defaults.SHARED_MEMORY_LINK + ")")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool");
+
+        OptionSpec<Integer> optCoordinatorPort = parser.accepts("coordinator", "Run as the coordinator of the " +
+                "distributed run: accept the agents on a given port, and hand out the forked benchmarks to them. " +
+                "Every benchmark runs all its forks on a single agent, agents run different benchmarks at the same " +
+                "time, and the results are merged here. Use 0 to pick any free port. Coordinator listens on the " +
+                "loopback address, unless jmh.agent.bindAddress property says otherwise. Agents have to present " +
+                "the jmh.agent.token property value; coordinator prints the random token if that property is not set.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.NON_NEGATIVE).describedAs("port");
+
+        OptionSpec<String> optAgentCoordinator = parser.accepts("agent", "Run as the agent of the distributed run: " +
+                "connect to the coordinator at a given address, run the benchmarks it hands out with the options it " +
+                "provides, and send the results back. Agent exits when coordinator has no more benchmarks to run.")
+                .withRequiredArg().ofType(String.class).describedAs("host:port");
+
         OptionSpec<String> optOutput = parser.accepts("o", "Redirect human-readable output to a given file.")
                 .withRequiredArg().ofType(String.class).describedAs("filename");
 
@@ -186,6 +274,20 @@ public class CommandLineOptions implements Options {
                 "(default: " + Defaults.RESULT_FILE_PREFIX + ".<result-format>)")
                 .withRequiredArg().ofType(String.class).describedAs("filename");
 
+        OptionSpec<Boolean> optCompactResults = parser.accepts("rfcompact", "Should JMH drop the per-fork and " +
+                "per-iteration results from memory once they are written to the result file? This saves memory on " +
+                "long runs. Returned run results then carry only the aggregated scores. Only effective for the " +
+                "result formats written incrementally: CSV, SCSV, JSON. " +
+                "(default: " + Defaults.COMPACT_RESULTS + ")")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool");
+
+        OptionSpec<String> optResume = parser.accepts("resume", "Record every completed benchmark in a given " +
+                "journal file, and resume the run from it. If the journal already has some benchmarks completed, " +
+                "these are not run again, and their results are merged with the results of this run. Restarting " +
+                "the interrupted run with the same options and the same journal would only run the remaining " +
+                "benchmarks.")
+                .withRequiredArg().ofType(String.class).describedAs("filename");
+
         OptionSpec<String> optProfilers = parser.accepts("prof", "Use profilers to collect additional benchmark data. " +
                 "Some profilers are not available on all JVMs and/or all OSes. Please see the list of available " +
                 "profilers with -lprof.")
@@ -224,6 +326,30 @@ public class CommandLineOptions implements Options {
                 "(default: " + Defaults.OPS_PER_INVOCATION + ")")
                 .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
 
+        OptionSpec<Double> optTargetRate = parser.accepts("rate", "Target arrival rate for " + Mode.FixedRate +
+                " mode, in operations per second, across all benchmark threads. See @TargetRate Javadoc for details. " +
+                "(default: " + Defaults.TARGET_RATE + ")")
+                .withRequiredArg().ofType(Double.class).describedAs("ops/s");
+
+        OptionSpec<Boolean> optSampleLatency = parser.accepts("lat", "Should JMH sample the invocation latency in " +
+                Mode.Throughput + " and " + Mode.AverageTime + " modes? The sparse timing samples are taken the same " +
+                "way as in " + Mode.SampleTime + " mode, and their distribution is reported as the secondary result. " +
+                "(default: " + Defaults.SAMPLE_LATENCY + ")")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool");
+
+        OptionSpec<Boolean> optThreadBreakdown = parser.accepts("tb", "Should JMH report the results of each " +
+                "benchmark thread? The minimum, maximum and coefficient of variation of the scores across the threads " +
+                "are reported as the secondary results. The per-thread scores are only written to the machine-readable " +
+                "result files, e.g. JSON. " +
+                "(default: " + Defaults.THREAD_BREAKDOWN + ")")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool");
+
+        OptionSpec<TimeValue> optTimelineInterval = parser.accepts("tli", "Record the score timeline within each " +
+                "measurement iteration, using the sub-intervals of given duration. The timeline is recorded in " +
+                Mode.Throughput + " and " + Mode.AverageTime + " modes, and exported in JSON result format. " +
+                "(default: none)")
+                .withRequiredArg().ofType(TimeValue.class).describedAs("time");
+
         OptionSpec<String> optResultFormat = parser.accepts("rf", "Format type for machine-readable results. These " +
                 "results are written to a separate file (see -rff). See the list of available result formats with -lrf. " +
                 "(default: " + Defaults.RESULT_FORMAT +")")
@@ -288,6 +414,18 @@ public class CommandLineOptions implements Options {
             }
 
             opsPerInvocation = toOptional(optOPI, set);
+            targetRate = toOptional(optTargetRate, set);
+            sampleLatency = toOptional(optSampleLatency, set);
+            threadBreakdown = toOptional(optThreadBreakdown, set);
+            timelineInterval = toOptional(optTimelineInterval, set);
+
+            if (timelineInterval.hasValue() && timelineInterval.get().getTime() <= 0) {
+                throw new CommandLineOptionException("Timeline interval should be positive, but it is " + timelineInterval.get().getTime());
+            }
+
+            if (targetRate.hasValue() && !(targetRate.get() > 0)) {
+                throw new CommandLineOptionException("Target rate should be positive, but it is " + targetRate.get());
+            }
 
             if (set.has(optWarmupMode)) {
                 try {
@@ -317,9 +455,23 @@ public class CommandLineOptions implements Options {
 
             iterations = toOptional(optMeasureCount, set);
             batchSize = toOptional(optMeasureBatchSize, set);
+            targetError = toOptional(optMeasureTargetError, set);
+            maxIterations = toOptional(optMeasureMaxCount, set);
+            maxRunTime = toOptional(optMeasureMaxTime, set);
+
+            if (targetError.hasValue() && !(targetError.get() > 0)) {
+                throw new CommandLineOptionException("Measurement target error should be positive, but it is " + targetError.get());
+            }
             runTime = toOptional(optMeasureTime, set);
             warmupIterations = toOptional(optWarmupCount, set);
             warmupBatchSize = toOptional(optWarmupBatchSize, set);
+            warmupSteadySlope = toOptional(optWarmupSteadySlope, set);
+            warmupMaxIterations = toOptional(optWarmupMaxCount, set);
+            warmupWaitCompilation = toOptional(optWarmupWaitCompilation, set);
+
+            if (warmupSteadySlope.hasValue() && !(warmupSteadySlope.get() > 0)) {
+                throw new CommandLineOptionException("Warmup steady slope should be positive, but it is " + warmupSteadySlope.get());
+            }
             warmupTime = toOptional(optWarmupTime, set);
             timeout = toOptional(optTimeoutTime, set);
             threads = toOptional(optThreads, set);
@@ -328,8 +480,15 @@ public class CommandLineOptions implements Options {
             failOnError = toOptional(optFOE, set);
             fork = toOptional(optForks, set);
             warmupFork = toOptional(optWarmupForks, set);
+            forkParallelism = toOptional(optForkParallelism, set);
+            poolForks = toOptional(optPoolForks, set);
+            sharedMemoryLink = toOptional(optSharedMemoryLink, set);
+            coordinatorPort = toOptional(optCoordinatorPort, set);
+            agentCoordinator = toOptional(optAgentCoordinator, set);
             output = toOptional(optOutput, set);
             result = toOptional(optOutputResults, set);
+            compactResults = toOptional(optCompactResults, set);
+            resume = toOptional(optResume, set);
 
             if (set.has(optBenchmarkMode)) {
                 try {
@@ -553,6 +712,31 @@ public class CommandLineOptions implements Options {
         return warmupFork;
     }
 
+    @Override
+    public Optional<Integer> getForkParallelism() {
+        return forkParallelism;
+    }
+
+    @Override
+    public Optional<Boolean> shouldPoolForks() {
+        return poolForks;
+    }
+
+    @Override
+    public Optional<Boolean> shouldUseSharedMemoryLink() {
+        return sharedMemoryLink;
+    }
+
+    @Override
+    public Optional<Integer> getCoordinatorPort() {
+        return coordinatorPort;
+    }
+
+    @Override
+    public Optional<String> getAgentCoordinator() {
+        return agentCoordinator;
+    }
+
     @Override
     public Optional<String> getOutput() {
         return output;
@@ -568,6 +752,16 @@ public class CommandLineOptions implements Options {
         return result;
     }
 
+    @Override
+    public Optional<Boolean> shouldCompactResults() {
+        return compactResults;
+    }
+
+    @Override
+    public Optional<String> getResume() {
+        return resume;
+    }
+
     @Override
     public Optional<Integer> getMeasurementIterations() {
         return iterations;
@@ -578,6 +772,21 @@ public class CommandLineOptions implements Options {
         return batchSize;
     }
 
+    @Override
+    public Optional<Double> getMeasurementTargetError() {
+        return targetError;
+    }
+
+    @Override
+    public Optional<Integer> getMeasurementMaxIterations() {
+        return maxIterations;
+    }
+
+    @Override
+    public Optional<TimeValue> getMeasurementMaxTime() {
+        return maxRunTime;
+    }
+
     @Override
     public Optional<TimeValue> getMeasurementTime() {
         return runTime;
@@ -598,6 +807,21 @@ public class CommandLineOptions implements Options {
         return warmupBatchSize;
     }
 
+    @Override
+    public Optional<Double> getWarmupSteadySlope() {
+        return warmupSteadySlope;
+    }
+
+    @Override
+    public Optional<Integer> getWarmupMaxIterations() {
+        return warmupMaxIterations;
+    }
+
+    @Override
+    public Optional<Boolean> shouldWarmupWaitCompilation() {
+        return warmupWaitCompilation;
+    }
+
     @Override
     public Optional<Integer> getThreads() {
         return threads;
@@ -641,6 +865,26 @@ public class CommandLineOptions implements Options {
         return opsPerInvocation;
     }
 
+    @Override
+    public Optional<Double> getTargetRate() {
+        return targetRate;
+    }
+
+    @Override
+    public Optional<Boolean> shouldSampleLatency() {
+        return sampleLatency;
+    }
+
+    @Override
+    public Optional<Boolean> shouldBreakdownThreads() {
+        return threadBreakdown;
+    }
+
+    @Override
+    public Optional<TimeValue> getTimelineInterval() {
+        return timelineInterval;
+    }
+
     @Override
     public Optional<Boolean> shouldFailOnError() {
         return failOnError;
@@ -65,6 +65,18 @@ public interface Options extends Serializable {
      */
     Optional<String> getResult();
 
+    /**
+     * Should drop the detailed results once they are written to the result file?
+     * @return should compact results?
+     */
+    Optional<Boolean> shouldCompactResults();
+
+    /**
+     * Journal file to record the completed benchmarks to, and resume the run from.
+     * @return file name
+     */
+    Optional<String> getResume();
+
     /**
      * Should force GC between iterations?
      * @return should GC?
@@ -132,6 +144,24 @@ public interface Options extends Serializable {
      */
     Optional<Integer> getWarmupBatchSize();
 
+    /**
+     * Relative score slope to consider the warmup reached the steady state at; warmup iterations continue until then
+     * @return relative score slope per iteration, e.g. 0.01 for 1%
+     */
+    Optional<Double> getWarmupSteadySlope();
+
+    /**
+     * Maximum number of warmup iterations, when warming up until the steady state
+     * @return maximum number of warmup iterations
+     */
+    Optional<Integer> getWarmupMaxIterations();
+
+    /**
+     * Should steady state warmup wait for JIT compilation to calm down?
+     * @return should wait for compilation?
+     */
+    Optional<Boolean> shouldWarmupWaitCompilation();
+
     /**
      * Warmup mode.
      * @return warmup mode
@@ -166,6 +196,24 @@ public interface Options extends Serializable {
      */
     Optional<Integer> getMeasurementBatchSize();
 
+    /**
+     * Target relative error of the measurement; measurement iterations continue until it is reached
+     * @return target relative error, e.g. 0.01 for 1%
+     */
+    Optional<Double> getMeasurementTargetError();
+
+    /**
+     * Maximum number of measurement iterations, when running until the target error is reached
+     * @return maximum number of measurement iterations
+     */
+    Optional<Integer> getMeasurementMaxIterations();
+
+    /**
+     * Maximum time to spend in measurement iterations, when running until the target error is reached
+     * @return maximum measurement time
+     */
+    Optional<TimeValue> getMeasurementMaxTime();
+
     /**
      * Benchmarks modes to execute.
      * @return modes to execute the benchmarks in; empty to use the default modes
@@ -187,6 +235,31 @@ public interface Options extends Serializable {
      */
     Optional<Integer> getOperationsPerInvocation();
 
+    /**
+     * Target arrival rate for fixed rate mode, across all benchmark threads.
+     * @return target rate, ops/s
+     * @see org.openjdk.jmh.annotations.TargetRate
+     */
+    Optional<Double> getTargetRate();
+
+    /**
+     * Should sample the invocation latency in throughput and average time modes?
+     * @return should sample?
+     */
+    Optional<Boolean> shouldSampleLatency();
+
+    /**
+     * Should report the per-thread result breakdown?
+     * @return should report?
+     */
+    Optional<Boolean> shouldBreakdownThreads();
+
+    /**
+     * Sub-interval for the score timeline within measurement iterations.
+     * @return sub-interval duration; none, if timeline is not recorded
+     */
+    Optional<TimeValue> getTimelineInterval();
+
     /**
      * Fork count
      * @return fork count; 0, to prohibit forking
@@ -201,6 +274,36 @@ public interface Options extends Serializable {
      */
     Optional<Integer> getWarmupForkCount();
 
+    /**
+     * Number of forks to run concurrently
+     * @return fork parallelism; 1, to run forks one after another
+     */
+    Optional<Integer> getForkParallelism();
+
+    /**
+     * Should spawn the next forked VM while the current fork is running?
+     * @return should pool forks?
+     */
+    Optional<Boolean> shouldPoolForks();
+
+    /**
+     * Should pass the forked VM output and results through shared memory?
+     * @return should use shared memory link?
+     */
+    Optional<Boolean> shouldUseSharedMemoryLink();
+
+    /**
+     * Port to accept the agents on, when running as the coordinator of the distributed run
+     * @return port number
+     */
+    Optional<Integer> getCoordinatorPort();
+
+    /**
+     * Coordinator to connect to, when running as the agent of the distributed run
+     * @return coordinator address, in host:port form
+     */
+    Optional<String> getAgentCoordinator();
+
     /**
      * JVM executable to use for forks
      * @return path to JVM executable
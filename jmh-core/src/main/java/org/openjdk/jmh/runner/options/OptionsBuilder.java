@@ -173,6 +173,44 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
 
     // ---------------------------------------------------------------------------
 
+    private Optional<Boolean> compactResults = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder compactResults(boolean value) {
+        this.compactResults = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Boolean> shouldCompactResults() {
+        if (otherOptions != null) {
+            return compactResults.orAnother(otherOptions.shouldCompactResults());
+        } else {
+            return compactResults;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<String> resume = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder resume(String filename) {
+        this.resume = Optional.of(filename);
+        return this;
+    }
+
+    @Override
+    public Optional<String> getResume() {
+        if (otherOptions != null) {
+            return resume.orAnother(otherOptions.getResume());
+        } else {
+            return resume;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
     private Optional<Boolean> shouldDoGC = Optional.none();
 
     @Override
@@ -374,6 +412,67 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
 
     // ---------------------------------------------------------------------------
 
+    private Optional<Double> warmupSteadySlope = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder warmupSteadySlope(double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException("Warmup steady slope (" + value + ") should be positive");
+        }
+        this.warmupSteadySlope = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Double> getWarmupSteadySlope() {
+        if (otherOptions != null) {
+            return warmupSteadySlope.orAnother(otherOptions.getWarmupSteadySlope());
+        } else {
+            return warmupSteadySlope;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Integer> warmupMaxIterations = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder warmupMaxIterations(int value) {
+        checkGreaterOrEqual(value, 1, "Warmup max iterations");
+        this.warmupMaxIterations = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getWarmupMaxIterations() {
+        if (otherOptions != null) {
+            return warmupMaxIterations.orAnother(otherOptions.getWarmupMaxIterations());
+        } else {
+            return warmupMaxIterations;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Boolean> warmupWaitCompilation = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder warmupWaitCompilation(boolean value) {
+        this.warmupWaitCompilation = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Boolean> shouldWarmupWaitCompilation() {
+        if (otherOptions != null) {
+            return warmupWaitCompilation.orAnother(otherOptions.shouldWarmupWaitCompilation());
+        } else {
+            return warmupWaitCompilation;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
     private Optional<TimeValue> warmupTime = Optional.none();
 
     @Override
@@ -489,6 +588,67 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
         }
     }
 
+    // ---------------------------------------------------------------------------
+
+    private Optional<Double> measurementTargetError = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder measurementTargetError(double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException("Measurement target error (" + value + ") should be positive");
+        }
+        this.measurementTargetError = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Double> getMeasurementTargetError() {
+        if (otherOptions != null) {
+            return measurementTargetError.orAnother(otherOptions.getMeasurementTargetError());
+        } else {
+            return measurementTargetError;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Integer> measurementMaxIterations = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder measurementMaxIterations(int value) {
+        checkGreaterOrEqual(value, 1, "Measurement max iterations");
+        this.measurementMaxIterations = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getMeasurementMaxIterations() {
+        if (otherOptions != null) {
+            return measurementMaxIterations.orAnother(otherOptions.getMeasurementMaxIterations());
+        } else {
+            return measurementMaxIterations;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<TimeValue> measurementMaxTime = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder measurementMaxTime(TimeValue value) {
+        this.measurementMaxTime = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<TimeValue> getMeasurementMaxTime() {
+        if (otherOptions != null) {
+            return measurementMaxTime.orAnother(otherOptions.getMeasurementMaxTime());
+        } else {
+            return measurementMaxTime;
+        }
+    }
+
 
     // ---------------------------------------------------------------------------
 
@@ -550,6 +710,88 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
 
     // ---------------------------------------------------------------------------
 
+    private Optional<Double> targetRate = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder targetRate(double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException("Target rate (" + value + ") should be positive");
+        }
+        this.targetRate = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Double> getTargetRate() {
+        if (otherOptions != null) {
+            return targetRate.orAnother(otherOptions.getTargetRate());
+        } else {
+            return targetRate;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Boolean> sampleLatency = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder sampleLatency(boolean value) {
+        sampleLatency = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Boolean> shouldSampleLatency() {
+        if (otherOptions != null) {
+            return sampleLatency.orAnother(otherOptions.shouldSampleLatency());
+        } else {
+            return sampleLatency;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Boolean> threadBreakdown = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder threadBreakdown(boolean value) {
+        threadBreakdown = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Boolean> shouldBreakdownThreads() {
+        if (otherOptions != null) {
+            return threadBreakdown.orAnother(otherOptions.shouldBreakdownThreads());
+        } else {
+            return threadBreakdown;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<TimeValue> timelineInterval = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder timelineInterval(TimeValue value) {
+        if (value.getTime() <= 0) {
+            throw new IllegalArgumentException("Timeline interval (" + value.getTime() + ") should be positive");
+        }
+        this.timelineInterval = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<TimeValue> getTimelineInterval() {
+        if (otherOptions != null) {
+            return timelineInterval.orAnother(otherOptions.getTimelineInterval());
+        } else {
+            return timelineInterval;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
     private Optional<Integer> forks = Optional.none();
 
     @Override
@@ -590,6 +832,103 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
 
     // ---------------------------------------------------------------------------
 
+    private Optional<Integer> forkParallelism = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder forkParallelism(int value) {
+        checkGreaterOrEqual(value, 1, "Fork parallelism");
+        this.forkParallelism = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getForkParallelism() {
+        if (otherOptions != null) {
+            return forkParallelism.orAnother(otherOptions.getForkParallelism());
+        } else {
+            return forkParallelism;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Boolean> poolForks = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder poolForks(boolean value) {
+        this.poolForks = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Boolean> shouldPoolForks() {
+        if (otherOptions != null) {
+            return poolForks.orAnother(otherOptions.shouldPoolForks());
+        } else {
+            return poolForks;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Boolean> sharedMemoryLink = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder sharedMemoryLink(boolean value) {
+        this.sharedMemoryLink = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Boolean> shouldUseSharedMemoryLink() {
+        if (otherOptions != null) {
+            return sharedMemoryLink.orAnother(otherOptions.shouldUseSharedMemoryLink());
+        } else {
+            return sharedMemoryLink;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Integer> coordinatorPort = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder coordinatorPort(int port) {
+        checkGreaterOrEqual(port, 0, "Coordinator port");
+        this.coordinatorPort = Optional.of(port);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getCoordinatorPort() {
+        if (otherOptions != null) {
+            return coordinatorPort.orAnother(otherOptions.getCoordinatorPort());
+        } else {
+            return coordinatorPort;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<String> agentCoordinator = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder agentCoordinator(String address) {
+        this.agentCoordinator = Optional.of(address);
+        return this;
+    }
+
+    @Override
+    public Optional<String> getAgentCoordinator() {
+        if (otherOptions != null) {
+            return agentCoordinator.orAnother(otherOptions.getAgentCoordinator());
+        } else {
+            return agentCoordinator;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
     private Optional<String> jvmBinary = Optional.none();
 
     @Override
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Multiset of primitive longs, backed by the open addressing hash table.
+ * This avoids boxing the keys and counts in the large sets, e.g. the sample addresses.
+ * The boxed {@link Multiset} methods are provided for compatibility.
+ */
+public class LongHashMultiset implements Multiset<Long>, Serializable {
+    private static final long serialVersionUID = -5384235710925870372L;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Zero count marks the free slot
+    private long[] keys;
+    private long[] counts;
+    private int keyCount;
+    private long size;
+
+    public LongHashMultiset() {
+        keys = new long[INITIAL_CAPACITY];
+        counts = new long[INITIAL_CAPACITY];
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int idx = hash(key) & mask;
+        while (counts[idx] != 0 && keys[idx] != key) {
+            idx = (idx + 1) & mask;
+        }
+        return idx;
+    }
+
+    public void add(long element) {
+        add(element, 1);
+    }
+
+    public void add(long element, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count should be non-negative: " + count);
+        }
+        if (count == 0) {
+            return;
+        }
+        int idx = slot(element);
+        if (counts[idx] == 0) {
+            keys[idx] = element;
+            keyCount++;
+        }
+        counts[idx] += count;
+        size += count;
+
+        // Keep the load factor under 0.5
+        if (keyCount * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new long[capacity];
+        counts = new long[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int idx = slot(oldKeys[i]);
+                keys[idx] = oldKeys[i];
+                counts[idx] = oldCounts[i];
+            }
+        }
+    }
+
+    public long count(long element) {
+        return counts[slot(element)];
+    }
+
+    /**
+     * Adds all elements from another multiset.
+     * @param other multiset to add
+     */
+    public void addAll(LongHashMultiset other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.counts[i] != 0) {
+                add(other.keys[i], other.counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Answers the distinct elements, in ascending order.
+     * @return sorted array of elements
+     */
+    public long[] sortedKeys() {
+        long[] r = new long[keyCount];
+        int c = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0) {
+                r[c++] = keys[i];
+            }
+        }
+        Arrays.sort(r);
+        return r;
+    }
+
+    @Override
+    public void add(Long element) {
+        add(element.longValue(), 1);
+    }
+
+    @Override
+    public void add(Long element, long count) {
+        add(element.longValue(), count);
+    }
+
+    @Override
+    public long count(Long element) {
+        return count(element.longValue());
+    }
+
+    @Override
+    public Collection<Map.Entry<Long, Long>> entrySet() {
+        List<Map.Entry<Long, Long>> r = new ArrayList<>(keyCount);
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0) {
+                r.add(new AbstractMap.SimpleImmutableEntry<>(keys[i], counts[i]));
+            }
+        }
+        return r;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public Collection<Long> keys() {
+        List<Long> r = new ArrayList<>(keyCount);
+        for (long k : sortedKeys()) {
+            r.add(k);
+        }
+        return r;
+    }
+
+    @Override
+    public void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        counts = new long[INITIAL_CAPACITY];
+        keyCount = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Reads the large text files in parallel. The file is split into the chunks aligned
+ * at the line boundaries, every chunk is memory-mapped and processed by a separate task.
+ * The results are returned in the file order, so that the caller can merge them
+ * deterministically.
+ */
+public class MappedLineReader {
+
+    /**
+     * Max chunk size, well below the mapping limit.
+     */
+    private static final long MAX_CHUNK = 256L * 1024 * 1024;
+
+    private MappedLineReader() {
+        // prevent instantiation
+    }
+
+    /**
+     * Processes the file lines in parallel.
+     *
+     * @param file file to read
+     * @param parallelism number of threads to use
+     * @param processor processes the lines of a single chunk into the result
+     * @param <R> result type
+     * @return results for all chunks, in file order
+     * @throws IOException if file cannot be read
+     */
+    public static <R> List<R> process(File file, int parallelism, final Function<Iterator<String>, R> processor) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+
+            long size = channel.size();
+            long chunks = Math.max(parallelism, (size + MAX_CHUNK - 1) / MAX_CHUNK);
+            long nominal = Math.max(1, (size + chunks - 1) / chunks);
+
+            List<long[]> bounds = new ArrayList<>();
+            long start = 0;
+            while (start < size) {
+                long end = lineEnd(channel, Math.min(start + nominal, size), size);
+                bounds.add(new long[]{start, end});
+                start = end;
+            }
+
+            List<MappedByteBuffer> buffers = new ArrayList<>();
+            for (long[] b : bounds) {
+                buffers.add(channel.map(FileChannel.MapMode.READ_ONLY, b[0], b[1] - b[0]));
+            }
+
+            return Utils.mapParallel(buffers, parallelism, buf -> processor.apply(new LineIterator(buf)));
+        }
+    }
+
+    /**
+     * Figures out the position right after the line end at or after the given position.
+     */
+    private static long lineEnd(FileChannel channel, long pos, long size) throws IOException {
+        if (pos >= size) {
+            return size;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(4096);
+        long cur = pos;
+        while (cur < size) {
+            buf.clear();
+            int read = channel.read(buf, cur);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buf.get(i) == '\n') {
+                    return cur + i + 1;
+                }
+            }
+            cur += read;
+        }
+        return size;
+    }
+
+    private static class LineIterator implements Iterator<String> {
+        private final ByteBuffer buf;
+        private byte[] line = new byte[256];
+
+        LineIterator(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return buf.hasRemaining();
+        }
+
+        @Override
+        public String next() {
+            if (!buf.hasRemaining()) {
+                throw new NoSuchElementException();
+            }
+
+            int len = 0;
+            while (buf.hasRemaining()) {
+                byte b = buf.get();
+                if (b == '\n') {
+                    break;
+                }
+                if (len == line.length) {
+                    byte[] n = new byte[line.length * 2];
+                    System.arraycopy(line, 0, n, 0, len);
+                    line = n;
+                }
+                line[len++] = b;
+            }
+
+            // Handle CRLF line endings
+            if (len > 0 && line[len - 1] == '\r') {
+                len--;
+            }
+            return new String(line, 0, len, StandardCharsets.UTF_8);
+        }
+    }
+
+}
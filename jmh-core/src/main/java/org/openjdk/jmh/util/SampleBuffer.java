@@ -24,10 +24,20 @@
  */
 package org.openjdk.jmh.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 /**
  * Sampling buffer accepts samples.
+ *
+ * <p>Every sample may stand for several events, e.g. when the events are
+ * sampled at a lower rate: such samples carry the weight. The distribution
+ * takes the weights into account, while the statistics error estimates
+ * are based on the number of actual samples.</p>
+ *
+ * <p>This buffer is not thread-safe, and is expected to be owned by a single thread.</p>
  */
 public class SampleBuffer implements Serializable {
     private static final long serialVersionUID = 6124923853916845327L;
@@ -35,41 +45,86 @@ public class SampleBuffer implements Serializable {
     private static final int PRECISION_BITS = 10;
     private static final int BUCKETS = Long.SIZE - PRECISION_BITS;
 
-    private final int[][] hdr;
+    // Serialized sparsely, see writeObject/readObject
+    private transient long[][] hdr;
+
+    // Total weight of all samples, kept in sync with hdr
+    private transient long weight;
+
+    // Number of actual samples
+    private long samples;
 
     public SampleBuffer() {
-        hdr = new int[BUCKETS][];
+        hdr = new long[BUCKETS][];
     }
 
+    /**
+     * Halves the weight of all samples recorded so far, and the number of samples with it.
+     * Non-empty sub-buckets are never halved to zero, which overweights the rare samples.
+     * Generated code no longer calls this: callers that lower their sampling rate should
+     * instead give the new samples more weight with {@link #addWeighted(long, long)}.
+     */
     public void half() {
-        for (int[] bucket : hdr) {
+        long nWeight = 0;
+        for (long[] bucket : hdr) {
             if (bucket != null) {
                 for (int j = 0; j < bucket.length; j++) {
-                    int nV = bucket[j] / 2;
+                    long nV = bucket[j] / 2;
                     if (nV != 0) { // prevent halving to zero
                         bucket[j] = nV;
                     }
+                    nWeight += bucket[j];
                 }
             }
         }
+        weight = nWeight;
+        samples = nWeight;
     }
 
     public void add(long sample) {
+        add(sample, 1);
+    }
+
+    /**
+     * Adds the same sample several times.
+     *
+     * @param sample sample to add
+     * @param times number of times to add it, non-negative
+     */
+    public void add(long sample, long times) {
+        addInternal(sample, times);
+        samples += times;
+    }
+
+    /**
+     * Adds a single sample that stands for several events.
+     *
+     * @param sample sample to add
+     * @param weight number of events the sample stands for, positive
+     */
+    public void addWeighted(long sample, long weight) {
+        addInternal(sample, weight);
+        samples++;
+    }
+
+    private void addInternal(long sample, long w) {
+        if (w == 0) return;
         int bucket = Math.max(0, BUCKETS - Long.numberOfLeadingZeros(sample));
         int subBucket = (int) (sample >> bucket);
 
-        int[] b = hdr[bucket];
+        long[] b = hdr[bucket];
         if (b == null) {
-            b = new int[1 << PRECISION_BITS];
+            b = new long[1 << PRECISION_BITS];
             hdr[bucket] = b;
         }
-        b[subBucket]++;
+        b[subBucket] += w;
+        weight += w;
     }
 
     public Statistics getStatistics(double multiplier) {
-        MultisetStatistics stat = new MultisetStatistics();
+        SampleStatistics stat = new SampleStatistics(samples);
         for (int i = 0; i < hdr.length; i++) {
-            int[] bucket = hdr[i];
+            long[] bucket = hdr[i];
             if (bucket != null) {
                 for (int j = 0; j < bucket.length; j++) {
                     long ns = (long) j << i;
@@ -82,11 +137,11 @@ public class SampleBuffer implements Serializable {
 
     public void addAll(SampleBuffer other) {
         for (int i = 0; i < other.hdr.length; i++) {
-            int[] otherBucket = other.hdr[i];
+            long[] otherBucket = other.hdr[i];
             if (otherBucket != null) {
-                int[] myBucket = hdr[i];
+                long[] myBucket = hdr[i];
                 if (myBucket == null) {
-                    myBucket = new int[1 << PRECISION_BITS];
+                    myBucket = new long[1 << PRECISION_BITS];
                     hdr[i] = myBucket;
                 }
                 for (int j = 0; j < otherBucket.length; j++) {
@@ -94,17 +149,96 @@ public class SampleBuffer implements Serializable {
                 }
             }
         }
+        weight += other.weight;
+        samples += other.samples;
     }
 
+    /**
+     * @return number of samples in the buffer, saturated at {@link Integer#MAX_VALUE}
+     * @deprecated the count can overflow int; use {@link #getSampleCount()}
+     */
+    @Deprecated
     public int count() {
-        int count = 0;
-        for (int[] bucket : hdr) {
+        return (int) Math.min(Integer.MAX_VALUE, samples);
+    }
+
+    /**
+     * @return number of samples in the buffer
+     */
+    public long getSampleCount() {
+        return samples;
+    }
+
+    /**
+     * @return total weight of the samples in the buffer, i.e. the number of events they stand for
+     */
+    public long getTotalWeight() {
+        return weight;
+    }
+
+    private void writeObject(ObjectOutputStream os) throws IOException {
+        os.defaultWriteObject();
+
+        // Most sub-buckets are empty, write out only the non-empty ones
+        // as (sub-bucket delta, count) pairs.
+        int buckets = 0;
+        for (long[] bucket : hdr) {
             if (bucket != null) {
-                for (int v : bucket) {
-                    count += v;
+                buckets++;
+            }
+        }
+        Utils.writeVarLong(os, buckets);
+
+        for (int i = 0; i < hdr.length; i++) {
+            long[] bucket = hdr[i];
+            if (bucket == null) continue;
+
+            int nonZero = 0;
+            for (long v : bucket) {
+                if (v != 0) nonZero++;
+            }
+
+            Utils.writeVarLong(os, i);
+            Utils.writeVarLong(os, nonZero);
+
+            int last = 0;
+            for (int j = 0; j < bucket.length; j++) {
+                if (bucket[j] != 0) {
+                    Utils.writeVarLong(os, j - last);
+                    Utils.writeVarLong(os, bucket[j]);
+                    last = j;
+                }
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream is) throws IOException, ClassNotFoundException {
+        is.defaultReadObject();
+
+        hdr = new long[BUCKETS][];
+        weight = 0;
+
+        int buckets = (int) Utils.readVarLong(is);
+        for (int b = 0; b < buckets; b++) {
+            int i = (int) Utils.readVarLong(is);
+            int nonZero = (int) Utils.readVarLong(is);
+            if (i < 0 || i >= BUCKETS) {
+                throw new IOException("Malformed sample buffer: bucket " + i);
+            }
+
+            long[] bucket = new long[1 << PRECISION_BITS];
+            hdr[i] = bucket;
+
+            int j = 0;
+            for (int c = 0; c < nonZero; c++) {
+                j += (int) Utils.readVarLong(is);
+                if (j >= bucket.length) {
+                    throw new IOException("Malformed sample buffer: sub-bucket " + j);
                 }
+                long v = Utils.readVarLong(is);
+                bucket[j] = v;
+                weight += v;
             }
         }
-        return count;
     }
 }
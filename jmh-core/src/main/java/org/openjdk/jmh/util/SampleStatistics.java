@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2005, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Statistics over the weighted samples. Values are counted with their weights,
+ * so the mean, percentiles and histogram describe all the events the samples
+ * stand for. {@link #getN()} is the number of actual samples, and that is what
+ * the error estimates and the confidence intervals are based on: weights do not
+ * make the estimates any more precise than the samples they came from.
+ */
+class SampleStatistics extends MultisetStatistics {
+    private static final long serialVersionUID = 2913855436311426157L;
+
+    private final long samples;
+
+    SampleStatistics(long samples) {
+        this.samples = samples;
+    }
+
+    @Override
+    public long getN() {
+        return samples;
+    }
+
+    private long getWeight() {
+        return super.getN();
+    }
+
+    @Override
+    public double getMean() {
+        long w = getWeight();
+        if (w > 0) {
+            return getSum() / w;
+        } else {
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public double getVariance() {
+        long w = getWeight();
+        if (samples > 1 && w > 0) {
+            double v = 0;
+            double m = getMean();
+            Iterator<Map.Entry<Double, Long>> it = getRawData();
+            while (it.hasNext()) {
+                Map.Entry<Double, Long> e = it.next();
+                v += Math.pow(e.getKey() - m, 2) * e.getValue();
+            }
+            // Weighted variance, with the Bessel correction for the actual samples.
+            return v / w * samples / (samples - 1);
+        } else {
+            return Double.NaN;
+        }
+    }
+}
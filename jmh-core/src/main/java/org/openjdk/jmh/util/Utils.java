@@ -35,6 +35,7 @@ import java.nio.charset.Charset;
 import java.security.AccessControlException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Function;
 
 public class Utils {
 
@@ -134,6 +135,44 @@ public class Utils {
         }
     }
 
+    /**
+     * Writes the non-negative value in variable-length encoding: 7 bits per byte,
+     * the highest bit indicates more bytes follow. Small values take a single byte.
+     *
+     * @param out output to write to
+     * @param v non-negative value
+     * @throws IOException if output fails
+     */
+    public static void writeVarLong(DataOutput out, long v) throws IOException {
+        if (v < 0) {
+            throw new IllegalArgumentException("Negative value: " + v);
+        }
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    /**
+     * Reads the value written with {@link #writeVarLong(DataOutput, long)}.
+     *
+     * @param in input to read from
+     * @return value
+     * @throws IOException if input fails, or the value is malformed
+     */
+    public static long readVarLong(DataInput in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return v;
+            }
+        }
+        throw new IOException("Malformed variable-length value");
+    }
+
     public static String throwableToString(Throwable t) {
         StringWriter sw = new StringWriter();
         PrintWriter pw = new PrintWriter(sw);
@@ -199,6 +238,56 @@ public class Utils {
         return max;
     }
 
+    /**
+     * Applies the function to all items in parallel.
+     *
+     * @param items items to process
+     * @param parallelism number of threads to use
+     * @param fn function to apply
+     * @param <T> item type
+     * @param <R> result type
+     * @return results, in the order of items
+     */
+    public static <T, R> List<R> mapParallel(List<T> items, int parallelism, final Function<T, R> fn) {
+        List<R> results = new ArrayList<>(items.size());
+        if (parallelism <= 1 || items.size() <= 1) {
+            for (T item : items) {
+                results.add(fn.apply(item));
+            }
+            return results;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, items.size()), r -> {
+            Thread t = new Thread(r, "jmh-parallel-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<R>> futures = new ArrayList<>(items.size());
+            for (final T item : items) {
+                futures.add(pool.submit(() -> fn.apply(item)));
+            }
+            for (Future<R> f : futures) {
+                results.add(f.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     private static void setAccessible(Object holder, AccessibleObject o) throws IllegalAccessException {
         // JDK 9+ has the module protections in place, which would print the warning
         // to the console if we try setAccessible(true) on inaccessible object.
@@ -341,6 +430,57 @@ public class Utils {
         return result;
     }
 
+    /**
+     * Figures out the CPUs the current process is allowed to run on. This is only
+     * supported on Linux, where the affinity mask is exposed via /proc/self/status.
+     *
+     * @return sorted list of CPU ids; empty list if this information is not available
+     */
+    public static List<Integer> getAllowedCPUs() {
+        if (!isLinux()) {
+            return Collections.emptyList();
+        }
+        try {
+            for (String line : FileUtils.readAllLines(new File("/proc/self/status"))) {
+                if (line.startsWith("Cpus_allowed_list:")) {
+                    return parseCPUList(line.substring(line.indexOf(':') + 1));
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // fall-through
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Parses the Linux CPU list, e.g. "0-3,8,10-11".
+     *
+     * @param src CPU list
+     * @return sorted list of CPU ids
+     */
+    public static List<Integer> parseCPUList(String src) {
+        SortedSet<Integer> cpus = new TreeSet<>();
+        for (String range : src.trim().split(",")) {
+            range = range.trim();
+            if (range.isEmpty()) continue;
+            int dash = range.indexOf('-');
+            try {
+                if (dash == -1) {
+                    cpus.add(Integer.parseInt(range));
+                } else {
+                    int from = Integer.parseInt(range.substring(0, dash).trim());
+                    int to = Integer.parseInt(range.substring(dash + 1).trim());
+                    for (int c = from; c <= to; c++) {
+                        cpus.add(c);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cannot parse CPU list: " + src, e);
+            }
+        }
+        return new ArrayList<>(cpus);
+    }
+
     static class BurningTask implements Runnable {
         @Override
         public void run() {
@@ -36,4 +36,5 @@ public class Constants {
     public static final char TAG_INT_ARRAY          = 'A';
     public static final char TAG_PARAM_MAP          = 'M';
     public static final char TAG_TIMEUNIT           = 'U';
+    public static final char TAG_DOUBLE             = 'D';
 }
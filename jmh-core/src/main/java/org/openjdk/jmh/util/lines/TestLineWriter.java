@@ -118,6 +118,15 @@ public class TestLineWriter {
         }
     }
 
+    public void putOptionalDouble(Optional<Double> opt) {
+        if (!opt.hasValue()) {
+            appendTag(TAG_EMPTY_OPTIONAL);
+        } else {
+            appendTag(TAG_DOUBLE);
+            appendWithLen(String.valueOf(opt.get()));
+        }
+    }
+
     public void putOptionalTimeUnit(Optional<TimeUnit> opt) {
         if (!opt.hasValue()) {
             appendTag(TAG_EMPTY_OPTIONAL);
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.List;
+
+public class FlameGraphCallTreeTest {
+
+    private static StackTraceElement[] stack(String... methods) {
+        // Top frame first, as in thread dumps
+        StackTraceElement[] stack = new StackTraceElement[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            int dot = methods[i].lastIndexOf('.');
+            stack[i] = new StackTraceElement(methods[i].substring(0, dot), methods[i].substring(dot + 1), "Foo.java", 10 + i);
+        }
+        return stack;
+    }
+
+    private static List<String> collapsed(FlameGraphProfiler.CallTree tree) throws IOException {
+        StringWriter sw = new StringWriter();
+        tree.writeCollapsed(sw);
+        return Arrays.asList(sw.toString().split("\n"));
+    }
+
+    @Test
+    public void testCollapsed() throws IOException {
+        FlameGraphProfiler.CallTree tree = new FlameGraphProfiler.CallTree();
+        tree.addSample(stack("a.B.leaf", "a.B.mid", "a.B.root"), 128, false, null);
+        tree.addSample(stack("a.B.leaf", "a.B.mid", "a.B.root"), 128, false, null);
+        tree.addSample(stack("a.B.mid", "a.B.root"), 128, false, null);
+        tree.addSample(stack("a.B.other", "a.B.root"), 128, false, "[WAITING]");
+
+        Assert.assertEquals(4, tree.samples());
+        Assert.assertEquals(Arrays.asList(
+                "a.B.root;a.B.mid 1",
+                "a.B.root;a.B.mid;a.B.leaf 2",
+                "a.B.root;a.B.other;[WAITING] 1"),
+                collapsed(tree));
+    }
+
+    @Test
+    public void testTruncatedAndLines() throws IOException {
+        FlameGraphProfiler.CallTree tree = new FlameGraphProfiler.CallTree();
+        tree.addSample(stack("a.B.leaf", "a.B.mid"), 2, true, null);
+
+        Assert.assertEquals(Arrays.asList("[truncated];a.B.mid:11;a.B.leaf:10 1"), collapsed(tree));
+    }
+
+    @Test
+    public void testMerge() throws IOException, ClassNotFoundException {
+        FlameGraphProfiler.CallTree t1 = new FlameGraphProfiler.CallTree();
+        t1.addSample(stack("a.B.leaf", "a.B.root"), 128, false, null);
+
+        FlameGraphProfiler.CallTree t2 = new FlameGraphProfiler.CallTree();
+        t2.addSample(stack("a.B.other", "a.B.root"), 128, false, null);
+        t2.addSample(stack("a.B.leaf", "a.B.root"), 128, false, null);
+
+        // Trees travel from the forked VM serialized
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(t2);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            t2 = (FlameGraphProfiler.CallTree) ois.readObject();
+        }
+        t2.addSample(stack("a.B.leaf", "a.B.root"), 128, false, null);
+
+        FlameGraphProfiler.CallTree merged = new FlameGraphProfiler.CallTree();
+        merged.merge(t1);
+        merged.merge(t2);
+
+        Assert.assertEquals(4, merged.samples());
+        Assert.assertEquals(Arrays.asList(
+                "a.B.root;a.B.leaf 3",
+                "a.B.root;a.B.other 1"),
+                collapsed(merged));
+    }
+
+    @Test
+    public void testMethodSamples() {
+        FlameGraphProfiler.CallTree tree = new FlameGraphProfiler.CallTree();
+        tree.addSample(stack("a.B.rec", "a.B.rec", "a.B.root"), 128, false, null);
+        tree.addSample(stack("a.B.leaf", "a.B.root"), 128, false, null);
+
+        long[] self = tree.methodSamples(true);
+        long[] total = tree.methodSamples(false);
+        int root = tree.frame("a.B.root");
+        int rec = tree.frame("a.B.rec");
+        int leaf = tree.frame("a.B.leaf");
+
+        Assert.assertEquals(0, self[root]);
+        Assert.assertEquals(1, self[rec]);
+        Assert.assertEquals(1, self[leaf]);
+        Assert.assertEquals(2, total[root]);
+        Assert.assertEquals(1, total[rec]);
+        Assert.assertEquals(1, total[leaf]);
+    }
+
+    @Test
+    public void testFlameGraph() throws IOException {
+        FlameGraphProfiler.CallTree tree = new FlameGraphProfiler.CallTree();
+        tree.addSample(stack("a.B.leaf", "a.B.root"), 128, false, null);
+        tree.addSample(stack("a.B.leaf", "a.B.root"), 128, false, null);
+        tree.addSample(stack("a.B.root"), 128, false, "[</script>]");
+
+        StringWriter sw = new StringWriter();
+        tree.writeFlameGraph(sw, "a.B<T>");
+        String html = sw.toString();
+
+        Assert.assertTrue(html, html.contains("<title>a.B&lt;T&gt;</title>"));
+        Assert.assertTrue(html, html.contains("var frames = [\"all\",\"a.B.root\",\"a.B.leaf\",\"[\\u003c/script\\u003e]\"];"));
+        // Pre-order: root, a.B.root, then its children sorted by name
+        Assert.assertTrue(html, html.contains("var nodes = [0,0,3,1,1,3,3,2,1,2,2,2];"));
+        Assert.assertFalse(html, html.contains("${"));
+    }
+
+}
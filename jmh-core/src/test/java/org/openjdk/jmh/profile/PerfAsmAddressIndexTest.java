@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PerfAsmAddressIndexTest {
+
+    private static List<AbstractPerfAsmProfiler.ASMLine> lines(Long... addrs) {
+        List<AbstractPerfAsmProfiler.ASMLine> r = new ArrayList<>();
+        for (Long a : addrs) {
+            r.add(new AbstractPerfAsmProfiler.ASMLine(a, "line"));
+        }
+        return r;
+    }
+
+    @Test
+    public void testLookups() {
+        AbstractPerfAsmProfiler.AddressIndex idx = AbstractPerfAsmProfiler.AddressIndex.of(
+                lines(null, 0x30L, 0x10L, null, 0x20L));
+
+        Assert.assertEquals(3, idx.size());
+        Assert.assertFalse(idx.hasDuplicates());
+
+        Assert.assertEquals(2, idx.ceiling(0x00));
+        Assert.assertEquals(2, idx.ceiling(0x10));
+        Assert.assertEquals(4, idx.ceiling(0x11));
+        Assert.assertEquals(1, idx.ceiling(0x30));
+        Assert.assertEquals(-1, idx.ceiling(0x31));
+
+        Assert.assertEquals(-1, idx.lower(0x10));
+        Assert.assertEquals(2, idx.lower(0x11));
+        Assert.assertEquals(4, idx.lower(0x30));
+        Assert.assertEquals(1, idx.lower(0x31));
+    }
+
+    @Test
+    public void testDuplicates() {
+        AbstractPerfAsmProfiler.AddressIndex idx = AbstractPerfAsmProfiler.AddressIndex.of(
+                lines(0x10L, 0x20L, 0x10L));
+
+        Assert.assertEquals(2, idx.size());
+        Assert.assertTrue(idx.hasDuplicates());
+
+        // Later line wins
+        Assert.assertEquals(2, idx.ceiling(0x10));
+        Assert.assertEquals(1, idx.ceiling(0x11));
+    }
+
+    @Test
+    public void testLarge() {
+        List<AbstractPerfAsmProfiler.ASMLine> lines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            // Reversed order to exercise the sort
+            lines.add(new AbstractPerfAsmProfiler.ASMLine((long) (10_000 - i) * 4, "line"));
+        }
+        AbstractPerfAsmProfiler.AddressIndex idx = AbstractPerfAsmProfiler.AddressIndex.of(lines);
+        Assert.assertEquals(10_000, idx.size());
+        for (int i = 0; i < 10_000; i++) {
+            long addr = (long) (10_000 - i) * 4;
+            Assert.assertEquals(i, idx.ceiling(addr));
+            Assert.assertEquals(i, idx.ceiling(addr - 3));
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+public class PerfAsmDiffTest {
+
+    @Test
+    public void testMnemonics() {
+        Assert.assertEquals("mov", PerfAsmData.mnemonic("  0x00007f26f51fb640:   mov    %eax,-0x14000(%rsp)"));
+        Assert.assertEquals("vmovdqu", PerfAsmData.mnemonic("  0x00007f26f51fb640:   vmovdqu ymm0, ymmword ptr [rsi+0x10]"));
+        Assert.assertEquals("lock cmpxchg", PerfAsmData.mnemonic("  0x00007f26f51fb640:   lock cmpxchg %rcx,(%rdx)"));
+        Assert.assertEquals("add", PerfAsmData.mnemonic("  0x00007f26f51fb640:   add    $0x10,%rsp"));
+        Assert.assertEquals("ldr", PerfAsmData.mnemonic("  0x0000ffff6c819708:   ldr     x0, [x1, #8]"));
+        Assert.assertEquals("ret", PerfAsmData.mnemonic("  0x00007f26f51fb640:   ret    "));
+
+        // Raw hex dumps without disassembler
+        Assert.assertNull(PerfAsmData.mnemonic("  0x00007f17cd400200: 448b 5608 | 49bb 0000 | 008c 177f"));
+        Assert.assertNull(PerfAsmData.mnemonic("  0x00007f17cd4002fc: f248 b8ff | ffff ffff"));
+
+        // Comments and non-code lines
+        Assert.assertNull(PerfAsmData.mnemonic("  0x00007f17cd40025c: ;*aload_1 {reexecute=0 rethrow=0 return_oop=0}"));
+        Assert.assertNull(PerfAsmData.mnemonic("[Verified Entry Point]"));
+        Assert.assertNull(PerfAsmData.mnemonic("  0x00007f17cd40025c:"));
+    }
+
+    @Test
+    public void testMethodNames() {
+        PerfAsmData data = new PerfAsmData(Arrays.asList("cycles"), 100);
+        PerfAsmData.Method v1 = data.method(AbstractPerfAsmProfiler.MethodDesc.javaMethod(
+                "org/openjdk/Foo bar ()V", "C2", "4", 1, "100"));
+        PerfAsmData.Method v2 = data.method(AbstractPerfAsmProfiler.MethodDesc.javaMethod(
+                "org/openjdk/Foo bar ()V", "C1", "3", 2, "200"));
+        PerfAsmData.Method stub = data.method(AbstractPerfAsmProfiler.MethodDesc.runtimeStub("ic_miss_stub"));
+
+        Assert.assertSame(v1, v2);
+        Assert.assertEquals("org.openjdk.Foo::bar", v1.name);
+        Assert.assertEquals(Arrays.asList("C1, level 3", "C2, level 4"), Arrays.asList(v1.sources.toArray()));
+        Assert.assertEquals("runtime stub: ic_miss_stub", stub.name);
+    }
+
+    private static PerfAsmData data(long ops, long fooCycles, long barCycles, String fooMix) {
+        PerfAsmData data = new PerfAsmData(Arrays.asList("cycles", "instructions"), ops);
+        data.totals.add("cycles", fooCycles + barCycles);
+        data.totals.add("instructions", 2 * (fooCycles + barCycles));
+
+        PerfAsmData.Method foo = data.method("org.openjdk.Foo::foo");
+        foo.sources.add("C2, level 4");
+        foo.counts.add("cycles", fooCycles);
+        foo.counts.add("instructions", 2 * fooCycles);
+        foo.mix("cycles").add(fooMix, fooCycles);
+
+        if (barCycles > 0) {
+            PerfAsmData.Method bar = data.method("org.openjdk.Foo::bar");
+            bar.sources.add("C2, level 4");
+            bar.counts.add("cycles", barCycles);
+        }
+        return data;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        PerfAsmData data = data(1000, 300, 100, "lock cmpxchg");
+        File file = FileUtils.tempFile("perfasm");
+        data.write(file);
+
+        PerfAsmData read = PerfAsmData.read(file);
+        Assert.assertEquals(data.events, read.events);
+        Assert.assertEquals(1000, read.ops);
+        Assert.assertEquals(400, read.totals.count("cycles"));
+        Assert.assertEquals(Arrays.asList("org.openjdk.Foo::foo", "org.openjdk.Foo::bar"), Arrays.asList(read.methods.keySet().toArray()));
+
+        PerfAsmData.Method foo = read.methods.get("org.openjdk.Foo::foo");
+        Assert.assertEquals("C2, level 4", foo.sources.first());
+        Assert.assertEquals(300, foo.counts.count("cycles"));
+        Assert.assertEquals(600, foo.counts.count("instructions"));
+        Assert.assertEquals(300, foo.mix("cycles").count("lock cmpxchg"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotData() throws IOException {
+        File file = FileUtils.tempFile("perfasm");
+        FileUtils.writeLines(file, Arrays.asList("cycles 100"));
+        PerfAsmData.read(file);
+    }
+
+    @Test
+    public void testDiff() {
+        // Current run is twice longer, foo got 50% slower per op, bar is new.
+        PerfAsmData base = data(1000, 200, 0, "mov");
+        PerfAsmData cur = data(2000, 600, 100, "vmovdqu");
+
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+        PerfAsmDiff.print(pw, base, cur, 20);
+        pw.flush();
+        String out = sw.toString();
+
+        String[] lines = out.split(System.lineSeparator());
+        int fooLine = -1;
+        int barLine = -1;
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].endsWith("  org.openjdk.Foo::foo")) fooLine = i;
+            if (lines[i].endsWith("  org.openjdk.Foo::bar")) barLine = i;
+        }
+        Assert.assertTrue(out, fooLine > 0 && barLine > fooLine);
+        Assert.assertTrue(out, lines[fooLine].contains("(+50.0%)"));
+        Assert.assertTrue(out, lines[barLine].contains("(new)"));
+        Assert.assertTrue(out, out.contains("[Instruction Mix Difference: org.openjdk.Foo::foo]"));
+        Assert.assertTrue(out, out.contains("vmovdqu"));
+        Assert.assertTrue(out, out.contains("mov"));
+    }
+
+    @Test
+    public void testNoCommonEvents() {
+        PerfAsmData base = new PerfAsmData(Arrays.asList("cycles"), 1);
+        PerfAsmData cur = new PerfAsmData(Arrays.asList("instructions"), 1);
+
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+        PerfAsmDiff.print(pw, base, cur, 20);
+        pw.flush();
+        Assert.assertTrue(sw.toString(), sw.toString().contains("No common events"));
+    }
+
+}
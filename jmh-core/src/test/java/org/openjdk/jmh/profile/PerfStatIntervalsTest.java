@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class PerfStatIntervalsTest {
+
+    private static final double ASSERT_ACCURACY = 0.0000001;
+
+    private static PerfStatIntervals parse(String... lines) throws IOException {
+        return PerfStatIntervals.parse(new StringReader(String.join("\n", lines)));
+    }
+
+    @Test
+    public void parseFormats() throws IOException {
+        PerfStatIntervals data = parse(
+                "# started on Mon Jan  1 00:00:00 2024",
+                "",
+                "     1.000000000,1000,cycles",
+                "     1.000000000,2000,,instructions",
+                "     1.000000000,3000,,branches,1000000000,100.00,,",
+                "     1.000000000,<not supported>,,LLC-loads,0,100.00,,",
+                "     garbage");
+
+        Assert.assertEquals(Arrays.asList("cycles", "instructions", "branches"), new ArrayList<>(data.events()));
+        Assert.assertEquals(1000, data.estimate("cycles", 0, 1).value, ASSERT_ACCURACY);
+        Assert.assertEquals(2000, data.estimate("instructions", 0, 1).value, ASSERT_ACCURACY);
+        Assert.assertEquals(3000, data.estimate("branches", 0, 1).value, ASSERT_ACCURACY);
+        Assert.assertEquals(1, data.estimate("branches", 0, 1).coverage, ASSERT_ACCURACY);
+        Assert.assertNull(data.estimate("LLC-loads", 0, 1));
+    }
+
+    @Test
+    public void partialOverlap() throws IOException {
+        PerfStatIntervals data = parse(
+                "     0.100000000,100,,cycles,100000000,100.00,,",
+                "     0.200000000,200,,cycles,100000000,100.00,,",
+                "     0.300000000,400,,cycles,100000000,100.00,,");
+
+        // Half of the second interval, and the entire third one
+        Assert.assertEquals(500, data.estimate("cycles", 0.15, 0.3).value, ASSERT_ACCURACY);
+        Assert.assertEquals(700, data.estimate("cycles", 0, 1).value, ASSERT_ACCURACY);
+        Assert.assertNull(data.estimate("cycles", 0.5, 1));
+    }
+
+    @Test
+    public void multiplexScaling() throws IOException {
+        // perf reports counts already scaled by enabled/running time:
+        //   first interval: raw 100 over 25% of the time -> 400
+        //   second interval: raw 300 over 75% of the time -> 400
+        PerfStatIntervals data = parse(
+                "     0.100000000,400,,cycles,25000000,25.00,,",
+                "     0.200000000,400,,cycles,75000000,75.00,,",
+                "     0.300000000,<not counted>,,cycles,0,0.00,,");
+
+        // Raw counts are summed, then scaled once: (100 + 300) * 200ms / 100ms
+        PerfStatIntervals.Estimate est = data.estimate("cycles", 0, 0.2);
+        Assert.assertEquals(800, est.value, ASSERT_ACCURACY);
+        Assert.assertEquals(0.5, est.coverage, ASSERT_ACCURACY);
+
+        // Not counted interval extends enabled time, but adds no raw counts
+        est = data.estimate("cycles", 0, 0.3);
+        Assert.assertEquals(1200, est.value, ASSERT_ACCURACY);
+        Assert.assertEquals(1D / 3, est.coverage, ASSERT_ACCURACY);
+
+        Assert.assertNull(data.estimate("cycles", 0.2, 0.3));
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.results;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+public class TestRunResult {
+
+    private static RunResult makeResult() {
+        Collection<BenchmarkResult> brs = new ArrayList<>();
+        for (int f = 0; f < 3; f++) {
+            Collection<IterationResult> irs = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                IterationResult ir = new IterationResult(null, null, null);
+                ir.addResult(new ThroughputResult(ResultRole.PRIMARY, "test", 100 + f * 10 + i, 1000 * 1000, TimeUnit.MILLISECONDS));
+                ir.addResult(new ThroughputResult(ResultRole.SECONDARY, "sec", 10 + i, 1000 * 1000, TimeUnit.MILLISECONDS));
+                irs.add(ir);
+            }
+            brs.add(new BenchmarkResult(null, irs));
+        }
+        return new RunResult(null, brs);
+    }
+
+    @Test
+    public void testCompact() {
+        RunResult full = makeResult();
+        RunResult compact = full.compact();
+
+        Assert.assertTrue(compact.getBenchmarkResults().isEmpty());
+        Assert.assertTrue(compact.getAggregatedResult().getIterationResults().isEmpty());
+
+        Result fp = full.getPrimaryResult();
+        Result cp = compact.getPrimaryResult();
+        Assert.assertEquals(fp.getScore(), cp.getScore(), 0.0);
+        Assert.assertEquals(fp.getScoreError(), cp.getScoreError(), 0.0);
+        Assert.assertEquals(fp.getSampleCount(), cp.getSampleCount());
+
+        Assert.assertEquals(full.getSecondaryResults().keySet(), compact.getSecondaryResults().keySet());
+        Assert.assertEquals(full.getSecondaryResults().get("sec").getScore(),
+                compact.getSecondaryResults().get("sec").getScore(), 0.0);
+    }
+
+    @Test
+    public void testCompactEmpty() {
+        RunResult empty = new RunResult(null, Arrays.asList());
+        Assert.assertSame(empty, empty.compact());
+    }
+
+}
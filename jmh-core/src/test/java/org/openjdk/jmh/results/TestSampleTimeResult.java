@@ -25,8 +25,10 @@
 package org.openjdk.jmh.results;
 
 import org.junit.Test;
+import org.openjdk.jmh.util.ListStatistics;
 import org.openjdk.jmh.util.SampleBuffer;
 
+import java.io.*;
 import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
@@ -72,4 +74,52 @@ public class TestSampleTimeResult {
         assertEquals("us/op", result.getScoreUnit());
     }
 
+    @Test
+    public void testScoreErrorWeighted() {
+        SampleBuffer plain = new SampleBuffer();
+        SampleBuffer weighted = new SampleBuffer();
+        ListStatistics expected = new ListStatistics();
+        for (int c = 0; c < 1000; c++) {
+            long v = (c % 2 == 0) ? 1000 : 3000;
+            plain.add(v);
+            weighted.addWeighted(v, 1024);
+            expected.addValue(v / 1000D);
+        }
+
+        SampleTimeResult rp = new SampleTimeResult(ResultRole.PRIMARY, "Test1", plain, TimeUnit.MICROSECONDS);
+        SampleTimeResult rw = new SampleTimeResult(ResultRole.PRIMARY, "Test1", weighted, TimeUnit.MICROSECONDS);
+
+        // Weights stand for the unsampled invocations, they should not shrink the error
+        assertEquals(1000, rw.getStatistics().getN());
+        assertEquals(2.0, rw.getScore(), ASSERT_ACCURACY);
+        assertEquals(expected.getMeanErrorAt(0.999), rp.getScoreError(), 0.001);
+        assertEquals(expected.getMeanErrorAt(0.999), rw.getScoreError(), 0.001);
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        SampleBuffer b = new SampleBuffer();
+        for (int c = 0; c < 10_000; c++) {
+            b.add(c * 37L);
+        }
+        b.add(Long.MAX_VALUE / 2);
+
+        SampleTimeResult r = new SampleTimeResult(ResultRole.PRIMARY, "Test1", b, TimeUnit.MICROSECONDS);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(r);
+        }
+
+        SampleTimeResult copy;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            copy = (SampleTimeResult) ois.readObject();
+        }
+
+        assertEquals(r.getStatistics().getN(), copy.getStatistics().getN());
+        assertEquals(r.getScore(), copy.getScore(), ASSERT_ACCURACY);
+        assertEquals(r.getStatistics().getMax(), copy.getStatistics().getMax(), ASSERT_ACCURACY);
+        assertEquals(r.getStatistics().getPercentile(99), copy.getStatistics().getPercentile(99), ASSERT_ACCURACY);
+    }
+
 }
@@ -144,6 +144,58 @@ public class ResultFormatTest {
         }
     }
 
+    /*
+     * Streaming formats should produce the same document as the batch ones.
+     */
+    public void testStreaming(ResultFormatType type, Locale locale, String suffix) throws IOException {
+        Locale prevLocale = Locale.getDefault();
+        Locale.setDefault(locale);
+
+        String actualFileName = "test." + type.toString().toLowerCase() + suffix;
+        String goldenFileName = "output-golden." + type.toString().toLowerCase() + suffix;
+
+        try {
+            Collection<RunResult> stub = getStub();
+            Collection<BenchmarkParams> params = new ArrayList<>();
+            for (RunResult rr : stub) {
+                params.add(rr.getParams());
+            }
+
+            String actualFile = FileUtils.tempFile(actualFileName).getAbsolutePath();
+            StreamingResultFormat rf = ResultFormatFactory.getStreamingInstance(type, actualFile);
+            rf.startRun(params);
+            for (RunResult rr : stub) {
+                rf.writeResult(rr);
+            }
+            rf.endRun();
+
+            compare(actualFile, goldenFileName);
+        } finally {
+            Locale.setDefault(prevLocale);
+        }
+    }
+
+    @Test
+    public void jsonStreamingTest() throws IOException {
+        testStreaming(ResultFormatType.JSON, Locale.ROOT, "");
+    }
+
+    @Test
+    public void csvStreamingTest() throws IOException {
+        testStreaming(ResultFormatType.CSV, Locale.ROOT, ".root");
+    }
+
+    @Test
+    public void scsvStreamingTest() throws IOException {
+        testStreaming(ResultFormatType.SCSV, Locale.ROOT, ".root");
+    }
+
+    @Test
+    public void noStreamingForTextFormats() {
+        Assert.assertNull(ResultFormatFactory.getStreamingInstance(ResultFormatType.TEXT, "unused"));
+        Assert.assertNull(ResultFormatFactory.getStreamingInstance(ResultFormatType.LATEX, "unused"));
+    }
+
     /*
      * JSON has a strict format for numbers, the results should be Locale-agnostic.
      */
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.results.MeasurementStopReason;
+import org.openjdk.jmh.util.ListStatistics;
+
+public class TestAdaptiveMeasurement {
+
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    private static ListStatistics scores(double... values) {
+        ListStatistics s = new ListStatistics();
+        for (double v : values) {
+            s.addValue(v);
+        }
+        return s;
+    }
+
+    @Test
+    public void testNotEnoughData() {
+        Assert.assertNull(BaseRunner.shouldStopBefore(1, 0, 10, NO_LIMIT, 0, scores(), 0.01));
+        Assert.assertNull(BaseRunner.shouldStopBefore(3, 0, 10, NO_LIMIT, 0, scores(100, 100), 0.01));
+    }
+
+    @Test
+    public void testConverged() {
+        Assert.assertEquals(MeasurementStopReason.CONVERGED,
+                BaseRunner.shouldStopBefore(4, 0, 10, NO_LIMIT, 0, scores(100, 100.01, 99.99), 0.01));
+    }
+
+    @Test
+    public void testMinimumCount() {
+        Assert.assertNull(BaseRunner.shouldStopBefore(4, 5, 10, NO_LIMIT, 0, scores(100, 100.01, 99.99), 0.01));
+        Assert.assertEquals(MeasurementStopReason.CONVERGED,
+                BaseRunner.shouldStopBefore(5, 5, 10, NO_LIMIT, 0, scores(100, 100.01, 99.99, 100), 0.01));
+    }
+
+    @Test
+    public void testNotConverged() {
+        Assert.assertNull(BaseRunner.shouldStopBefore(4, 0, 10, NO_LIMIT, 0, scores(50, 150, 100), 0.01));
+    }
+
+    @Test
+    public void testMaxIterations() {
+        Assert.assertEquals(MeasurementStopReason.MAX_ITERATIONS,
+                BaseRunner.shouldStopBefore(4, 0, 4, NO_LIMIT, 0, scores(50, 150, 100), 0.01));
+    }
+
+    @Test
+    public void testMaxTime() {
+        // Three iterations took 3 seconds, the one after the next would end at 5 seconds.
+        Assert.assertNull(BaseRunner.shouldStopBefore(4, 0, 10, 5_000_000_000L, 3_000_000_000L,
+                scores(50, 150, 100), 0.01));
+        Assert.assertEquals(MeasurementStopReason.MAX_TIME,
+                BaseRunner.shouldStopBefore(4, 0, 10, 4_999_999_999L, 3_000_000_000L,
+                scores(50, 150, 100), 0.01));
+    }
+
+    @Test
+    public void testMaxTimeHonorsMinimumCount() {
+        Assert.assertNull(BaseRunner.shouldStopBefore(4, 5, 10, 1, 3_000_000_000L, scores(50, 150, 100), 0.01));
+    }
+
+}
@@ -71,7 +71,8 @@ public class TestBenchmarkList {
                 Optional.<Map<String, String[]>>none(),
                 Optional.<TimeUnit>none(),
                 Optional.<Integer>none(),
-                Optional.<TimeValue>none()
+                Optional.<TimeValue>none(),
+                Optional.<Double>none()
         );
 
         sb.append(br.toLine());
@@ -65,7 +65,8 @@ public class TestBenchmarkListEncoding {
                 Optional.<Map<String, String[]>>none(),
                 Optional.<TimeUnit>none(),
                 Optional.<Integer>none(),
-                Optional.<TimeValue>none()
+                Optional.<TimeValue>none(),
+                Optional.<Double>none()
         );
         return br;
     }
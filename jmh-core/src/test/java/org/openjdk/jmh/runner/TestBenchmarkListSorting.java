@@ -62,7 +62,8 @@ public class TestBenchmarkListSorting {
                 Optional.<Map<String, String[]>>none(),
                 Optional.<TimeUnit>none(),
                 Optional.<Integer>none(),
-                Optional.<TimeValue>none()
+                Optional.<TimeValue>none(),
+                Optional.<Double>none()
         );
         return br;
     }
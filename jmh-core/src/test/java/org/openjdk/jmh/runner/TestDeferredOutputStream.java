@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class TestDeferredOutputStream {
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testHeldUntilRelease() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        DeferredOutputStream dos = new DeferredOutputStream(target);
+
+        dos.write(bytes("spare"), 0, 5);
+        dos.write('\n');
+        dos.flush();
+        Assert.assertEquals(0, target.size());
+
+        dos.release();
+        Assert.assertEquals("spare\n", target.toString("UTF-8"));
+
+        dos.write(bytes("current"), 0, 7);
+        Assert.assertEquals("spare\ncurrent", target.toString("UTF-8"));
+    }
+
+    @Test
+    public void testReleaseTwice() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        DeferredOutputStream dos = new DeferredOutputStream(target);
+
+        dos.write(bytes("abc"), 0, 3);
+        dos.release();
+        dos.release();
+        Assert.assertEquals("abc", target.toString("UTF-8"));
+    }
+
+}
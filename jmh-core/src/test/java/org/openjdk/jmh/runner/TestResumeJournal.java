@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.ResultRole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.ThroughputResult;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.FileUtils;
+import org.openjdk.jmh.util.Utils;
+import org.openjdk.jmh.util.Version;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TestResumeJournal {
+
+    private static RunResult makeResult(String name, double score) {
+        BenchmarkParams params = new BenchmarkParams(name, name, false,
+                1, new int[]{1}, Collections.<String>emptyList(),
+                1, 1,
+                new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1),
+                new IterationParams(IterationType.MEASUREMENT, 1, TimeValue.seconds(1), 1),
+                Mode.Throughput, new WorkloadParams(), TimeUnit.SECONDS, 1,
+                Utils.getCurrentJvm(), Collections.<String>emptyList(),
+                System.getProperty("java.version"), System.getProperty("java.vm.name"), System.getProperty("java.vm.version"), Version.getPlainVersion(),
+                TimeValue.days(1));
+        IterationResult ir = new IterationResult(params, params.getMeasurement(), null);
+        ir.addResult(new ThroughputResult(ResultRole.PRIMARY, "test", score, 1000 * 1000 * 1000, TimeUnit.SECONDS));
+        return new RunResult(params, Collections.singleton(new BenchmarkResult(params, Collections.singleton(ir))));
+    }
+
+    @Test
+    public void testMissing() throws IOException {
+        File file = FileUtils.tempFile("journal");
+        file.delete();
+        Assert.assertTrue(new ResumeJournal(file.getPath()).read().isEmpty());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        File file = FileUtils.tempFile("journal");
+        try {
+            ResumeJournal journal = new ResumeJournal(file.getPath());
+            journal.append(makeResult("bench1", 10));
+            journal.append(makeResult("bench2", 20));
+
+            List<RunResult> rs = new ResumeJournal(file.getPath()).read();
+            Assert.assertEquals(2, rs.size());
+            Assert.assertEquals("bench1", rs.get(0).getParams().getBenchmark());
+            Assert.assertEquals(10, rs.get(0).getPrimaryResult().getScore(), 0.001);
+            Assert.assertEquals("bench2", rs.get(1).getParams().getBenchmark());
+            Assert.assertEquals(20, rs.get(1).getPrimaryResult().getScore(), 0.001);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        File file = FileUtils.tempFile("journal");
+        try {
+            ResumeJournal journal = new ResumeJournal(file.getPath());
+            journal.append(makeResult("bench1", 10));
+            long len = file.length();
+            journal.append(makeResult("bench2", 20));
+
+            // Simulate the crash in the middle of writing the second record
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(len + 10);
+            }
+
+            List<RunResult> rs = journal.read();
+            Assert.assertEquals(1, rs.size());
+            Assert.assertEquals(len, file.length());
+
+            // New records should follow the complete ones
+            journal.append(makeResult("bench3", 30));
+            rs = journal.read();
+            Assert.assertEquals(2, rs.size());
+            Assert.assertEquals("bench3", rs.get(1).getParams().getBenchmark());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testNotJournal() throws IOException {
+        File file = FileUtils.tempFile("journal");
+        try {
+            try (FileOutputStream fos = new FileOutputStream(file)) {
+                fos.write("[ { \"benchmark\" : \"foo\" } ]".getBytes());
+            }
+            long len = file.length();
+            try {
+                new ResumeJournal(file.getPath()).read();
+                Assert.fail("Should have failed");
+            } catch (IOException e) {
+                // expected
+            }
+            Assert.assertEquals("Foreign file should be left intact", len, file.length());
+        } finally {
+            file.delete();
+        }
+    }
+
+}
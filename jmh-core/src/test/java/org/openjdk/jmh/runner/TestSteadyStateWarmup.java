@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TestSteadyStateWarmup {
+
+    @Test
+    public void testNotEnoughData() {
+        Assert.assertTrue(Double.isNaN(BaseRunner.relativeSlope(Collections.<Double>emptyList(), 5)));
+        Assert.assertTrue(Double.isNaN(BaseRunner.relativeSlope(Arrays.asList(1.0, 2.0, 3.0, 4.0), 5)));
+    }
+
+    @Test
+    public void testFlat() {
+        Assert.assertEquals(0, BaseRunner.relativeSlope(Arrays.asList(100.0, 100.0, 100.0), 3), 0);
+    }
+
+    @Test
+    public void testTrending() {
+        // Scores grow by 10 per iteration around the mean of 100.
+        Assert.assertEquals(0.1, BaseRunner.relativeSlope(Arrays.asList(80.0, 90.0, 100.0, 110.0, 120.0), 5), 1e-9);
+        Assert.assertEquals(0.1, BaseRunner.relativeSlope(Arrays.asList(120.0, 110.0, 100.0, 90.0, 80.0), 5), 1e-9);
+    }
+
+    @Test
+    public void testLastWindowOnly() {
+        // Early warmup trend is out of the window.
+        Assert.assertEquals(0, BaseRunner.relativeSlope(Arrays.asList(10.0, 50.0, 100.0, 100.0, 100.0), 3), 0);
+    }
+
+    @Test
+    public void testNoise() {
+        // Noise around the flat line has no trend.
+        Assert.assertEquals(0, BaseRunner.relativeSlope(Arrays.asList(90.0, 110.0, 100.0, 110.0, 90.0), 5), 1e-9);
+    }
+
+}
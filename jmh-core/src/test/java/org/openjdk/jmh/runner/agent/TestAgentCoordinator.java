@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner.agent;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.runner.ActionPlan;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.HashMultimap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestAgentCoordinator {
+
+    // Coordinator does not look into the plans, and agents here do not run them.
+    private static final ActionPlan NO_PLAN = null;
+
+    private static AgentResult result(AgentClient client, String output) {
+        return new AgentResult(client.getHost(), client.getPid(),
+                new HashMultimap<BenchmarkParams, BenchmarkResult>(), output.getBytes(), null);
+    }
+
+    private static Thread startAgent(final AgentCoordinator coordinator, final List<String> done) {
+        Thread t = new Thread(() -> {
+            try {
+                AgentClient client = connect(coordinator);
+                try {
+                    AgentPlanFrame frame;
+                    while ((frame = client.nextPlan()) != null) {
+                        String name = Thread.currentThread().getName();
+                        synchronized (done) {
+                            done.add(name);
+                        }
+                        client.sendResult(result(client, name));
+                    }
+                } finally {
+                    client.close();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        t.start();
+        return t;
+    }
+
+    private static AgentClient connect(AgentCoordinator coordinator) throws IOException {
+        return new AgentClient("localhost", coordinator.getPort(), coordinator.getToken());
+    }
+
+    @Test
+    public void testMultipleAgents() throws Exception {
+        AgentCoordinator coordinator = new AgentCoordinator(new OptionsBuilder().build(), 0);
+
+        List<Future<AgentResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(coordinator.submit(NO_PLAN));
+        }
+
+        List<String> done = new ArrayList<>();
+        Thread a1 = startAgent(coordinator, done);
+        Thread a2 = startAgent(coordinator, done);
+
+        for (Future<AgentResult> f : futures) {
+            AgentResult r = f.get(30, TimeUnit.SECONDS);
+            Assert.assertNotNull(r.getHost());
+            Assert.assertNull(r.getFailure());
+        }
+
+        coordinator.terminate();
+
+        // Agents exit once coordinator tells them there is nothing left to run.
+        a1.join(TimeUnit.SECONDS.toMillis(30));
+        a2.join(TimeUnit.SECONDS.toMillis(30));
+        Assert.assertFalse(a1.isAlive());
+        Assert.assertFalse(a2.isAlive());
+        Assert.assertEquals(10, done.size());
+    }
+
+    @Test
+    public void testAgentLost() throws Exception {
+        AgentCoordinator coordinator = new AgentCoordinator(new OptionsBuilder().build(), 0);
+        Future<AgentResult> f = coordinator.submit(NO_PLAN);
+
+        // This agent takes the benchmark, and disappears without the result.
+        AgentClient lost = connect(coordinator);
+        Assert.assertNotNull(lost.nextPlan());
+        lost.close();
+
+        AgentClient client = connect(coordinator);
+        Assert.assertNotNull(client.nextPlan());
+        client.sendResult(result(client, "second"));
+
+        AgentResult r = f.get(30, TimeUnit.SECONDS);
+        Assert.assertEquals("second", new String(r.getOutput()));
+
+        coordinator.terminate();
+        Assert.assertNull(client.nextPlan());
+        Assert.assertNull(client.getFinishReason());
+        client.close();
+    }
+
+    @Test
+    public void testWrongToken() throws Exception {
+        AgentCoordinator coordinator = new AgentCoordinator(new OptionsBuilder().build(), 0);
+        Future<AgentResult> f = coordinator.submit(NO_PLAN);
+
+        // This agent does not know the token, and gets nothing to run.
+        AgentClient stranger = new AgentClient("localhost", coordinator.getPort(), "not-a-token");
+        Assert.assertNull(stranger.nextPlan());
+        Assert.assertNotNull(stranger.getFinishReason());
+        stranger.close();
+
+        AgentClient client = connect(coordinator);
+        Assert.assertNotNull(client.nextPlan());
+        client.sendResult(result(client, "trusted"));
+        Assert.assertEquals("trusted", new String(f.get(30, TimeUnit.SECONDS).getOutput()));
+
+        coordinator.terminate();
+        client.close();
+    }
+
+    @Test
+    public void testListensOnLoopback() throws Exception {
+        AgentCoordinator coordinator = new AgentCoordinator(new OptionsBuilder().build(), 0);
+        Assert.assertTrue(coordinator.getAddress().isLoopbackAddress());
+        coordinator.terminate();
+    }
+
+    @Test
+    public void testTerminateCancelsPending() throws Exception {
+        AgentCoordinator coordinator = new AgentCoordinator(new OptionsBuilder().build(), 0);
+        Future<AgentResult> f = coordinator.submit(NO_PLAN);
+        coordinator.terminate();
+        Assert.assertTrue(f.isCancelled());
+    }
+
+}
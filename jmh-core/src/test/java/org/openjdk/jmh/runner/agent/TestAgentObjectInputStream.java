@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner.agent;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.ScalarResult;
+import org.openjdk.jmh.runner.BenchmarkException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TestAgentObjectInputStream {
+
+    private static Object roundTrip(Object o) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(o);
+        }
+        try (AgentObjectInputStream ois = new AgentObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            return ois.readObject();
+        }
+    }
+
+    static class UserException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    @Test
+    public void testAllowed() throws Exception {
+        List<Object> list = new ArrayList<>();
+        list.add("string");
+        list.add(new int[] {1, 2, 3});
+        list.add(new String[] {"a", "b"});
+        list.add(new ScalarResult("label", 1.0, "ops/s", AggregationPolicy.AVG));
+        Assert.assertEquals(4, ((List<?>) roundTrip(list)).size());
+    }
+
+    @Test
+    public void testUserExceptionAllowed() throws Exception {
+        BenchmarkException be = new BenchmarkException("Benchmark error",
+                Collections.<Throwable>singleton(new UserException()));
+        BenchmarkException read = (BenchmarkException) roundTrip(be);
+        Assert.assertTrue(read.getSuppressed()[0] instanceof UserException);
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void testRejected() throws Exception {
+        roundTrip(new File("file"));
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void testNestedRejected() throws Exception {
+        roundTrip(Collections.singletonList(new File("file")));
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void testArrayRejected() throws Exception {
+        roundTrip(new File[] {new File("file")});
+    }
+
+}
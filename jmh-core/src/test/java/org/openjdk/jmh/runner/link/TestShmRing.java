@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner.link;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TestShmRing {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        File file = FileUtils.tempFile("ring");
+        try {
+            // Small ring forces wrap-arounds and producer waits.
+            ShmRing writer = ShmRing.create(file, 61);
+            ShmRing reader = ShmRing.open(file);
+
+            byte[] data = new byte[100_000];
+            new Random(42).nextBytes(data);
+
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            Thread producer = new Thread(() -> {
+                try (OutputStream os = writer.outputStream()) {
+                    Random r = new Random(1);
+                    int pos = 0;
+                    while (pos < data.length) {
+                        int len = Math.min(data.length - pos, r.nextInt(200) + 1);
+                        os.write(data, pos, len);
+                        pos += len;
+                    }
+                } catch (IOException e) {
+                    error.set(e);
+                }
+            });
+            producer.start();
+
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            InputStream is = reader.inputStream(() -> false);
+            byte[] buf = new byte[137];
+            int read;
+            while ((read = is.read(buf)) != -1) {
+                bos.write(buf, 0, read);
+            }
+            producer.join();
+
+            Assert.assertNull(error.get());
+            Assert.assertArrayEquals(data, bos.toByteArray());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testProducerGone() throws Exception {
+        File file = FileUtils.tempFile("ring");
+        try {
+            ShmRing ring = ShmRing.create(file, 1024);
+
+            // Producer writes something, but never closes the ring.
+            OutputStream os = ring.outputStream();
+            os.write(new byte[]{1, 2, 3});
+
+            InputStream is = ring.inputStream(() -> true);
+            Assert.assertEquals(1, is.read());
+            Assert.assertEquals(2, is.read());
+            Assert.assertEquals(3, is.read());
+            Assert.assertEquals(-1, is.read());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testReaderGone() throws Exception {
+        File file = FileUtils.tempFile("ring");
+        try {
+            ShmRing ring = ShmRing.create(file, 16);
+            ring.closeReader();
+
+            OutputStream os = ring.outputStream();
+            os.write(new byte[16]);
+            try {
+                os.write(1);
+                Assert.fail("Should have failed");
+            } catch (IOException e) {
+                // expected
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        File file = FileUtils.tempFile("ring");
+        try {
+            ShmRing ring = ShmRing.create(file, 16);
+            OutputStream os = ring.outputStream();
+            os.write(new byte[]{1, 2, 3});
+            os.close();
+
+            ring.reset();
+
+            InputStream is = ring.inputStream(() -> true);
+            Assert.assertEquals(-1, is.read());
+        } finally {
+            file.delete();
+        }
+    }
+
+}
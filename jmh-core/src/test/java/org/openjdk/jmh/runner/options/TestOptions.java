@@ -130,6 +130,37 @@ public class TestOptions {
         Assert.assertEquals(EMPTY_BUILDER.getResultFormat(), EMPTY_CMDLINE.getResultFormat());
     }
 
+    @Test
+    public void testCompactResults_True() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-rfcompact", "true");
+        Options builder = new OptionsBuilder().compactResults(true).build();
+        Assert.assertEquals(builder.shouldCompactResults(), cmdLine.shouldCompactResults());
+    }
+
+    @Test
+    public void testCompactResults_False() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-rfcompact", "false");
+        Options builder = new OptionsBuilder().compactResults(false).build();
+        Assert.assertEquals(builder.shouldCompactResults(), cmdLine.shouldCompactResults());
+    }
+
+    @Test
+    public void testCompactResults_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.shouldCompactResults(), EMPTY_CMDLINE.shouldCompactResults());
+    }
+
+    @Test
+    public void testResume() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-resume", "journal.bin");
+        Options builder = new OptionsBuilder().resume("journal.bin").build();
+        Assert.assertEquals(builder.getResume(), cmdLine.getResume());
+    }
+
+    @Test
+    public void testResume_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getResume(), EMPTY_CMDLINE.getResume());
+    }
+
     @Test
     public void testResult() throws Exception {
         CommandLineOptions cmdLine = new CommandLineOptions("-rff", "sample.out");
@@ -541,6 +572,108 @@ public class TestOptions {
         Assert.assertEquals(EMPTY_BUILDER.getOperationsPerInvocation(), EMPTY_CMDLINE.getOperationsPerInvocation());
     }
 
+    @Test
+    public void testTargetRate() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-rate", "2500");
+        Options builder = new OptionsBuilder().targetRate(2500).build();
+        Assert.assertEquals(builder.getTargetRate(), cmdLine.getTargetRate());
+    }
+
+    @Test
+    public void testSampleLatency_True() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-lat", "true");
+        Options builder = new OptionsBuilder().sampleLatency(true).build();
+        Assert.assertEquals(builder.shouldSampleLatency(), cmdLine.shouldSampleLatency());
+    }
+
+    @Test
+    public void testSampleLatency_False() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-lat", "false");
+        Options builder = new OptionsBuilder().sampleLatency(false).build();
+        Assert.assertEquals(builder.shouldSampleLatency(), cmdLine.shouldSampleLatency());
+    }
+
+    @Test
+    public void testSampleLatency_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.shouldSampleLatency(), EMPTY_CMDLINE.shouldSampleLatency());
+    }
+
+    @Test
+    public void testThreadBreakdown_True() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-tb", "true");
+        Options builder = new OptionsBuilder().threadBreakdown(true).build();
+        Assert.assertEquals(builder.shouldBreakdownThreads(), cmdLine.shouldBreakdownThreads());
+    }
+
+    @Test
+    public void testThreadBreakdown_False() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-tb", "false");
+        Options builder = new OptionsBuilder().threadBreakdown(false).build();
+        Assert.assertEquals(builder.shouldBreakdownThreads(), cmdLine.shouldBreakdownThreads());
+    }
+
+    @Test
+    public void testThreadBreakdown_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.shouldBreakdownThreads(), EMPTY_CMDLINE.shouldBreakdownThreads());
+    }
+
+    @Test
+    public void testTimelineInterval() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-tli", "100ms");
+        Options builder = new OptionsBuilder().timelineInterval(TimeValue.milliseconds(100)).build();
+        Assert.assertEquals(builder.getTimelineInterval(), cmdLine.getTimelineInterval());
+    }
+
+    @Test
+    public void testTimelineInterval_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getTimelineInterval(), EMPTY_CMDLINE.getTimelineInterval());
+    }
+
+    @Test
+    public void testTimelineInterval_Zero() {
+        try {
+            new CommandLineOptions("-tli", "0ms");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            Assert.assertEquals("Timeline interval should be positive, but it is 0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testTimelineInterval_Zero_OptionsBuilder() {
+        try {
+            new OptionsBuilder().timelineInterval(TimeValue.NONE);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Timeline interval (0) should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testTargetRate_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getTargetRate(), EMPTY_CMDLINE.getTargetRate());
+    }
+
+    @Test
+    public void testTargetRate_Zero() {
+        try {
+            new CommandLineOptions("-rate", "0");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            Assert.assertEquals("Target rate should be positive, but it is 0.0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testTargetRate_Zero_OptionsBuilder() {
+        try {
+            new OptionsBuilder().targetRate(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Target rate (0.0) should be positive", e.getMessage());
+        }
+    }
+
     @Test
     public void testFork_0() throws Exception {
         CommandLineOptions cmdLine = new CommandLineOptions("-f", "0");
@@ -619,6 +752,120 @@ public class TestOptions {
         }
     }
 
+    @Test
+    public void testForkParallelism() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-fp", "4");
+        Options builder = new OptionsBuilder().forkParallelism(4).build();
+        Assert.assertEquals(builder.getForkParallelism(), cmdLine.getForkParallelism());
+    }
+
+    @Test
+    public void testForkParallelism_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getForkParallelism(), EMPTY_CMDLINE.getForkParallelism());
+    }
+
+    @Test
+    public void testForkParallelism_Zero() {
+        try {
+            new CommandLineOptions("-fp", "0");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            Assert.assertEquals("Cannot parse argument '0' of option fp. The given value 0 should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testForkParallelism_Zero_OptionsBuilder() {
+        try {
+            new OptionsBuilder().forkParallelism(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Fork parallelism (0) should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testPoolForks_True() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-fpool", "true");
+        Options builder = new OptionsBuilder().poolForks(true).build();
+        Assert.assertEquals(builder.shouldPoolForks(), cmdLine.shouldPoolForks());
+    }
+
+    @Test
+    public void testPoolForks_False() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-fpool", "false");
+        Options builder = new OptionsBuilder().poolForks(false).build();
+        Assert.assertEquals(builder.shouldPoolForks(), cmdLine.shouldPoolForks());
+    }
+
+    @Test
+    public void testPoolForks_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.shouldPoolForks(), EMPTY_CMDLINE.shouldPoolForks());
+    }
+
+    @Test
+    public void testSharedMemoryLink_True() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-shm", "true");
+        Options builder = new OptionsBuilder().sharedMemoryLink(true).build();
+        Assert.assertEquals(builder.shouldUseSharedMemoryLink(), cmdLine.shouldUseSharedMemoryLink());
+    }
+
+    @Test
+    public void testSharedMemoryLink_False() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-shm", "false");
+        Options builder = new OptionsBuilder().sharedMemoryLink(false).build();
+        Assert.assertEquals(builder.shouldUseSharedMemoryLink(), cmdLine.shouldUseSharedMemoryLink());
+    }
+
+    @Test
+    public void testSharedMemoryLink_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.shouldUseSharedMemoryLink(), EMPTY_CMDLINE.shouldUseSharedMemoryLink());
+    }
+
+    @Test
+    public void testCoordinatorPort() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-coordinator", "9999");
+        Options builder = new OptionsBuilder().coordinatorPort(9999).build();
+        Assert.assertEquals(builder.getCoordinatorPort(), cmdLine.getCoordinatorPort());
+    }
+
+    @Test
+    public void testCoordinatorPort_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getCoordinatorPort(), EMPTY_CMDLINE.getCoordinatorPort());
+    }
+
+    @Test
+    public void testCoordinatorPort_Negative() {
+        try {
+            new CommandLineOptions("-coordinator", "-1");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            Assert.assertEquals("Cannot parse argument '-1' of option coordinator. The given value -1 should be non-negative", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCoordinatorPort_Negative_OptionsBuilder() {
+        try {
+            new OptionsBuilder().coordinatorPort(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Coordinator port (-1) should be non-negative", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testAgentCoordinator() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-agent", "host:9999");
+        Options builder = new OptionsBuilder().agentCoordinator("host:9999").build();
+        Assert.assertEquals(builder.getAgentCoordinator(), cmdLine.getAgentCoordinator());
+    }
+
+    @Test
+    public void testAgentCoordinator_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getAgentCoordinator(), EMPTY_CMDLINE.getAgentCoordinator());
+    }
+
     @Test
     public void testJvm() throws Exception {
         CommandLineOptions cmdLine = new CommandLineOptions("--jvm", "sample.jar");
@@ -699,6 +946,155 @@ public class TestOptions {
         }
     }
 
+    @Test
+    public void testWarmupSteadySlope() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-wslope", "0.01");
+        Options builder = new OptionsBuilder().warmupSteadySlope(0.01).build();
+        Assert.assertEquals(builder.getWarmupSteadySlope(), cmdLine.getWarmupSteadySlope());
+    }
+
+    @Test
+    public void testWarmupSteadySlope_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getWarmupSteadySlope(), EMPTY_CMDLINE.getWarmupSteadySlope());
+    }
+
+    @Test
+    public void testWarmupSteadySlope_Zero() {
+        try {
+            new CommandLineOptions("-wslope", "0");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            Assert.assertEquals("Warmup steady slope should be positive, but it is 0.0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWarmupSteadySlope_Zero_OptionsBuilder() {
+        try {
+            new OptionsBuilder().warmupSteadySlope(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Warmup steady slope (0.0) should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWarmupMaxIterations() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-wmax", "42");
+        Options builder = new OptionsBuilder().warmupMaxIterations(42).build();
+        Assert.assertEquals(builder.getWarmupMaxIterations(), cmdLine.getWarmupMaxIterations());
+    }
+
+    @Test
+    public void testWarmupMaxIterations_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getWarmupMaxIterations(), EMPTY_CMDLINE.getWarmupMaxIterations());
+    }
+
+    @Test
+    public void testWarmupMaxIterations_Zero_OptionsBuilder() {
+        try {
+            new OptionsBuilder().warmupMaxIterations(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Warmup max iterations (0) should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWarmupWaitCompilation_True() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-wjit", "true");
+        Options builder = new OptionsBuilder().warmupWaitCompilation(true).build();
+        Assert.assertEquals(builder.shouldWarmupWaitCompilation(), cmdLine.shouldWarmupWaitCompilation());
+    }
+
+    @Test
+    public void testWarmupWaitCompilation_False() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-wjit", "false");
+        Options builder = new OptionsBuilder().warmupWaitCompilation(false).build();
+        Assert.assertEquals(builder.shouldWarmupWaitCompilation(), cmdLine.shouldWarmupWaitCompilation());
+    }
+
+    @Test
+    public void testWarmupWaitCompilation_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.shouldWarmupWaitCompilation(), EMPTY_CMDLINE.shouldWarmupWaitCompilation());
+    }
+
+    @Test
+    public void testMeasurementTargetError() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-ierr", "0.01");
+        Options builder = new OptionsBuilder().measurementTargetError(0.01).build();
+        Assert.assertEquals(builder.getMeasurementTargetError(), cmdLine.getMeasurementTargetError());
+    }
+
+    @Test
+    public void testMeasurementTargetError_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getMeasurementTargetError(), EMPTY_CMDLINE.getMeasurementTargetError());
+    }
+
+    @Test
+    public void testMeasurementTargetError_Zero() {
+        try {
+            new CommandLineOptions("-ierr", "0");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            Assert.assertEquals("Measurement target error should be positive, but it is 0.0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMeasurementTargetError_Zero_OptionsBuilder() {
+        try {
+            new OptionsBuilder().measurementTargetError(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Measurement target error (0.0) should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMeasurementMaxIterations() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-imax", "42");
+        Options builder = new OptionsBuilder().measurementMaxIterations(42).build();
+        Assert.assertEquals(builder.getMeasurementMaxIterations(), cmdLine.getMeasurementMaxIterations());
+    }
+
+    @Test
+    public void testMeasurementMaxIterations_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getMeasurementMaxIterations(), EMPTY_CMDLINE.getMeasurementMaxIterations());
+    }
+
+    @Test
+    public void testMeasurementMaxIterations_Zero() {
+        try {
+            new CommandLineOptions("-imax", "0");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            Assert.assertEquals("Cannot parse argument '0' of option imax. The given value 0 should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMeasurementMaxIterations_Zero_OptionsBuilder() {
+        try {
+            new OptionsBuilder().measurementMaxIterations(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Measurement max iterations (0) should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMeasurementMaxTime() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-imaxtime", "34ms");
+        Options builder = new OptionsBuilder().measurementMaxTime(TimeValue.milliseconds(34)).build();
+        Assert.assertEquals(builder.getMeasurementMaxTime(), cmdLine.getMeasurementMaxTime());
+    }
+
+    @Test
+    public void testMeasurementMaxTime_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getMeasurementMaxTime(), EMPTY_CMDLINE.getMeasurementMaxTime());
+    }
+
     @Test
     public void testWarmupBatchSize() throws Exception {
         CommandLineOptions cmdLine = new CommandLineOptions("-wbs", "43");
@@ -313,6 +313,48 @@ public class TestParentOptions {
         Assert.assertEquals(ResultFormatType.SCSV, builder.getResultFormat().get());
     }
 
+    @Test
+    public void testCompactResults_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.shouldCompactResults().hasValue());
+    }
+
+    @Test
+    public void testCompactResults_Parent() {
+        Options parent = new OptionsBuilder().compactResults(true).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(true, builder.shouldCompactResults().get());
+    }
+
+    @Test
+    public void testCompactResults_Merge() {
+        Options parent = new OptionsBuilder().compactResults(true).build();
+        Options builder = new OptionsBuilder().parent(parent).compactResults(false).build();
+        Assert.assertEquals(false, builder.shouldCompactResults().get());
+    }
+
+    @Test
+    public void testResume_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.getResume().hasValue());
+    }
+
+    @Test
+    public void testResume_Parent() {
+        Options parent = new OptionsBuilder().resume("journal1").build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals("journal1", builder.getResume().get());
+    }
+
+    @Test
+    public void testResume_Merged() {
+        Options parent = new OptionsBuilder().resume("journal1").build();
+        Options builder = new OptionsBuilder().parent(parent).resume("journal2").build();
+        Assert.assertEquals("journal2", builder.getResume().get());
+    }
+
     @Test
     public void testRuntime_Empty() {
         Options parent = new OptionsBuilder().build();
@@ -481,6 +523,90 @@ public class TestParentOptions {
         Assert.assertEquals(Integer.valueOf(43), builder.getOperationsPerInvocation().get());
     }
 
+    @Test
+    public void testSampleLatency_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.shouldSampleLatency().hasValue());
+    }
+
+    @Test
+    public void testSampleLatency_Parent() {
+        Options parent = new OptionsBuilder().sampleLatency(true).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(true, builder.shouldSampleLatency().get());
+    }
+
+    @Test
+    public void testSampleLatency_Merge() {
+        Options parent = new OptionsBuilder().sampleLatency(true).build();
+        Options builder = new OptionsBuilder().parent(parent).sampleLatency(false).build();
+        Assert.assertEquals(false, builder.shouldSampleLatency().get());
+    }
+
+    @Test
+    public void testThreadBreakdown_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.shouldBreakdownThreads().hasValue());
+    }
+
+    @Test
+    public void testThreadBreakdown_Parent() {
+        Options parent = new OptionsBuilder().threadBreakdown(true).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(true, builder.shouldBreakdownThreads().get());
+    }
+
+    @Test
+    public void testThreadBreakdown_Merge() {
+        Options parent = new OptionsBuilder().threadBreakdown(true).build();
+        Options builder = new OptionsBuilder().parent(parent).threadBreakdown(false).build();
+        Assert.assertEquals(false, builder.shouldBreakdownThreads().get());
+    }
+
+    @Test
+    public void testTimelineInterval_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.getTimelineInterval().hasValue());
+    }
+
+    @Test
+    public void testTimelineInterval_Parent() {
+        Options parent = new OptionsBuilder().timelineInterval(TimeValue.milliseconds(100)).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(TimeValue.milliseconds(100), builder.getTimelineInterval().get());
+    }
+
+    @Test
+    public void testTimelineInterval_Merged() {
+        Options parent = new OptionsBuilder().timelineInterval(TimeValue.milliseconds(100)).build();
+        Options builder = new OptionsBuilder().parent(parent).timelineInterval(TimeValue.milliseconds(10)).build();
+        Assert.assertEquals(TimeValue.milliseconds(10), builder.getTimelineInterval().get());
+    }
+
+    @Test
+    public void testTargetRate_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.getTargetRate().hasValue());
+    }
+
+    @Test
+    public void testTargetRate_Parent() {
+        Options parent = new OptionsBuilder().targetRate(42).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(42, builder.getTargetRate().get(), 0);
+    }
+
+    @Test
+    public void testTargetRate_Merged() {
+        Options parent = new OptionsBuilder().targetRate(42).build();
+        Options builder = new OptionsBuilder().parent(parent).targetRate(43).build();
+        Assert.assertEquals(43, builder.getTargetRate().get(), 0);
+    }
+
     @Test
     public void testVerbose_Empty() {
         Options parent = new OptionsBuilder().build();
@@ -523,6 +649,237 @@ public class TestParentOptions {
         Assert.assertEquals(Integer.valueOf(84), builder.getWarmupForkCount().get());
     }
 
+    @Test
+    public void testForkParallelism_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.getForkParallelism().hasValue());
+    }
+
+    @Test
+    public void testForkParallelism_Parent() {
+        Options parent = new OptionsBuilder().forkParallelism(4).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(Integer.valueOf(4), builder.getForkParallelism().get());
+    }
+
+    @Test
+    public void testForkParallelism_Merge() {
+        Options parent = new OptionsBuilder().forkParallelism(4).build();
+        Options builder = new OptionsBuilder().parent(parent).forkParallelism(8).build();
+        Assert.assertEquals(Integer.valueOf(8), builder.getForkParallelism().get());
+    }
+
+    @Test
+    public void testPoolForks_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.shouldPoolForks().hasValue());
+    }
+
+    @Test
+    public void testPoolForks_Parent() {
+        Options parent = new OptionsBuilder().poolForks(true).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(true, builder.shouldPoolForks().get());
+    }
+
+    @Test
+    public void testPoolForks_Merge() {
+        Options parent = new OptionsBuilder().poolForks(true).build();
+        Options builder = new OptionsBuilder().parent(parent).poolForks(false).build();
+        Assert.assertEquals(false, builder.shouldPoolForks().get());
+    }
+
+    @Test
+    public void testSharedMemoryLink_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.shouldUseSharedMemoryLink().hasValue());
+    }
+
+    @Test
+    public void testSharedMemoryLink_Parent() {
+        Options parent = new OptionsBuilder().sharedMemoryLink(true).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(true, builder.shouldUseSharedMemoryLink().get());
+    }
+
+    @Test
+    public void testSharedMemoryLink_Merge() {
+        Options parent = new OptionsBuilder().sharedMemoryLink(true).build();
+        Options builder = new OptionsBuilder().parent(parent).sharedMemoryLink(false).build();
+        Assert.assertEquals(false, builder.shouldUseSharedMemoryLink().get());
+    }
+
+    @Test
+    public void testWarmupSteadySlope_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.getWarmupSteadySlope().hasValue());
+    }
+
+    @Test
+    public void testWarmupSteadySlope_Parent() {
+        Options parent = new OptionsBuilder().warmupSteadySlope(0.01).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(0.01, builder.getWarmupSteadySlope().get(), 0);
+    }
+
+    @Test
+    public void testWarmupSteadySlope_Merge() {
+        Options parent = new OptionsBuilder().warmupSteadySlope(0.01).build();
+        Options builder = new OptionsBuilder().parent(parent).warmupSteadySlope(0.02).build();
+        Assert.assertEquals(0.02, builder.getWarmupSteadySlope().get(), 0);
+    }
+
+    @Test
+    public void testWarmupMaxIterations_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.getWarmupMaxIterations().hasValue());
+    }
+
+    @Test
+    public void testWarmupMaxIterations_Parent() {
+        Options parent = new OptionsBuilder().warmupMaxIterations(42).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(42, (int) builder.getWarmupMaxIterations().get());
+    }
+
+    @Test
+    public void testWarmupMaxIterations_Merge() {
+        Options parent = new OptionsBuilder().warmupMaxIterations(42).build();
+        Options builder = new OptionsBuilder().parent(parent).warmupMaxIterations(43).build();
+        Assert.assertEquals(43, (int) builder.getWarmupMaxIterations().get());
+    }
+
+    @Test
+    public void testWarmupWaitCompilation_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.shouldWarmupWaitCompilation().hasValue());
+    }
+
+    @Test
+    public void testWarmupWaitCompilation_Parent() {
+        Options parent = new OptionsBuilder().warmupWaitCompilation(false).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(false, builder.shouldWarmupWaitCompilation().get());
+    }
+
+    @Test
+    public void testWarmupWaitCompilation_Merge() {
+        Options parent = new OptionsBuilder().warmupWaitCompilation(false).build();
+        Options builder = new OptionsBuilder().parent(parent).warmupWaitCompilation(true).build();
+        Assert.assertEquals(true, builder.shouldWarmupWaitCompilation().get());
+    }
+
+    @Test
+    public void testMeasurementTargetError_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.getMeasurementTargetError().hasValue());
+    }
+
+    @Test
+    public void testMeasurementTargetError_Parent() {
+        Options parent = new OptionsBuilder().measurementTargetError(0.01).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(0.01, builder.getMeasurementTargetError().get(), 0);
+    }
+
+    @Test
+    public void testMeasurementTargetError_Merge() {
+        Options parent = new OptionsBuilder().measurementTargetError(0.01).build();
+        Options builder = new OptionsBuilder().parent(parent).measurementTargetError(0.02).build();
+        Assert.assertEquals(0.02, builder.getMeasurementTargetError().get(), 0);
+    }
+
+    @Test
+    public void testMeasurementMaxIterations_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.getMeasurementMaxIterations().hasValue());
+    }
+
+    @Test
+    public void testMeasurementMaxIterations_Parent() {
+        Options parent = new OptionsBuilder().measurementMaxIterations(42).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(42, (int) builder.getMeasurementMaxIterations().get());
+    }
+
+    @Test
+    public void testMeasurementMaxIterations_Merge() {
+        Options parent = new OptionsBuilder().measurementMaxIterations(42).build();
+        Options builder = new OptionsBuilder().parent(parent).measurementMaxIterations(43).build();
+        Assert.assertEquals(43, (int) builder.getMeasurementMaxIterations().get());
+    }
+
+    @Test
+    public void testMeasurementMaxTime_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.getMeasurementMaxTime().hasValue());
+    }
+
+    @Test
+    public void testMeasurementMaxTime_Parent() {
+        Options parent = new OptionsBuilder().measurementMaxTime(TimeValue.hours(42)).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(TimeValue.hours(42), builder.getMeasurementMaxTime().get());
+    }
+
+    @Test
+    public void testMeasurementMaxTime_Merge() {
+        Options parent = new OptionsBuilder().measurementMaxTime(TimeValue.hours(42)).build();
+        Options builder = new OptionsBuilder().parent(parent).measurementMaxTime(TimeValue.days(42)).build();
+        Assert.assertEquals(TimeValue.days(42), builder.getMeasurementMaxTime().get());
+    }
+
+    @Test
+    public void testCoordinatorPort_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.getCoordinatorPort().hasValue());
+    }
+
+    @Test
+    public void testCoordinatorPort_Parent() {
+        Options parent = new OptionsBuilder().coordinatorPort(9999).build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals(9999, (int) builder.getCoordinatorPort().get());
+    }
+
+    @Test
+    public void testCoordinatorPort_Merge() {
+        Options parent = new OptionsBuilder().coordinatorPort(9999).build();
+        Options builder = new OptionsBuilder().parent(parent).coordinatorPort(8888).build();
+        Assert.assertEquals(8888, (int) builder.getCoordinatorPort().get());
+    }
+
+    @Test
+    public void testAgentCoordinator_Empty() {
+        Options parent = new OptionsBuilder().build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertFalse(builder.getAgentCoordinator().hasValue());
+    }
+
+    @Test
+    public void testAgentCoordinator_Parent() {
+        Options parent = new OptionsBuilder().agentCoordinator("host1:9999").build();
+        Options builder = new OptionsBuilder().parent(parent).build();
+        Assert.assertEquals("host1:9999", builder.getAgentCoordinator().get());
+    }
+
+    @Test
+    public void testAgentCoordinator_Merge() {
+        Options parent = new OptionsBuilder().agentCoordinator("host1:9999").build();
+        Options builder = new OptionsBuilder().parent(parent).agentCoordinator("host2:9999").build();
+        Assert.assertEquals("host2:9999", builder.getAgentCoordinator().get());
+    }
+
     @Test
     public void testWarmupIters_Empty() {
         Options parent = new OptionsBuilder().build();
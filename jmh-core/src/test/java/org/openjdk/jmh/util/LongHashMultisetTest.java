@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+public class LongHashMultisetTest {
+
+    @Test
+    public void testBasic() {
+        LongHashMultiset set = new LongHashMultiset();
+        Assert.assertTrue(set.isEmpty());
+
+        set.add(0L);
+        set.add(-1L, 2);
+        set.add(Long.MAX_VALUE, 3);
+
+        Assert.assertFalse(set.isEmpty());
+        Assert.assertEquals(6, set.size());
+        Assert.assertEquals(1, set.count(0L));
+        Assert.assertEquals(2, set.count(-1L));
+        Assert.assertEquals(3, set.count(Long.MAX_VALUE));
+        Assert.assertEquals(0, set.count(42L));
+        Assert.assertArrayEquals(new long[]{-1L, 0L, Long.MAX_VALUE}, set.sortedKeys());
+        Assert.assertEquals(Arrays.asList(-1L, 0L, Long.MAX_VALUE), new ArrayList<>(set.keys()));
+    }
+
+    @Test
+    public void testMatchesHashMultiset() {
+        Random r = new Random(1);
+        LongHashMultiset set = new LongHashMultiset();
+        Multiset<Long> ref = new HashMultiset<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            // Page-aligned addresses stress the hashing
+            long v = 0x7f0000000000L + (r.nextInt(10_000) << 12);
+            set.add(v);
+            ref.add(v);
+        }
+
+        Assert.assertEquals(ref.size(), set.size());
+        Assert.assertEquals(ref.keys().size(), set.keys().size());
+        for (Long k : ref.keys()) {
+            Assert.assertEquals(ref.count(k), set.count(k));
+        }
+        for (Map.Entry<Long, Long> e : set.entrySet()) {
+            Assert.assertEquals(ref.count(e.getKey()), (long) e.getValue());
+        }
+    }
+
+    @Test
+    public void testAddAll() {
+        LongHashMultiset s1 = new LongHashMultiset();
+        s1.add(1L);
+        s1.add(2L, 2);
+
+        LongHashMultiset s2 = new LongHashMultiset();
+        s2.add(2L);
+        s2.add(3L, 3);
+
+        s1.addAll(s2);
+        Assert.assertEquals(7, s1.size());
+        Assert.assertEquals(1, s1.count(1L));
+        Assert.assertEquals(3, s1.count(2L));
+        Assert.assertEquals(3, s1.count(3L));
+    }
+
+    @Test
+    public void testClear() {
+        LongHashMultiset set = new LongHashMultiset();
+        for (long i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        set.clear();
+        Assert.assertTrue(set.isEmpty());
+        Assert.assertEquals(0, set.size());
+        Assert.assertEquals(0, set.keys().size());
+        Assert.assertEquals(0, set.count(1L));
+
+        set.add(1L);
+        Assert.assertEquals(1, set.count(1L));
+    }
+
+}
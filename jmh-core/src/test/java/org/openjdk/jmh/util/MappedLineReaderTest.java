@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class MappedLineReaderTest {
+
+    private static File write(String content) throws IOException {
+        File file = FileUtils.tempFile("lines");
+        try (FileOutputStream fos = new FileOutputStream(file)) {
+            fos.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+
+    private static List<String> readAll(File file, int parallelism) throws IOException {
+        List<List<String>> chunks = MappedLineReader.process(file, parallelism, lines -> {
+            List<String> r = new ArrayList<>();
+            while (lines.hasNext()) {
+                r.add(lines.next());
+            }
+            return r;
+        });
+
+        List<String> all = new ArrayList<>();
+        for (List<String> c : chunks) {
+            all.addAll(c);
+        }
+        return all;
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        File file = write("");
+        Assert.assertEquals(Collections.emptyList(), readAll(file, 4));
+    }
+
+    @Test
+    public void testOrder() throws IOException {
+        List<String> expected = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            String line = "line " + i + " é";
+            expected.add(line);
+            sb.append(line).append("\n");
+        }
+        File file = write(sb.toString());
+
+        for (int p : new int[]{1, 2, 3, 7, 16}) {
+            Assert.assertEquals("Parallelism " + p, expected, readAll(file, p));
+        }
+    }
+
+    @Test
+    public void testLineEndings() throws IOException {
+        File file = write("one\r\ntwo\n\nthree");
+        for (int p : new int[]{1, 4}) {
+            List<String> lines = readAll(file, p);
+            Assert.assertEquals(4, lines.size());
+            Assert.assertEquals("one", lines.get(0));
+            Assert.assertEquals("two", lines.get(1));
+            Assert.assertEquals("", lines.get(2));
+            Assert.assertEquals("three", lines.get(3));
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+public class TestSampleBuffer {
+
+    @Test
+    public void testCount() {
+        SampleBuffer sb = new SampleBuffer();
+        Assert.assertEquals(0, sb.getSampleCount());
+        for (int c = 0; c < 1000; c++) {
+            sb.add(c);
+        }
+        sb.add(42, 5);
+        Assert.assertEquals(1005, sb.getSampleCount());
+        Assert.assertEquals(1005, sb.getStatistics(1).getN());
+    }
+
+    @Test
+    public void testHalf() {
+        SampleBuffer sb = new SampleBuffer();
+        sb.add(1, 10);
+        sb.add(2, 1);
+        sb.half();
+
+        // Non-empty sub-buckets should never be halved to zero
+        Assert.assertEquals(6, sb.getSampleCount());
+        Assert.assertEquals(6, sb.getStatistics(1).getN());
+    }
+
+    @Test
+    public void testNoOverflow() {
+        SampleBuffer sb = new SampleBuffer();
+        sb.add(1, Integer.MAX_VALUE);
+        sb.add(1, Integer.MAX_VALUE);
+        sb.add(1);
+        Assert.assertEquals(2L * Integer.MAX_VALUE + 1, sb.getSampleCount());
+        Assert.assertEquals(2L * Integer.MAX_VALUE + 1, sb.getStatistics(1).getN());
+    }
+
+    @Test
+    public void testWeighted() {
+        SampleBuffer sb = new SampleBuffer();
+        sb.addWeighted(10, 1);
+        sb.addWeighted(20, 3);
+
+        Assert.assertEquals(2, sb.getSampleCount());
+        Assert.assertEquals(4, sb.getTotalWeight());
+        Statistics s = sb.getStatistics(1);
+        Assert.assertEquals(2, s.getN());
+        Assert.assertEquals(17.5, s.getMean(), 0.001);
+        Assert.assertEquals(20, s.getPercentile(50), 0.001);
+    }
+
+    @Test
+    public void testAddAll() {
+        SampleBuffer sb1 = new SampleBuffer();
+        SampleBuffer sb2 = new SampleBuffer();
+        sb1.add(10, 3);
+        sb2.add(10, 4);
+        sb2.add(1000000, 5);
+        sb1.addAll(sb2);
+
+        Assert.assertEquals(12, sb1.getSampleCount());
+        Statistics s = sb1.getStatistics(1);
+        Assert.assertEquals(12, s.getN());
+        Assert.assertEquals(10, s.getMin(), 0);
+        Assert.assertEquals(1000000, s.getMax(), 1000000 / 1024);
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        SampleBuffer sb = new SampleBuffer();
+        sb.add(5, 1L << 40);
+        sb.add(123456789);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(sb);
+        }
+        SampleBuffer copy;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            copy = (SampleBuffer) ois.readObject();
+        }
+
+        Assert.assertEquals(sb.getSampleCount(), copy.getSampleCount());
+        Assert.assertEquals(sb.getTotalWeight(), copy.getTotalWeight());
+        Assert.assertEquals(sb.getStatistics(1).getMean(), copy.getStatistics(1).getMean(), 0);
+    }
+
+}
@@ -27,7 +27,7 @@ package org.openjdk.jmh.util;
 import org.junit.Assert;
 import org.junit.Test;
 
-import java.io.IOException;
+import java.io.*;
 import java.util.Arrays;
 
 public class TestUtil {
@@ -57,4 +57,46 @@ public class TestUtil {
         Assert.assertEquals(Arrays.asList("moo", "-Dopt=bar baz"), Utils.splitQuotedEscape("moo  -Dopt=\"bar baz\""));
     }
 
+    @Test
+    public void testParseCPUList() {
+        Assert.assertEquals(Arrays.asList(0), Utils.parseCPUList("0"));
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3), Utils.parseCPUList("0-3"));
+        Assert.assertEquals(Arrays.asList(0, 1, 4, 8, 9, 10), Utils.parseCPUList("0-1,4,8-10\n"));
+        Assert.assertEquals(Arrays.asList(1, 2, 3), Utils.parseCPUList(" 3,1-2 "));
+    }
+
+    @Test
+    public void testVarLong() throws IOException {
+        long[] values = {0, 1, 127, 128, 255, 16383, 16384, Integer.MAX_VALUE, Long.MAX_VALUE};
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(bos);
+        for (long v : values) {
+            Utils.writeVarLong(dos, v);
+        }
+        dos.flush();
+
+        Assert.assertEquals(1, lengthOf(0));
+        Assert.assertEquals(1, lengthOf(127));
+        Assert.assertEquals(2, lengthOf(128));
+        Assert.assertEquals(9, lengthOf(Long.MAX_VALUE));
+
+        DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        for (long v : values) {
+            Assert.assertEquals(v, Utils.readVarLong(dis));
+        }
+        Assert.assertEquals(0, dis.available());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testVarLong_Negative() throws IOException {
+        Utils.writeVarLong(new DataOutputStream(new ByteArrayOutputStream()), -1);
+    }
+
+    private static int lengthOf(long v) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        Utils.writeVarLong(new DataOutputStream(bos), v);
+        return bos.size();
+    }
+
 }
@@ -59,6 +59,9 @@ public class TestLineTest {
         writer.putOptionalTimeUnit(Optional.eitherOf(TimeUnit.HOURS));
         writer.putOptionalTimeUnit(Optional.<TimeUnit>none());
 
+        writer.putOptionalDouble(Optional.eitherOf(0.25));
+        writer.putOptionalDouble(Optional.<Double>none());
+
         writer.putOptionalStringCollection(Optional.<Collection<String>>eitherOf(Arrays.asList("foo", "bar", "baz")));
         writer.putOptionalStringCollection(Optional.<Collection<String>>none());
 
@@ -91,6 +94,9 @@ public class TestLineTest {
         Assert.assertEquals(TimeUnit.HOURS, reader.nextOptionalTimeUnit().get());
         Assert.assertEquals(false, reader.nextOptionalTimeUnit().hasValue());
 
+        Assert.assertEquals(0.25, reader.nextOptionalDouble().get(), 0);
+        Assert.assertEquals(false, reader.nextOptionalDouble().hasValue());
+
         Assert.assertEquals(Arrays.asList("foo", "bar", "baz"), reader.nextOptionalStringCollection().get());
         Assert.assertEquals(false, reader.nextOptionalStringCollection().hasValue());
 